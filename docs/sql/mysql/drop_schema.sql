@@ -1,6 +1,7 @@
 DROP TABLE IF EXISTS da_sms_authorization;
 DROP TABLE IF EXISTS da_user_credentials;
 DROP TABLE IF EXISTS wf_afs_config;
+DROP TABLE IF EXISTS wf_scheduler_lock;
 DROP TABLE IF EXISTS wf_operation_session;
 DROP TABLE IF EXISTS ns_authentication;
 DROP TABLE IF EXISTS ns_otp_definition;
@@ -24,6 +25,7 @@ DROP TABLE IF EXISTS ns_operation_afs;
 DROP TABLE IF EXISTS ns_operation_history;
 DROP TABLE IF EXISTS ns_operation;
 DROP TABLE IF EXISTS ns_operation_config;
+DROP TABLE IF EXISTS ns_scheduler_lock;
 DROP TABLE IF EXISTS ns_user_prefs;
 DROP TABLE IF EXISTS ns_auth_method;
 DROP TABLE IF EXISTS ns_organization;
@@ -0,0 +1,43 @@
+--
+--  Optional DDL script for audit tables partitioned by month, to be used instead of audit tables in create_schema.sql.
+--  Oracle creates monthly partitions automatically, Next Step drops expired partitions when the property
+--  powerauth.nextstep.audit.retention.partitioned is set to true.
+--
+
+-- Table audit_log stores auditing information
+CREATE TABLE audit_log (
+    audit_log_id       VARCHAR2(36 CHAR) PRIMARY KEY,
+    application_name   VARCHAR2(256 CHAR) NOT NULL,
+    audit_level        VARCHAR2(32 CHAR) NOT NULL,
+    audit_type         VARCHAR2(256 CHAR),
+    timestamp_created  TIMESTAMP NOT NULL,
+    message            CLOB NOT NULL,
+    exception_message  CLOB,
+    stack_trace        CLOB,
+    param              CLOB,
+    calling_class      VARCHAR2(256 CHAR) NOT NULL,
+    thread_name        VARCHAR2(256 CHAR) NOT NULL,
+    version            VARCHAR2(256 CHAR),
+    build_time         TIMESTAMP
+)
+PARTITION BY RANGE (timestamp_created) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+(PARTITION audit_log_initial VALUES LESS THAN (TIMESTAMP '2021-01-01 00:00:00'));
+
+-- Table audit_param stores auditing parameters
+CREATE TABLE audit_param (
+    audit_log_id       VARCHAR2(36 CHAR),
+    timestamp_created  TIMESTAMP NOT NULL,
+    param_key          VARCHAR2(256 CHAR),
+    param_value        VARCHAR2(4000 CHAR)
+)
+PARTITION BY RANGE (timestamp_created) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+(PARTITION audit_param_initial VALUES LESS THAN (TIMESTAMP '2021-01-01 00:00:00'));
+
+CREATE INDEX audit_log_timestamp ON audit_log (timestamp_created) LOCAL;
+CREATE INDEX audit_log_application ON audit_log (application_name) LOCAL;
+CREATE INDEX audit_log_level ON audit_log (audit_level) LOCAL;
+CREATE INDEX audit_log_type ON audit_log (audit_type) LOCAL;
+CREATE INDEX audit_param_log ON audit_param (audit_log_id) LOCAL;
+CREATE INDEX audit_param_timestamp ON audit_param (timestamp_created) LOCAL;
+CREATE INDEX audit_param_key ON audit_param (param_key) LOCAL;
+CREATE INDEX audit_param_value ON audit_param (param_value) LOCAL;
@@ -19,6 +19,13 @@ EXCEPTION
 END;
 /
 
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE wf_scheduler_lock';
+EXCEPTION
+   WHEN OTHERS THEN NULL;
+END;
+/
+
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE wf_operation_session';
 EXCEPTION
@@ -173,6 +180,13 @@ EXCEPTION
 END;
 /
 
+BEGIN
+   EXECUTE IMMEDIATE 'DROP TABLE ns_scheduler_lock';
+EXCEPTION
+   WHEN OTHERS THEN NULL;
+END;
+/
+
 BEGIN
    EXECUTE IMMEDIATE 'DROP TABLE ns_user_prefs';
 EXCEPTION
@@ -0,0 +1,58 @@
+--
+--  Optional DDL script for audit tables partitioned by month, to be used instead of audit tables in create_schema.sql.
+--  Next Step creates partitions for the current and next month and drops expired partitions when the property
+--  powerauth.nextstep.audit.retention.partitioned is set to true. Partitions are named <table>_yYYYYmMM.
+--
+
+-- Table audit_log stores auditing information
+CREATE TABLE audit_log (
+    audit_log_id       VARCHAR(36) NOT NULL,
+    application_name   VARCHAR(256) NOT NULL,
+    audit_level        VARCHAR(32) NOT NULL,
+    audit_type         VARCHAR(256),
+    timestamp_created  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    message            TEXT NOT NULL,
+    exception_message  TEXT,
+    stack_trace        TEXT,
+    param              TEXT,
+    calling_class      VARCHAR(256) NOT NULL,
+    thread_name        VARCHAR(256) NOT NULL,
+    version            VARCHAR(256),
+    build_time         TIMESTAMP,
+    PRIMARY KEY (audit_log_id, timestamp_created)
+) PARTITION BY RANGE (timestamp_created);
+
+-- Table audit_param stores auditing parameters
+CREATE TABLE audit_param (
+    audit_log_id       VARCHAR(36),
+    timestamp_created  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    param_key          VARCHAR(256),
+    param_value        VARCHAR(4000)
+) PARTITION BY RANGE (timestamp_created);
+
+-- Partitions for the current and the next month need to exist before the first audit record is written, the partitions
+-- are created relative to the date when the script is executed. Partitions for the following months are created by
+-- Next Step during each audit retention run.
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', CURRENT_DATE);
+    partition_suffix VARCHAR(8);
+BEGIN
+    FOR i IN 0..1 LOOP
+        partition_suffix := to_char(month_start, '"y"YYYY"m"MM');
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_log FOR VALUES FROM (%L) TO (%L)',
+            'audit_log_' || partition_suffix, month_start, month_start + INTERVAL '1 month');
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_param FOR VALUES FROM (%L) TO (%L)',
+            'audit_param_' || partition_suffix, month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+CREATE INDEX audit_log_timestamp ON audit_log (timestamp_created);
+CREATE INDEX audit_log_application ON audit_log (application_name);
+CREATE INDEX audit_log_level ON audit_log (audit_level);
+CREATE INDEX audit_log_type ON audit_log (audit_type);
+CREATE INDEX audit_param_log ON audit_param (audit_log_id);
+CREATE INDEX audit_param_timestamp ON audit_param (timestamp_created);
+CREATE INDEX audit_param_key ON audit_param (param_key);
+CREATE INDEX audit_param_value ON audit_param (param_value);
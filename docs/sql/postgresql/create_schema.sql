@@ -103,6 +103,14 @@ CREATE TABLE wf_certificate_verification (
   CONSTRAINT wf_certificate_verification_pk PRIMARY KEY (operation_id, auth_method)
 );
 
+-- Table wf_scheduler_lock stores locks of scheduled jobs which run only on a single Web Flow node at a time.
+CREATE TABLE wf_scheduler_lock (
+  lock_name          VARCHAR(64) NOT NULL PRIMARY KEY,        -- Name of the lock.
+  lock_until         TIMESTAMP NOT NULL,                      -- Timestamp until which the lock is held, the lock can be acquired after this timestamp.
+  timestamp_locked   TIMESTAMP NOT NULL,                      -- Timestamp when the lock was acquired.
+  locked_by          VARCHAR(256) NOT NULL                    -- Identification of the node which acquired the lock.
+);
+
 -- Table ns_auth_method stores configuration of authentication methods.
 -- Data in this table needs to be loaded before Web Flow is started.
 CREATE TABLE ns_auth_method (
@@ -496,6 +504,14 @@ CREATE TABLE ns_user_prefs (
   auth_method_5_config VARCHAR(256)                -- Configuration for "authentication method 5".
 );
 
+-- Table ns_scheduler_lock stores locks of scheduled jobs which run only on a single Next Step node at a time.
+CREATE TABLE ns_scheduler_lock (
+  lock_name          VARCHAR(64) NOT NULL PRIMARY KEY,        -- Name of the lock.
+  lock_until         TIMESTAMP NOT NULL,                      -- Timestamp until which the lock is held, the lock can be acquired after this timestamp.
+  timestamp_locked   TIMESTAMP NOT NULL,                      -- Timestamp when the lock was acquired.
+  locked_by          VARCHAR(256) NOT NULL                    -- Identification of the node which acquired the lock.
+);
+
 -- Table da_sms_authorization stores data for SMS OTP authorization.
 CREATE TABLE da_sms_authorization (
   message_id           VARCHAR(256) PRIMARY KEY NOT NULL,   -- SMS message ID, ID of SMS OTP.
@@ -605,6 +621,7 @@ CREATE TABLE audit_param (
 
 CREATE INDEX wf_operation_hash ON wf_operation_session (operation_hash);
 CREATE INDEX wf_websocket_session ON wf_operation_session (websocket_session_id);
+CREATE INDEX wf_operation_session_result ON wf_operation_session (result, timestamp_created);
 CREATE INDEX ns_operation_pending ON ns_operation (user_id, result);
 CREATE UNIQUE INDEX ns_operation_afs_unique on ns_operation_afs (operation_id, request_afs_action, request_step_index);
 CREATE INDEX wf_certificate_operation ON wf_certificate_verification (operation_id);
@@ -632,7 +649,7 @@ CREATE INDEX ns_credential_history_user_id ON ns_credential_history (user_id);
 CREATE INDEX ns_otp_storage_user_id ON ns_otp_storage (user_id);
 CREATE INDEX ns_otp_storage_user_id_status ON ns_otp_storage (user_id, status);
 CREATE INDEX ns_otp_storage_operation_id ON ns_otp_storage (operation_id);
-CREATE INDEX ns_authentication_user_id ON ns_authentication (user_id);
+CREATE INDEX ns_authentication_user_timestamp ON ns_authentication (user_id, timestamp_created, authentication_id);
 CREATE INDEX ns_authentication_operation_id ON ns_authentication (operation_id);
 CREATE INDEX ns_authentication_timestamp_created ON ns_authentication (timestamp_created);
 CREATE UNIQUE INDEX ns_hashing_config_name ON ns_hashing_config (name);
@@ -31,9 +31,12 @@ import io.getlime.security.powerauth.lib.dataadapter.model.response.*;
 import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthMethod;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Data Adapter Client provides methods for communication with the Data Adapter.
@@ -47,6 +50,18 @@ public class DataAdapterClient {
 
     private final RestClient restClient;
 
+    /**
+     * Interval after which the batch operation mapping endpoint is probed again once the Data Adapter responded that
+     * the endpoint is not available, so that an upgraded Data Adapter is used without restarting Web Flow.
+     */
+    private static final long OPERATION_MAPPING_LIST_PROBE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Timestamp until which the batch operation mapping endpoint is not used. The timestamp is set once the
+     * Data Adapter responds that the endpoint is not available, individual mapping requests are used until then.
+     */
+    private volatile long operationMappingListUnsupportedUntil;
+
     /**
      * Create a new client with provided base URL.
      * @param serviceBaseUrl REST service base URL.
@@ -242,6 +257,43 @@ public class DataAdapterClient {
         return postObjectImpl("/api/operation/mapping", new ObjectRequest<>(request), GetPAOperationMappingResponse.class);
     }
 
+    /**
+     * Get the operation mappings from Next Step operations to PowerAuth operations using a single request. In case the
+     * Data Adapter does not implement the batch endpoint, the mappings are obtained using individual requests and the
+     * batch endpoint is probed again after 10 minutes.
+     *
+     * @param requests Requests for operation mappings.
+     * @return Operation mappings from Next Step operations to PowerAuth operations in the order of requests.
+     * @throws DataAdapterClientErrorException Thrown when client request fails.
+     */
+    public ObjectResponse<GetPAOperationMappingListResponse> getPAOperationMappingList(List<GetPAOperationMappingRequest> requests) throws DataAdapterClientErrorException {
+        if (System.currentTimeMillis() >= operationMappingListUnsupportedUntil && !requests.isEmpty()) {
+            final GetPAOperationMappingListRequest request = new GetPAOperationMappingListRequest(requests);
+            try {
+                final ObjectResponse<GetPAOperationMappingListResponse> response = restClient.postObject("/api/operation/mapping/list", new ObjectRequest<>(request), GetPAOperationMappingListResponse.class);
+                if (response.getResponseObject() == null || response.getResponseObject().getMappings().size() != requests.size()) {
+                    final DataAdapterClientErrorException ex = new DataAdapterClientErrorException(null, new DataAdapterError(DataAdapterError.Code.ERROR_GENERIC, "Invalid number of operation mappings in response."));
+                    logError(ex);
+                    throw ex;
+                }
+                return response;
+            } catch (RestClientException ex) {
+                if (!isEndpointNotImplemented(ex)) {
+                    DataAdapterClientErrorException ex2 = new DataAdapterClientErrorException(ex, new DataAdapterError(resolveErrorCode(ex), "HTTP POST request failed."));
+                    logError(ex2);
+                    throw ex2;
+                }
+                logger.info("Data Adapter does not support batch operation mapping, individual requests are used instead");
+                operationMappingListUnsupportedUntil = System.currentTimeMillis() + OPERATION_MAPPING_LIST_PROBE_INTERVAL_MILLIS;
+            }
+        }
+        final List<GetPAOperationMappingResponse> mappings = new ArrayList<>();
+        for (GetPAOperationMappingRequest request: requests) {
+            mappings.add(postObjectImpl("/api/operation/mapping", new ObjectRequest<>(request), GetPAOperationMappingResponse.class).getResponseObject());
+        }
+        return new ObjectResponse<>(new GetPAOperationMappingListResponse(mappings));
+    }
+
     /**
      * Verify client TLS certificate.
      *
@@ -436,6 +488,15 @@ public class DataAdapterClient {
         }
     }
 
+    /**
+     * Resolve whether the REST client exception signals that the called endpoint is not implemented by the Data Adapter.
+     */
+    private boolean isEndpointNotImplemented(RestClientException ex) {
+        return ex.getStatusCode() == HttpStatus.NOT_FOUND
+                || ex.getStatusCode() == HttpStatus.METHOD_NOT_ALLOWED
+                || ex.getStatusCode() == HttpStatus.NOT_IMPLEMENTED;
+    }
+
     /**
      * Resolve error code based on HTTP status code from REST client exception.
      */
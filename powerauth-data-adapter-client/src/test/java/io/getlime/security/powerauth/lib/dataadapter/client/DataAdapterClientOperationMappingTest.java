@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.dataadapter.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.getlime.core.rest.model.base.response.ObjectResponse;
+import io.getlime.security.powerauth.lib.dataadapter.model.request.GetPAOperationMappingRequest;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.GetPAOperationMappingListResponse;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.GetPAOperationMappingResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for obtaining operation mappings from Data Adapter using the batch endpoint and individual requests.
+ * Data Adapter is replaced by a minimal HTTP server running in the test.
+ */
+class DataAdapterClientOperationMappingTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean batchSupported = new AtomicBoolean();
+    private final AtomicInteger batchRequestCount = new AtomicInteger();
+    private final AtomicInteger singleRequestCount = new AtomicInteger();
+
+    private HttpServer server;
+    private DataAdapterClient dataAdapterClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/operation/mapping/list", this::handleBatchRequest);
+        server.createContext("/api/operation/mapping", this::handleSingleRequest);
+        server.start();
+        dataAdapterClient = new DataAdapterClient("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void batchEndpoint() throws DataAdapterClientErrorException {
+        batchSupported.set(true);
+        assertMappings(dataAdapterClient.getPAOperationMappingList(createRequests()));
+        assertEquals(1, batchRequestCount.get());
+        assertEquals(0, singleRequestCount.get());
+    }
+
+    @Test
+    void fallbackToIndividualRequests() throws DataAdapterClientErrorException {
+        batchSupported.set(false);
+        assertMappings(dataAdapterClient.getPAOperationMappingList(createRequests()));
+        assertEquals(1, batchRequestCount.get());
+        assertEquals(3, singleRequestCount.get());
+        // Batch endpoint is not probed again until the probe interval passes
+        assertMappings(dataAdapterClient.getPAOperationMappingList(createRequests()));
+        assertEquals(1, batchRequestCount.get());
+        assertEquals(6, singleRequestCount.get());
+    }
+
+    @Test
+    void batchEndpointProbedAgain() throws DataAdapterClientErrorException {
+        batchSupported.set(false);
+        assertMappings(dataAdapterClient.getPAOperationMappingList(createRequests()));
+        assertEquals(1, batchRequestCount.get());
+        // Data Adapter is upgraded and the probe interval passes
+        batchSupported.set(true);
+        ReflectionTestUtils.setField(dataAdapterClient, "operationMappingListUnsupportedUntil", System.currentTimeMillis() - 1);
+        assertMappings(dataAdapterClient.getPAOperationMappingList(createRequests()));
+        assertEquals(2, batchRequestCount.get());
+        assertEquals(3, singleRequestCount.get());
+    }
+
+    @Test
+    void emptyRequestList() throws DataAdapterClientErrorException {
+        batchSupported.set(true);
+        assertTrue(dataAdapterClient.getPAOperationMappingList(new ArrayList<>()).getResponseObject().getMappings().isEmpty());
+        assertEquals(0, batchRequestCount.get());
+        assertEquals(0, singleRequestCount.get());
+    }
+
+    private List<GetPAOperationMappingRequest> createRequests() {
+        final List<GetPAOperationMappingRequest> requests = new ArrayList<>();
+        for (String userId : Arrays.asList("user-1", "user-2", "user-3")) {
+            final GetPAOperationMappingRequest request = new GetPAOperationMappingRequest();
+            request.setUserId(userId);
+            request.setAuthMethod(AuthMethod.POWERAUTH_TOKEN);
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private void assertMappings(ObjectResponse<GetPAOperationMappingListResponse> response) {
+        final List<GetPAOperationMappingResponse> mappings = response.getResponseObject().getMappings();
+        assertEquals(3, mappings.size());
+        for (int i = 0; i < mappings.size(); i++) {
+            assertEquals("operation_user-" + (i + 1), mappings.get(i).getOperationName());
+        }
+    }
+
+    private void handleBatchRequest(HttpExchange exchange) throws IOException {
+        batchRequestCount.incrementAndGet();
+        if (!batchSupported.get()) {
+            // Data Adapter built on Spring Boot without the batch endpoint responds with default error body
+            sendResponse(exchange, 404, "{\"status\":404,\"error\":\"Not Found\",\"path\":\"/api/operation/mapping/list\"}");
+            return;
+        }
+        final JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        final List<GetPAOperationMappingResponse> mappings = new ArrayList<>();
+        for (JsonNode mappingRequest : request.path("requestObject").path("operations")) {
+            mappings.add(createMapping(mappingRequest));
+        }
+        sendResponse(exchange, new GetPAOperationMappingListResponse(mappings));
+    }
+
+    private void handleSingleRequest(HttpExchange exchange) throws IOException {
+        singleRequestCount.incrementAndGet();
+        final JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        sendResponse(exchange, createMapping(request.path("requestObject")));
+    }
+
+    private GetPAOperationMappingResponse createMapping(JsonNode mappingRequest) {
+        final GetPAOperationMappingResponse mapping = new GetPAOperationMappingResponse();
+        mapping.setOperationName("operation_" + mappingRequest.path("userId").asText());
+        return mapping;
+    }
+
+    private void sendResponse(HttpExchange exchange, Object responseObject) throws IOException {
+        sendResponse(exchange, 200, objectMapper.writeValueAsString(new ObjectResponse<>(responseObject)));
+    }
+
+    private void sendResponse(HttpExchange exchange, int status, String json) throws IOException {
+        final byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+}
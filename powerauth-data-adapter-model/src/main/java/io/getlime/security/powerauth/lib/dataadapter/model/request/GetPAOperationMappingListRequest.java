@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.dataadapter.model.request;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request for getting the PowerAuth operation mappings for multiple operations in a single call.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class GetPAOperationMappingListRequest {
+
+    /**
+     * Requests for operation mappings.
+     */
+    private final List<GetPAOperationMappingRequest> operations = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public GetPAOperationMappingListRequest() {
+    }
+
+    /**
+     * Constructor with list of requests for operation mappings.
+     * @param operations Requests for operation mappings.
+     */
+    public GetPAOperationMappingListRequest(List<GetPAOperationMappingRequest> operations) {
+        this.operations.addAll(operations);
+    }
+
+    /**
+     * Get requests for operation mappings.
+     * @return Requests for operation mappings.
+     */
+    public List<GetPAOperationMappingRequest> getOperations() {
+        return operations;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.dataadapter.model.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response for getting the PowerAuth operation mappings for multiple operations. The mappings are returned
+ * in the same order as the operations in the request.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class GetPAOperationMappingListResponse {
+
+    private final List<GetPAOperationMappingResponse> mappings = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public GetPAOperationMappingListResponse() {
+    }
+
+    /**
+     * Constructor with list of operation mappings.
+     * @param mappings PowerAuth operation mappings.
+     */
+    public GetPAOperationMappingListResponse(List<GetPAOperationMappingResponse> mappings) {
+        this.mappings.addAll(mappings);
+    }
+
+    /**
+     * Get PowerAuth operation mappings.
+     * @return PowerAuth operation mappings.
+     */
+    public List<GetPAOperationMappingResponse> getMappings() {
+        return mappings;
+    }
+
+}
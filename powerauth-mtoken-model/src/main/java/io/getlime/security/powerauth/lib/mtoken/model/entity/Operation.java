@@ -15,6 +15,8 @@
  */
 package io.getlime.security.powerauth.lib.mtoken.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.Date;
 
 /**
@@ -31,6 +33,8 @@ public class Operation {
     private Date operationExpires;
     private AllowedSignatureType allowedSignatureType;
     private FormData formData;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean degraded;
 
     /**
      * Get operation ID.
@@ -144,4 +148,21 @@ public class Operation {
     public void setFormData(FormData formData) {
         this.formData = formData;
     }
+
+    /**
+     * Get whether operation details could not be prepared in time. Data of a degraded operation may not be mapped
+     * nor translated, the operation list should be reloaded.
+     * @return Whether operation is degraded.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Set whether operation details could not be prepared in time.
+     * @param degraded Whether operation is degraded.
+     */
+    public void setDegraded(boolean degraded) {
+        this.degraded = degraded;
+    }
 }
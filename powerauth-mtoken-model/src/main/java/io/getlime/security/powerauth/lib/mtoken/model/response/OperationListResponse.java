@@ -25,4 +25,12 @@ import java.util.ArrayList;
  * @author Petr Dvorak, petr@wultra.com
  */
 public class OperationListResponse extends ArrayList<Operation> {
+
+    /**
+     * HTTP header which is set to {@code true} in case the operation list is incomplete because the pending
+     * operations could not be obtained. An empty incomplete operation list does not mean that there are no
+     * pending operations.
+     */
+    public static final String INCOMPLETE_HEADER = "X-Operation-List-Incomplete";
+
 }
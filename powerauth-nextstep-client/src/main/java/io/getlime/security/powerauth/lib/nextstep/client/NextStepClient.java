@@ -1422,6 +1422,18 @@ public class NextStepClient {
         return postObjectImpl("/user", new ObjectRequest<>(request), CreateUserResponse.class);
     }
 
+    /**
+     * Import multiple user identities. User identities which fail to import are reported in the response
+     * and do not abort import of other user identities.
+     *
+     * @param request Import users request.
+     * @return Import users response.
+     * @throws NextStepClientException Thrown when REST API call fails, including {@link ErrorResponse} with error code.
+     */
+    public ObjectResponse<ImportUsersResponse> importUsers(@NotNull ImportUsersRequest request) throws NextStepClientException {
+        return postObjectImpl("/user/import", new ObjectRequest<>(request), ImportUsersResponse.class);
+    }
+
     /**
      * Update a user identity via PUT method.
      *
@@ -1889,6 +1901,47 @@ public class NextStepClient {
         return postObjectImpl("/user/authentication/list", new ObjectRequest<>(request), GetUserAuthenticationListResponse.class);
     }
 
+    /**
+     * Get a page of user authentication list. Authentications are ordered from the most recent authentication.
+     * Use value nextBeforeAuthenticationId from the response to request the next page.
+     *
+     * @param userId User ID.
+     * @param createdStartDate Start of interval to use for date filter.
+     * @param createdEndDate End of interval to use for date filter.
+     * @param pageSize Page size, null value for maximum page size, all authentications are returned when both pageSize and beforeAuthenticationId are null.
+     * @param beforeAuthenticationId Authentication ID of last authentication from previous page, null value for first page.
+     * @return Get user authentication list response.
+     * @throws NextStepClientException Thrown when REST API call fails, including {@link ErrorResponse} with error code.
+     */
+    public ObjectResponse<GetUserAuthenticationListResponse> getUserAuthenticationListPage(@NotNull String userId, Date createdStartDate, Date createdEndDate,
+                                                                                            Integer pageSize, String beforeAuthenticationId) throws NextStepClientException {
+        final GetUserAuthenticationListRequest request = new GetUserAuthenticationListRequest();
+        request.setUserId(userId);
+        request.setCreatedStartDate(createdStartDate);
+        request.setCreatedEndDate(createdEndDate);
+        request.setPageSize(pageSize);
+        request.setBeforeAuthenticationId(beforeAuthenticationId);
+        return postObjectImpl("/user/authentication/list", new ObjectRequest<>(request), GetUserAuthenticationListResponse.class);
+    }
+
+    /**
+     * Get next page of user authentication list following a previously received page.
+     *
+     * @param request Get user authentication list request used for the previous page.
+     * @param previousPage Previously received page of user authentication list.
+     * @return Get user authentication list response with next page, empty list in case there are no more authentications.
+     * @throws NextStepClientException Thrown when REST API call fails, including {@link ErrorResponse} with error code.
+     */
+    public ObjectResponse<GetUserAuthenticationListResponse> getUserAuthenticationListNextPage(@NotNull GetUserAuthenticationListRequest request, @NotNull GetUserAuthenticationListResponse previousPage) throws NextStepClientException {
+        if (previousPage.getNextBeforeAuthenticationId() == null) {
+            final GetUserAuthenticationListResponse response = new GetUserAuthenticationListResponse();
+            response.setUserId(previousPage.getUserId());
+            return new ObjectResponse<>(response);
+        }
+        return getUserAuthenticationListPage(request.getUserId(), request.getCreatedStartDate(), request.getCreatedEndDate(),
+                request.getPageSize(), previousPage.getNextBeforeAuthenticationId());
+    }
+
     // Credential related methods
 
     /**
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.nextstep.model.entity;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class represents result of import of a single user identity.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Data
+public class UserImportResult {
+
+    @Size(min = 1, max = 256)
+    private String userId;
+    @NotNull
+    private boolean imported;
+
+    // Created credentials including generated credential values, available only for imported user identities
+    @NotNull
+    private final List<CredentialSecretDetail> credentials = new ArrayList<>();
+
+    // Error details, available only for user identities which were not imported
+    private String errorCode;
+    private String errorMessage;
+
+}
@@ -18,6 +18,7 @@ package io.getlime.security.powerauth.lib.nextstep.model.request;
 import lombok.Data;
 
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
 import javax.validation.constraints.Size;
 import java.util.Date;
 
@@ -35,4 +36,12 @@ public class GetUserAuthenticationListRequest {
     private Date createdStartDate;
     private Date createdEndDate;
 
+    // Keyset pagination, authentications are ordered by created timestamp and authentication ID in descending order
+    // and only authentications preceding the authentication with beforeAuthenticationId are returned, requests
+    // without pageSize and beforeAuthenticationId are not paged
+    @Positive
+    private Integer pageSize;
+    @Size(min = 1, max = 256)
+    private String beforeAuthenticationId;
+
 }
@@ -19,6 +19,7 @@ import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.Crede
 import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.UserIdentityStatus;
 import lombok.Data;
 
+import javax.validation.constraints.Positive;
 import javax.validation.constraints.Size;
 import java.util.ArrayList;
 import java.util.Date;
@@ -51,4 +52,10 @@ public class LookupUsersRequest {
     // Filter by credential status to allow lookup of blocked credentials
     private CredentialStatus credentialStatus;
 
+    // Keyset pagination, user identities are ordered by user ID and only user identities with user ID greater than afterUserId are returned
+    @Positive
+    private Integer pageSize;
+    @Size(min = 1, max = 256)
+    private String afterUserId;
+
 }
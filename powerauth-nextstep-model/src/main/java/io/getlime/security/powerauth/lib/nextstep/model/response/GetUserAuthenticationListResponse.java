@@ -38,4 +38,7 @@ public class GetUserAuthenticationListResponse {
     @NotNull
     private final List<AuthenticationDetail> authentications = new ArrayList<>();
 
+    // Authentication ID to be used as beforeAuthenticationId in the request for next page, null in case there are no more authentications
+    private String nextBeforeAuthenticationId;
+
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.nextstep.model.response;
+
+import io.getlime.security.powerauth.lib.nextstep.model.entity.UserImportResult;
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response object used for importing multiple user identities. In case the request body is malformed after some
+ * user identities were already processed, the response contains results of the processed user identities, it is
+ * marked as incomplete and it contains the error which stopped reading of the request.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Data
+public class ImportUsersResponse {
+
+    @NotNull
+    private final List<UserImportResult> results = new ArrayList<>();
+    @NotNull
+    private int importedCount;
+    @NotNull
+    private int failedCount;
+    @NotNull
+    private boolean complete = true;
+    private String errorCode;
+    private String errorMessage;
+
+}
@@ -32,4 +32,7 @@ public class LookupUsersResponse {
     @NotNull
     private final List<GetUserDetailResponse> users = new ArrayList<>();
 
+    // User ID to be used as afterUserId in the request for next page, null in case there are no more user identities
+    private String nextAfterUserId;
+
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.security.Security;
@@ -31,7 +32,9 @@ import java.security.Security;
  */
 @SpringBootApplication
 @EnableScheduling
-@ComponentScan(basePackages = {"io.getlime.security.powerauth.app.nextstep", "com.wultra.core.audit.base"})
+@ComponentScan(basePackages = {"io.getlime.security.powerauth.app.nextstep", "com.wultra.core.audit.base"},
+        // Audit writer and audit are configured in AuditWriterConfiguration without the built-in audit cleanup
+        excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.wultra\\.core\\.audit\\.base\\.(AuditFactory|database\\..*)"))
 public class NextStepApplication {
 
     static {
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.nextstep.configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of audit queue metrics. The size of the audit queue, the age of the oldest unwritten audit record
+ * and the number of audit records dropped due to a full queue are published using the buffered audit writer.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Configuration
+public class AuditMetricsConfiguration {
+
+    /**
+     * Register meters for the audit queue size, audit write lag and dropped audit records.
+     * @param auditWriterConfiguration Audit writer configuration.
+     * @return Meter binder for audit queue metrics.
+     */
+    @Bean
+    public MeterBinder auditQueueMetrics(AuditWriterConfiguration auditWriterConfiguration) {
+        final BufferedAuditWriter auditWriter = auditWriterConfiguration.getAuditWriter();
+        return registry -> {
+            Gauge.builder("nextstep.audit.queue.size", auditWriter, BufferedAuditWriter::getQueueSize)
+                    .description("Number of audit records waiting to be written to the database")
+                    .register(registry);
+            Gauge.builder("nextstep.audit.write.lag", auditWriter, BufferedAuditWriter::getWriteLagSeconds)
+                    .description("Age of the oldest audit record waiting to be written to the database")
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("nextstep.audit.dropped", auditWriter, BufferedAuditWriter::getDroppedCount)
+                    .description("Number of audit records dropped due to a full audit queue")
+                    .register(registry);
+        };
+    }
+
+}
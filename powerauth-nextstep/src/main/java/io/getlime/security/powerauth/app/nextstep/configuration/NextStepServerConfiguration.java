@@ -75,6 +75,51 @@ public class NextStepServerConfiguration {
     @Value("${powerauth.nextstep.identity.credential.generateUsernameMaxAttempts}")
     private int generateUsernameMaxAttempts;
 
+    @Value("${powerauth.nextstep.identity.lookup.maxPageSize}")
+    private int lookupMaxPageSize;
+
+    @Value("${powerauth.nextstep.authentication.list.maxPageSize}")
+    private int authenticationListMaxPageSize;
+
+    @Value("${powerauth.nextstep.identity.import.chunkSize}")
+    private int importChunkSize;
+
+    @Value("${powerauth.nextstep.identity.import.threadCount}")
+    private int importThreadCount;
+
+    @Value("${powerauth.nextstep.identity.history.async.enabled}")
+    private boolean historyAsyncEnabled;
+
+    @Value("${powerauth.nextstep.identity.history.batchSize}")
+    private int historyBatchSize;
+
+    @Value("${powerauth.nextstep.identity.history.queueCapacity}")
+    private int historyQueueCapacity;
+
+    @Value("${powerauth.nextstep.identity.roleCache.ttlSeconds}")
+    private long roleCacheTtlSeconds;
+
+    @Value("${powerauth.nextstep.audit.retention.enabled}")
+    private boolean auditRetentionEnabled;
+
+    @Value("${powerauth.nextstep.audit.retention.days}")
+    private int auditRetentionDays;
+
+    @Value("${powerauth.nextstep.audit.retention.batchSize}")
+    private int auditRetentionBatchSize;
+
+    @Value("${powerauth.nextstep.audit.retention.partitioned}")
+    private boolean auditRetentionPartitioned;
+
+    @Value("${powerauth.nextstep.audit.retention.lockSeconds:3600}")
+    private long auditRetentionLockSeconds;
+
+    @Value("${audit.db.table.log.name:audit_log}")
+    private String auditTableNameLog;
+
+    @Value("${audit.db.table.param.name:audit_param}")
+    private String auditTableNameParam;
+
     @Value("${powerauth.nextstep.pa.operations.enabled}")
     private boolean powerAuthOperationSupportEnabled;
 
@@ -136,6 +181,126 @@ public class NextStepServerConfiguration {
         return generateUsernameMaxAttempts;
     }
 
+    /**
+     * Get maximum number of user identities returned in a single page of user identity lookup.
+     * @return Maximum page size for user identity lookup.
+     */
+    public int getLookupMaxPageSize() {
+        return lookupMaxPageSize;
+    }
+
+    /**
+     * Get maximum number of authentications returned in a single page of user authentication list.
+     * @return Maximum page size for user authentication list.
+     */
+    public int getAuthenticationListMaxPageSize() {
+        return authenticationListMaxPageSize;
+    }
+
+    /**
+     * Get number of user identities committed together in a single transaction during bulk import.
+     * @return Chunk size for bulk import.
+     */
+    public int getImportChunkSize() {
+        return importChunkSize;
+    }
+
+    /**
+     * Get number of threads used for parallel processing of import chunks.
+     * @return Thread count for bulk import.
+     */
+    public int getImportThreadCount() {
+        return importThreadCount;
+    }
+
+    /**
+     * Get whether user identity history is written asynchronously in batches.
+     * @return Whether asynchronous writing of user identity history is enabled.
+     */
+    public boolean isHistoryAsyncEnabled() {
+        return historyAsyncEnabled;
+    }
+
+    /**
+     * Get maximum number of user identity history snapshots written in a single batch.
+     * @return Batch size for user identity history.
+     */
+    public int getHistoryBatchSize() {
+        return historyBatchSize;
+    }
+
+    /**
+     * Get maximum number of queued user identity history snapshots.
+     * @return Queue capacity for user identity history.
+     */
+    public int getHistoryQueueCapacity() {
+        return historyQueueCapacity;
+    }
+
+    /**
+     * Get time to live of the role cache in seconds.
+     * @return Role cache time to live in seconds.
+     */
+    public long getRoleCacheTtlSeconds() {
+        return roleCacheTtlSeconds;
+    }
+
+    /**
+     * Get whether expired audit records are removed.
+     * @return Whether audit retention is enabled.
+     */
+    public boolean isAuditRetentionEnabled() {
+        return auditRetentionEnabled;
+    }
+
+    /**
+     * Get number of days for which audit records are kept.
+     * @return Audit retention period in days.
+     */
+    public int getAuditRetentionDays() {
+        return auditRetentionDays;
+    }
+
+    /**
+     * Get maximum number of audit records deleted in a single batch.
+     * @return Batch size for deleting audit records.
+     */
+    public int getAuditRetentionBatchSize() {
+        return auditRetentionBatchSize;
+    }
+
+    /**
+     * Get whether audit tables are partitioned by month and expired partitions should be dropped.
+     * @return Whether audit tables are partitioned.
+     */
+    public boolean isAuditRetentionPartitioned() {
+        return auditRetentionPartitioned;
+    }
+
+    /**
+     * Get maximum duration of the audit retention lock which prevents concurrent cleanup on multiple nodes.
+     * @return Audit retention lock duration in seconds.
+     */
+    public long getAuditRetentionLockSeconds() {
+        return auditRetentionLockSeconds;
+    }
+
+    /**
+     * Get audit log table name.
+     * @return Audit log table name.
+     */
+    public String getAuditTableNameLog() {
+        return auditTableNameLog;
+    }
+
+    /**
+     * Get audit parameter table name.
+     * @return Audit parameter table name.
+     */
+    public String getAuditTableNameParam() {
+        return auditTableNameParam;
+    }
+
     /**
      * Get whether PowerAuth operations support is enabled.
      * @return Whether PowerAuth operations support is enabled.
@@ -32,9 +32,12 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
 import javax.validation.constraints.Size;
+import java.io.IOException;
 import java.util.Date;
 
 /**
@@ -51,6 +54,7 @@ public class UserController {
 
     private final UserIdentityService userIdentityService;
     private final UserIdentityLookupService userIdentityLookupService;
+    private final UserIdentityImportService userIdentityImportService;
     private final UserRoleService userRoleService;
     private final UserContactService userContactService;
     private final UserAliasService userAliasService;
@@ -61,6 +65,7 @@ public class UserController {
      * REST controller constructor.
      * @param userIdentityService User identity service.
      * @param userIdentityLookupService User identity lookup service.
+     * @param userIdentityImportService User identity import service.
      * @param userRoleService User role service.
      * @param userContactService User contact service.
      * @param userAliasService User alias service.
@@ -68,9 +73,10 @@ public class UserController {
      * @param authenticationService Authentication service.
      */
     @Autowired
-    public UserController(UserIdentityService userIdentityService, UserIdentityLookupService userIdentityLookupService, UserRoleService userRoleService, UserContactService userContactService, UserAliasService userAliasService, CredentialService credentialService, AuthenticationService authenticationService) {
+    public UserController(UserIdentityService userIdentityService, UserIdentityLookupService userIdentityLookupService, UserIdentityImportService userIdentityImportService, UserRoleService userRoleService, UserContactService userContactService, UserAliasService userAliasService, CredentialService credentialService, AuthenticationService authenticationService) {
         this.userIdentityService = userIdentityService;
         this.userIdentityLookupService = userIdentityLookupService;
+        this.userIdentityImportService = userIdentityImportService;
         this.userRoleService = userRoleService;
         this.userContactService = userContactService;
         this.userAliasService = userAliasService;
@@ -103,6 +109,39 @@ public class UserController {
         return new ObjectResponse<>(response);
     }
 
+    /**
+     * Import user identities. Each user identity is validated and imported separately, the response contains
+     * result of import for each user identity. The request body is an object request with the import users request,
+     * it is read as a stream, so that large imports do not need to be deserialized into memory at once. In case the
+     * request body is malformed after some user identities were processed, the response contains their results and
+     * it is marked as incomplete.
+     * @param request HTTP servlet request with the import users request in its body.
+     * @return Import users response.
+     * @throws InvalidRequestException Thrown when request is invalid.
+     */
+    @Operation(summary = "Import user identities")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User identities were processed, see results for individual user identities and whether the request was processed completely"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, error codes: REQUEST_VALIDATION_FAILED, INVALID_REQUEST"),
+            @ApiResponse(responseCode = "500", description = "Unexpected error")
+    })
+    @RequestMapping(value = "import", method = RequestMethod.POST)
+    public ObjectResponse<ImportUsersResponse> importUsers(HttpServletRequest request) throws InvalidRequestException {
+        logger.info("Received importUsers request");
+        final ImportUsersResponse response;
+        try {
+            response = userIdentityImportService.importUsers(request.getInputStream());
+        } catch (IOException ex) {
+            throw new InvalidRequestException(ex);
+        }
+        if (response.isComplete()) {
+            logger.info("The importUsers request succeeded, imported: {}, failed: {}", response.getImportedCount(), response.getFailedCount());
+        } else {
+            logger.warn("The importUsers request was processed partially, imported: {}, failed: {}, error: {}", response.getImportedCount(), response.getFailedCount(), response.getErrorMessage());
+        }
+        return new ObjectResponse<>(response);
+    }
+
     /**
      * Update a user identity via PUT method.
      * @param request Update user request.
@@ -650,22 +689,28 @@ public class UserController {
      * @param userId User ID.
      * @param createdStartDate Credential start date.
      * @param createdEndDate Credential end date.
+     * @param pageSize Page size.
+     * @param beforeAuthenticationId Authentication ID of last authentication from previous page.
      * @return Get user authentication list response.
      * @throws UserNotFoundException Thrown when user identity is not found.
+     * @throws InvalidRequestException Thrown when request is invalid.
      */
     @Operation(summary = "Get user authentication list")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User authentication list sent in response"),
-            @ApiResponse(responseCode = "400", description = "Invalid request, error codes: REQUEST_VALIDATION_FAILED, USER_IDENTITY_NOT_FOUND"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, error codes: REQUEST_VALIDATION_FAILED, USER_IDENTITY_NOT_FOUND, INVALID_REQUEST"),
             @ApiResponse(responseCode = "500", description = "Unexpected error")
     })
     @RequestMapping(value = "authentication", method = RequestMethod.GET)
-    public ObjectResponse<GetUserAuthenticationListResponse> getUserAuthenticationList(@RequestParam @NotBlank @Size(min = 1, max = 256) String userId, @RequestParam @Nullable Date createdStartDate, @RequestParam @Nullable Date createdEndDate) throws UserNotFoundException {
+    public ObjectResponse<GetUserAuthenticationListResponse> getUserAuthenticationList(@RequestParam @NotBlank @Size(min = 1, max = 256) String userId, @RequestParam @Nullable Date createdStartDate, @RequestParam @Nullable Date createdEndDate,
+                                                                                        @RequestParam @Nullable @Positive Integer pageSize, @RequestParam @Nullable @Size(min = 1, max = 256) String beforeAuthenticationId) throws UserNotFoundException, InvalidRequestException {
         logger.info("Received getUserAuthenticationList request, user ID: {}", userId);
         GetUserAuthenticationListRequest request = new GetUserAuthenticationListRequest();
         request.setUserId(userId);
         request.setCreatedStartDate(createdStartDate);
         request.setCreatedEndDate(createdEndDate);
+        request.setPageSize(pageSize);
+        request.setBeforeAuthenticationId(beforeAuthenticationId);
         final GetUserAuthenticationListResponse response = authenticationService.getUserAuthenticationList(request);
         logger.info("The getUserAuthenticationList request succeeded, user ID: {}, authentication list size: {}", userId, response.getAuthentications().size());
         return new ObjectResponse<>(response);
@@ -676,15 +721,16 @@ public class UserController {
      * @param request Get user authentication list request.
      * @return Get user authentication list response.
      * @throws UserNotFoundException Thrown when user identity is not found.
+     * @throws InvalidRequestException Thrown when request is invalid.
      */
     @Operation(summary = "Get user authentication list")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User authentication list sent in response"),
-            @ApiResponse(responseCode = "400", description = "Invalid request, error codes: REQUEST_VALIDATION_FAILED, USER_IDENTITY_NOT_FOUND"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, error codes: REQUEST_VALIDATION_FAILED, USER_IDENTITY_NOT_FOUND, INVALID_REQUEST"),
             @ApiResponse(responseCode = "500", description = "Unexpected error")
     })
     @RequestMapping(value = "authentication/list", method = RequestMethod.POST)
-    public ObjectResponse<GetUserAuthenticationListResponse> getUserAuthenticationListPost(@Valid @RequestBody ObjectRequest<GetUserAuthenticationListRequest> request) throws UserNotFoundException {
+    public ObjectResponse<GetUserAuthenticationListResponse> getUserAuthenticationListPost(@Valid @RequestBody ObjectRequest<GetUserAuthenticationListRequest> request) throws UserNotFoundException, InvalidRequestException {
         logger.info("Received getUserAuthenticationListPost request, user ID: {}", request.getRequestObject().getUserId());
         final GetUserAuthenticationListResponse response = authenticationService.getUserAuthenticationList(request.getRequestObject());
         logger.info("The getUserAuthenticationListPost request succeeded, user ID: {}, authentication list size: {}", request.getRequestObject().getUserId(), response.getAuthentications().size());
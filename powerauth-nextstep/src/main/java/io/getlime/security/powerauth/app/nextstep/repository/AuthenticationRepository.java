@@ -16,13 +16,14 @@
 package io.getlime.security.powerauth.app.nextstep.repository;
 
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.AuthenticationEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Date;
-import java.util.stream.Stream;
+import java.util.List;
 
 /**
  * Crud repository for persistence of authentication events.
@@ -33,20 +34,33 @@ import java.util.stream.Stream;
 public interface AuthenticationRepository extends CrudRepository<AuthenticationEntity, String> {
 
     /**
-     * Find all authentication entities by user identity.
+     * Find first page of authentication entities by user identity and created date, ordered by created timestamp and authentication ID in descending order.
      * @param userId User ID.
-     * @return Stream of authentication entities.
+     * @param startDate Created date range start.
+     * @param endDate Created date range end.
+     * @param pageable Page limit.
+     * @return List of authentication entities.
      */
-    Stream<AuthenticationEntity> findAllByUserIdOrderByTimestampCreatedDesc(String userId);
+    @Query(value = "SELECT a FROM AuthenticationEntity a WHERE a.userId = :userId AND a.timestampCreated BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.timestampCreated DESC, a.authenticationId DESC")
+    List<AuthenticationEntity> findAuthenticationPage(@Param("userId") String userId, @Param("startDate") Date startDate,
+                                                      @Param("endDate") Date endDate, Pageable pageable);
 
     /**
-     * Find authentication entities by user identity and created date.
+     * Find next page of authentication entities by user identity and created date, ordered by created timestamp and authentication ID in descending order.
      * @param userId User ID.
      * @param startDate Created date range start.
      * @param endDate Created date range end.
-     * @return Stream of authentication entities.
+     * @param beforeTimestamp Created timestamp of last authentication from previous page.
+     * @param beforeAuthenticationId Authentication ID of last authentication from previous page.
+     * @param pageable Page limit.
+     * @return List of authentication entities.
      */
-    @Query(value = "from AuthenticationEntity a where a.userId = :userId AND a.timestampCreated BETWEEN :startDate AND :endDate ORDER BY a.timestampCreated DESC")
-    Stream<AuthenticationEntity> findAuthenticationsByUserIdAndCreatedDate(@Param("userId") String userId, @Param("startDate") Date startDate, @Param("endDate") Date endDate);
+    @Query(value = "SELECT a FROM AuthenticationEntity a WHERE a.userId = :userId AND a.timestampCreated BETWEEN :startDate AND :endDate " +
+            "AND (a.timestampCreated < :beforeTimestamp OR (a.timestampCreated = :beforeTimestamp AND a.authenticationId < :beforeAuthenticationId)) " +
+            "ORDER BY a.timestampCreated DESC, a.authenticationId DESC")
+    List<AuthenticationEntity> findAuthenticationPageBefore(@Param("userId") String userId, @Param("startDate") Date startDate,
+                                                            @Param("endDate") Date endDate, @Param("beforeTimestamp") Date beforeTimestamp,
+                                                            @Param("beforeAuthenticationId") String beforeAuthenticationId, Pageable pageable);
 
-}
\ No newline at end of file
+}
@@ -17,12 +17,16 @@ package io.getlime.security.powerauth.app.nextstep.repository;
 
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.CredentialDefinitionEntity;
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.CredentialEntity;
+import io.getlime.security.powerauth.app.nextstep.repository.model.entity.UserIdentityEntity;
 import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.CredentialStatus;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -50,6 +54,22 @@ public interface CredentialRepository extends CrudRepository<CredentialEntity, S
      */
     Optional<CredentialEntity> findByCredentialDefinitionAndUsername(CredentialDefinitionEntity credentialDefinition, String username);
 
+    /**
+     * Find credential for a user identity and credential definition.
+     * @param user User identity entity.
+     * @param credentialDefinition Credential definition.
+     * @return Credential matching query criteria.
+     */
+    Optional<CredentialEntity> findByUserAndCredentialDefinition(UserIdentityEntity user, CredentialDefinitionEntity credentialDefinition);
+
+    /**
+     * Find credentials for multiple user identities, credential definitions are fetched together with credentials.
+     * @param userIds User IDs.
+     * @return List of credentials.
+     */
+    @Query(value = "SELECT c FROM CredentialEntity c JOIN FETCH c.credentialDefinition WHERE c.user.userId IN :userIds ORDER BY c.timestampCreated")
+    List<CredentialEntity> findAllByUserIds(@Param("userIds") Collection<String> userIds);
+
     /**
      * Reset soft failed attempt counters for credentials in BLOCKED_TEMPORARY status and change credential status to ACTIVE.
      * @return Count of updated credentials.
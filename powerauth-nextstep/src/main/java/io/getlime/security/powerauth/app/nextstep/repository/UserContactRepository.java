@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.nextstep.repository;
+
+import io.getlime.security.powerauth.app.nextstep.repository.model.entity.UserContactEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Crud repository for persistence of user contacts.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Repository
+public interface UserContactRepository extends CrudRepository<UserContactEntity, Long> {
+
+    /**
+     * Find contacts for multiple user identities.
+     * @param userIds User IDs.
+     * @return List of user contacts.
+     */
+    @Query(value = "SELECT c FROM UserContactEntity c WHERE c.user.userId IN :userIds ORDER BY c.timestampCreated")
+    List<UserContactEntity> findAllByUserIds(@Param("userIds") Collection<String> userIds);
+
+}
@@ -15,12 +15,17 @@
  */
 package io.getlime.security.powerauth.app.nextstep.repository;
 
+import io.getlime.security.powerauth.app.nextstep.repository.model.entity.CredentialDefinitionEntity;
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.UserIdentityEntity;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.CredentialStatus;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.UserIdentityStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Stream;
@@ -49,4 +54,96 @@ public interface UserIdentityRepository extends CrudRepository<UserIdentityEntit
     @Query(value = "from UserIdentityEntity u where u.timestampCreated BETWEEN :startDate AND :endDate")
     Stream<UserIdentityEntity> findUserIdentitiesByCreatedDate(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
 
-}
\ No newline at end of file
+    /**
+     * Find a page of user identity IDs with given created date and status, ordered by user ID.
+     * @param startDate Start of interval for created date, inclusive.
+     * @param endDate End of interval for created date, inclusive.
+     * @param statuses User identity statuses.
+     * @param afterUserId Only user IDs greater than this user ID are returned, use null for first page.
+     * @param pageable Page limit.
+     * @return List of user IDs.
+     */
+    @Query(value = "SELECT u.userId FROM UserIdentityEntity u WHERE u.timestampCreated BETWEEN :startDate AND :endDate " +
+            "AND u.status IN :statuses " +
+            "AND (:afterUserId IS NULL OR u.userId > :afterUserId) " +
+            "ORDER BY u.userId")
+    List<String> findUserIdsByCreatedDate(@Param("startDate") Date startDate, @Param("endDate") Date endDate,
+                                          @Param("statuses") Collection<UserIdentityStatus> statuses,
+                                          @Param("afterUserId") String afterUserId, Pageable pageable);
+
+    /**
+     * Find a page of user identity IDs with given created date, status and active roles, ordered by user ID.
+     * @param startDate Start of interval for created date, inclusive.
+     * @param endDate End of interval for created date, inclusive.
+     * @param statuses User identity statuses.
+     * @param roles Role names, user identity needs to have all roles active.
+     * @param roleCount Count of distinct role names.
+     * @param afterUserId Only user IDs greater than this user ID are returned, use null for first page.
+     * @param pageable Page limit.
+     * @return List of user IDs.
+     */
+    @Query(value = "SELECT u.userId FROM UserIdentityEntity u WHERE u.timestampCreated BETWEEN :startDate AND :endDate " +
+            "AND u.status IN :statuses " +
+            "AND (SELECT COUNT(DISTINCT ur.role.name) FROM UserRoleEntity ur WHERE ur.user = u " +
+            "AND ur.status = io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.UserRoleStatus.ACTIVE " +
+            "AND ur.role.name IN :roles) = :roleCount " +
+            "AND (:afterUserId IS NULL OR u.userId > :afterUserId) " +
+            "ORDER BY u.userId")
+    List<String> findUserIdsByCreatedDateAndRoles(@Param("startDate") Date startDate, @Param("endDate") Date endDate,
+                                                  @Param("statuses") Collection<UserIdentityStatus> statuses,
+                                                  @Param("roles") Collection<String> roles, @Param("roleCount") long roleCount,
+                                                  @Param("afterUserId") String afterUserId, Pageable pageable);
+
+    /**
+     * Find a page of user identity IDs with given credential definition and credential status, ordered by user ID.
+     * @param credentialDefinition Credential definition.
+     * @param credentialStatus Credential status.
+     * @param startDate Start of interval for created date, exclusive, use null for no filter by created date.
+     * @param endDate End of interval for created date, exclusive.
+     * @param statuses User identity statuses.
+     * @param afterUserId Only user IDs greater than this user ID are returned, use null for first page.
+     * @param pageable Page limit.
+     * @return List of user IDs.
+     */
+    @Query(value = "SELECT u.userId FROM CredentialEntity c JOIN c.user u " +
+            "WHERE c.credentialDefinition = :credentialDefinition AND c.status = :credentialStatus " +
+            "AND u.status IN :statuses " +
+            "AND (:startDate IS NULL OR (u.timestampCreated > :startDate AND u.timestampCreated < :endDate)) " +
+            "AND (:afterUserId IS NULL OR u.userId > :afterUserId) " +
+            "ORDER BY u.userId")
+    List<String> findUserIdsByCredential(@Param("credentialDefinition") CredentialDefinitionEntity credentialDefinition,
+                                         @Param("credentialStatus") CredentialStatus credentialStatus,
+                                         @Param("startDate") Date startDate, @Param("endDate") Date endDate,
+                                         @Param("statuses") Collection<UserIdentityStatus> statuses,
+                                         @Param("afterUserId") String afterUserId, Pageable pageable);
+
+    /**
+     * Find a page of user identity IDs with given credential definition, credential status and active roles, ordered by user ID.
+     * @param credentialDefinition Credential definition.
+     * @param credentialStatus Credential status.
+     * @param startDate Start of interval for created date, exclusive, use null for no filter by created date.
+     * @param endDate End of interval for created date, exclusive.
+     * @param statuses User identity statuses.
+     * @param roles Role names, user identity needs to have all roles active.
+     * @param roleCount Count of distinct role names.
+     * @param afterUserId Only user IDs greater than this user ID are returned, use null for first page.
+     * @param pageable Page limit.
+     * @return List of user IDs.
+     */
+    @Query(value = "SELECT u.userId FROM CredentialEntity c JOIN c.user u " +
+            "WHERE c.credentialDefinition = :credentialDefinition AND c.status = :credentialStatus " +
+            "AND u.status IN :statuses " +
+            "AND (:startDate IS NULL OR (u.timestampCreated > :startDate AND u.timestampCreated < :endDate)) " +
+            "AND (SELECT COUNT(DISTINCT ur.role.name) FROM UserRoleEntity ur WHERE ur.user = u " +
+            "AND ur.status = io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.UserRoleStatus.ACTIVE " +
+            "AND ur.role.name IN :roles) = :roleCount " +
+            "AND (:afterUserId IS NULL OR u.userId > :afterUserId) " +
+            "ORDER BY u.userId")
+    List<String> findUserIdsByCredentialAndRoles(@Param("credentialDefinition") CredentialDefinitionEntity credentialDefinition,
+                                                 @Param("credentialStatus") CredentialStatus credentialStatus,
+                                                 @Param("startDate") Date startDate, @Param("endDate") Date endDate,
+                                                 @Param("statuses") Collection<UserIdentityStatus> statuses,
+                                                 @Param("roles") Collection<String> roles, @Param("roleCount") long roleCount,
+                                                 @Param("afterUserId") String afterUserId, Pageable pageable);
+
+}
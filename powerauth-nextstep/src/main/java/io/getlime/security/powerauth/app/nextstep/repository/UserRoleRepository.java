@@ -17,9 +17,15 @@ package io.getlime.security.powerauth.app.nextstep.repository;
 
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.RoleEntity;
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.UserRoleEntity;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.UserRoleStatus;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Crud repository for persistence of user roles.
  *
@@ -35,4 +41,13 @@ public interface UserRoleRepository extends CrudRepository<UserRoleEntity, Long>
      */
     long countByRole(RoleEntity role);
 
-}
\ No newline at end of file
+    /**
+     * Find user roles for multiple user identities, roles are fetched together with user roles.
+     * @param userIds User IDs.
+     * @param status User role status.
+     * @return List of user roles.
+     */
+    @Query(value = "SELECT ur FROM UserRoleEntity ur JOIN FETCH ur.role WHERE ur.user.userId IN :userIds AND ur.status = :status ORDER BY ur.timestampCreated")
+    List<UserRoleEntity> findAllByUserIdsAndStatus(@Param("userIds") Collection<String> userIds, @Param("status") UserRoleStatus status);
+
+}
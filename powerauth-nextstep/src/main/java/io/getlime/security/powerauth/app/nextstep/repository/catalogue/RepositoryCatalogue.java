@@ -45,7 +45,9 @@ public class RepositoryCatalogue {
     private OtpRepository otpRepository;
     private RoleRepository roleRepository;
     private StepDefinitionRepository stepDefinitionRepository;
+    private UserContactRepository userContactRepository;
     private UserIdentityRepository userIdentityRepository;
+    private UserIdentityHistoryRepository userIdentityHistoryRepository;
     private UserPrefsRepository userPrefsRepository;
     private UserRoleRepository userRoleRepository;
 
@@ -211,6 +213,15 @@ public class RepositoryCatalogue {
         this.stepDefinitionRepository = stepDefinitionRepository;
     }
 
+    /**
+     * Set user contact repository.
+     * @param userContactRepository User contact repository.
+     */
+    @Autowired
+    public void setUserContactRepository(UserContactRepository userContactRepository) {
+        this.userContactRepository = userContactRepository;
+    }
+
     /**
      * Set user identity repository.
      * @param userIdentityRepository User identity repository.
@@ -220,6 +231,15 @@ public class RepositoryCatalogue {
         this.userIdentityRepository = userIdentityRepository;
     }
 
+    /**
+     * Set user identity history repository.
+     * @param userIdentityHistoryRepository User identity history repository.
+     */
+    @Autowired
+    public void setUserIdentityHistoryRepository(UserIdentityHistoryRepository userIdentityHistoryRepository) {
+        this.userIdentityHistoryRepository = userIdentityHistoryRepository;
+    }
+
     /**
      * Set user preferences repository.
      * @param userPrefsRepository User preferences repository.
@@ -382,6 +402,14 @@ public class RepositoryCatalogue {
         return stepDefinitionRepository;
     }
 
+    /**
+     * Get user contact repository.
+     * @return User contact repository.
+     */
+    public UserContactRepository getUserContactRepository() {
+        return userContactRepository;
+    }
+
     /**
      * Get user identity repository.
      * @return User identity repository.
@@ -390,6 +418,14 @@ public class RepositoryCatalogue {
         return userIdentityRepository;
     }
 
+    /**
+     * Get user identity history repository.
+     * @return User identity history repository.
+     */
+    public UserIdentityHistoryRepository getUserIdentityHistoryRepository() {
+        return userIdentityHistoryRepository;
+    }
+
     /**
      * Get user preferences repository.
      * @return User preferences repository.
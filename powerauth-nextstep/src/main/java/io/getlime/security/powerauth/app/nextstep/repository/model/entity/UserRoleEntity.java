@@ -17,21 +17,22 @@ package io.getlime.security.powerauth.app.nextstep.repository.model.entity;
 
 import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.UserRoleStatus;
 import lombok.Data;
-import lombok.EqualsAndHashCode;
 
 import javax.persistence.*;
 import java.io.Serializable;
 import java.util.Date;
+import java.util.Objects;
 
 /**
- * Entity which assigns user roles.
+ * Entity which assigns user roles. The role is loaded lazily, role names are resolved using the role cache. User roles
+ * are compared by user identity and role ID, so that a role assigned using an entity reference is not loaded from
+ * the database when the user role is added to a set.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
 @Entity
 @Table(name = "ns_user_role")
 @Data
-@EqualsAndHashCode(of = {"user", "role"})
 public class UserRoleEntity implements Serializable {
 
     private static final long serialVersionUID = -248437038124901685L;
@@ -46,7 +47,7 @@ public class UserRoleEntity implements Serializable {
     @JoinColumn(name = "user_id", referencedColumnName = "user_id", nullable = false)
     private UserIdentityEntity user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", referencedColumnName = "role_id", nullable = false)
     private RoleEntity role;
 
@@ -60,4 +61,29 @@ public class UserRoleEntity implements Serializable {
     @Column(name = "timestamp_last_updated")
     private Date timestampLastUpdated;
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserRoleEntity)) {
+            return false;
+        }
+        final UserRoleEntity that = (UserRoleEntity) o;
+        return Objects.equals(getUser(), that.getUser()) && Objects.equals(getRoleId(), that.getRoleId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getUser(), getRoleId());
+    }
+
+    /**
+     * Get role ID without initializing the role entity reference.
+     * @return Role ID.
+     */
+    private Long getRoleId() {
+        return role == null ? null : role.getRoleId();
+    }
+
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.nextstep.service;
+
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This service handles retention of audit records. Audit records older than the configured retention period are
+ * deleted in small batches, so that audit tables are not locked for a long time. On PostgreSQL and Oracle databases
+ * with audit tables partitioned by month, whole partitions with expired audit records can be dropped instead.
+ * The scheduled cleanup runs only on the Next Step node which holds the audit retention lock.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class AuditRetentionService {
+
+    private final Logger logger = LoggerFactory.getLogger(AuditRetentionService.class);
+
+    private static final String LOCK_NAME = "audit-retention";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMAT = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final DateTimeFormatter PARTITION_BOUNDARY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /**
+     * Oracle error codes signalling that a partition does not exist or that it is the initial partition of an interval
+     * partitioned table, which cannot be dropped.
+     */
+    private static final Set<Integer> ORACLE_PARTITION_NOT_DROPPABLE_ERRORS = new HashSet<>(Arrays.asList(2149, 14702, 14758));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final NextStepServerConfiguration nextStepServerConfiguration;
+    private final SchedulerLockService schedulerLockService;
+
+    /**
+     * Service constructor.
+     * @param jdbcTemplate JDBC template.
+     * @param nextStepServerConfiguration Next Step server configuration.
+     * @param schedulerLockService Scheduler lock service.
+     */
+    @Autowired
+    public AuditRetentionService(JdbcTemplate jdbcTemplate, NextStepServerConfiguration nextStepServerConfiguration, SchedulerLockService schedulerLockService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.nextStepServerConfiguration = nextStepServerConfiguration;
+        this.schedulerLockService = schedulerLockService;
+    }
+
+    /**
+     * Report disabled audit retention on startup. The built-in cleanup of the audit library is not scheduled in
+     * Next Step, so audit records are never removed when audit retention is disabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkRetentionEnabled() {
+        if (!nextStepServerConfiguration.isAuditRetentionEnabled()) {
+            logger.error("Audit retention is disabled and the built-in audit cleanup is disabled, audit records are never removed. "
+                    + "Enable audit retention using property powerauth.nextstep.audit.retention.enabled.");
+        }
+    }
+
+    /**
+     * Remove expired audit records using the configured schedule.
+     */
+    @Scheduled(cron = "${powerauth.nextstep.audit.retention.cron}")
+    public void scheduledCleanup() {
+        if (!nextStepServerConfiguration.isAuditRetentionEnabled()) {
+            return;
+        }
+        try {
+            if (!schedulerLockService.tryLock(LOCK_NAME, Duration.ofSeconds(nextStepServerConfiguration.getAuditRetentionLockSeconds()))) {
+                logger.debug("Audit retention cleanup is running on another node");
+                return;
+            }
+            try {
+                cleanup();
+            } finally {
+                schedulerLockService.unlock(LOCK_NAME);
+            }
+        } catch (DataAccessException ex) {
+            logger.error("Audit retention cleanup failed, error: {}", ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Remove audit records older than the configured retention period.
+     * @return Number of deleted audit records, or number of dropped partitions for partitioned audit tables.
+     */
+    public int cleanup() {
+        final LocalDateTime cutoff = LocalDateTime.now().minusDays(nextStepServerConfiguration.getAuditRetentionDays());
+        if (nextStepServerConfiguration.isAuditRetentionPartitioned()) {
+            final String databaseName = resolveDatabaseName();
+            if ("PostgreSQL".equals(databaseName) || "Oracle".equals(databaseName)) {
+                return dropPartitions(cutoff, databaseName);
+            }
+            logger.warn("Audit table partitioning is not supported for database: {}, audit records are deleted in batches", databaseName);
+        }
+        return deleteInBatches(cutoff);
+    }
+
+    /**
+     * Delete audit records older than cutoff timestamp in batches, each batch is deleted using separate statements.
+     * @param cutoff Cutoff timestamp.
+     * @return Number of deleted audit records.
+     */
+    private int deleteInBatches(LocalDateTime cutoff) {
+        final String tableNameAudit = nextStepServerConfiguration.getAuditTableNameLog();
+        final String tableNameParam = nextStepServerConfiguration.getAuditTableNameParam();
+        final int batchSize = Math.max(1, nextStepServerConfiguration.getAuditRetentionBatchSize());
+        final Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        final JdbcTemplate batchJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        batchJdbcTemplate.setMaxRows(batchSize);
+        int deletedCount = 0;
+        while (true) {
+            final List<String> auditLogIds = batchJdbcTemplate.queryForList("SELECT audit_log_id FROM " + tableNameAudit
+                    + " WHERE timestamp_created < ?", String.class, cutoffTimestamp);
+            if (auditLogIds.isEmpty()) {
+                break;
+            }
+            final MapSqlParameterSource parameters = new MapSqlParameterSource("auditLogIds", auditLogIds);
+            namedParameterJdbcTemplate.update("DELETE FROM " + tableNameParam + " WHERE audit_log_id IN (:auditLogIds)", parameters);
+            deletedCount += namedParameterJdbcTemplate.update("DELETE FROM " + tableNameAudit + " WHERE audit_log_id IN (:auditLogIds)", parameters);
+            if (auditLogIds.size() < batchSize) {
+                break;
+            }
+        }
+        logger.debug("Audit records older than {} were deleted, count: {}", cutoff, deletedCount);
+        return deletedCount;
+    }
+
+    /**
+     * Drop monthly partitions of audit tables which contain only audit records older than cutoff timestamp. Partitions
+     * which do not exist are skipped, other errors are propagated.
+     * @param cutoff Cutoff timestamp.
+     * @param databaseName Database product name.
+     * @return Number of dropped partitions.
+     * @throws DataAccessException Thrown when a partition cannot be dropped.
+     */
+    private int dropPartitions(LocalDateTime cutoff, String databaseName) {
+        final String tableNameAudit = nextStepServerConfiguration.getAuditTableNameLog();
+        final String tableNameParam = nextStepServerConfiguration.getAuditTableNameParam();
+        final boolean postgreSql = "PostgreSQL".equals(databaseName);
+        final LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        if (postgreSql) {
+            // PostgreSQL does not create partitions automatically, prepare partitions for current and next month
+            for (LocalDate month = currentMonth; !month.isAfter(currentMonth.plusMonths(1)); month = month.plusMonths(1)) {
+                createPostgreSqlPartition(tableNameAudit, month);
+                createPostgreSqlPartition(tableNameParam, month);
+            }
+        }
+        final Timestamp oldestTimestamp = jdbcTemplate.queryForObject("SELECT MIN(timestamp_created) FROM " + tableNameAudit, Timestamp.class);
+        if (oldestTimestamp == null) {
+            return 0;
+        }
+        int droppedCount = 0;
+        // Partition can be dropped only when the whole month is older than cutoff timestamp
+        for (LocalDate month = oldestTimestamp.toLocalDateTime().toLocalDate().withDayOfMonth(1);
+             !month.plusMonths(1).atStartOfDay().isAfter(cutoff) && month.isBefore(currentMonth);
+             month = month.plusMonths(1)) {
+            for (String tableName : new String[]{tableNameParam, tableNameAudit}) {
+                final boolean dropped = postgreSql ? dropPostgreSqlPartition(tableName, month) : dropOraclePartition(tableName, month);
+                if (dropped) {
+                    logger.info("Audit partition was dropped, table: {}, month: {}", tableName, month);
+                    droppedCount++;
+                }
+            }
+        }
+        logger.debug("Audit partitions older than {} were dropped, count: {}", cutoff, droppedCount);
+        return droppedCount;
+    }
+
+    /**
+     * Drop a monthly partition of a PostgreSQL audit table in case it exists.
+     * @param tableName Partitioned table name.
+     * @param month First day of the month.
+     * @return Whether the partition was dropped.
+     */
+    private boolean dropPostgreSqlPartition(String tableName, LocalDate month) {
+        final String partitionName = partitionName(tableName, month);
+        final String existingPartition = jdbcTemplate.queryForObject("SELECT CAST(to_regclass(?) AS VARCHAR)", String.class, partitionName);
+        if (existingPartition == null) {
+            logger.debug("Audit partition does not exist, table: {}, month: {}", tableName, month);
+            return false;
+        }
+        jdbcTemplate.execute("DROP TABLE " + partitionName);
+        return true;
+    }
+
+    /**
+     * Drop a monthly partition of an Oracle audit table in case it exists.
+     * @param tableName Partitioned table name.
+     * @param month First day of the month.
+     * @return Whether the partition was dropped.
+     */
+    private boolean dropOraclePartition(String tableName, LocalDate month) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE " + tableName + " DROP PARTITION FOR (TIMESTAMP '" + month.format(PARTITION_BOUNDARY_FORMAT) + " 00:00:00') UPDATE GLOBAL INDEXES");
+            return true;
+        } catch (DataAccessException ex) {
+            final Throwable cause = ex.getMostSpecificCause();
+            if (cause instanceof SQLException && ORACLE_PARTITION_NOT_DROPPABLE_ERRORS.contains(((SQLException) cause).getErrorCode())) {
+                logger.debug("Audit partition was not dropped, table: {}, month: {}, error: {}", tableName, month, cause.getMessage());
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Create a monthly partition for a PostgreSQL audit table in case it does not exist yet.
+     * @param tableName Partitioned table name.
+     * @param month First day of the month.
+     */
+    private void createPostgreSqlPartition(String tableName, LocalDate month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(tableName, month) + " PARTITION OF " + tableName
+                + " FOR VALUES FROM ('" + month.format(PARTITION_BOUNDARY_FORMAT) + "') TO ('" + month.plusMonths(1).format(PARTITION_BOUNDARY_FORMAT) + "')");
+    }
+
+    /**
+     * Get name of a monthly partition.
+     * @param tableName Partitioned table name.
+     * @param month First day of the month.
+     * @return Partition name.
+     */
+    private String partitionName(String tableName, LocalDate month) {
+        return tableName + "_" + month.format(PARTITION_SUFFIX_FORMAT);
+    }
+
+    /**
+     * Resolve database product name.
+     * @return Database product name.
+     */
+    private String resolveDatabaseName() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException ex) {
+            logger.warn("Database product name could not be resolved, error: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+}
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wultra.core.audit.base.Audit;
 import com.wultra.core.audit.base.model.AuditDetail;
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
 import io.getlime.security.powerauth.app.nextstep.converter.AuthenticationConverter;
 import io.getlime.security.powerauth.app.nextstep.converter.OtpValueConverter;
 import io.getlime.security.powerauth.app.nextstep.repository.AuthenticationRepository;
@@ -44,11 +45,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.*;
-import java.util.stream.Stream;
 
 /**
  * This service handles user authentication.
@@ -65,6 +67,7 @@ public class AuthenticationService {
     private final ServiceCatalogue serviceCatalogue;
     private final OtpValueConverter otpValueConverter;
     private final Audit audit;
+    private final NextStepServerConfiguration nextStepServerConfiguration;
 
     private final AuthenticationConverter authenticationConverter = new AuthenticationConverter();
 
@@ -76,13 +79,15 @@ public class AuthenticationService {
      * @param serviceCatalogue Service catalogue.
      * @param otpValueConverter OTP value converter.
      * @param audit Audit audit.
+     * @param nextStepServerConfiguration Next Step server configuration.
      */
     @Autowired
-    public AuthenticationService(RepositoryCatalogue repositoryCatalogue, @Lazy ServiceCatalogue serviceCatalogue, OtpValueConverter otpValueConverter, Audit audit) {
+    public AuthenticationService(RepositoryCatalogue repositoryCatalogue, @Lazy ServiceCatalogue serviceCatalogue, OtpValueConverter otpValueConverter, Audit audit, NextStepServerConfiguration nextStepServerConfiguration) {
         this.authenticationRepository = repositoryCatalogue.getAuthenticationRepository();
         this.serviceCatalogue = serviceCatalogue;
         this.otpValueConverter = otpValueConverter;
         this.audit = audit;
+        this.nextStepServerConfiguration = nextStepServerConfiguration;
     }
 
     /**
@@ -197,16 +202,18 @@ public class AuthenticationService {
                 .param("operationId", operation != null ? operation.getOperationId() : null)
                 .param("authenticationResult", authenticationResult)
                 .build());
-        audit.debug("Credential authentication result (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_AUTHENTICATION)
-                .param("userId", user.getUserId())
-                .param("operationId", operation != null ? operation.getOperationId() : null)
-                .param("authenticationResult", authenticationResult)
-                .param("remainingAttempts", remainingAttempts)
-                .param("userStatus", user.getStatus())
-                .param("credentialStatus", credential.getStatus())
-                .param("operationFailed", operationFailed)
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("Credential authentication result (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_AUTHENTICATION)
+                    .param("userId", user.getUserId())
+                    .param("operationId", operation != null ? operation.getOperationId() : null)
+                    .param("authenticationResult", authenticationResult)
+                    .param("remainingAttempts", remainingAttempts)
+                    .param("userStatus", user.getStatus())
+                    .param("credentialStatus", credential.getStatus())
+                    .param("operationFailed", operationFailed)
+                    .build());
+        }
         final CredentialAuthenticationResponse response = new CredentialAuthenticationResponse();
         response.setUserId(user.getUserId());
         response.setUserIdentityStatus(user.getStatus());
@@ -271,14 +278,16 @@ public class AuthenticationService {
                 .param("operationId", operation.getOperationId())
                 .param("authenticationResult", response.getAuthenticationResult())
                 .build());
-        audit.debug("Credential custom authentication result (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_AUTHENTICATION)
-                .param("userId", userId)
-                .param("operationId", operation.getOperationId())
-                .param("authenticationResult", response.getAuthenticationResult())
-                .param("remainingAttempts", response.getRemainingAttempts())
-                .param("operationFailed", operationFailed)
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("Credential custom authentication result (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_AUTHENTICATION)
+                    .param("userId", userId)
+                    .param("operationId", operation.getOperationId())
+                    .param("authenticationResult", response.getAuthenticationResult())
+                    .param("remainingAttempts", response.getRemainingAttempts())
+                    .param("operationFailed", operationFailed)
+                    .build());
+        }
         return response;
     }
 
@@ -438,18 +447,20 @@ public class AuthenticationService {
                 .param("operationId", operation != null ? operation.getOperationId() : null)
                 .param("authenticationResult", authenticationResult)
                 .build());
-        audit.debug("OTP " + mode + " result (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_AUTHENTICATION)
-                .param("userId", user != null ? user.getUserId() : null)
-                .param("otpId", otp.getOtpId())
-                .param("operationId", operation != null ? operation.getOperationId() : null)
-                .param("authenticationResult", authenticationResult)
-                .param("remainingAttempts", remainingAttempts)
-                .param("userStatus", user != null ? user.getStatus() : null)
-                .param("otpStatus", otp.getStatus())
-                .param("credentialStatus", credential != null ? credential.getStatus() : null)
-                .param("operationFailed", operationFailed)
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("OTP " + mode + " result (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_AUTHENTICATION)
+                    .param("userId", user != null ? user.getUserId() : null)
+                    .param("otpId", otp.getOtpId())
+                    .param("operationId", operation != null ? operation.getOperationId() : null)
+                    .param("authenticationResult", authenticationResult)
+                    .param("remainingAttempts", remainingAttempts)
+                    .param("userStatus", user != null ? user.getStatus() : null)
+                    .param("otpStatus", otp.getStatus())
+                    .param("credentialStatus", credential != null ? credential.getStatus() : null)
+                    .param("operationFailed", operationFailed)
+                    .build());
+        }
         final OtpAuthenticationResponse response = new OtpAuthenticationResponse();
         if (userId != null) {
             response.setUserId(userId);
@@ -506,15 +517,17 @@ public class AuthenticationService {
                 .param("operationId", operation.getOperationId())
                 .param("authenticationResult", response.getAuthenticationResult())
                 .build());
-        audit.debug("OTP custom authentication result (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_AUTHENTICATION)
-                .param("otpId", otpId)
-                .param("userId", userId)
-                .param("operationId", operation.getOperationId())
-                .param("authenticationResult", response.getAuthenticationResult())
-                .param("remainingAttempts", response.getRemainingAttempts())
-                .param("operationFailed", operationFailed)
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("OTP custom authentication result (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_AUTHENTICATION)
+                    .param("otpId", otpId)
+                    .param("userId", userId)
+                    .param("operationId", operation.getOperationId())
+                    .param("authenticationResult", response.getAuthenticationResult())
+                    .param("remainingAttempts", response.getRemainingAttempts())
+                    .param("operationFailed", operationFailed)
+                    .build());
+        }
         return response;
     }
 
@@ -679,20 +692,22 @@ public class AuthenticationService {
                 .param("operationId", operation != null ? operation.getOperationId() : null)
                 .param("authenticationResult", authenticationResult)
                 .build());
-        audit.debug("Combined authentication result (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_AUTHENTICATION)
-                .param("userId", user.getUserId())
-                .param("otpId", otp.getOtpId())
-                .param("operationId", operation != null ? operation.getOperationId() : null)
-                .param("authenticationResult", authenticationResult)
-                .param("credentialAuthenticationResult", credentialAuthenticationResult)
-                .param("otpAuthenticationResult", otpAuthenticationResult)
-                .param("remainingAttempts", remainingAttempts)
-                .param("userStatus", user.getStatus())
-                .param("otpStatus", otp.getStatus())
-                .param("credentialStatus", credential.getStatus())
-                .param("operationFailed", operationFailed)
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("Combined authentication result (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_AUTHENTICATION)
+                    .param("userId", user.getUserId())
+                    .param("otpId", otp.getOtpId())
+                    .param("operationId", operation != null ? operation.getOperationId() : null)
+                    .param("authenticationResult", authenticationResult)
+                    .param("credentialAuthenticationResult", credentialAuthenticationResult)
+                    .param("otpAuthenticationResult", otpAuthenticationResult)
+                    .param("remainingAttempts", remainingAttempts)
+                    .param("userStatus", user.getStatus())
+                    .param("otpStatus", otp.getStatus())
+                    .param("credentialStatus", credential.getStatus())
+                    .param("operationFailed", operationFailed)
+                    .build());
+        }
         final CombinedAuthenticationResponse response = new CombinedAuthenticationResponse();
         response.setUserId(user.getUserId());
         response.setUserIdentityStatus(user.getStatus());
@@ -752,56 +767,88 @@ public class AuthenticationService {
                 .param("operationId", operation.getOperationId())
                 .param("authenticationResult", response.getAuthenticationResult())
                 .build());
-        audit.debug("Combined custom authentication result (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_AUTHENTICATION)
-                .param("otpId", otpId)
-                .param("userId", userId)
-                .param("operationId", operation.getOperationId())
-                .param("authenticationResult", response.getAuthenticationResult())
-                .param("remainingAttempts", response.getRemainingAttempts())
-                .param("operationFailed", operationFailed)
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("Combined custom authentication result (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_AUTHENTICATION)
+                    .param("otpId", otpId)
+                    .param("userId", userId)
+                    .param("operationId", operation.getOperationId())
+                    .param("authenticationResult", response.getAuthenticationResult())
+                    .param("remainingAttempts", response.getRemainingAttempts())
+                    .param("operationFailed", operationFailed)
+                    .build());
+        }
         return response;
     }
 
     /**
-     * Get list of authentications for user.
+     * Get a page of authentications for user, ordered from the most recent authentication. Requests without paging
+     * parameters receive all authentications of the user in the created date range, as in previous versions.
      * @param request Get user authentication list request.
      * @return Get user authentication list response.
      * @throws UserNotFoundException Thrown when user is not found.
+     * @throws InvalidRequestException Thrown when request is invalid.
      */
     @Transactional
-    public GetUserAuthenticationListResponse getUserAuthenticationList(GetUserAuthenticationListRequest request) throws UserNotFoundException {
+    public GetUserAuthenticationListResponse getUserAuthenticationList(GetUserAuthenticationListRequest request) throws UserNotFoundException, InvalidRequestException {
         final UserIdentityLookupService userIdentityLookupService = serviceCatalogue.getUserIdentityLookupService();
         final UserIdentityEntity user = userIdentityLookupService.findUser(request.getUserId());
-        final Stream<AuthenticationEntity> authentications;
-        if (request.getCreatedStartDate() == null && request.getCreatedEndDate() == null) {
-            authentications = authenticationRepository.findAllByUserIdOrderByTimestampCreatedDesc(user.getUserId());
-        }  else {
-            final Date startDate;
-            final Date endDate;
-            if (request.getCreatedStartDate() == null) {
-                startDate = new Date(0L);
-            } else {
-                startDate = request.getCreatedStartDate();
-            }
-            if (request.getCreatedEndDate() == null) {
-                endDate = new Date();
-            } else {
-                endDate = request.getCreatedEndDate();
+        final Date startDate;
+        final Date endDate;
+        if (request.getCreatedStartDate() == null) {
+            startDate = new Date(0L);
+        } else {
+            startDate = request.getCreatedStartDate();
+        }
+        if (request.getCreatedEndDate() == null) {
+            endDate = new Date();
+        } else {
+            endDate = request.getCreatedEndDate();
+        }
+        final boolean paged = request.getPageSize() != null || request.getBeforeAuthenticationId() != null;
+        final int pageSize = paged ? resolvePageSize(request.getPageSize()) : Integer.MAX_VALUE;
+        // Fetch one extra record to find out whether a next page exists, legacy requests are not paged
+        final Pageable pageable = paged ? PageRequest.of(0, pageSize + 1) : Pageable.unpaged();
+        final List<AuthenticationEntity> authentications;
+        if (request.getBeforeAuthenticationId() == null) {
+            authentications = authenticationRepository.findAuthenticationPage(user.getUserId(), startDate, endDate, pageable);
+        } else {
+            // Resolve exact created timestamp of the last authentication from previous page, the timestamp precision in API is limited
+            final Optional<AuthenticationEntity> beforeAuthenticationOptional = authenticationRepository.findById(request.getBeforeAuthenticationId());
+            if (!beforeAuthenticationOptional.isPresent() || !user.getUserId().equals(beforeAuthenticationOptional.get().getUserId())) {
+                throw new InvalidRequestException("Authentication not found: " + request.getBeforeAuthenticationId());
             }
-            authentications = authenticationRepository.findAuthenticationsByUserIdAndCreatedDate(user.getUserId(), startDate, endDate);
+            final AuthenticationEntity beforeAuthentication = beforeAuthenticationOptional.get();
+            authentications = authenticationRepository.findAuthenticationPageBefore(user.getUserId(), startDate, endDate,
+                    beforeAuthentication.getTimestampCreated(), beforeAuthentication.getAuthenticationId(), pageable);
         }
         final GetUserAuthenticationListResponse response = new GetUserAuthenticationListResponse();
         response.setUserId(user.getUserId());
-        authentications.forEach(authentication -> {
+        final List<AuthenticationEntity> page = authentications.size() > pageSize ? authentications.subList(0, pageSize) : authentications;
+        page.forEach(authentication -> {
             final AuthenticationDetail authenticationDetail = authenticationConverter.fromEntity(authentication);
             response.getAuthentications().add(authenticationDetail);
         });
-        authentications.close();
+        if (authentications.size() > pageSize) {
+            final AuthenticationEntity lastAuthentication = page.get(pageSize - 1);
+            response.setNextBeforeAuthenticationId(lastAuthentication.getAuthenticationId());
+        }
         return response;
     }
 
+    /**
+     * Resolve page size for user authentication list.
+     * @param requestedPageSize Page size from request, null in case only the next page is requested.
+     * @return Page size limited by configured maximum page size.
+     */
+    private int resolvePageSize(Integer requestedPageSize) {
+        final int maxPageSize = nextStepServerConfiguration.getAuthenticationListMaxPageSize();
+        if (requestedPageSize == null || requestedPageSize > maxPageSize) {
+            return maxPageSize;
+        }
+        return requestedPageSize;
+    }
+
     /**
      * Verify a credential value.
      * @param authenticationMode Credential authentication mode.
@@ -35,6 +35,7 @@ import io.getlime.security.powerauth.lib.nextstep.model.entity.error.CredentialV
 import io.getlime.security.powerauth.lib.nextstep.model.exception.*;
 import io.getlime.security.powerauth.lib.nextstep.model.request.*;
 import io.getlime.security.powerauth.lib.nextstep.model.response.*;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -174,7 +175,7 @@ public class CredentialService {
 
         UserIdentityEntity user = userIdentityLookupService.findUser(request.getUserId());
         final CredentialDefinitionEntity credentialDefinition = credentialDefinitionService.findActiveCredentialDefinition(request.getCredentialName());
-        final Optional<CredentialEntity> credentialOptional = user.getCredentials().stream().filter(c -> c.getCredentialDefinition().equals(credentialDefinition)).findFirst();
+        final Optional<CredentialEntity> credentialOptional = findUserCredential(user, credentialDefinition);
         if (!credentialOptional.isPresent()) {
             throw new CredentialNotFoundException("Credential not found: " + request.getCredentialName() + ", user ID: " + user.getUserId());
         }
@@ -410,7 +411,7 @@ public class CredentialService {
 
         UserIdentityEntity user = userIdentityLookupService.findUser(request.getUserId());
         final CredentialDefinitionEntity credentialDefinition = credentialDefinitionService.findActiveCredentialDefinition(request.getCredentialName());
-        final Optional<CredentialEntity> credentialOptional = user.getCredentials().stream().filter(c -> c.getCredentialDefinition().equals(credentialDefinition)).findFirst();
+        final Optional<CredentialEntity> credentialOptional = findUserCredential(user, credentialDefinition);
         if (!credentialOptional.isPresent()) {
             throw new CredentialNotFoundException("Credential not found: " + request.getCredentialName() + ", user ID: " + user.getUserId());
         }
@@ -481,7 +482,7 @@ public class CredentialService {
 
         UserIdentityEntity user = userIdentityLookupService.findUser(request.getUserId());
         final CredentialDefinitionEntity credentialDefinition = credentialDefinitionService.findActiveCredentialDefinition(request.getCredentialName());
-        final Optional<CredentialEntity> credentialOptional = user.getCredentials().stream().filter(c -> c.getCredentialDefinition().equals(credentialDefinition)).findFirst();
+        final Optional<CredentialEntity> credentialOptional = findUserCredential(user, credentialDefinition);
         if (!credentialOptional.isPresent()) {
             throw new CredentialNotFoundException("Credential not found: " + request.getCredentialName() + ", user ID: " + user.getUserId());
         }
@@ -521,7 +522,7 @@ public class CredentialService {
 
         UserIdentityEntity user = userIdentityLookupService.findUser(request.getUserId());
         final CredentialDefinitionEntity credentialDefinition = credentialDefinitionService.findActiveCredentialDefinition(request.getCredentialName());
-        final Optional<CredentialEntity> credentialOptional = user.getCredentials().stream().filter(c -> c.getCredentialDefinition().equals(credentialDefinition)).findFirst();
+        final Optional<CredentialEntity> credentialOptional = findUserCredential(user, credentialDefinition);
         if (!credentialOptional.isPresent()) {
             throw new CredentialNotFoundException("Credential not found: " + request.getCredentialName() + ", user ID: " + user.getUserId());
         }
@@ -562,7 +563,7 @@ public class CredentialService {
 
         UserIdentityEntity user = userIdentityLookupService.findUser(request.getUserId());
         final CredentialDefinitionEntity credentialDefinition = credentialDefinitionService.findActiveCredentialDefinition(request.getCredentialName());
-        final Optional<CredentialEntity> credentialOptional = user.getCredentials().stream().filter(c -> c.getCredentialDefinition().equals(credentialDefinition)).findFirst();
+        final Optional<CredentialEntity> credentialOptional = findUserCredential(user, credentialDefinition);
         if (!credentialOptional.isPresent()) {
             throw new CredentialNotFoundException("Credential not found: " + request.getCredentialName() + ", user ID: " + user.getUserId());
         }
@@ -618,13 +619,29 @@ public class CredentialService {
      * @throws CredentialNotFoundException Thrown when credential is not found.
      */
     public CredentialEntity findCredential(CredentialDefinitionEntity credentialDefinition, UserIdentityEntity user) throws CredentialNotFoundException {
-        final Optional<CredentialEntity> credentialOptional = user.getCredentials().stream().filter(c -> c.getCredentialDefinition().equals(credentialDefinition)).findFirst();
+        final Optional<CredentialEntity> credentialOptional = findUserCredential(user, credentialDefinition);
         if (!credentialOptional.isPresent()) {
             throw new CredentialNotFoundException("Credential not found: " + credentialDefinition.getName());
         }
         return credentialOptional.get();
     }
 
+    /**
+     * Find a credential for given user identity and credential definition. In case credentials of the user identity
+     * are not loaded yet, only the requested credential is queried instead of loading all user identity credentials.
+     * @param user User identity entity.
+     * @param credentialDefinition Credential definition.
+     * @return Credential, if it exists.
+     */
+    private Optional<CredentialEntity> findUserCredential(UserIdentityEntity user, CredentialDefinitionEntity credentialDefinition) {
+        final Set<CredentialEntity> credentials = user.getCredentials();
+        if (Hibernate.isInitialized(credentials)) {
+            return credentials.stream().filter(c -> c.getCredentialDefinition().equals(credentialDefinition)).findFirst();
+        }
+        final CredentialRepository credentialRepository = repositoryCatalogue.getCredentialRepository();
+        return credentialRepository.findByUserAndCredentialDefinition(user, credentialDefinition);
+    }
+
     /**
      * Create a credential. In case the credential is already defined in the database, reuse the existing record.
      * Method is not transactional.
@@ -654,7 +671,7 @@ public class CredentialService {
         final EndToEndEncryptionService endToEndEncryptionService = serviceCatalogue.getEndToEndEncryptionService();
         // Lookup credential in case it already exists
         final CredentialEntity credential;
-        final Optional<CredentialEntity> credentialOptional = user.getCredentials().stream().filter(c -> c.getCredentialDefinition().equals(credentialDefinition)).findFirst();
+        final Optional<CredentialEntity> credentialOptional = findUserCredential(user, credentialDefinition);
         final boolean newCredential;
         Date changeTimestamp = new Date();
         if (credentialOptional.isPresent()) {
@@ -165,20 +165,22 @@ public class OperationPersistenceService {
                 .param("externalTransactionId", operation.getExternalTransactionId())
                 .param("userId", operation.getUserId())
                 .build());
-        audit.debug("Operation was created (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_OPERATION)
-                .param("operationId", operation.getOperationId())
-                .param("operationName", operation.getOperationName())
-                .param("operationData", operation.getOperationData())
-                .param("externalOperationName", operation.getExternalOperationName())
-                .param("externalTransactionId", operation.getExternalTransactionId())
-                .param("userId", operation.getUserId())
-                .param("organizationId", operation.getOperationId())
-                .param("requestAuthMethod", operationHistory.getRequestAuthMethod())
-                .param("requestAuthStepResult", operationHistory.getRequestAuthStepResult())
-                .param("responseResult", operationHistory.getResponseResult())
-                .param("responseSteps", operationHistory.getResponseSteps())
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("Operation was created (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_OPERATION)
+                    .param("operationId", operation.getOperationId())
+                    .param("operationName", operation.getOperationName())
+                    .param("operationData", operation.getOperationData())
+                    .param("externalOperationName", operation.getExternalOperationName())
+                    .param("externalTransactionId", operation.getExternalTransactionId())
+                    .param("userId", operation.getUserId())
+                    .param("organizationId", operation.getOperationId())
+                    .param("requestAuthMethod", operationHistory.getRequestAuthMethod())
+                    .param("requestAuthStepResult", operationHistory.getRequestAuthStepResult())
+                    .param("responseResult", operationHistory.getResponseResult())
+                    .param("responseSteps", operationHistory.getResponseSteps())
+                    .build());
+        }
     }
 
     /**
@@ -277,17 +279,19 @@ public class OperationPersistenceService {
                 .param("requestAuthMethod", operationHistory.getRequestAuthMethod())
                 .param("responseResult", operationHistory.getResponseResult())
                 .build());
-        audit.debug("Operation was updated (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_OPERATION)
-                .param("operationId", operation.getOperationId())
-                .param("userId", operation.getUserId())
-                .param("organizationId", operation.getOrganization() != null ? operation.getOrganization().getOrganizationId() : null)
-                .param("requestAuthMethod", operationHistory.getRequestAuthMethod())
-                .param("requestAuthStepResult", operationHistory.getRequestAuthStepResult())
-                .param("requestAuthInstruments", operationHistory.getRequestAuthInstruments())
-                .param("responseResult", operationHistory.getResponseResult())
-                .param("responseSteps", operationHistory.getResponseSteps())
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("Operation was updated (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_OPERATION)
+                    .param("operationId", operation.getOperationId())
+                    .param("userId", operation.getUserId())
+                    .param("organizationId", operation.getOrganization() != null ? operation.getOrganization().getOrganizationId() : null)
+                    .param("requestAuthMethod", operationHistory.getRequestAuthMethod())
+                    .param("requestAuthStepResult", operationHistory.getRequestAuthStepResult())
+                    .param("requestAuthInstruments", operationHistory.getRequestAuthInstruments())
+                    .param("responseResult", operationHistory.getResponseResult())
+                    .param("responseSteps", operationHistory.getResponseSteps())
+                    .build());
+        }
         if (!originalResult.equals(operation.getResult())) {
             operationCustomizationService.notifyOperationChange(operation);
         }
@@ -353,11 +357,13 @@ public class OperationPersistenceService {
                 .type(AUDIT_TYPE_OPERATION)
                 .param("operationId", operation.getOperationId())
                 .build());
-        audit.debug("Operation form data was updated (detail)", AuditDetail.builder()
-                .type(AUDIT_TYPE_OPERATION)
-                .param("operationId", operation.getOperationId())
-                .param("formData", operation.getOperationFormData())
-                .build());
+        if (audit.isDebugEnabled()) {
+            audit.debug("Operation form data was updated (detail)", AuditDetail.builder()
+                    .type(AUDIT_TYPE_OPERATION)
+                    .param("operationId", operation.getOperationId())
+                    .param("formData", operation.getOperationFormData())
+                    .build());
+        }
     }
 
     /**
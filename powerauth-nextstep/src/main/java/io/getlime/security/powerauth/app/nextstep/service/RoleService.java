@@ -17,6 +17,7 @@ package io.getlime.security.powerauth.app.nextstep.service;
 
 import com.wultra.core.audit.base.Audit;
 import com.wultra.core.audit.base.model.AuditDetail;
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
 import io.getlime.security.powerauth.app.nextstep.converter.RoleConverter;
 import io.getlime.security.powerauth.app.nextstep.repository.RoleRepository;
 import io.getlime.security.powerauth.app.nextstep.repository.UserRoleRepository;
@@ -31,17 +32,35 @@ import io.getlime.security.powerauth.lib.nextstep.model.request.DeleteRoleReques
 import io.getlime.security.powerauth.lib.nextstep.model.response.CreateRoleResponse;
 import io.getlime.security.powerauth.lib.nextstep.model.response.DeleteRoleResponse;
 import io.getlime.security.powerauth.lib.nextstep.model.response.GetRoleListResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.exception.InvalidRequestException;
+import lombok.Value;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
-import java.util.Date;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
- * This service handles persistence of roles.
+ * This service handles persistence of roles. Role identifiers and names are cached by role name, so that role
+ * resolution during user identity changes does not require database queries. The cache is loaded on application
+ * startup and updated when roles are created or deleted on this instance. Roles created or deleted on other Next Step
+ * instances are visible once the cache expires, the cache expiration is configured using property
+ * {@code powerauth.nextstep.identity.roleCache.ttlSeconds}.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
@@ -53,20 +72,35 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
+    private final NextStepServerConfiguration nextStepServerConfiguration;
     private final Audit audit;
+    private final TransactionTemplate roleCheckTransactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     private final RoleConverter roleConverter = new RoleConverter();
 
+    private final Map<String, CachedRole> roleCache = new ConcurrentHashMap<>();
+    private volatile long roleCacheExpiration;
+
     /**
      * Role service constructor.
      * @param repositoryCatalogue Repository catalogue.
+     * @param nextStepServerConfiguration Next Step server configuration.
      * @param audit Audit interface.
+     * @param transactionManager Transaction manager.
      */
     @Autowired
-    public RoleService(RepositoryCatalogue repositoryCatalogue, Audit audit) {
+    public RoleService(RepositoryCatalogue repositoryCatalogue, NextStepServerConfiguration nextStepServerConfiguration, Audit audit, PlatformTransactionManager transactionManager) {
         this.roleRepository = repositoryCatalogue.getRoleRepository();
         this.userRoleRepository = repositoryCatalogue.getUserRoleRepository();
+        this.nextStepServerConfiguration = nextStepServerConfiguration;
         this.audit = audit;
+        // Existence of roles is checked in a separate transaction, the current transaction is unusable after a failed flush
+        this.roleCheckTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.roleCheckTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.roleCheckTransactionTemplate.setReadOnly(true);
     }
 
     /**
@@ -86,6 +120,8 @@ public class RoleService {
         role.setDescription(request.getDescription());
         role.setTimestampCreated(new Date());
         role = roleRepository.save(role);
+        final RoleEntity createdRole = role;
+        afterCommit(() -> roleCache.put(createdRole.getName(), new CachedRole(createdRole.getRoleId(), createdRole.getName())));
         logger.debug("Role was created, role ID: {}, role name: {}", role.getRoleId(), role.getName());
         audit.info("Role was created", AuditDetail.builder()
                 .type(AUDIT_TYPE_CONFIGURATION)
@@ -130,6 +166,7 @@ public class RoleService {
             throw new DeleteNotAllowedException("Role cannot be deleted because it is used: " + request.getRoleName());
         }
         roleRepository.delete(role);
+        afterCommit(() -> roleCache.remove(role.getName()));
         logger.debug("Role was deleted, role ID: {}, role name: {}", role.getRoleId(), role.getName());
         audit.info("Role was deleted", AuditDetail.builder()
                 .type(AUDIT_TYPE_CONFIGURATION)
@@ -141,4 +178,169 @@ public class RoleService {
         return response;
     }
 
+    /**
+     * Find a role by its name using the role cache. In case the role is not cached, for example because it was created
+     * by another Next Step instance, the role is queried in the database. This method is not transactional.
+     * @param roleName Role name.
+     * @return Cached role, if it exists.
+     */
+    public Optional<CachedRole> findRole(String roleName) {
+        if (System.currentTimeMillis() >= roleCacheExpiration) {
+            loadRoleCache();
+        }
+        final CachedRole cachedRole = roleCache.get(roleName);
+        if (cachedRole != null) {
+            return Optional.of(cachedRole);
+        }
+        final Optional<RoleEntity> roleOptional = roleRepository.findByName(roleName);
+        if (!roleOptional.isPresent()) {
+            return Optional.empty();
+        }
+        final RoleEntity role = roleOptional.get();
+        final CachedRole loadedRole = new CachedRole(role.getRoleId(), role.getName());
+        roleCache.put(loadedRole.getName(), loadedRole);
+        return Optional.of(loadedRole);
+    }
+
+    /**
+     * Get a reference to the role entity in the current persistence context, used for assignment of the role to a user.
+     * The reference is loaded from the database only when a property other than role ID is accessed, the existence
+     * of the role is verified by the foreign key of the user role, see {@link #flushRoleAssignments(Collection)}.
+     * @param role Cached role.
+     * @return Role entity reference.
+     */
+    public RoleEntity getRoleReference(CachedRole role) {
+        return entityManager.getReference(RoleEntity.class, role.getRoleId());
+    }
+
+    /**
+     * Get name of a role assigned to a user. The name of a role entity reference which was not loaded yet is resolved
+     * using the role cache, so that the reference is not loaded from the database. Roles missing in the role cache
+     * are loaded by role ID and added to the role cache.
+     * @param role Role entity or role entity reference.
+     * @return Role name.
+     */
+    public String getRoleName(RoleEntity role) {
+        if (Hibernate.isInitialized(role)) {
+            return role.getName();
+        }
+        final Long roleId = role.getRoleId();
+        for (CachedRole cachedRole : roleCache.values()) {
+            if (cachedRole.getRoleId().equals(roleId)) {
+                return cachedRole.getName();
+            }
+        }
+        final Optional<RoleEntity> roleOptional = roleRepository.findById(roleId);
+        if (!roleOptional.isPresent()) {
+            return role.getName();
+        }
+        final CachedRole loadedRole = new CachedRole(roleOptional.get().getRoleId(), roleOptional.get().getName());
+        roleCache.put(loadedRole.getName(), loadedRole);
+        return loadedRole.getName();
+    }
+
+    /**
+     * Write pending changes of the current persistence context including new role assignments to the database.
+     * Roles are assigned using entity references to cached roles, a role deleted by another Next Step instance
+     * is detected by violation of the foreign key of the user role. In this case the deleted roles are removed
+     * from the role cache and the request is rejected.
+     * @param assignedRoles Roles assigned using entity references within the current persistence context.
+     * @throws InvalidRequestException Thrown when any of the assigned roles no longer exists.
+     */
+    public void flushRoleAssignments(Collection<CachedRole> assignedRoles) throws InvalidRequestException {
+        try {
+            entityManager.flush();
+        } catch (PersistenceException ex) {
+            if (assignedRoles.isEmpty()) {
+                throw ex;
+            }
+            final Set<Long> roleIds = assignedRoles.stream().map(CachedRole::getRoleId).collect(Collectors.toSet());
+            final Set<Long> existingRoleIds = roleCheckTransactionTemplate.execute(status -> {
+                final Set<Long> ids = new HashSet<>();
+                roleRepository.findAllById(roleIds).forEach(role -> ids.add(role.getRoleId()));
+                return ids;
+            });
+            final List<String> deletedRoles = assignedRoles.stream()
+                    .filter(role -> existingRoleIds == null || !existingRoleIds.contains(role.getRoleId()))
+                    .map(CachedRole::getName)
+                    .collect(Collectors.toList());
+            if (deletedRoles.isEmpty()) {
+                throw ex;
+            }
+            // Roles were deleted by another Next Step instance
+            deletedRoles.forEach(this::evictRole);
+            throw new InvalidRequestException("Role not found: " + String.join(", ", deletedRoles));
+        }
+    }
+
+    /**
+     * Remove a role which no longer exists in the database from the role cache, for example a role which was deleted
+     * by another Next Step instance.
+     * @param roleName Role name.
+     */
+    public void evictRole(String roleName) {
+        roleCache.remove(roleName);
+        logger.debug("Role was removed from role cache, role name: {}", roleName);
+    }
+
+    /**
+     * Load the role cache on application startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadRoleCache() {
+        loadRoleCache();
+    }
+
+    /**
+     * Load all roles into the role cache, in case the role cache is expired.
+     */
+    private synchronized void loadRoleCache() {
+        final long now = System.currentTimeMillis();
+        if (now < roleCacheExpiration) {
+            return;
+        }
+        final Map<String, CachedRole> roles = new HashMap<>();
+        roleRepository.findAll().forEach(role -> roles.put(role.getName(), new CachedRole(role.getRoleId(), role.getName())));
+        // Roles deleted by other Next Step instances are removed from the cache
+        roleCache.keySet().retainAll(roles.keySet());
+        roleCache.putAll(roles);
+        roleCacheExpiration = now + nextStepServerConfiguration.getRoleCacheTtlSeconds() * 1000L;
+        logger.debug("Role cache was loaded, role count: {}", roleCache.size());
+    }
+
+    /**
+     * Update the role cache once the current transaction is committed, or immediately when no transaction is active.
+     * @param cacheUpdate Role cache update.
+     */
+    private void afterCommit(Runnable cacheUpdate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheUpdate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheUpdate.run();
+            }
+        });
+    }
+
+    /**
+     * Immutable role data stored in the role cache.
+     */
+    @Value
+    public static class CachedRole {
+
+        /**
+         * Role ID.
+         */
+        Long roleId;
+
+        /**
+         * Role name.
+         */
+        String name;
+
+    }
+
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.nextstep.service;
+
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
+import io.getlime.security.powerauth.app.nextstep.repository.UserIdentityHistoryRepository;
+import io.getlime.security.powerauth.app.nextstep.repository.catalogue.RepositoryCatalogue;
+import io.getlime.security.powerauth.app.nextstep.repository.model.entity.UserIdentityEntity;
+import io.getlime.security.powerauth.app.nextstep.repository.model.entity.UserIdentityHistoryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This service handles persistence of user identity history. Depending on configuration, user identity history
+ * snapshots are either stored synchronously in the transaction which changed the user identity, or queued after
+ * the transaction is committed and written in batches by a background task. In both modes the snapshot is saved
+ * using the history repository, so the history collection of the user identity is never loaded.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class UserIdentityHistoryService {
+
+    private final Logger logger = LoggerFactory.getLogger(UserIdentityHistoryService.class);
+
+    /**
+     * Maximum number of attempts for writing a user identity history snapshot.
+     */
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final UserIdentityHistoryRepository userIdentityHistoryRepository;
+    private final NextStepServerConfiguration nextStepServerConfiguration;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<QueuedHistory> queue;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile boolean shutdown;
+
+    /**
+     * Service constructor.
+     * @param repositoryCatalogue Repository catalogue.
+     * @param nextStepServerConfiguration Next Step server configuration.
+     * @param transactionManager Transaction manager.
+     */
+    @Autowired
+    public UserIdentityHistoryService(RepositoryCatalogue repositoryCatalogue, NextStepServerConfiguration nextStepServerConfiguration, PlatformTransactionManager transactionManager) {
+        this.userIdentityHistoryRepository = repositoryCatalogue.getUserIdentityHistoryRepository();
+        this.nextStepServerConfiguration = nextStepServerConfiguration;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // History is written after the original transaction is committed, a new transaction is always required
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, nextStepServerConfiguration.getHistoryQueueCapacity()));
+    }
+
+    /**
+     * Save user identity history snapshot. In synchronous mode the snapshot is stored in the current transaction
+     * without loading the user identity history collection. In asynchronous mode the snapshot is queued once the
+     * current transaction is committed. This method is not transactional.
+     * @param history User identity history snapshot referencing a saved user identity.
+     */
+    public void saveHistory(UserIdentityHistoryEntity history) {
+        if (!nextStepServerConfiguration.isHistoryAsyncEnabled()) {
+            userIdentityHistoryRepository.save(history);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(history);
+                }
+            });
+        } else {
+            enqueue(history);
+        }
+    }
+
+    /**
+     * Write queued user identity history snapshots.
+     */
+    @Scheduled(fixedDelayString = "${powerauth.nextstep.identity.history.flushIntervalMs}")
+    public void flushScheduled() {
+        flush();
+    }
+
+    /**
+     * Write all queued user identity history snapshots in batches.
+     */
+    public synchronized void flush() {
+        final int batchSize = Math.max(1, nextStepServerConfiguration.getHistoryBatchSize());
+        final List<QueuedHistory> batch = new ArrayList<>(batchSize);
+        // Snapshots which failed to be written are returned to the queue, only the snapshots queued at start are processed
+        int remaining = queue.size();
+        while (remaining > 0 && queue.drainTo(batch, Math.min(batchSize, remaining)) > 0) {
+            remaining -= batch.size();
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Write remaining user identity history snapshots before the application is stopped.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        flush();
+    }
+
+    /**
+     * Add user identity history snapshot into the queue. The snapshot is written directly in case the queue is full
+     * or the application is being stopped.
+     * @param history User identity history snapshot.
+     */
+    private void enqueue(UserIdentityHistoryEntity history) {
+        final QueuedHistory queuedHistory = new QueuedHistory(history);
+        if (shutdown || !queue.offer(queuedHistory)) {
+            writeBatch(Collections.singletonList(queuedHistory));
+        }
+    }
+
+    /**
+     * Write a batch of user identity history snapshots in a new transaction. In case the batch cannot be written,
+     * the snapshots are written one by one, so that a single failing snapshot does not prevent writing other snapshots.
+     * @param batch User identity history snapshots.
+     */
+    private void writeBatch(List<QueuedHistory> batch) {
+        try {
+            write(batch);
+            logger.debug("User identity history was written, snapshot count: {}", batch.size());
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to write user identity history batch, snapshot count: {}, error: {}", batch.size(), ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+            if (batch.size() > 1) {
+                batch.forEach(this::writeSingle);
+            } else {
+                handleFailure(batch.get(0), ex);
+            }
+        }
+    }
+
+    /**
+     * Write a single user identity history snapshot in a new transaction.
+     * @param queuedHistory Queued user identity history snapshot.
+     */
+    private void writeSingle(QueuedHistory queuedHistory) {
+        try {
+            write(Collections.singletonList(queuedHistory));
+        } catch (RuntimeException ex) {
+            logger.debug(ex.getMessage(), ex);
+            handleFailure(queuedHistory, ex);
+        }
+    }
+
+    /**
+     * Handle failure of writing a user identity history snapshot. The snapshot is returned to the queue and written
+     * during the next flush until the maximum number of attempts is reached. When the snapshot cannot be queued, it is
+     * written synchronously until the maximum number of attempts is reached.
+     * @param queuedHistory Queued user identity history snapshot.
+     * @param error Error which occurred when writing the snapshot.
+     */
+    private void handleFailure(QueuedHistory queuedHistory, RuntimeException error) {
+        final UserIdentityHistoryEntity history = queuedHistory.getHistory();
+        while (queuedHistory.nextAttempt() < MAX_WRITE_ATTEMPTS) {
+            if (!shutdown && queue.offer(queuedHistory)) {
+                logger.debug("User identity history snapshot was returned to the queue, user ID: {}, attempt: {}", history.getUser().getUserId(), queuedHistory.getAttempts());
+                return;
+            }
+            try {
+                write(Collections.singletonList(queuedHistory));
+                return;
+            } catch (RuntimeException ex) {
+                logger.debug(ex.getMessage(), ex);
+                error = ex;
+            }
+        }
+        // Snapshot details are logged so that the history can be restored manually
+        logger.error("User identity history snapshot could not be written, user ID: {}, status: {}, roles: {}, timestamp: {}, error: {}",
+                history.getUser().getUserId(), history.getStatus(), history.getRoles(), history.getTimestampCreated(), error.getMessage());
+    }
+
+    /**
+     * Write user identity history snapshots in a new transaction.
+     * @param snapshots User identity history snapshots.
+     */
+    private void write(List<QueuedHistory> snapshots) {
+        transactionTemplate.executeWithoutResult(status -> {
+            final List<UserIdentityHistoryEntity> entities = new ArrayList<>(snapshots.size());
+            for (QueuedHistory queuedHistory : snapshots) {
+                final UserIdentityHistoryEntity history = queuedHistory.getHistory();
+                // Identifier could have been assigned during a failed attempt, the snapshot is always inserted
+                history.setUserIdentityId(null);
+                // Snapshots reference detached user identities, use references to avoid loading user identities
+                history.setUser(entityManager.getReference(UserIdentityEntity.class, history.getUser().getUserId()));
+                entities.add(history);
+            }
+            userIdentityHistoryRepository.saveAll(entities);
+        });
+    }
+
+    /**
+     * User identity history snapshot waiting in the queue together with the number of failed write attempts.
+     */
+    private static class QueuedHistory {
+
+        private final UserIdentityHistoryEntity history;
+        private int attempts;
+
+        QueuedHistory(UserIdentityHistoryEntity history) {
+            this.history = history;
+        }
+
+        UserIdentityHistoryEntity getHistory() {
+            return history;
+        }
+
+        int getAttempts() {
+            return attempts;
+        }
+
+        int nextAttempt() {
+            return ++attempts;
+        }
+
+    }
+
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.nextstep.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.getlime.core.rest.model.base.entity.Error;
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
+import io.getlime.security.powerauth.app.nextstep.service.catalogue.ServiceCatalogue;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.UserImportResult;
+import io.getlime.security.powerauth.lib.nextstep.model.exception.*;
+import io.getlime.security.powerauth.lib.nextstep.model.request.CreateUserRequest;
+import io.getlime.security.powerauth.lib.nextstep.model.request.ImportUsersRequest;
+import io.getlime.security.powerauth.lib.nextstep.model.response.CreateUserResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.response.ImportUsersResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * This service handles bulk import of user identities. User identities are split into chunks, each chunk
+ * is imported in a single transaction with JDBC batching. Chunks are processed in parallel, so that expensive
+ * credential hashing is not serialized. In case any user identity in a chunk fails to import, the chunk is
+ * rolled back and its user identities are imported one by one to report errors for individual user identities.
+ * User identities can be read from a streamed request body, so that only the chunks which are being imported
+ * are kept in memory.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class UserIdentityImportService {
+
+    private final Logger logger = LoggerFactory.getLogger(UserIdentityImportService.class);
+
+    private final ServiceCatalogue serviceCatalogue;
+    private final NextStepServerConfiguration nextStepServerConfiguration;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executorService;
+
+    /**
+     * Service constructor.
+     * @param serviceCatalogue Service catalogue.
+     * @param nextStepServerConfiguration Next Step server configuration.
+     * @param transactionManager Transaction manager.
+     * @param validator Validator for imported user identities.
+     * @param objectMapper Object mapper used for reading streamed import requests.
+     */
+    @Autowired
+    public UserIdentityImportService(@Lazy ServiceCatalogue serviceCatalogue, NextStepServerConfiguration nextStepServerConfiguration,
+                                     PlatformTransactionManager transactionManager, Validator validator, ObjectMapper objectMapper) {
+        this.serviceCatalogue = serviceCatalogue;
+        this.nextStepServerConfiguration = nextStepServerConfiguration;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        final AtomicInteger threadCounter = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(Math.max(1, nextStepServerConfiguration.getImportThreadCount()), runnable -> {
+            final Thread thread = new Thread(runnable, "user-import-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Shutdown the import executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    /**
+     * Import user identities from a streamed request body with the structure of an object request with
+     * {@link ImportUsersRequest}. User identities are imported while the request body is being read. In case
+     * the request body is malformed after some user identities were read, the user identities which were already
+     * read are imported and the response with their results is marked as incomplete, so that the client learns which
+     * user identities were created including their generated credentials. User identities which cannot be converted
+     * to {@link CreateUserRequest} are reported as failed without aborting the import.
+     * @param inputStream Input stream with the request body.
+     * @return Import users response with result for each user identity in the same order as in the request.
+     * @throws InvalidRequestException Thrown when request body is malformed before any user identity is read.
+     */
+    public ImportUsersResponse importUsers(InputStream inputStream) throws InvalidRequestException {
+        final ChunkedImport chunkedImport = new ChunkedImport();
+        try (final JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Request object is missing");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT && "requestObject".equals(fieldName)) {
+                    readUsers(parser, chunkedImport);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException ex) {
+            final ImportUsersResponse response = chunkedImport.finish();
+            logger.warn("User identity import request is malformed, processed user identities: {}, error: {}", response.getResults().size(), ex.getMessage());
+            if (response.getResults().isEmpty()) {
+                throw new InvalidRequestException("User identity import request is malformed: " + ex.getMessage());
+            }
+            response.setComplete(false);
+            response.setErrorCode(InvalidRequestException.CODE);
+            response.setErrorMessage("User identity import request is malformed after " + response.getResults().size() + " processed user identities: " + ex.getMessage());
+            return response;
+        }
+        return chunkedImport.finish();
+    }
+
+    /**
+     * Read user identities from the users array of the import request object.
+     * @param parser JSON parser positioned at the start of the request object.
+     * @param chunkedImport Chunked import.
+     * @throws IOException Thrown when request body is malformed.
+     */
+    private void readUsers(JsonParser parser, ChunkedImport chunkedImport) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "users".equals(fieldName)) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    final JsonNode userNode = parser.readValueAsTree();
+                    readUser(userNode, chunkedImport);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Convert a user identity read from the request body and add it to the import. In case the user identity cannot
+     * be converted, a failed result is recorded for the user identity and the import continues.
+     * @param userNode JSON node with the user identity.
+     * @param chunkedImport Chunked import.
+     */
+    private void readUser(JsonNode userNode, ChunkedImport chunkedImport) {
+        final String userId = userNode != null && userNode.path("userId").isTextual() ? userNode.path("userId").asText() : null;
+        try {
+            final CreateUserRequest user = objectMapper.treeToValue(userNode, CreateUserRequest.class);
+            if (user == null) {
+                chunkedImport.addFailed(failedResult(null, InvalidRequestException.CODE, "User identity is missing"));
+                return;
+            }
+            chunkedImport.add(user);
+        } catch (JsonProcessingException ex) {
+            logger.warn("User identity could not be read, user ID: {}, error: {}", userId, ex.getOriginalMessage());
+            logger.debug(ex.getMessage(), ex);
+            chunkedImport.addFailed(failedResult(userId, InvalidRequestException.CODE, "User identity could not be read: " + ex.getOriginalMessage()));
+        }
+    }
+
+    /**
+     * Import a chunk of user identities.
+     * @param chunk User identities to import.
+     * @return Import results in the same order as in the chunk.
+     */
+    private List<UserImportResult> importChunk(List<CreateUserRequest> chunk) {
+        // Invalid user identities are reported and excluded from the chunk transaction
+        final UserImportResult[] results = new UserImportResult[chunk.size()];
+        final List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            final CreateUserRequest user = chunk.get(i);
+            final Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(user);
+            if (violations.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                final String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .collect(Collectors.joining(", "));
+                results[i] = failedResult(user.getUserId(), RequestValidationFailedException.CODE, message);
+            }
+        }
+        try {
+            final List<UserImportResult> chunkResults = transactionTemplate.execute(status -> {
+                final List<UserImportResult> importResults = new ArrayList<>();
+                for (Integer index : validIndexes) {
+                    try {
+                        final CreateUserResponse response = serviceCatalogue.getUserIdentityService().createUserIdentity(chunk.get(index));
+                        importResults.add(importedResult(response));
+                    } catch (NextStepServiceException ex) {
+                        throw new ChunkImportFailedException(ex);
+                    }
+                }
+                return importResults;
+            });
+            for (int i = 0; i < validIndexes.size(); i++) {
+                results[validIndexes.get(i)] = chunkResults.get(i);
+            }
+        } catch (RuntimeException ex) {
+            logger.debug("Import of user identity chunk failed, importing user identities one by one, error: {}", ex.getMessage());
+            for (Integer index : validIndexes) {
+                results[index] = importUser(chunk.get(index));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Import a single user identity in a separate transaction.
+     * @param user User identity to import.
+     * @return Import result.
+     */
+    private UserImportResult importUser(CreateUserRequest user) {
+        try {
+            final CreateUserResponse response = serviceCatalogue.getUserIdentityService().createUserIdentity(user);
+            return importedResult(response);
+        } catch (Exception ex) {
+            logger.warn("User identity import failed, user ID: {}, error: {}", user.getUserId(), ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+            return failedResult(user.getUserId(), resolveErrorCode(ex), ex.getMessage());
+        }
+    }
+
+    /**
+     * Create result for an imported user identity.
+     * @param response Create user response.
+     * @return Import result.
+     */
+    private UserImportResult importedResult(CreateUserResponse response) {
+        final UserImportResult result = new UserImportResult();
+        result.setUserId(response.getUserId());
+        result.setImported(true);
+        result.getCredentials().addAll(response.getCredentials());
+        return result;
+    }
+
+    /**
+     * Create result for a user identity which failed to import.
+     * @param userId User ID.
+     * @param errorCode Error code.
+     * @param errorMessage Error message.
+     * @return Import result.
+     */
+    private UserImportResult failedResult(String userId, String errorCode, String errorMessage) {
+        final UserImportResult result = new UserImportResult();
+        result.setUserId(userId);
+        result.setImported(false);
+        result.setErrorCode(errorCode);
+        result.setErrorMessage(errorMessage);
+        return result;
+    }
+
+    /**
+     * Resolve error code for an exception which occurred during user identity import.
+     * @param ex Exception.
+     * @return Error code.
+     */
+    private String resolveErrorCode(Exception ex) {
+        if (ex instanceof UserAlreadyExistsException) {
+            return UserAlreadyExistsException.CODE;
+        } else if (ex instanceof InvalidRequestException) {
+            return InvalidRequestException.CODE;
+        } else if (ex instanceof CredentialDefinitionNotFoundException) {
+            return CredentialDefinitionNotFoundException.CODE;
+        } else if (ex instanceof InvalidConfigurationException) {
+            return InvalidConfigurationException.CODE;
+        } else if (ex instanceof CredentialValidationFailedException) {
+            return CredentialValidationFailedException.CODE;
+        } else if (ex instanceof EncryptionException) {
+            return EncryptionException.CODE;
+        }
+        return Error.Code.ERROR_GENERIC;
+    }
+
+    /**
+     * Import which collects user identities into chunks and imports the chunks in parallel. The number of chunks
+     * which are queued for import is limited, so that user identities are not read faster than they are imported.
+     */
+    private class ChunkedImport {
+
+        private final int chunkSize = Math.max(1, nextStepServerConfiguration.getImportChunkSize());
+        private final int maxQueuedChunks = 2 * Math.max(1, nextStepServerConfiguration.getImportThreadCount());
+        private final Deque<Future<List<UserImportResult>>> queuedChunks = new ArrayDeque<>();
+        private final ImportUsersResponse response = new ImportUsersResponse();
+        private List<CreateUserRequest> chunk = new ArrayList<>();
+
+        /**
+         * Add a user identity to the import.
+         * @param user User identity.
+         */
+        void add(CreateUserRequest user) {
+            chunk.add(user);
+            if (chunk.size() >= chunkSize) {
+                submitChunk();
+            }
+        }
+
+        /**
+         * Add a result of a user identity which could not be read, the result is kept in the same order
+         * as the user identity in the request.
+         * @param result Failed import result.
+         */
+        void addFailed(UserImportResult result) {
+            if (!chunk.isEmpty()) {
+                submitChunk();
+            }
+            queuedChunks.add(CompletableFuture.completedFuture(Collections.singletonList(result)));
+            if (queuedChunks.size() > maxQueuedChunks) {
+                collectOldestChunk();
+            }
+        }
+
+        /**
+         * Wait for import of all chunks and create the response.
+         * @return Import users response.
+         */
+        ImportUsersResponse finish() {
+            if (!chunk.isEmpty()) {
+                submitChunk();
+            }
+            while (!queuedChunks.isEmpty()) {
+                collectOldestChunk();
+            }
+            final int importedCount = (int) response.getResults().stream().filter(UserImportResult::isImported).count();
+            response.setImportedCount(importedCount);
+            response.setFailedCount(response.getResults().size() - importedCount);
+            logger.info("User identity import finished, imported: {}, failed: {}", response.getImportedCount(), response.getFailedCount());
+            return response;
+        }
+
+        /**
+         * Submit the current chunk for import, wait for the oldest chunk in case too many chunks are queued.
+         */
+        private void submitChunk() {
+            final List<CreateUserRequest> submittedChunk = chunk;
+            chunk = new ArrayList<>();
+            queuedChunks.add(executorService.submit(() -> importChunk(submittedChunk)));
+            if (queuedChunks.size() > maxQueuedChunks) {
+                collectOldestChunk();
+            }
+        }
+
+        /**
+         * Wait for import of the oldest queued chunk and collect its results.
+         */
+        private void collectOldestChunk() {
+            try {
+                response.getResults().addAll(queuedChunks.removeFirst().get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                queuedChunks.forEach(f -> f.cancel(true));
+                throw new IllegalStateException("User identity import was interrupted", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("User identity import failed", ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * Exception used to roll back the chunk transaction when a user identity fails to import.
+     */
+    private static class ChunkImportFailedException extends RuntimeException {
+
+        private static final long serialVersionUID = 4254412871549216421L;
+
+        /**
+         * Exception constructor.
+         * @param cause Original exception.
+         */
+        ChunkImportFailedException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+}
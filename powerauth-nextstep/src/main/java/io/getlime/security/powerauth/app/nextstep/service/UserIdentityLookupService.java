@@ -15,6 +15,7 @@
  */
 package io.getlime.security.powerauth.app.nextstep.service;
 
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
 import io.getlime.security.powerauth.app.nextstep.repository.CredentialDefinitionRepository;
 import io.getlime.security.powerauth.app.nextstep.repository.CredentialRepository;
 import io.getlime.security.powerauth.app.nextstep.repository.UserIdentityRepository;
@@ -33,12 +34,13 @@ import io.getlime.security.powerauth.lib.nextstep.model.response.LookupUserRespo
 import io.getlime.security.powerauth.lib.nextstep.model.response.LookupUsersResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * This service handles user identity lookup.
@@ -52,18 +54,21 @@ public class UserIdentityLookupService {
     private final CredentialDefinitionRepository credentialDefinitionRepository;
     private final CredentialRepository credentialRepository;
     private final ServiceCatalogue serviceCatalogue;
+    private final NextStepServerConfiguration nextStepServerConfiguration;
 
     /**
      * Lookup service constructor.
      * @param repositoryCatalogue Repository catalogue.
      * @param serviceCatalogue Service catalogue.
+     * @param nextStepServerConfiguration Next Step server configuration.
      */
     @Autowired
-    public UserIdentityLookupService(RepositoryCatalogue repositoryCatalogue, @Lazy ServiceCatalogue serviceCatalogue) {
+    public UserIdentityLookupService(RepositoryCatalogue repositoryCatalogue, @Lazy ServiceCatalogue serviceCatalogue, NextStepServerConfiguration nextStepServerConfiguration) {
         this.userIdentityRepository = repositoryCatalogue.getUserIdentityRepository();
         this.credentialDefinitionRepository = repositoryCatalogue.getCredentialDefinitionRepository();
         this.credentialRepository = repositoryCatalogue.getCredentialRepository();
         this.serviceCatalogue = serviceCatalogue;
+        this.nextStepServerConfiguration = nextStepServerConfiguration;
     }
 
     /**
@@ -91,10 +96,22 @@ public class UserIdentityLookupService {
         }
         final UserIdentityStatus status = request.getUserIdentityStatus();
         final CredentialStatus credentialStatus = request.getCredentialStatus();
-        final List<String> roles = request.getRoles();
-        List<UserIdentityEntity> lookupResult = new ArrayList<>();
+        final Set<String> roles = new LinkedHashSet<>(request.getRoles());
+        final String afterUserId = request.getAfterUserId();
+        final int pageSize = resolvePageSize(request.getPageSize());
+        // Fetch one extra record to find out whether there is a next page
+        final Pageable pageable = PageRequest.of(0, pageSize + 1);
+        // Do not return REMOVED user identities unless requested in lookup request
+        final List<UserIdentityStatus> statuses;
+        if (status != null) {
+            statuses = Collections.singletonList(status);
+        } else {
+            statuses = Arrays.stream(UserIdentityStatus.values())
+                    .filter(s -> s != UserIdentityStatus.REMOVED)
+                    .collect(Collectors.toList());
+        }
+        List<String> userIds;
         CredentialDefinitionEntity credentialDefinition = null;
-        boolean dateFiltered = false;
 
         if (credentialName!= null) {
             final Optional<CredentialDefinitionEntity> credentialDefinitionOptional = credentialDefinitionRepository.findByName(credentialName);
@@ -104,7 +121,7 @@ public class UserIdentityLookupService {
             credentialDefinition = credentialDefinitionOptional.get();
         }
 
-        // Choose main query based on most exact parameters, filter lookup results in code by additional parameters
+        // Choose query based on most exact parameters, all filters are applied in the database
         if (username != null && credentialName != null) {
             // When username and credentialName are present, lookup the user identity, single result or no result is found
             final Optional<CredentialEntity> credentialOptional = credentialRepository.findByCredentialDefinitionAndUsername(credentialDefinition, username);
@@ -112,67 +129,37 @@ public class UserIdentityLookupService {
                 throw new UserNotFoundException("User not found, credential definition name: " + credentialName + ", username: " + username);
             }
             final CredentialEntity credential = credentialOptional.get();
-            if (credentialStatus == null || credential.getStatus() == credentialStatus) {
-                // Filter by credentialStatus in case it is also specified
-                UserIdentityEntity user = credential.getUser();
-                lookupResult = Collections.singletonList(user);
+            userIds = new ArrayList<>();
+            if (matchesLookupFilter(credential, credentialStatus, createdStartDate, createdEndDate, statuses, roles, afterUserId)) {
+                userIds.add(credential.getUser().getUserId());
             }
         } else if (credentialName != null && credentialStatus != null) {
             // When credentialName and credentialStatus are present, lookup the user identities, multiple or zero results are found
-            List<UserIdentityEntity> lookupResultTemp = new ArrayList<>();
-            try (final Stream<CredentialEntity> credentialEntities = credentialRepository.findAllByCredentialDefinitionAndStatus(credentialDefinition, credentialStatus)) {
-                credentialEntities.forEach(credential -> lookupResultTemp.add(credential.getUser()));
+            if (roles.isEmpty()) {
+                userIds = userIdentityRepository.findUserIdsByCredential(credentialDefinition, credentialStatus,
+                        createdStartDate, createdEndDate, statuses, afterUserId, pageable);
+            } else {
+                userIds = userIdentityRepository.findUserIdsByCredentialAndRoles(credentialDefinition, credentialStatus,
+                        createdStartDate, createdEndDate, statuses, roles, roles.size(), afterUserId, pageable);
             }
-            lookupResult = lookupResultTemp;
         } else if (createdStartDate != null && credentialStatus == null) {
             // Lookup the user identities by createdDate, multiple or zero results are found, credentialStatus filter is not allowed
-            lookupResult = userIdentityRepository.findUserIdentitiesByCreatedDate(createdStartDate, createdEndDate).collect(Collectors.toList());
-            dateFiltered = true;
+            if (roles.isEmpty()) {
+                userIds = userIdentityRepository.findUserIdsByCreatedDate(createdStartDate, createdEndDate, statuses, afterUserId, pageable);
+            } else {
+                userIds = userIdentityRepository.findUserIdsByCreatedDateAndRoles(createdStartDate, createdEndDate, statuses,
+                        roles, roles.size(), afterUserId, pageable);
+            }
         } else {
             throw new InvalidRequestException("The lookup query contains an invalid combination of parameters");
         }
 
-        if (createdStartDate != null && !dateFiltered) {
-            // Filter by timestampCreated, but only if filter was not already applied
-            final Date finalCreatedStartDate = createdStartDate;
-            final Date finalCreatedEndDate = createdEndDate;
-            lookupResult = lookupResult.stream()
-                    .filter(user -> (user.getTimestampCreated().after(finalCreatedStartDate) && user.getTimestampCreated().before(finalCreatedEndDate)))
-                    .collect(Collectors.toList());
-        }
-
-        if (status != null) {
-            // Filter by status
-            lookupResult = lookupResult.stream()
-                    .filter(user -> user.getStatus() == status)
-                    .collect(Collectors.toList());
-        } else {
-            // Do not return REMOVED user identities unless requested in lookup request
-            lookupResult = lookupResult.stream()
-                    .filter(user -> user.getStatus() != UserIdentityStatus.REMOVED)
-                    .collect(Collectors.toList());
-        }
-
-        if (roles != null && !roles.isEmpty()) {
-            // Filter by roles
-            final List<UserIdentityEntity> filteredList = new ArrayList<>();
-            for (UserIdentityEntity user: lookupResult) {
-                final List<UserRoleEntity> userRoles = user.getRoles().stream().filter(r -> r.getStatus() == UserRoleStatus.ACTIVE).collect(Collectors.toList());
-                final List<String> roleNames = userRoles.stream()
-                        .map(roleEntity -> roleEntity.getRole().getName())
-                        .collect(Collectors.toList());
-                if (roleNames.containsAll(roles)) {
-                    filteredList.add(user);
-                }
-            }
-            lookupResult = filteredList;
-        }
-
         final LookupUsersResponse response = new LookupUsersResponse();
-        for (UserIdentityEntity user: lookupResult) {
-            final GetUserDetailResponse userDetail = userIdentityService.getUserDetail(user.getUserId(), credentialDefinition, false);
-            response.getUsers().add(userDetail);
+        if (userIds.size() > pageSize) {
+            userIds = userIds.subList(0, pageSize);
+            response.setNextAfterUserId(userIds.get(pageSize - 1));
         }
+        response.getUsers().addAll(userIdentityService.getUserDetails(userIds, credentialDefinition));
         return response;
     }
 
@@ -316,4 +303,54 @@ public class UserIdentityLookupService {
         }
         return Optional.of(user);
     }
+
+    /**
+     * Resolve page size for user identity lookup.
+     * @param requestedPageSize Page size from the request, null for maximum page size.
+     * @return Resolved page size.
+     */
+    private int resolvePageSize(Integer requestedPageSize) {
+        final int maxPageSize = nextStepServerConfiguration.getLookupMaxPageSize();
+        if (requestedPageSize == null || requestedPageSize > maxPageSize) {
+            return maxPageSize;
+        }
+        return requestedPageSize;
+    }
+
+    /**
+     * Check whether a user identity found by username matches the lookup filter.
+     * @param credential Credential found by username.
+     * @param credentialStatus Credential status filter.
+     * @param createdStartDate Start of interval for created date filter, exclusive.
+     * @param createdEndDate End of interval for created date filter, exclusive.
+     * @param statuses Allowed user identity statuses.
+     * @param roles Required active roles.
+     * @param afterUserId Only user IDs greater than this user ID match the filter.
+     * @return Whether the user identity matches the lookup filter.
+     */
+    private boolean matchesLookupFilter(CredentialEntity credential, CredentialStatus credentialStatus, Date createdStartDate, Date createdEndDate,
+                                        List<UserIdentityStatus> statuses, Set<String> roles, String afterUserId) {
+        final UserIdentityEntity user = credential.getUser();
+        if (credentialStatus != null && credential.getStatus() != credentialStatus) {
+            return false;
+        }
+        // Created date interval is exclusive in lookups by credential
+        if (createdStartDate != null && (!user.getTimestampCreated().after(createdStartDate) || !user.getTimestampCreated().before(createdEndDate))) {
+            return false;
+        }
+        if (!statuses.contains(user.getStatus())) {
+            return false;
+        }
+        if (afterUserId != null && user.getUserId().compareTo(afterUserId) <= 0) {
+            return false;
+        }
+        if (!roles.isEmpty()) {
+            final Set<String> roleNames = user.getRoles().stream()
+                    .filter(r -> r.getStatus() == UserRoleStatus.ACTIVE)
+                    .map(r -> serviceCatalogue.getRoleService().getRoleName(r.getRole()))
+                    .collect(Collectors.toSet());
+            return roleNames.containsAll(roles);
+        }
+        return true;
+    }
 }
\ No newline at end of file
@@ -22,9 +22,7 @@ import io.getlime.security.powerauth.app.nextstep.converter.CredentialConverter;
 import io.getlime.security.powerauth.app.nextstep.converter.ExtrasConverter;
 import io.getlime.security.powerauth.app.nextstep.converter.UserContactConverter;
 import io.getlime.security.powerauth.app.nextstep.converter.ValueListConverter;
-import io.getlime.security.powerauth.app.nextstep.repository.OtpRepository;
-import io.getlime.security.powerauth.app.nextstep.repository.RoleRepository;
-import io.getlime.security.powerauth.app.nextstep.repository.UserIdentityRepository;
+import io.getlime.security.powerauth.app.nextstep.repository.*;
 import io.getlime.security.powerauth.app.nextstep.repository.catalogue.RepositoryCatalogue;
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.*;
 import io.getlime.security.powerauth.app.nextstep.service.catalogue.ServiceCatalogue;
@@ -58,8 +56,10 @@ public class UserIdentityService {
     private static final String AUDIT_TYPE_USER_IDENTITY = "USER_IDENTITY";
 
     private final UserIdentityRepository userIdentityRepository;
-    private final RoleRepository roleRepository;
     private final OtpRepository otpRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final UserContactRepository userContactRepository;
+    private final CredentialRepository credentialRepository;
     private final ServiceCatalogue serviceCatalogue;
     private final Audit audit;
 
@@ -77,8 +77,10 @@ public class UserIdentityService {
     @Autowired
     public UserIdentityService(RepositoryCatalogue repositoryCatalogue, @Lazy ServiceCatalogue serviceCatalogue, Audit audit) {
         this.userIdentityRepository = repositoryCatalogue.getUserIdentityRepository();
-        this.roleRepository = repositoryCatalogue.getRoleRepository();
         this.otpRepository = repositoryCatalogue.getOtpRepository();
+        this.userRoleRepository = repositoryCatalogue.getUserRoleRepository();
+        this.userContactRepository = repositoryCatalogue.getUserContactRepository();
+        this.credentialRepository = repositoryCatalogue.getCredentialRepository();
         this.serviceCatalogue = serviceCatalogue;
         this.audit = audit;
     }
@@ -102,7 +104,7 @@ public class UserIdentityService {
 
         final Optional<UserIdentityEntity> userOptional = userIdentityRepository.findById(request.getUserId());
         UserIdentityEntity user;
-        Map<String, RoleEntity> roleEntities = new HashMap<>();
+        Map<String, RoleService.CachedRole> roleEntities = new HashMap<>();
         if (request.getRoles() != null) {
             roleEntities = collectRoleEntities(request.getRoles());
         }
@@ -186,8 +188,9 @@ public class UserIdentityService {
         // Remove inactive credentials, in case no credentials are sent in request, all credentials are removed
         removeInactiveCredentials(user, newCredentials);
         response.getCredentials().addAll(newCredentials);
+        List<RoleService.CachedRole> assignedRoles = Collections.emptyList();
         if (request.getRoles() != null) {
-            updateRoles(user, request.getRoles(), roleEntities);
+            assignedRoles = updateRoles(user, request.getRoles(), roleEntities);
             response.getRoles().addAll(request.getRoles());
         }
         if (request.getContacts() != null) {
@@ -204,8 +207,9 @@ public class UserIdentityService {
             response.getContacts().addAll(addedContacts);
         }
         // Save user identity and a snapshot to the history table
-        updateUserIdentityHistory(user);
         user = userIdentityRepository.save(user);
+        serviceCatalogue.getRoleService().flushRoleAssignments(assignedRoles);
+        updateUserIdentityHistory(user);
         logger.debug("User identity was created, user ID: {}", user.getUserId());
         audit.info("User identity was created", AuditDetail.builder()
                 .type(AUDIT_TYPE_USER_IDENTITY)
@@ -237,7 +241,7 @@ public class UserIdentityService {
         }
         // The findUser() method is not used to allow update REMOVED -> ACTIVE
         UserIdentityEntity user = userOptional.get();
-        Map<String, RoleEntity> roleEntities = new HashMap<>();
+        Map<String, RoleService.CachedRole> roleEntities = new HashMap<>();
         if (request.getRoles() != null) {
             roleEntities = collectRoleEntities(request.getRoles());
         }
@@ -292,9 +296,10 @@ public class UserIdentityService {
             removeInactiveCredentials(user, newCredentials);
         }
         response.getCredentials().addAll(newCredentials);
+        List<RoleService.CachedRole> assignedRoles = Collections.emptyList();
         if (request.getRoles() != null) {
             // Roles from the request are set, obsolete roles are removed
-            updateRoles(user, request.getRoles(), roleEntities);
+            assignedRoles = updateRoles(user, request.getRoles(), roleEntities);
             response.getRoles().addAll(request.getRoles());
         }
         if (request.getContacts() != null) {
@@ -312,8 +317,9 @@ public class UserIdentityService {
             response.getContacts().addAll(updatedContacts);
         }
         // Save user identity snapshot to the history table
-        updateUserIdentityHistory(user);
         user = userIdentityRepository.save(user);
+        serviceCatalogue.getRoleService().flushRoleAssignments(assignedRoles);
+        updateUserIdentityHistory(user);
         logger.debug("User identity was updated, user ID: {}", user.getUserId());
         audit.info("User identity was updated", AuditDetail.builder()
                 .type(AUDIT_TYPE_USER_IDENTITY)
@@ -344,7 +350,8 @@ public class UserIdentityService {
     }
 
     /**
-     * Get user identity detail. This method is not transactional.
+     * Get user identity detail. Related user data is fetched using dedicated queries instead of lazy loading
+     * of user identity collections. This method is not transactional.
      * @param userId User ID.
      * @param credentialDefinition Credential definition for optional filter.
      * @param includeRemoved Whether removed data should be returned.
@@ -356,48 +363,59 @@ public class UserIdentityService {
      */
     public GetUserDetailResponse getUserDetail(String userId, CredentialDefinitionEntity credentialDefinition, boolean includeRemoved) throws UserNotFoundException, InvalidRequestException, InvalidConfigurationException, EncryptionException {
         final UserIdentityLookupService userIdentityLookupService = serviceCatalogue.getUserIdentityLookupService();
-        final CredentialService credentialService = serviceCatalogue.getCredentialService();
         final UserIdentityEntity user = userIdentityLookupService.findUser(userId, includeRemoved);
-        final GetUserDetailResponse response = new GetUserDetailResponse();
-        response.setUserId(user.getUserId());
-        response.setUserIdentityStatus(user.getStatus());
-        response.setTimestampCreated(user.getTimestampCreated());
-        response.setTimestampLastUpdated(user.getTimestampLastUpdated());
-        if (user.getExtras() != null) {
-            try {
-                final Map<String, Object> extras = extrasConverter.fromString(user.getExtras());
-                response.getExtras().putAll(extras);
-            } catch (JsonProcessingException ex) {
-                throw new InvalidRequestException(ex);
-            }
+        final List<String> userIds = Collections.singletonList(user.getUserId());
+        final List<UserRoleEntity> userRoles = userRoleRepository.findAllByUserIdsAndStatus(userIds, UserRoleStatus.ACTIVE);
+        final List<UserContactEntity> userContacts = userContactRepository.findAllByUserIds(userIds);
+        final List<CredentialEntity> credentials;
+        if (credentialDefinition == null) {
+            credentials = credentialRepository.findAllByUserIds(userIds);
+        } else {
+            credentials = credentialRepository.findByUserAndCredentialDefinition(user, credentialDefinition)
+                    .map(Collections::singletonList)
+                    .orElse(Collections.emptyList());
         }
-        final List<UserRoleEntity> userRoles = user.getRoles().stream().filter(r -> r.getStatus() == UserRoleStatus.ACTIVE).collect(Collectors.toList());
-        userRoles.forEach(userRole -> response.getRoles().add(userRole.getRole().getName()));
-        final Set<UserContactEntity> userContacts = user.getContacts();
-        for (UserContactEntity userContact: userContacts) {
-            final UserContactDetail contactDetail = userContactConverter.fromEntity(userContact);
-            response.getContacts().add(contactDetail);
+        return convertUserDetail(user, userRoles, userContacts, credentials, credentialDefinition, includeRemoved);
+    }
+
+    /**
+     * Get user identity details for multiple user identities. Related user data is fetched for all user identities
+     * at once, so the number of queries does not depend on the number of user identities. This method is not transactional.
+     * @param userIds User IDs.
+     * @param credentialDefinition Credential definition for optional filter.
+     * @return User identity details in the same order as user IDs, unknown user identities are skipped.
+     * @throws InvalidRequestException Thrown when request is invalid.
+     * @throws InvalidConfigurationException Thrown when Next Step configuration is invalid.
+     * @throws EncryptionException Thrown when decryption fails.
+     */
+    public List<GetUserDetailResponse> getUserDetails(List<String> userIds, CredentialDefinitionEntity credentialDefinition) throws InvalidRequestException, InvalidConfigurationException, EncryptionException {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
         }
-        final Set<CredentialEntity> credentials = user.getCredentials();
-        for (CredentialEntity credential: credentials) {
-            if (credential.getStatus() == CredentialStatus.REMOVED && !includeRemoved) {
-                continue;
-            }
-            // Apply filter by credential definition if requested
-            if (credentialDefinition != null && !credential.getCredentialDefinition().equals(credentialDefinition)) {
+        // User identities need to be loaded first, so that related entities reference already loaded user identities
+        final Map<String, UserIdentityEntity> users = new HashMap<>();
+        try (final Stream<UserIdentityEntity> userStream = userIdentityRepository.findAllByUserIdIn(userIds)) {
+            userStream.forEach(user -> users.put(user.getUserId(), user));
+        }
+        final Map<String, List<UserRoleEntity>> userRoles = userRoleRepository.findAllByUserIdsAndStatus(userIds, UserRoleStatus.ACTIVE)
+                .stream().collect(Collectors.groupingBy(r -> r.getUser().getUserId()));
+        final Map<String, List<UserContactEntity>> userContacts = userContactRepository.findAllByUserIds(userIds)
+                .stream().collect(Collectors.groupingBy(c -> c.getUser().getUserId()));
+        final Map<String, List<CredentialEntity>> credentials = credentialRepository.findAllByUserIds(userIds)
+                .stream().collect(Collectors.groupingBy(c -> c.getUser().getUserId()));
+        final List<GetUserDetailResponse> userDetails = new ArrayList<>();
+        for (String userId: userIds) {
+            final UserIdentityEntity user = users.get(userId);
+            if (user == null) {
                 continue;
             }
-            final CredentialDetail credentialDetail = credentialConverter.fromEntity(credential);
-            final boolean credentialChangeRequired;
-            if (credential.getCredentialDefinition().getHashingConfig() == null) {
-                credentialChangeRequired = credentialService.isCredentialChangeRequired(credential, credential.getValue());
-            } else {
-                credentialChangeRequired = credentialService.isCredentialChangeRequired(credential, null);
-            }
-            credentialDetail.setCredentialChangeRequired(credentialChangeRequired);
-            response.getCredentials().add(credentialDetail);
+            userDetails.add(convertUserDetail(user,
+                    userRoles.getOrDefault(userId, Collections.emptyList()),
+                    userContacts.getOrDefault(userId, Collections.emptyList()),
+                    credentials.getOrDefault(userId, Collections.emptyList()),
+                    credentialDefinition, false));
         }
-        return response;
+        return userDetails;
     }
 
     /**
@@ -409,14 +427,19 @@ public class UserIdentityService {
     @Transactional
     public UpdateUsersResponse updateUsers(UpdateUsersRequest request) throws UserNotFoundException {
         final List<String> updatedUserIds = new ArrayList<>();
+        // Load active roles of all updated users using a single query instead of loading roles for each user
+        final RoleService roleService = serviceCatalogue.getRoleService();
+        final Map<String, List<String>> activeRoles = new HashMap<>();
+        userRoleRepository.findAllByUserIdsAndStatus(request.getUserIds(), UserRoleStatus.ACTIVE).forEach(userRole ->
+                activeRoles.computeIfAbsent(userRole.getUser().getUserId(), userId -> new ArrayList<>()).add(roleService.getRoleName(userRole.getRole())));
         try (final Stream<UserIdentityEntity> users = userIdentityRepository.findAllByUserIdIn(request.getUserIds())) {
             users.forEach(user -> {
                 if (user.getStatus() != request.getUserIdentityStatus()) {
                     user.setStatus(request.getUserIdentityStatus());
                     user.setTimestampLastUpdated(new Date());
                     // Save user identity and a snapshot to the history table
-                    updateUserIdentityHistory(user);
                     user = userIdentityRepository.save(user);
+                    updateUserIdentityHistory(user, activeRoles.getOrDefault(user.getUserId(), Collections.emptyList()));
                     logger.debug("User identity was updated, user ID: {}", user.getUserId());
                     audit.info("User identity was updated", AuditDetail.builder()
                             .type(AUDIT_TYPE_USER_IDENTITY)
@@ -451,8 +474,8 @@ public class UserIdentityService {
         removeAllCredentials(user);
         removeAllOtps(user);
         // Save user identity and a snapshot to the history table
-        updateUserIdentityHistory(user);
         user = userIdentityRepository.save(user);
+        updateUserIdentityHistory(user);
         logger.debug("User identity was removed, user ID: {}", user.getUserId());
         audit.info("User identity was removed", AuditDetail.builder()
                 .type(AUDIT_TYPE_USER_IDENTITY)
@@ -481,8 +504,8 @@ public class UserIdentityService {
         user.setStatus(UserIdentityStatus.BLOCKED);
         user.setTimestampLastUpdated(new Date());
         // Save user identity and a snapshot to the history table
-        updateUserIdentityHistory(user);
         user = userIdentityRepository.save(user);
+        updateUserIdentityHistory(user);
         logger.debug("User identity was blocked, user ID: {}", user.getUserId());
         audit.info("User identity was blocked", AuditDetail.builder()
                 .type(AUDIT_TYPE_USER_IDENTITY)
@@ -511,8 +534,8 @@ public class UserIdentityService {
         user.setStatus(UserIdentityStatus.ACTIVE);
         user.setTimestampLastUpdated(new Date());
         // Save user identity and a snapshot to the history table
-        updateUserIdentityHistory(user);
         user = userIdentityRepository.save(user);
+        updateUserIdentityHistory(user);
         logger.debug("User identity was unblocked, user ID: {}", user.getUserId());
         audit.info("User identity was unblocked", AuditDetail.builder()
                 .type(AUDIT_TYPE_USER_IDENTITY)
@@ -525,18 +548,30 @@ public class UserIdentityService {
     }
 
     /**
-     * Save snapshot of user identity into user identity history. This method is not transactional.
-     * @param user User identity entity.
+     * Save snapshot of user identity into user identity history. Depending on configuration, the snapshot is either
+     * stored together with the user identity or written asynchronously. This method is not transactional.
+     * @param user Saved user identity entity.
      */
     public void updateUserIdentityHistory(UserIdentityEntity user) {
-        final UserIdentityHistoryEntity history = new UserIdentityHistoryEntity();
-        history.setUser(user);
-        history.setStatus(user.getStatus());
+        final RoleService roleService = serviceCatalogue.getRoleService();
         final Set<UserRoleEntity> userRoles = user.getRoles();
         final List<String> roles = userRoles.stream()
                 .filter(role -> role.getStatus() == UserRoleStatus.ACTIVE)
-                .map(role -> role.getRole().getName())
+                .map(role -> roleService.getRoleName(role.getRole()))
                 .collect(Collectors.toList());
+        updateUserIdentityHistory(user, roles);
+    }
+
+    /**
+     * Save snapshot of user identity with already loaded active role names into user identity history.
+     * This method is not transactional.
+     * @param user Saved user identity entity.
+     * @param roles Names of active user roles.
+     */
+    private void updateUserIdentityHistory(UserIdentityEntity user, List<String> roles) {
+        final UserIdentityHistoryEntity history = new UserIdentityHistoryEntity();
+        history.setUser(user);
+        history.setStatus(user.getStatus());
         try {
             history.setRoles(valueListConverter.fromList(roles));
         } catch (JsonProcessingException ex) {
@@ -544,20 +579,78 @@ public class UserIdentityService {
         }
         history.setExtras(user.getExtras());
         history.setTimestampCreated(new Date());
-        user.getUserIdentityHistory().add(history);
+        serviceCatalogue.getUserIdentityHistoryService().saveHistory(history);
+    }
+
+    /**
+     * Convert user identity and its related data into user identity detail.
+     * @param user User identity entity.
+     * @param activeUserRoles Active user roles.
+     * @param userContacts User contacts.
+     * @param credentials User credentials.
+     * @param credentialDefinition Credential definition for optional filter.
+     * @param includeRemoved Whether removed data should be returned.
+     * @return User identity detail response.
+     * @throws InvalidRequestException Thrown when request is invalid.
+     * @throws InvalidConfigurationException Thrown when Next Step configuration is invalid.
+     * @throws EncryptionException Thrown when decryption fails.
+     */
+    private GetUserDetailResponse convertUserDetail(UserIdentityEntity user, Collection<UserRoleEntity> activeUserRoles,
+                                                    Collection<UserContactEntity> userContacts, Collection<CredentialEntity> credentials,
+                                                    CredentialDefinitionEntity credentialDefinition, boolean includeRemoved) throws InvalidRequestException, InvalidConfigurationException, EncryptionException {
+        final CredentialService credentialService = serviceCatalogue.getCredentialService();
+        final GetUserDetailResponse response = new GetUserDetailResponse();
+        response.setUserId(user.getUserId());
+        response.setUserIdentityStatus(user.getStatus());
+        response.setTimestampCreated(user.getTimestampCreated());
+        response.setTimestampLastUpdated(user.getTimestampLastUpdated());
+        if (user.getExtras() != null) {
+            try {
+                final Map<String, Object> extras = extrasConverter.fromString(user.getExtras());
+                response.getExtras().putAll(extras);
+            } catch (JsonProcessingException ex) {
+                throw new InvalidRequestException(ex);
+            }
+        }
+        final RoleService roleService = serviceCatalogue.getRoleService();
+        activeUserRoles.forEach(userRole -> response.getRoles().add(roleService.getRoleName(userRole.getRole())));
+        for (UserContactEntity userContact: userContacts) {
+            final UserContactDetail contactDetail = userContactConverter.fromEntity(userContact);
+            response.getContacts().add(contactDetail);
+        }
+        for (CredentialEntity credential: credentials) {
+            if (credential.getStatus() == CredentialStatus.REMOVED && !includeRemoved) {
+                continue;
+            }
+            // Apply filter by credential definition if requested
+            if (credentialDefinition != null && !credential.getCredentialDefinition().equals(credentialDefinition)) {
+                continue;
+            }
+            final CredentialDetail credentialDetail = credentialConverter.fromEntity(credential);
+            final boolean credentialChangeRequired;
+            if (credential.getCredentialDefinition().getHashingConfig() == null) {
+                credentialChangeRequired = credentialService.isCredentialChangeRequired(credential, credential.getValue());
+            } else {
+                credentialChangeRequired = credentialService.isCredentialChangeRequired(credential, null);
+            }
+            credentialDetail.setCredentialChangeRequired(credentialChangeRequired);
+            response.getCredentials().add(credentialDetail);
+        }
+        return response;
     }
 
     /**
-     * Collect roles into role entities.
+     * Collect roles from the role cache.
      *
      * @param roles Role names.
-     * @return Role entities.
+     * @return Cached roles.
      * @throws InvalidRequestException Thrown in case any of the roles is not defined.
      */
-    private Map<String, RoleEntity> collectRoleEntities(List<String> roles) throws InvalidRequestException {
-        final Map<String, RoleEntity> roleEntities = new HashMap<>();
+    private Map<String, RoleService.CachedRole> collectRoleEntities(List<String> roles) throws InvalidRequestException {
+        final RoleService roleService = serviceCatalogue.getRoleService();
+        final Map<String, RoleService.CachedRole> roleEntities = new HashMap<>();
         for (String roleName : roles) {
-            final Optional<RoleEntity> roleOptional = roleRepository.findByName(roleName);
+            final Optional<RoleService.CachedRole> roleOptional = roleService.findRole(roleName);
             if (!roleOptional.isPresent()) {
                 throw new InvalidRequestException("User role not found: " + roleName);
             }
@@ -571,22 +664,27 @@ public class UserIdentityService {
      *
      * @param user User identity entity.
      * @param roles User roles to be set.
-     * @param roleEntities Role entities present in the database.
+     * @param roleEntities Cached roles present in the database.
+     * @return Roles which were newly assigned using role entity references.
      */
-    private void updateRoles(UserIdentityEntity user, List<String> roles, Map<String, RoleEntity> roleEntities) {
+    private List<RoleService.CachedRole> updateRoles(UserIdentityEntity user, List<String> roles, Map<String, RoleService.CachedRole> roleEntities) {
+        final RoleService roleService = serviceCatalogue.getRoleService();
+        final List<RoleService.CachedRole> assignedRoles = new ArrayList<>();
         final Set<UserRoleEntity> existingRoles = user.getRoles();
         final Map<String, UserRoleEntity> existingRoleMap = new HashMap<>();
-        existingRoles.forEach(userRole -> existingRoleMap.put(userRole.getRole().getName(), userRole));
+        existingRoles.forEach(userRole -> existingRoleMap.put(roleService.getRoleName(userRole.getRole()), userRole));
         for (String roleToAdd : roles) {
             final UserRoleEntity existingRole = existingRoleMap.get(roleToAdd);
             if (existingRole == null) {
                 // Persist new role
+                final RoleService.CachedRole role = roleEntities.get(roleToAdd);
                 final UserRoleEntity userRole = new UserRoleEntity();
                 userRole.setUser(user);
-                userRole.setRole(roleEntities.get(roleToAdd));
+                userRole.setRole(roleService.getRoleReference(role));
                 userRole.setStatus(UserRoleStatus.ACTIVE);
                 userRole.setTimestampCreated(new Date());
                 user.getRoles().add(userRole);
+                assignedRoles.add(role);
             } else if (existingRole.getStatus() == UserRoleStatus.REMOVED) {
                 // Make removed role active
                 existingRole.setStatus(UserRoleStatus.ACTIVE);
@@ -602,6 +700,7 @@ public class UserIdentityService {
                 }
             }
         });
+        return assignedRoles;
     }
 
     /**
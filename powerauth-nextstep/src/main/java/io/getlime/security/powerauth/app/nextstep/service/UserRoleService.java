@@ -17,10 +17,8 @@ package io.getlime.security.powerauth.app.nextstep.service;
 
 import com.wultra.core.audit.base.Audit;
 import com.wultra.core.audit.base.model.AuditDetail;
-import io.getlime.security.powerauth.app.nextstep.repository.RoleRepository;
 import io.getlime.security.powerauth.app.nextstep.repository.UserIdentityRepository;
 import io.getlime.security.powerauth.app.nextstep.repository.catalogue.RepositoryCatalogue;
-import io.getlime.security.powerauth.app.nextstep.repository.model.entity.RoleEntity;
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.UserIdentityEntity;
 import io.getlime.security.powerauth.app.nextstep.repository.model.entity.UserRoleEntity;
 import io.getlime.security.powerauth.app.nextstep.service.catalogue.ServiceCatalogue;
@@ -40,6 +38,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
 
@@ -54,7 +53,6 @@ public class UserRoleService {
     private final Logger logger = LoggerFactory.getLogger(UserRoleService.class);
     private static final String AUDIT_TYPE_USER_IDENTITY = "USER_IDENTITY";
 
-    private final RoleRepository roleRepository;
     private final UserIdentityRepository userIdentityRepository;
     private final ServiceCatalogue serviceCatalogue;
     private final Audit audit;
@@ -67,7 +65,6 @@ public class UserRoleService {
      */
     @Autowired
     public UserRoleService(RepositoryCatalogue repositoryCatalogue, @Lazy ServiceCatalogue serviceCatalogue, Audit audit) {
-        this.roleRepository = repositoryCatalogue.getRoleRepository();
         this.userIdentityRepository = repositoryCatalogue.getUserIdentityRepository();
         this.serviceCatalogue = serviceCatalogue;
         this.audit = audit;
@@ -81,19 +78,22 @@ public class UserRoleService {
      * @throws InvalidRequestException Thrown when request is invalid.
      * @throws UserRoleAlreadyAssignedException Thrown when user role is already assigned.
      */
-    @Transactional
+    @Transactional(rollbackOn = Throwable.class)
     public AddUserRoleResponse addUserRole(AddUserRoleRequest request) throws UserNotFoundException, InvalidRequestException, UserRoleAlreadyAssignedException {
         final UserIdentityLookupService userIdentityLookupService = serviceCatalogue.getUserIdentityLookupService();
         final UserIdentityService userIdentityService = serviceCatalogue.getUserIdentityService();
+        final RoleService roleService = serviceCatalogue.getRoleService();
 
         UserIdentityEntity user = userIdentityLookupService.findUser(request.getUserId());
-        final Optional<RoleEntity> roleOptional = roleRepository.findByName(request.getRoleName());
+        final Optional<RoleService.CachedRole> roleOptional = roleService.findRole(request.getRoleName());
         if (!roleOptional.isPresent()) {
             throw new InvalidRequestException("Role not found: " + request.getRoleName());
         }
-        final RoleEntity role = roleOptional.get();
-        final Optional<UserRoleEntity> userRoleOptional = user.getRoles().stream().filter(r -> r.getRole().equals(role)).findFirst();
+        final RoleService.CachedRole role = roleOptional.get();
+        // Roles are compared by role ID, so that role entities are not loaded
+        final Optional<UserRoleEntity> userRoleOptional = user.getRoles().stream().filter(r -> role.getRoleId().equals(r.getRole().getRoleId())).findFirst();
         final UserRoleEntity userRole;
+        final boolean newAssignment = !userRoleOptional.isPresent();
         if (userRoleOptional.isPresent()) {
             userRole = userRoleOptional.get();
             if (userRole.getStatus() == UserRoleStatus.ACTIVE) {
@@ -103,14 +103,15 @@ public class UserRoleService {
         } else {
             userRole = new UserRoleEntity();
             userRole.setUser(user);
-            userRole.setRole(role);
+            userRole.setRole(roleService.getRoleReference(role));
             userRole.setTimestampCreated(new Date());
             user.getRoles().add(userRole);
         }
         userRole.setStatus(UserRoleStatus.ACTIVE);
         // Save user identity and a snapshot to the history table
-        userIdentityService.updateUserIdentityHistory(user);
         user = userIdentityRepository.save(user);
+        roleService.flushRoleAssignments(newAssignment ? Collections.singletonList(role) : Collections.emptyList());
+        userIdentityService.updateUserIdentityHistory(user);
         logger.debug("User role was added, user ID: {}, role name: {}", user.getUserId(), role.getName());
         audit.info("User role was added", AuditDetail.builder()
                 .type(AUDIT_TYPE_USER_IDENTITY)
@@ -136,14 +137,16 @@ public class UserRoleService {
     public RemoveUserRoleResponse removeUserRole(RemoveUserRoleRequest request) throws UserNotFoundException, InvalidRequestException, UserRoleNotAssignedException {
         final UserIdentityLookupService userIdentityLookupService = serviceCatalogue.getUserIdentityLookupService();
         final UserIdentityService userIdentityService = serviceCatalogue.getUserIdentityService();
+        final RoleService roleService = serviceCatalogue.getRoleService();
 
         UserIdentityEntity user = userIdentityLookupService.findUser(request.getUserId());
-        final Optional<RoleEntity> roleOptional = roleRepository.findByName(request.getRoleName());
+        final Optional<RoleService.CachedRole> roleOptional = roleService.findRole(request.getRoleName());
         if (!roleOptional.isPresent()) {
             throw new InvalidRequestException("Role not found: " + request.getRoleName());
         }
-        final RoleEntity role = roleOptional.get();
-        final Optional<UserRoleEntity> userRoleOptional = user.getRoles().stream().filter(r -> r.getRole().equals(role)).findFirst();
+        final RoleService.CachedRole role = roleOptional.get();
+        // Roles are compared by role ID, so that role entities are not loaded
+        final Optional<UserRoleEntity> userRoleOptional = user.getRoles().stream().filter(r -> role.getRoleId().equals(r.getRole().getRoleId())).findFirst();
         final UserRoleEntity userRole;
         if (userRoleOptional.isPresent()) {
             userRole = userRoleOptional.get();
@@ -157,8 +160,8 @@ public class UserRoleService {
         }
         user.getRoles().remove(userRole);
         // Save user identity and a snapshot to the history table
-        userIdentityService.updateUserIdentityHistory(user);
         user = userIdentityRepository.save(user);
+        userIdentityService.updateUserIdentityHistory(user);
         logger.debug("User role was removed, user ID: {}, role name: {}", user.getUserId(), role.getName());
         audit.info("User role was removed", AuditDetail.builder()
                 .type(AUDIT_TYPE_USER_IDENTITY)
@@ -60,6 +60,7 @@ public class ServiceCatalogue {
     private StepResolutionService stepResolutionService;
     private UserAliasService userAliasService;
     private UserContactService userContactService;
+    private UserIdentityHistoryService userIdentityHistoryService;
     private UserIdentityLookupService userIdentityLookupService;
     private UserIdentityService userIdentityService;
     private UserRoleService userRoleService;
@@ -330,6 +331,15 @@ public class ServiceCatalogue {
         this.userContactService = userContactService;
     }
 
+    /**
+     * Set user identity history service.
+     * @param userIdentityHistoryService User identity history service.
+     */
+    @Autowired
+    public void setUserIdentityHistoryService(UserIdentityHistoryService userIdentityHistoryService) {
+        this.userIdentityHistoryService = userIdentityHistoryService;
+    }
+
     /**
      * Set user identity lookup service.
      * @param userIdentityLookupService User identity lookup service.
@@ -625,6 +635,14 @@ public class ServiceCatalogue {
         return userContactService;
     }
 
+    /**
+     * Get user identity history service.
+     * @return User identity history service.
+     */
+    public UserIdentityHistoryService getUserIdentityHistoryService() {
+        return userIdentityHistoryService;
+    }
+
     /**
      * Get user identity lookup service.
      * @return User identity lookup service.
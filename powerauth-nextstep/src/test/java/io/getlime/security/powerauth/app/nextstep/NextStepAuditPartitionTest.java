@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.nextstep;
+
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
+import io.getlime.security.powerauth.app.nextstep.service.AuditRetentionService;
+import io.getlime.security.powerauth.app.nextstep.service.SchedulerLockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.containers.OracleContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Next Step audit retention tests for audit tables partitioned by month. The audit tables are created using
+ * the partitioning DDL scripts in a PostgreSQL and an Oracle database, the tests are skipped when Docker is not
+ * available.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class NextStepAuditPartitionTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMAT = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final DateTimeFormatter PARTITION_BOUNDARY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgreSqlContainer = new PostgreSQLContainer<>("postgres:13");
+
+    @Container
+    private static final OracleContainer oracleContainer = new OracleContainer("gvenzl/oracle-xe:18.4.0-slim");
+
+    @Test
+    public void auditRetentionPostgreSqlPartitionDropTest() throws IOException {
+        final JdbcTemplate jdbcTemplate = prepareJdbcTemplate(postgreSqlContainer);
+        // The script contains a PL/pgSQL block, the whole script is executed as a single multi-statement command
+        jdbcTemplate.execute(new String(Files.readAllBytes(Paths.get("../docs/sql/postgresql/create_audit_partitioned.sql")), StandardCharsets.UTF_8));
+        final LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        assertTrue(partitionExists(jdbcTemplate, "audit_log", currentMonth));
+        assertTrue(partitionExists(jdbcTemplate, "audit_param", currentMonth.plusMonths(1)));
+
+        // Two expired months are partitioned, the partition of audit parameters for the first month does not exist
+        final LocalDate firstMonth = cutoffMonth().minusMonths(2);
+        final LocalDate secondMonth = cutoffMonth().minusMonths(1);
+        createPostgreSqlPartition(jdbcTemplate, "audit_log", firstMonth);
+        createPostgreSqlPartition(jdbcTemplate, "audit_log", secondMonth);
+        createPostgreSqlPartition(jdbcTemplate, "audit_param", secondMonth);
+        insertAuditRecord(jdbcTemplate, "TEST_EXPIRED", firstMonth.withDayOfMonth(15).atStartOfDay(), false);
+        insertAuditRecord(jdbcTemplate, "TEST_EXPIRED", secondMonth.withDayOfMonth(15).atStartOfDay(), true);
+        insertAuditRecord(jdbcTemplate, "TEST_VALID", LocalDateTime.now(), true);
+
+        assertEquals(3, prepareRetentionService(jdbcTemplate).cleanup());
+        assertFalse(partitionExists(jdbcTemplate, "audit_log", firstMonth));
+        assertFalse(partitionExists(jdbcTemplate, "audit_log", secondMonth));
+        assertFalse(partitionExists(jdbcTemplate, "audit_param", secondMonth));
+        assertTrue(partitionExists(jdbcTemplate, "audit_log", currentMonth));
+        assertEquals(0, countAuditRecords(jdbcTemplate, "TEST_EXPIRED"));
+        assertEquals(1, countAuditRecords(jdbcTemplate, "TEST_VALID"));
+    }
+
+    @Test
+    public void auditRetentionOraclePartitionDropTest() {
+        final JdbcTemplate jdbcTemplate = prepareJdbcTemplate(oracleContainer);
+        new ResourceDatabasePopulator(new FileSystemResource("../docs/sql/oracle/create_audit_partitioned.sql")).execute(jdbcTemplate.getDataSource());
+
+        // Partitions of two expired months and the current month are created automatically by interval partitioning
+        insertAuditRecord(jdbcTemplate, "TEST_EXPIRED", cutoffMonth().minusMonths(2).withDayOfMonth(15).atStartOfDay(), true);
+        insertAuditRecord(jdbcTemplate, "TEST_EXPIRED", cutoffMonth().minusMonths(1).withDayOfMonth(15).atStartOfDay(), true);
+        insertAuditRecord(jdbcTemplate, "TEST_VALID", LocalDateTime.now(), true);
+        assertEquals(4, countOraclePartitions(jdbcTemplate, "AUDIT_LOG"));
+
+        assertEquals(4, prepareRetentionService(jdbcTemplate).cleanup());
+        // The initial partition and the partition of the current month are kept
+        assertEquals(2, countOraclePartitions(jdbcTemplate, "AUDIT_LOG"));
+        assertEquals(2, countOraclePartitions(jdbcTemplate, "AUDIT_PARAM"));
+        assertEquals(0, countAuditRecords(jdbcTemplate, "TEST_EXPIRED"));
+        assertEquals(1, countAuditRecords(jdbcTemplate, "TEST_VALID"));
+        // The primary key index remains usable after the partitions were dropped
+        insertAuditRecord(jdbcTemplate, "TEST_VALID", LocalDateTime.now(), true);
+        assertEquals(2, countAuditRecords(jdbcTemplate, "TEST_VALID"));
+    }
+
+    private JdbcTemplate prepareJdbcTemplate(JdbcDatabaseContainer<?> container) {
+        final DriverManagerDataSource dataSource = new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+        dataSource.setDriverClassName(container.getDriverClassName());
+        return new JdbcTemplate(dataSource);
+    }
+
+    private AuditRetentionService prepareRetentionService(JdbcTemplate jdbcTemplate) {
+        final NextStepServerConfiguration configuration = mock(NextStepServerConfiguration.class);
+        when(configuration.isAuditRetentionPartitioned()).thenReturn(true);
+        when(configuration.getAuditRetentionDays()).thenReturn(365);
+        when(configuration.getAuditTableNameLog()).thenReturn("audit_log");
+        when(configuration.getAuditTableNameParam()).thenReturn("audit_param");
+        return new AuditRetentionService(jdbcTemplate, configuration, mock(SchedulerLockService.class));
+    }
+
+    private LocalDate cutoffMonth() {
+        return LocalDate.now().minusDays(365).withDayOfMonth(1);
+    }
+
+    private void createPostgreSqlPartition(JdbcTemplate jdbcTemplate, String tableName, LocalDate month) {
+        jdbcTemplate.execute("CREATE TABLE " + tableName + "_" + month.format(PARTITION_SUFFIX_FORMAT) + " PARTITION OF " + tableName
+                + " FOR VALUES FROM ('" + month.format(PARTITION_BOUNDARY_FORMAT) + "') TO ('" + month.plusMonths(1).format(PARTITION_BOUNDARY_FORMAT) + "')");
+    }
+
+    private boolean partitionExists(JdbcTemplate jdbcTemplate, String tableName, LocalDate month) {
+        return jdbcTemplate.queryForObject("SELECT CAST(to_regclass(?) AS VARCHAR)", String.class,
+                tableName + "_" + month.format(PARTITION_SUFFIX_FORMAT)) != null;
+    }
+
+    private int countOraclePartitions(JdbcTemplate jdbcTemplate, String tableName) {
+        final Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_tab_partitions WHERE table_name = ?", Integer.class, tableName);
+        return count == null ? 0 : count;
+    }
+
+    private void insertAuditRecord(JdbcTemplate jdbcTemplate, String message, LocalDateTime timestamp, boolean withParam) {
+        final String auditLogId = UUID.randomUUID().toString();
+        final Timestamp timestampCreated = Timestamp.valueOf(timestamp);
+        jdbcTemplate.update("INSERT INTO audit_log (audit_log_id, application_name, audit_level, timestamp_created, message, calling_class, thread_name) "
+                + "VALUES (?, 'powerauth-nextstep', 'INFO', ?, ?, 'test', 'test')", auditLogId, timestampCreated, message);
+        if (withParam) {
+            jdbcTemplate.update("INSERT INTO audit_param (audit_log_id, timestamp_created, param_key, param_value) VALUES (?, ?, 'test', 'test')",
+                    auditLogId, timestampCreated);
+        }
+    }
+
+    private int countAuditRecords(JdbcTemplate jdbcTemplate, String message) {
+        final Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE CAST(message AS VARCHAR(256)) = ?", Integer.class, message);
+        return count == null ? 0 : count;
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.nextstep;
+
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
+import io.getlime.security.powerauth.app.nextstep.service.AuditRetentionService;
+import io.getlime.security.powerauth.app.nextstep.service.SchedulerLockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Next Step audit retention tests.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class NextStepAuditRetentionTest extends NextStepTest {
+
+    @Autowired
+    private AuditRetentionService auditRetentionService;
+
+    @Autowired
+    private NextStepServerConfiguration nextStepServerConfiguration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void auditRetentionBatchDeleteTest() {
+        prepareAuditRecords();
+        // Five expired audit records are deleted in batches of two audit records
+        assertEquals(5, auditRetentionService.cleanup());
+        assertAuditRecordsRemoved();
+    }
+
+    @Test
+    public void auditRetentionPartitionFallbackTest() {
+        prepareAuditRecords();
+        // Partitioning is not available in the embedded database, audit records are deleted in batches
+        ReflectionTestUtils.setField(nextStepServerConfiguration, "auditRetentionPartitioned", true);
+        try {
+            assertEquals(5, auditRetentionService.cleanup());
+        } finally {
+            ReflectionTestUtils.setField(nextStepServerConfiguration, "auditRetentionPartitioned", false);
+        }
+        assertAuditRecordsRemoved();
+    }
+
+    @Test
+    public void auditRetentionLockTest() {
+        prepareAuditRecords();
+        // Audit retention is skipped while the lock is held by another node
+        jdbcTemplate.update("INSERT INTO ns_scheduler_lock (lock_name, lock_until, timestamp_locked, locked_by) VALUES ('audit-retention', ?, ?, 'other-node')",
+                Timestamp.valueOf(LocalDateTime.now().plusHours(1)), Timestamp.valueOf(LocalDateTime.now()));
+        auditRetentionService.scheduledCleanup();
+        assertEquals(5, countAuditRecords("TEST_EXPIRED"));
+        // Lock of the other node expired, audit retention acquires the lock and releases it after the cleanup
+        jdbcTemplate.update("UPDATE ns_scheduler_lock SET lock_until = ? WHERE lock_name = 'audit-retention'", Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+        auditRetentionService.scheduledCleanup();
+        assertAuditRecordsRemoved();
+        final Timestamp lockUntil = jdbcTemplate.queryForObject("SELECT lock_until FROM ns_scheduler_lock WHERE lock_name = 'audit-retention'", Timestamp.class);
+        assertNotNull(lockUntil);
+        assertFalse(lockUntil.toLocalDateTime().isAfter(LocalDateTime.now()));
+        final String lockedBy = jdbcTemplate.queryForObject("SELECT locked_by FROM ns_scheduler_lock WHERE lock_name = 'audit-retention'", String.class);
+        assertNotEquals("other-node", lockedBy);
+    }
+
+    @Test
+    public void auditRetentionPartitionDropFailureTest() throws SQLException {
+        final JdbcTemplate partitionJdbcTemplate = preparePartitionJdbcTemplate("Oracle");
+        doThrow(new UncategorizedSQLException("drop", "ALTER TABLE", new SQLException("ORA-01031", "42000", 1031)))
+                .when(partitionJdbcTemplate).execute(startsWith("ALTER TABLE"));
+        // Errors other than a missing partition are not swallowed
+        final AuditRetentionService partitionRetentionService = preparePartitionRetentionService(partitionJdbcTemplate);
+        assertThrows(UncategorizedSQLException.class, partitionRetentionService::cleanup);
+    }
+
+    private JdbcTemplate preparePartitionJdbcTemplate(String databaseName) throws SQLException {
+        final DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn(databaseName);
+        final Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        final DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        final JdbcTemplate partitionJdbcTemplate = mock(JdbcTemplate.class);
+        when(partitionJdbcTemplate.getDataSource()).thenReturn(dataSource);
+        // Oldest audit record is stored in the middle of the month two months before the cutoff month
+        final LocalDateTime oldestTimestamp = cutoffMonth().minusMonths(2).withDayOfMonth(15).atStartOfDay();
+        when(partitionJdbcTemplate.queryForObject(startsWith("SELECT MIN(timestamp_created)"), eq(Timestamp.class)))
+                .thenReturn(Timestamp.valueOf(oldestTimestamp));
+        return partitionJdbcTemplate;
+    }
+
+    private AuditRetentionService preparePartitionRetentionService(JdbcTemplate partitionJdbcTemplate) {
+        final NextStepServerConfiguration partitionConfiguration = mock(NextStepServerConfiguration.class);
+        when(partitionConfiguration.isAuditRetentionPartitioned()).thenReturn(true);
+        when(partitionConfiguration.getAuditRetentionDays()).thenReturn(365);
+        when(partitionConfiguration.getAuditTableNameLog()).thenReturn("audit_log");
+        when(partitionConfiguration.getAuditTableNameParam()).thenReturn("audit_param");
+        return new AuditRetentionService(partitionJdbcTemplate, partitionConfiguration, mock(SchedulerLockService.class));
+    }
+
+    private LocalDate cutoffMonth() {
+        return LocalDate.now().minusDays(365).withDayOfMonth(1);
+    }
+
+    private void prepareAuditRecords() {
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            insertAuditRecord("TEST_EXPIRED", now.minusDays(400 + i));
+        }
+        for (int i = 0; i < 3; i++) {
+            insertAuditRecord("TEST_VALID", now.minusDays(30 + i));
+        }
+    }
+
+    private void insertAuditRecord(String message, LocalDateTime timestamp) {
+        final String auditLogId = UUID.randomUUID().toString();
+        final Timestamp timestampCreated = Timestamp.valueOf(timestamp);
+        jdbcTemplate.update("INSERT INTO audit_log (audit_log_id, application_name, audit_level, timestamp_created, message, calling_class, thread_name) "
+                + "VALUES (?, 'powerauth-nextstep', 'INFO', ?, ?, 'test', 'test')", auditLogId, timestampCreated, message);
+        jdbcTemplate.update("INSERT INTO audit_param (audit_log_id, timestamp_created, param_key, param_value) VALUES (?, ?, 'test', 'test')",
+                auditLogId, timestampCreated);
+    }
+
+    private void assertAuditRecordsRemoved() {
+        assertEquals(0, countAuditRecords("TEST_EXPIRED"));
+        assertEquals(3, countAuditRecords("TEST_VALID"));
+        final Integer paramCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_param p JOIN audit_log l ON p.audit_log_id = l.audit_log_id "
+                + "WHERE l.message = 'TEST_VALID'", Integer.class);
+        assertEquals(3, paramCount);
+        final Integer orphanParamCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_param WHERE audit_log_id NOT IN (SELECT audit_log_id FROM audit_log)", Integer.class);
+        assertEquals(0, orphanParamCount);
+    }
+
+    private int countAuditRecords(String message) {
+        final Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE message = ?", Integer.class, message);
+        return count == null ? 0 : count;
+    }
+
+}
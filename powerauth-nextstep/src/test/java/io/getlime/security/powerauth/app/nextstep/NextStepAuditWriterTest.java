@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.nextstep;
+
+import com.wultra.core.audit.base.configuration.AuditConfiguration;
+import com.wultra.core.audit.base.model.AuditLevel;
+import com.wultra.core.audit.base.model.AuditRecord;
+import io.getlime.security.powerauth.app.nextstep.configuration.BufferedAuditWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Next Step buffered audit writer tests.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class NextStepAuditWriterTest extends NextStepTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void auditWriterBlockTest() {
+        final BufferedAuditWriter auditWriter = prepareAuditWriter(BufferedAuditWriter.OverflowPolicy.BLOCK);
+        // The third audit record does not fit into the queue, the queue is written by the calling thread
+        for (int i = 0; i < 3; i++) {
+            auditWriter.write(prepareAuditRecord("TEST_BLOCK", AuditLevel.INFO));
+        }
+        assertEquals(1, auditWriter.getQueueSize());
+        assertEquals(2, countAuditRecords("TEST_BLOCK"));
+        auditWriter.flush();
+        assertEquals(0, auditWriter.getQueueSize());
+        assertEquals(0, auditWriter.getWriteLagSeconds());
+        assertEquals(0, auditWriter.getDroppedCount());
+
+        // The calling class and thread are resolved when the audit record is written, not when it is flushed
+        final List<String> callingClasses = jdbcTemplate.queryForList("SELECT DISTINCT calling_class FROM audit_log WHERE message = 'TEST_BLOCK'", String.class);
+        assertEquals(List.of(NextStepAuditWriterTest.class.getName()), callingClasses);
+        final List<String> threadNames = jdbcTemplate.queryForList("SELECT DISTINCT thread_name FROM audit_log WHERE message = 'TEST_BLOCK'", String.class);
+        assertEquals(List.of(Thread.currentThread().getName()), threadNames);
+    }
+
+    @Test
+    public void auditWriterDropDebugTest() {
+        final BufferedAuditWriter auditWriter = prepareAuditWriter(BufferedAuditWriter.OverflowPolicy.DROP_DEBUG);
+        auditWriter.write(prepareAuditRecord("TEST_DROP_DEBUG", AuditLevel.DEBUG));
+        auditWriter.write(prepareAuditRecord("TEST_DROP_INFO", AuditLevel.INFO));
+        // The queued DEBUG audit record is dropped to make room for the INFO audit record
+        auditWriter.write(prepareAuditRecord("TEST_DROP_INFO", AuditLevel.INFO));
+        assertEquals(2, auditWriter.getQueueSize());
+        assertEquals(1, auditWriter.getDroppedCount());
+        // A DEBUG audit record is dropped when the queue is full
+        auditWriter.write(prepareAuditRecord("TEST_DROP_DEBUG", AuditLevel.DEBUG));
+        assertEquals(2, auditWriter.getQueueSize());
+        assertEquals(2, auditWriter.getDroppedCount());
+        assertEquals(0, countAuditRecords("TEST_DROP_INFO"));
+
+        auditWriter.flush();
+        assertEquals(0, auditWriter.getQueueSize());
+        assertEquals(2, countAuditRecords("TEST_DROP_INFO"));
+        assertEquals(0, countAuditRecords("TEST_DROP_DEBUG"));
+    }
+
+    private BufferedAuditWriter prepareAuditWriter(BufferedAuditWriter.OverflowPolicy overflowPolicy) {
+        final AuditConfiguration auditConfiguration = mock(AuditConfiguration.class);
+        when(auditConfiguration.getEventQueueSize()).thenReturn(2);
+        when(auditConfiguration.getBatchSize()).thenReturn(10);
+        when(auditConfiguration.getDbCleanupDays()).thenReturn(365);
+        when(auditConfiguration.getDbTableNameAudit()).thenReturn("audit_log");
+        when(auditConfiguration.getDbTableNameParam()).thenReturn("audit_param");
+        when(auditConfiguration.getApplicationName()).thenReturn("powerauth-nextstep");
+        when(auditConfiguration.getVersion()).thenReturn("test");
+        when(auditConfiguration.getBuildTime()).thenReturn(Instant.now());
+        return new BufferedAuditWriter(auditConfiguration, jdbcTemplate, overflowPolicy);
+    }
+
+    private AuditRecord prepareAuditRecord(String message, AuditLevel level) {
+        return new AuditRecord(message, level, null, new HashMap<>(), new Object[0]);
+    }
+
+    private int countAuditRecords(String message) {
+        final Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE message = ?", Integer.class, message);
+        return count == null ? 0 : count;
+    }
+
+}
@@ -29,6 +29,8 @@ import io.getlime.security.powerauth.lib.nextstep.model.enumeration.CounterReset
 import io.getlime.security.powerauth.lib.nextstep.model.exception.CredentialNotActiveException;
 import io.getlime.security.powerauth.lib.nextstep.model.exception.UserNotActiveException;
 import io.getlime.security.powerauth.lib.nextstep.model.exception.UserNotFoundException;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.AuthenticationDetail;
+import io.getlime.security.powerauth.lib.nextstep.model.request.GetUserAuthenticationListRequest;
 import io.getlime.security.powerauth.lib.nextstep.model.request.LookupUsersRequest;
 import io.getlime.security.powerauth.lib.nextstep.model.request.ResetCountersRequest;
 import io.getlime.security.powerauth.lib.nextstep.model.request.UpdateCredentialDefinitionRequest;
@@ -37,10 +39,13 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -705,5 +710,54 @@ public class NextStepAuthenticationTest extends NextStepTest {
         assertEquals(AuthResult.FAILED, r6.getResult());
     }
 
-}
+    @Test
+    public void testUserAuthenticationListPaging() throws NextStepClientException {
+        for (int i = 0; i < 5; i++) {
+            CreateOtpResponse r1 = nextStepClient.createOtp("test_user_1", "TEST_OTP", null, "TEST_DATA").getResponseObject();
+            nextStepClient.authenticateWithOtp(r1.getOtpId(), r1.getOtpValue());
+        }
+        GetUserAuthenticationListResponse all = nextStepClient.getUserAuthenticationListPost("test_user_1", null, null).getResponseObject();
+        assertTrue(all.getAuthentications().size() >= 5);
+        assertNull(all.getNextBeforeAuthenticationId());
+        GetUserAuthenticationListRequest request = new GetUserAuthenticationListRequest();
+        request.setUserId("test_user_1");
+        request.setPageSize(2);
+        GetUserAuthenticationListResponse page = nextStepClient.getUserAuthenticationListPage("test_user_1", null, null, 2, null).getResponseObject();
+        List<AuthenticationDetail> paged = new ArrayList<>();
+        while (!page.getAuthentications().isEmpty()) {
+            assertTrue(page.getAuthentications().size() <= 2);
+            paged.addAll(page.getAuthentications());
+            page = nextStepClient.getUserAuthenticationListNextPage(request, page).getResponseObject();
+        }
+        assertEquals(all.getAuthentications().size(), paged.size());
+        for (int i = 0; i < paged.size(); i++) {
+            assertEquals(all.getAuthentications().get(i).getTimestampCreated(), paged.get(i).getTimestampCreated());
+            if (i > 0) {
+                assertFalse(paged.get(i).getTimestampCreated().after(paged.get(i - 1).getTimestampCreated()));
+            }
+        }
+    }
 
+    @Test
+    public void testUserAuthenticationListLegacyUnpaged() throws NextStepClientException {
+        for (int i = 0; i < 3; i++) {
+            CreateOtpResponse r1 = nextStepClient.createOtp("test_user_1", "TEST_OTP", null, "TEST_DATA").getResponseObject();
+            nextStepClient.authenticateWithOtp(r1.getOtpId(), r1.getOtpValue());
+        }
+        final int maxPageSize = nextStepServerConfiguration.getAuthenticationListMaxPageSize();
+        ReflectionTestUtils.setField(nextStepServerConfiguration, "authenticationListMaxPageSize", 2);
+        try {
+            // Request without paging parameters is not limited by the maximum page size
+            GetUserAuthenticationListResponse all = nextStepClient.getUserAuthenticationListPost("test_user_1", null, null).getResponseObject();
+            assertTrue(all.getAuthentications().size() >= 3);
+            assertNull(all.getNextBeforeAuthenticationId());
+            // Paged request is limited by the maximum page size
+            GetUserAuthenticationListResponse page = nextStepClient.getUserAuthenticationListPage("test_user_1", null, null, 10, null).getResponseObject();
+            assertEquals(2, page.getAuthentications().size());
+            assertNotNull(page.getNextBeforeAuthenticationId());
+        } finally {
+            ReflectionTestUtils.setField(nextStepServerConfiguration, "authenticationListMaxPageSize", maxPageSize);
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package io.getlime.security.powerauth.app.nextstep;
 import com.wultra.core.audit.base.database.DatabaseAudit;
 import io.getlime.security.powerauth.app.nextstep.configuration.NextStepClientFactory;
 import io.getlime.security.powerauth.app.nextstep.configuration.NextStepTestConfiguration;
+import io.getlime.security.powerauth.app.nextstep.service.UserIdentityHistoryService;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
@@ -66,8 +67,9 @@ public class NextStepTest implements ApplicationContextAware {
 
     @AfterAll
     public static void cleanup() {
-        // Flush audit data to database before the test application and H2 database are terminated
+        // Flush audit data and user identity history to database before the test application and H2 database are terminated
         applicationContext.getBean(DatabaseAudit.class).flush();
+        applicationContext.getBean(UserIdentityHistoryService.class).flush();
     }
 
     @Test
@@ -15,16 +15,41 @@
  */
 package io.getlime.security.powerauth.app.nextstep;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.getlime.core.rest.model.base.request.ObjectRequest;
+import io.getlime.security.powerauth.app.nextstep.configuration.NextStepServerConfiguration;
+import io.getlime.security.powerauth.app.nextstep.repository.CredentialDefinitionRepository;
+import io.getlime.security.powerauth.app.nextstep.repository.RoleRepository;
+import io.getlime.security.powerauth.app.nextstep.repository.UserIdentityHistoryRepository;
+import io.getlime.security.powerauth.app.nextstep.repository.UserIdentityRepository;
+import io.getlime.security.powerauth.app.nextstep.repository.model.entity.CredentialDefinitionEntity;
+import io.getlime.security.powerauth.app.nextstep.service.UserIdentityHistoryService;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
 import io.getlime.security.powerauth.lib.nextstep.model.entity.CredentialSecretDetail;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.UserImportResult;
 import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.*;
+import io.getlime.security.powerauth.lib.nextstep.model.exception.InvalidRequestException;
+import io.getlime.security.powerauth.lib.nextstep.model.exception.RequestValidationFailedException;
+import io.getlime.security.powerauth.lib.nextstep.model.exception.UserAlreadyExistsException;
 import io.getlime.security.powerauth.lib.nextstep.model.exception.UserNotActiveException;
 import io.getlime.security.powerauth.lib.nextstep.model.exception.UserNotBlockedException;
 import io.getlime.security.powerauth.lib.nextstep.model.request.CreateUserRequest;
+import io.getlime.security.powerauth.lib.nextstep.model.request.ImportUsersRequest;
+import io.getlime.security.powerauth.lib.nextstep.model.request.LookupUsersRequest;
 import io.getlime.security.powerauth.lib.nextstep.model.request.UpdateUserRequest;
 import io.getlime.security.powerauth.lib.nextstep.model.response.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
 
@@ -37,6 +62,30 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class NextStepUserIdentityTest extends NextStepTest {
 
+    @Autowired
+    private UserIdentityHistoryService userIdentityHistoryService;
+
+    @Autowired
+    private UserIdentityHistoryRepository userIdentityHistoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserIdentityRepository userIdentityRepository;
+
+    @Autowired
+    private CredentialDefinitionRepository credentialDefinitionRepository;
+
+    @Autowired
+    private NextStepServerConfiguration nextStepServerConfiguration;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @BeforeEach
     public void setUp() throws Exception {
         nextStepClient = nextStepClientFactory.createNextStepClient("http://localhost:" + port);
@@ -244,4 +293,315 @@ public class NextStepUserIdentityTest extends NextStepTest {
         assertTrue(r7.getAliases().isEmpty());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void userIdentityLookupPagingTest() throws NextStepClientException {
+        String roleName = "TEST_LOOKUP_ROLE";
+        nextStepClient.createRole(roleName, "Role for lookup tests");
+        Date createdStartDate = new Date(System.currentTimeMillis() - 60000);
+        Set<String> userIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            String userId = UUID.randomUUID().toString();
+            CreateUserRequest createUserRequest = new CreateUserRequest();
+            createUserRequest.setUserId(userId);
+            CreateUserRequest.NewCredential credential = new CreateUserRequest.NewCredential();
+            credential.setCredentialName("TEST_CREDENTIAL");
+            credential.setCredentialType(CredentialType.PERMANENT);
+            createUserRequest.getCredentials().add(credential);
+            createUserRequest.getRoles().add(roleName);
+            nextStepClient.createUser(createUserRequest);
+            userIds.add(userId);
+        }
+        // Lookup by credential status and role using pages of two user identities
+        LookupUsersRequest lookupRequest = new LookupUsersRequest();
+        lookupRequest.setCredentialName("TEST_CREDENTIAL");
+        lookupRequest.setCredentialStatus(CredentialStatus.ACTIVE);
+        lookupRequest.getRoles().add(roleName);
+        lookupRequest.setPageSize(2);
+        List<String> lookupUserIds = new ArrayList<>();
+        int pageCount = 0;
+        do {
+            LookupUsersResponse r1 = nextStepClient.lookupUsers(lookupRequest).getResponseObject();
+            assertTrue(r1.getUsers().size() <= 2);
+            for (GetUserDetailResponse user: r1.getUsers()) {
+                assertTrue(user.getRoles().contains(roleName));
+                assertEquals(1, user.getCredentials().size());
+                lookupUserIds.add(user.getUserId());
+            }
+            lookupRequest.setAfterUserId(r1.getNextAfterUserId());
+            pageCount++;
+        } while (lookupRequest.getAfterUserId() != null);
+        assertEquals(3, pageCount);
+        assertEquals(5, lookupUserIds.size());
+        assertEquals(userIds, new HashSet<>(lookupUserIds));
+        List<String> sortedUserIds = new ArrayList<>(lookupUserIds);
+        Collections.sort(sortedUserIds);
+        assertEquals(sortedUserIds, lookupUserIds);
+        // Lookup by created date and role in a single page
+        LookupUsersRequest lookupRequest2 = new LookupUsersRequest();
+        lookupRequest2.setCreatedStartDate(createdStartDate);
+        lookupRequest2.getRoles().add(roleName);
+        LookupUsersResponse r2 = nextStepClient.lookupUsers(lookupRequest2).getResponseObject();
+        assertEquals(5, r2.getUsers().size());
+        assertNull(r2.getNextAfterUserId());
+        // Removed user identities are not returned unless requested
+        nextStepClient.deleteUser(lookupUserIds.get(0));
+        LookupUsersResponse r3 = nextStepClient.lookupUsers(lookupRequest2).getResponseObject();
+        assertEquals(4, r3.getUsers().size());
+    }
+
+    @Test
+    public void userIdentityLookupCreatedDateBoundaryTest() throws NextStepClientException {
+        String userId = UUID.randomUUID().toString();
+        CreateUserRequest createUserRequest = new CreateUserRequest();
+        createUserRequest.setUserId(userId);
+        CreateUserRequest.NewCredential credential = new CreateUserRequest.NewCredential();
+        credential.setCredentialName("TEST_CREDENTIAL");
+        credential.setCredentialType(CredentialType.PERMANENT);
+        createUserRequest.getCredentials().add(credential);
+        nextStepClient.createUser(createUserRequest);
+        Date timestampCreated = userIdentityRepository.findById(userId).orElseThrow(IllegalStateException::new).getTimestampCreated();
+        Date before = new Date(timestampCreated.getTime() - 1000);
+        Date after = new Date(timestampCreated.getTime() + 1000);
+        List<UserIdentityStatus> statuses = Collections.singletonList(UserIdentityStatus.ACTIVE);
+        CredentialDefinitionEntity credentialDefinition = credentialDefinitionRepository.findByName("TEST_CREDENTIAL").orElseThrow(IllegalStateException::new);
+        // Lookup by created date includes both boundaries of the interval
+        assertTrue(userIdentityRepository.findUserIdsByCreatedDate(timestampCreated, after, statuses, null, PageRequest.of(0, 1000)).contains(userId));
+        assertTrue(userIdentityRepository.findUserIdsByCreatedDate(before, timestampCreated, statuses, null, PageRequest.of(0, 1000)).contains(userId));
+        // Lookup by credential excludes both boundaries of the interval
+        assertFalse(userIdentityRepository.findUserIdsByCredential(credentialDefinition, CredentialStatus.ACTIVE, timestampCreated, after, statuses, null, PageRequest.of(0, 1000)).contains(userId));
+        assertFalse(userIdentityRepository.findUserIdsByCredential(credentialDefinition, CredentialStatus.ACTIVE, before, timestampCreated, statuses, null, PageRequest.of(0, 1000)).contains(userId));
+        assertTrue(userIdentityRepository.findUserIdsByCredential(credentialDefinition, CredentialStatus.ACTIVE, before, after, statuses, null, PageRequest.of(0, 1000)).contains(userId));
+    }
+
+    @Test
+    public void userIdentityImportTest() throws NextStepClientException {
+        String existingUserId = UUID.randomUUID().toString();
+        CreateUserRequest existingUserRequest = new CreateUserRequest();
+        existingUserRequest.setUserId(existingUserId);
+        nextStepClient.createUser(existingUserRequest);
+        ImportUsersRequest importRequest = new ImportUsersRequest();
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String userId = UUID.randomUUID().toString();
+            CreateUserRequest createUserRequest = new CreateUserRequest();
+            createUserRequest.setUserId(userId);
+            CreateUserRequest.NewCredential credential = new CreateUserRequest.NewCredential();
+            credential.setCredentialName("TEST_CREDENTIAL");
+            credential.setCredentialType(CredentialType.PERMANENT);
+            createUserRequest.getCredentials().add(credential);
+            importRequest.getUsers().add(createUserRequest);
+            userIds.add(userId);
+        }
+        // Duplicate user identity and invalid user identity in the middle of the import
+        CreateUserRequest duplicateUserRequest = new CreateUserRequest();
+        duplicateUserRequest.setUserId(existingUserId);
+        importRequest.getUsers().add(2, duplicateUserRequest);
+        importRequest.getUsers().add(4, new CreateUserRequest());
+        ImportUsersResponse r1 = nextStepClient.importUsers(importRequest).getResponseObject();
+        assertEquals(7, r1.getResults().size());
+        assertEquals(5, r1.getImportedCount());
+        assertEquals(2, r1.getFailedCount());
+        UserImportResult duplicateResult = r1.getResults().get(2);
+        assertFalse(duplicateResult.isImported());
+        assertEquals(existingUserId, duplicateResult.getUserId());
+        assertEquals(UserAlreadyExistsException.CODE, duplicateResult.getErrorCode());
+        UserImportResult invalidResult = r1.getResults().get(4);
+        assertFalse(invalidResult.isImported());
+        assertEquals(RequestValidationFailedException.CODE, invalidResult.getErrorCode());
+        for (UserImportResult result: r1.getResults()) {
+            if (result.isImported()) {
+                assertTrue(userIds.contains(result.getUserId()));
+                assertEquals(1, result.getCredentials().size());
+                GetUserDetailResponse userDetail = nextStepClient.getUserDetail(result.getUserId(), false).getResponseObject();
+                assertEquals(UserIdentityStatus.ACTIVE, userDetail.getUserIdentityStatus());
+                assertEquals(1, userDetail.getCredentials().size());
+            }
+        }
+    }
+
+    @Test
+    public void userIdentityImportTruncatedRequestTest() throws Exception {
+        ImportUsersRequest importRequest = new ImportUsersRequest();
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String userId = UUID.randomUUID().toString();
+            CreateUserRequest createUserRequest = new CreateUserRequest();
+            createUserRequest.setUserId(userId);
+            CreateUserRequest.NewCredential credential = new CreateUserRequest.NewCredential();
+            credential.setCredentialName("TEST_CREDENTIAL");
+            credential.setCredentialType(CredentialType.PERMANENT);
+            createUserRequest.getCredentials().add(credential);
+            importRequest.getUsers().add(createUserRequest);
+            userIds.add(userId);
+        }
+        // The request body ends in the middle of the third user identity
+        String body = objectMapper.writeValueAsString(new ObjectRequest<>(importRequest));
+        body = body.substring(0, body.indexOf(userIds.get(2)));
+        ResponseEntity<JsonNode> response = postImportRequest(body);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode importResponse = response.getBody().get("responseObject");
+        assertFalse(importResponse.get("complete").asBoolean());
+        assertEquals(InvalidRequestException.CODE, importResponse.get("errorCode").asText());
+        assertEquals(2, importResponse.get("importedCount").asInt());
+        assertEquals(2, importResponse.get("results").size());
+        for (int i = 0; i < 2; i++) {
+            JsonNode result = importResponse.get("results").get(i);
+            assertEquals(userIds.get(i), result.get("userId").asText());
+            assertTrue(result.get("imported").asBoolean());
+            // Generated credentials of imported user identities are not lost
+            assertEquals(1, result.get("credentials").size());
+            assertFalse(result.get("credentials").get(0).get("credentialValue").asText().isEmpty());
+            assertEquals(UserIdentityStatus.ACTIVE, nextStepClient.getUserDetail(userIds.get(i), false).getResponseObject().getUserIdentityStatus());
+        }
+        assertThrows(NextStepClientException.class, () -> nextStepClient.getUserDetail(userIds.get(2), false));
+    }
+
+    @Test
+    public void userIdentityImportMalformedRequestTest() {
+        // Nothing is imported in case the request is malformed before any user identity is read
+        ResponseEntity<JsonNode> response = postImportRequest("{\"requestObject\":{\"users\":[{\"userId\"");
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(InvalidRequestException.CODE, response.getBody().get("responseObject").get("code").asText());
+    }
+
+    @Test
+    public void userIdentityImportUnreadableUserTest() throws Exception {
+        String userId1 = UUID.randomUUID().toString();
+        String userId2 = UUID.randomUUID().toString();
+        String invalidUserId = UUID.randomUUID().toString();
+        // The user identity in the middle of the import cannot be converted due to unknown credential type
+        String body = "{\"requestObject\":{\"users\":["
+                + "{\"userId\":\"" + userId1 + "\"},"
+                + "{\"userId\":\"" + invalidUserId + "\",\"credentials\":[{\"credentialName\":\"TEST_CREDENTIAL\",\"credentialType\":\"UNKNOWN\"}]},"
+                + "{\"userId\":\"" + userId2 + "\"}"
+                + "]}}";
+        ResponseEntity<JsonNode> response = postImportRequest(body);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode importResponse = response.getBody().get("responseObject");
+        assertTrue(importResponse.get("complete").asBoolean());
+        assertEquals(2, importResponse.get("importedCount").asInt());
+        assertEquals(1, importResponse.get("failedCount").asInt());
+        assertEquals(3, importResponse.get("results").size());
+        assertEquals(userId1, importResponse.get("results").get(0).get("userId").asText());
+        assertTrue(importResponse.get("results").get(0).get("imported").asBoolean());
+        JsonNode invalidResult = importResponse.get("results").get(1);
+        assertEquals(invalidUserId, invalidResult.get("userId").asText());
+        assertFalse(invalidResult.get("imported").asBoolean());
+        assertEquals(InvalidRequestException.CODE, invalidResult.get("errorCode").asText());
+        assertEquals(userId2, importResponse.get("results").get(2).get("userId").asText());
+        assertTrue(importResponse.get("results").get(2).get("imported").asBoolean());
+        assertThrows(NextStepClientException.class, () -> nextStepClient.getUserDetail(invalidUserId, false));
+    }
+
+    private ResponseEntity<JsonNode> postImportRequest(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity("/user/import", new HttpEntity<>(body, headers), JsonNode.class);
+    }
+
+    @Test
+    public void userIdentityHistorySyncTest() throws NextStepClientException {
+        long historyCount = userIdentityHistoryRepository.count();
+        String userId = UUID.randomUUID().toString();
+        CreateUserRequest createUserRequest = new CreateUserRequest();
+        createUserRequest.setUserId(userId);
+        nextStepClient.createUser(createUserRequest);
+        nextStepClient.blockUser(userId);
+        nextStepClient.unblockUser(userId);
+        // History snapshots are stored together with the user identity
+        assertEquals(historyCount + 3, userIdentityHistoryRepository.count());
+    }
+
+    @Test
+    public void userIdentityHistoryAsyncTest() throws NextStepClientException {
+        ReflectionTestUtils.setField(nextStepServerConfiguration, "historyAsyncEnabled", true);
+        try {
+            userIdentityHistoryService.flush();
+            long historyCount = userIdentityHistoryRepository.count();
+            String userId = UUID.randomUUID().toString();
+            CreateUserRequest createUserRequest = new CreateUserRequest();
+            createUserRequest.setUserId(userId);
+            nextStepClient.createUser(createUserRequest);
+            nextStepClient.blockUser(userId);
+            nextStepClient.unblockUser(userId);
+            // History snapshots are queued after commit and written in a batch
+            userIdentityHistoryService.flush();
+            assertEquals(historyCount + 3, userIdentityHistoryRepository.count());
+        } finally {
+            userIdentityHistoryService.flush();
+            ReflectionTestUtils.setField(nextStepServerConfiguration, "historyAsyncEnabled", false);
+        }
+    }
+
+    @Test
+    public void userRoleCacheTest() throws NextStepClientException {
+        String roleName = "TEST_CACHED_ROLE";
+        nextStepClient.createRole(roleName, "Role for role cache tests");
+        String userId = UUID.randomUUID().toString();
+        CreateUserRequest createUserRequest = new CreateUserRequest();
+        createUserRequest.setUserId(userId);
+        createUserRequest.getRoles().add(roleName);
+        nextStepClient.createUser(createUserRequest);
+        GetUserDetailResponse r1 = nextStepClient.getUserDetail(userId, false).getResponseObject();
+        assertEquals(Collections.singletonList(roleName), r1.getRoles());
+        nextStepClient.removeUserRole(userId, roleName);
+        nextStepClient.addUserRole(userId, roleName);
+        GetUserDetailResponse r2 = nextStepClient.getUserDetail(userId, false).getResponseObject();
+        assertEquals(Collections.singletonList(roleName), r2.getRoles());
+        // Deleted role must not be resolved from the role cache
+        String deletedRoleName = "TEST_DELETED_ROLE";
+        nextStepClient.createRole(deletedRoleName, "Role for role cache tests");
+        nextStepClient.deleteRole(deletedRoleName);
+        String userId2 = UUID.randomUUID().toString();
+        CreateUserRequest createUserRequest2 = new CreateUserRequest();
+        createUserRequest2.setUserId(userId2);
+        createUserRequest2.getRoles().add(deletedRoleName);
+        try {
+            nextStepClient.createUser(createUserRequest2);
+            fail("User identity with unknown role was created");
+        } catch (NextStepClientException ex) {
+            assertEquals(InvalidRequestException.CODE, ex.getNextStepError().getCode());
+        }
+    }
+
+    @Test
+    public void userRoleCacheDeletedRoleTest() throws NextStepClientException {
+        String roleName = "TEST_REMOTELY_DELETED_ROLE";
+        nextStepClient.createRole(roleName, "Role for role cache tests");
+        // Simulate deletion of the role by another Next Step instance, the role remains in the role cache
+        roleRepository.delete(roleRepository.findByName(roleName).get());
+        String userId = UUID.randomUUID().toString();
+        CreateUserRequest createUserRequest = new CreateUserRequest();
+        createUserRequest.setUserId(userId);
+        nextStepClient.createUser(createUserRequest);
+        try {
+            nextStepClient.addUserRole(userId, roleName);
+            fail("Deleted role was assigned");
+        } catch (NextStepClientException ex) {
+            assertEquals(InvalidRequestException.CODE, ex.getNextStepError().getCode());
+        }
+        GetUserDetailResponse r1 = nextStepClient.getUserDetail(userId, false).getResponseObject();
+        assertTrue(r1.getRoles().isEmpty());
+    }
+
+    @Test
+    public void userRoleCacheDeletedRoleCreateUserTest() throws NextStepClientException {
+        String roleName = "TEST_REMOTELY_DELETED_ROLE_2";
+        nextStepClient.createRole(roleName, "Role for role cache tests");
+        // Simulate deletion of the role by another Next Step instance, the role remains in the role cache
+        roleRepository.delete(roleRepository.findByName(roleName).get());
+        String userId = UUID.randomUUID().toString();
+        CreateUserRequest createUserRequest = new CreateUserRequest();
+        createUserRequest.setUserId(userId);
+        createUserRequest.getRoles().add(roleName);
+        try {
+            nextStepClient.createUser(createUserRequest);
+            fail("Deleted role was assigned");
+        } catch (NextStepClientException ex) {
+            assertEquals(InvalidRequestException.CODE, ex.getNextStepError().getCode());
+        }
+        // The user identity was not created
+        assertThrows(NextStepClientException.class, () -> nextStepClient.getUserDetail(userId, false));
+    }
+
+}
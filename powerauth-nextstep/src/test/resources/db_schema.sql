@@ -3,6 +3,7 @@
 --
 DROP TABLE IF EXISTS audit_log;
 DROP TABLE IF EXISTS audit_param;
+DROP TABLE IF EXISTS ns_scheduler_lock;
 
 --
 -- Create audit log table.
@@ -33,6 +34,16 @@ CREATE TABLE audit_param (
     param_value        VARCHAR(4000)
 );
 
+--
+-- Create scheduler lock table.
+--
+CREATE TABLE ns_scheduler_lock (
+    lock_name          VARCHAR(64) PRIMARY KEY,
+    lock_until         TIMESTAMP NOT NULL,
+    timestamp_locked   TIMESTAMP NOT NULL,
+    locked_by          VARCHAR(256) NOT NULL
+);
+
 --
 -- Create indexes.
 --
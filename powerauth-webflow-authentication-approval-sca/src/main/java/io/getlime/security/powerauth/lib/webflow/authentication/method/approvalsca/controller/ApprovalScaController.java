@@ -151,6 +151,7 @@ public class ApprovalScaController extends AuthMethodController<ApprovalScaAuthR
             // Disable bank account choice
             operation.getFormData().getUserInput().put(FIELD_BANK_ACCOUNT_CHOICE_DISABLED, "true");
             nextStepClient.updateOperationFormData(operation.getOperationId(), operation.getFormData());
+            invalidateOperation(operation.getOperationId());
 
             // Upgrade operation to SCA
             authenticationManagementService.upgradeToStrongCustomerAuthentication();
@@ -158,6 +159,8 @@ public class ApprovalScaController extends AuthMethodController<ApprovalScaAuthR
             // Find out whether mobile token is enabled
             if (authMethodQueryService.isMobileTokenAvailable(userId, operation.getOperationId())) {
                 nextStepClient.updateMobileToken(operation.getOperationId(), true);
+                invalidateOperation(operation.getOperationId());
+                notifyOperationChanged(userId);
                 mobileTokenEnabled = true;
             }
         } catch (NextStepClientException ex) {
@@ -194,6 +197,7 @@ public class ApprovalScaController extends AuthMethodController<ApprovalScaAuthR
 
             // Set chosen authentication method to APPROVAL_SCA
             nextStepClient.updateChosenAuthMethod(operation.getOperationId(), AuthMethod.APPROVAL_SCA);
+            invalidateOperation(operation.getOperationId());
 
             FormData formData = new FormDataConverter().fromOperationFormData(operation.getFormData());
             ApplicationContext applicationContext = operation.getApplicationContext();
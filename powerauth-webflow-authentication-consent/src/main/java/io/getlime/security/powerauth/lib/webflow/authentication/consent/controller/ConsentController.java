@@ -194,6 +194,7 @@ public class ConsentController extends AuthMethodController<ConsentAuthRequest,
         try {
             // Update current authentication method in Next Step by marking it as chosen before it is used
             nextStepClient.updateChosenAuthMethod(operation.getOperationId(), AuthMethod.CONSENT);
+            invalidateOperation(operation.getOperationId());
 
             FormData formData = new FormDataConverter().fromOperationFormData(operation.getFormData());
             ApplicationContext applicationContext = operation.getApplicationContext();
@@ -16,7 +16,6 @@
 
 package io.getlime.security.powerauth.lib.webflow.authentication.method.form.controller;
 
-import io.getlime.core.rest.model.base.response.ObjectResponse;
 import io.getlime.security.powerauth.lib.dataadapter.model.converter.UserAccountStatusConverter;
 import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.AfsAction;
 import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.AfsAuthInstrument;
@@ -54,6 +53,7 @@ import io.getlime.security.powerauth.lib.webflow.authentication.model.Organizati
 import io.getlime.security.powerauth.lib.webflow.authentication.model.converter.AuthInstrumentConverter;
 import io.getlime.security.powerauth.lib.webflow.authentication.model.converter.OrganizationConverter;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.AfsIntegrationService;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.NextStepConfigurationCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,6 +79,7 @@ public class FormLoginController extends AuthMethodController<UsernamePasswordAu
     private final NextStepClient nextStepClient;
     private final WebFlowServicesConfiguration configuration;
     private final AfsIntegrationService afsIntegrationService;
+    private final NextStepConfigurationCacheService nextStepConfigurationCacheService;
 
     private final OrganizationConverter organizationConverter = new OrganizationConverter();
     private final AuthInstrumentConverter authInstrumentConverter = new AuthInstrumentConverter();
@@ -89,12 +90,14 @@ public class FormLoginController extends AuthMethodController<UsernamePasswordAu
      * @param nextStepClient Next Step client.
      * @param configuration Web Flow configuration.
      * @param afsIntegrationService AFS integration service.
+     * @param nextStepConfigurationCacheService Next Step configuration cache service.
      */
     @Autowired
-    public FormLoginController(NextStepClient nextStepClient, WebFlowServicesConfiguration configuration, AfsIntegrationService afsIntegrationService) {
+    public FormLoginController(NextStepClient nextStepClient, WebFlowServicesConfiguration configuration, AfsIntegrationService afsIntegrationService, NextStepConfigurationCacheService nextStepConfigurationCacheService) {
         this.nextStepClient = nextStepClient;
         this.configuration = configuration;
         this.afsIntegrationService = afsIntegrationService;
+        this.nextStepConfigurationCacheService = nextStepConfigurationCacheService;
     }
 
     /**
@@ -109,7 +112,7 @@ public class FormLoginController extends AuthMethodController<UsernamePasswordAu
         logger.info("Step authentication started, operation ID: {}, authentication method: {}", operation.getOperationId(), getAuthMethodName().toString());
 
         try {
-            GetOrganizationDetailResponse organization = nextStepClient.getOrganizationDetail(request.getOrganizationId()).getResponseObject();
+            GetOrganizationDetailResponse organization = nextStepConfigurationCacheService.getOrganizationDetail(request.getOrganizationId());
             String organizationId = organization.getOrganizationId();
             String credentialName = organization.getDefaultCredentialName();
             if (credentialName == null) {
@@ -153,6 +156,7 @@ public class FormLoginController extends AuthMethodController<UsernamePasswordAu
 
             UserAccountStatus accountStatus = statusConverter.toUserAccountStatus(status);
             nextStepClient.updateOperationUser(operation.getOperationId(), userId, organizationId, accountStatus);
+            invalidateOperation(operation.getOperationId());
             if (configuration.isAfsEnabled() && !afsLoginAuthAlreadyExecuted(operation)) {
                 // Trigger LOGIN_INIT action for the first time
                 AfsAction afsAction = AfsAction.LOGIN_INIT;
@@ -188,6 +192,7 @@ public class FormLoginController extends AuthMethodController<UsernamePasswordAu
             }
 
             CredentialAuthenticationResponse authResponse = nextStepClient.authenticateWithCredential(credentialName, userId, protectedPassword, operation.getOperationId(), true, AuthMethod.USERNAME_PASSWORD_AUTH).getResponseObject();
+            invalidateOperation(operation.getOperationId());
             if (authResponse.isOperationFailed()) {
                 logger.info("Step authentication failed due to failed operation, operation ID: {}, authentication method: {}", operation.getOperationId(), getAuthMethodName().toString());
                 throw new MaxAttemptsExceededException("Maximum number of authentication attempts exceeded");
@@ -359,8 +364,7 @@ public class FormLoginController extends AuthMethodController<UsernamePasswordAu
         logger.info("Init step started, operation ID: {}, authentication method: {}", operation.getOperationId(), getAuthMethodName().toString());
         final UsernamePasswordInitResponse response = new UsernamePasswordInitResponse();
         try {
-            ObjectResponse<GetOrganizationListResponse> nsObjectResponse = nextStepClient.getOrganizationList();
-            List<GetOrganizationDetailResponse> nsResponseList = nsObjectResponse.getResponseObject().getOrganizations();
+            List<GetOrganizationDetailResponse> nsResponseList = nextStepConfigurationCacheService.getOrganizationList().getOrganizations();
             for (GetOrganizationDetailResponse nsResponse: nsResponseList) {
                 // Show only organizations which have a display name key set to avoid broken UI
                 if (nsResponse.getDisplayNameKey() != null) {
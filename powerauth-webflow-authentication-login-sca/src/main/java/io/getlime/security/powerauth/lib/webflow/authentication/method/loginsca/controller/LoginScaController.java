@@ -55,6 +55,7 @@ import io.getlime.security.powerauth.lib.webflow.authentication.model.Organizati
 import io.getlime.security.powerauth.lib.webflow.authentication.model.converter.OrganizationConverter;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.AuthMethodQueryService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.AuthenticationManagementService;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.NextStepConfigurationCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -86,6 +87,7 @@ public class LoginScaController extends AuthMethodController<LoginScaAuthRequest
     private final AuthenticationManagementService authenticationManagementService;
     private final HttpSession httpSession;
     private final WebFlowServicesConfiguration configuration;
+    private final NextStepConfigurationCacheService nextStepConfigurationCacheService;
 
     private final OrganizationConverter organizationConverter = new OrganizationConverter();
     private final UserAccountStatusConverter statusConverter = new UserAccountStatusConverter();
@@ -98,15 +100,17 @@ public class LoginScaController extends AuthMethodController<LoginScaAuthRequest
      * @param authenticationManagementService Authentication management service.
      * @param httpSession HTTP session.
      * @param configuration Web Flow configuration.
+     * @param nextStepConfigurationCacheService Next Step configuration cache service.
      */
     @Autowired
-    public LoginScaController(DataAdapterClient dataAdapterClient, NextStepClient nextStepClient, AuthMethodQueryService authMethodQueryService, AuthenticationManagementService authenticationManagementService, HttpSession httpSession, WebFlowServicesConfiguration configuration) {
+    public LoginScaController(DataAdapterClient dataAdapterClient, NextStepClient nextStepClient, AuthMethodQueryService authMethodQueryService, AuthenticationManagementService authenticationManagementService, HttpSession httpSession, WebFlowServicesConfiguration configuration, NextStepConfigurationCacheService nextStepConfigurationCacheService) {
         this.dataAdapterClient = dataAdapterClient;
         this.nextStepClient = nextStepClient;
         this.authMethodQueryService = authMethodQueryService;
         this.authenticationManagementService = authenticationManagementService;
         this.httpSession = httpSession;
         this.configuration = configuration;
+        this.nextStepConfigurationCacheService = nextStepConfigurationCacheService;
     }
 
     /**
@@ -151,7 +155,7 @@ public class LoginScaController extends AuthMethodController<LoginScaAuthRequest
                     userAuthenticatedUsingCertificate = verifyClientCertificate(operation.getOperationId(), userId, organizationId, clientCertificate, accountStatus, operationContext);
                 } else {
                     // Lookup user via NS
-                    GetOrganizationDetailResponse organization = nextStepClient.getOrganizationDetail(organizationId).getResponseObject();
+                    GetOrganizationDetailResponse organization = nextStepConfigurationCacheService.getOrganizationDetail(organizationId);
                     String credentialName = organization.getDefaultCredentialName();
                     if (credentialName == null) {
                         logger.warn("Default credential name is not configured for organization: " + request.getOrganizationId());
@@ -205,6 +209,7 @@ public class LoginScaController extends AuthMethodController<LoginScaAuthRequest
                 authenticationManagementService.upgradeToStrongCustomerAuthentication();
                 UserAccountStatus accountStatus = statusConverter.toUserAccountStatus(status);
                 nextStepClient.updateOperationUser(operation.getOperationId(), userId, organizationId, accountStatus);
+                invalidateOperation(operation.getOperationId());
             }
             if (userAuthenticatedUsingCertificate) {
                 logger.debug("Step authentication succeeded with client certificate, operation ID: {}, authentication method: {}", operation.getOperationId(), getAuthMethodName().toString());
@@ -221,6 +226,8 @@ public class LoginScaController extends AuthMethodController<LoginScaAuthRequest
                 try {
                     if (authMethodQueryService.isMobileTokenAvailable(userId, operation.getOperationId())) {
                         nextStepClient.updateMobileToken(operation.getOperationId(), true);
+                        invalidateOperation(operation.getOperationId());
+                        notifyOperationChanged(userId);
                         mobileTokenEnabled = true;
                     }
                 } catch (NextStepClientException ex) {
@@ -266,6 +273,7 @@ public class LoginScaController extends AuthMethodController<LoginScaAuthRequest
             logger.info("Step init started, operation ID: {}, authentication method: {}", operation.getOperationId(), getAuthMethodName().toString());
             // Set chosen authentication method to LOGIN_SCA
             nextStepClient.updateChosenAuthMethod(operation.getOperationId(), AuthMethod.LOGIN_SCA);
+            invalidateOperation(operation.getOperationId());
 
             FormData formData = new FormDataConverter().fromOperationFormData(operation.getFormData());
             ApplicationContext applicationContext = operation.getApplicationContext();
@@ -302,8 +310,7 @@ public class LoginScaController extends AuthMethodController<LoginScaAuthRequest
                 logger.info("Step init skipped, user and organization is already known, operation ID: {}, authentication method: {}", operation.getOperationId(), getAuthMethodName().toString());
                 return response;
             }
-            ObjectResponse<GetOrganizationListResponse> nsObjectResponse = nextStepClient.getOrganizationList();
-            List<GetOrganizationDetailResponse> nsResponseList = nsObjectResponse.getResponseObject().getOrganizations();
+            List<GetOrganizationDetailResponse> nsResponseList = nextStepConfigurationCacheService.getOrganizationList().getOrganizations();
             for (GetOrganizationDetailResponse nsResponse: nsResponseList) {
                 // Show only organizations which have a display name key set to avoid broken UI
                 if (nsResponse.getDisplayNameKey() != null) {
@@ -27,6 +27,7 @@ import io.getlime.security.powerauth.lib.dataadapter.model.entity.FormData;
 import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
 import io.getlime.security.powerauth.lib.dataadapter.model.response.GetPAOperationMappingResponse;
 import io.getlime.security.powerauth.lib.mtoken.model.entity.AllowedSignatureType;
+import io.getlime.security.powerauth.lib.mtoken.model.entity.Operation;
 import io.getlime.security.powerauth.lib.mtoken.model.request.OperationApproveRequest;
 import io.getlime.security.powerauth.lib.mtoken.model.request.OperationRejectRequest;
 import io.getlime.security.powerauth.lib.mtoken.model.response.OperationListResponse;
@@ -44,13 +45,16 @@ import io.getlime.security.powerauth.lib.webflow.authentication.exception.AuthSt
 import io.getlime.security.powerauth.lib.webflow.authentication.exception.OperationIsAlreadyFailedException;
 import io.getlime.security.powerauth.lib.webflow.authentication.exception.OperationNotConfiguredException;
 import io.getlime.security.powerauth.lib.webflow.authentication.model.AuthOperationResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.model.PendingOperationList;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.errorhandling.exception.InvalidActivationException;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.errorhandling.exception.InvalidRequestObjectException;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.errorhandling.exception.MobileAppApiException;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.model.converter.OperationConverter;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.model.request.MobileTokenAuthenticationRequest;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.model.response.MobileTokenAuthenticationResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.service.OperationListVersionService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.AuthMethodQueryService;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.OperationChangeNotificationService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.PowerAuthOperationService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.WebSocketMessageService;
 import io.getlime.security.powerauth.rest.api.base.authentication.PowerAuthApiAuthentication;
@@ -60,16 +64,25 @@ import io.getlime.security.powerauth.rest.api.spring.annotation.PowerAuthToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * This controller presents endpoints that are consumed by the native mobile app,
@@ -87,6 +100,8 @@ public class MobileAppApiController extends AuthMethodController<MobileTokenAuth
     private final AuthMethodQueryService authMethodQueryService;
     private final DataAdapterClient dataAdapterClient;
     private final PowerAuthOperationService powerAuthOperationService;
+    private final OperationListVersionService operationListVersionService;
+    private final OperationChangeNotificationService operationChangeNotificationService;
 
     private final FormDataConverter formDataConverter = new FormDataConverter();
 
@@ -96,13 +111,17 @@ public class MobileAppApiController extends AuthMethodController<MobileTokenAuth
      * @param authMethodQueryService Authentication method query service.
      * @param dataAdapterClient Data Adapter client.
      * @param powerAuthOperationService PowerAuth operation service.
+     * @param operationListVersionService Operation list version service.
+     * @param operationChangeNotificationService Operation change notification service.
      */
     @Autowired
-    public MobileAppApiController(WebSocketMessageService webSocketMessageService, AuthMethodQueryService authMethodQueryService, DataAdapterClient dataAdapterClient, PowerAuthOperationService powerAuthOperationService) {
+    public MobileAppApiController(WebSocketMessageService webSocketMessageService, AuthMethodQueryService authMethodQueryService, DataAdapterClient dataAdapterClient, PowerAuthOperationService powerAuthOperationService, OperationListVersionService operationListVersionService, OperationChangeNotificationService operationChangeNotificationService) {
         this.webSocketMessageService = webSocketMessageService;
         this.authMethodQueryService = authMethodQueryService;
         this.dataAdapterClient = dataAdapterClient;
         this.powerAuthOperationService = powerAuthOperationService;
+        this.operationListVersionService = operationListVersionService;
+        this.operationChangeNotificationService = operationChangeNotificationService;
     }
 
     /**
@@ -117,19 +136,21 @@ public class MobileAppApiController extends AuthMethodController<MobileTokenAuth
     /**
      * List pending operations for Mobile Token authorization, authenticate using 1FA signature.
      * @param apiAuthentication API authentication.
+     * @param ifNoneMatch Version of operation list known to the client.
      * @return Response with list of pending operations.
      * @throws InvalidActivationException Thrown in case activation is not valid.
      * @throws PowerAuthAuthenticationException Thrown in case PowerAuth authentication fails.
      */
     @RequestMapping(value = "/operation/list/signature", method = RequestMethod.POST)
     @PowerAuth(resourceId = "/operation/list/signature", signatureType = {PowerAuthSignatureTypes.POSSESSION})
-    public @ResponseBody ObjectResponse<OperationListResponse> getOperationList(PowerAuthApiAuthentication apiAuthentication) throws InvalidActivationException, PowerAuthAuthenticationException {
-        return getOperationListImpl(apiAuthentication);
+    public ResponseEntity<ObjectResponse<OperationListResponse>> getOperationList(PowerAuthApiAuthentication apiAuthentication, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws InvalidActivationException, PowerAuthAuthenticationException {
+        return getOperationListImpl(apiAuthentication, ifNoneMatch);
     }
 
     /**
      * List pending operations for Mobile Token authorization, authenticate using simple token-based authentication.
      * @param apiAuthentication API authentication.
+     * @param ifNoneMatch Version of operation list known to the client.
      * @return Response with list of pending operations.
      * @throws InvalidActivationException Thrown in case activation is not valid.
      * @throws PowerAuthAuthenticationException Thrown in case PowerAuth authentication fails.
@@ -141,18 +162,81 @@ public class MobileAppApiController extends AuthMethodController<MobileTokenAuth
             PowerAuthSignatureTypes.POSSESSION_KNOWLEDGE,
             PowerAuthSignatureTypes.POSSESSION_KNOWLEDGE_BIOMETRY
     })
-    public @ResponseBody ObjectResponse<OperationListResponse> getOperationListTokens(PowerAuthApiAuthentication apiAuthentication) throws InvalidActivationException, PowerAuthAuthenticationException {
-        return getOperationListImpl(apiAuthentication);
+    public ResponseEntity<ObjectResponse<OperationListResponse>> getOperationListTokens(PowerAuthApiAuthentication apiAuthentication, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws InvalidActivationException, PowerAuthAuthenticationException {
+        return getOperationListImpl(apiAuthentication, ifNoneMatch);
     }
 
     /**
-     * List pending operations for Mobile Token authorization.
+     * Wait for a change of pending operations for Mobile Token authorization, authenticate using simple token-based
+     * authentication. In case the operation list differs from the version sent in the If-None-Match header, the
+     * operation list is returned immediately. Otherwise the operation list is checked again when an operation
+     * of the user is changed by this Web Flow node and periodically using the configured re-check interval.
+     * The response with status code 304 Not Modified is returned when the configured timeout elapses.
+     * The servlet thread is released while the request is waiting.
      * @param apiAuthentication API authentication.
+     * @param ifNoneMatch Version of operation list known to the client.
+     * @return Deferred response with list of pending operations.
+     * @throws InvalidActivationException Thrown in case activation is not valid.
+     * @throws PowerAuthAuthenticationException Thrown in case PowerAuth authentication fails.
+     */
+    @RequestMapping(value = "/operation/list/wait", method = RequestMethod.POST)
+    @PowerAuthToken(signatureType = {
+            PowerAuthSignatureTypes.POSSESSION,
+            PowerAuthSignatureTypes.POSSESSION_BIOMETRY,
+            PowerAuthSignatureTypes.POSSESSION_KNOWLEDGE,
+            PowerAuthSignatureTypes.POSSESSION_KNOWLEDGE_BIOMETRY
+    })
+    public DeferredResult<ResponseEntity<ObjectResponse<OperationListResponse>>> waitForOperationListChange(PowerAuthApiAuthentication apiAuthentication, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws InvalidActivationException, PowerAuthAuthenticationException {
+        if (ifNoneMatch == null) {
+            // The client does not have any version of operation list yet
+            final DeferredResult<ResponseEntity<ObjectResponse<OperationListResponse>>> deferredResult = new DeferredResult<>();
+            deferredResult.setResult(getOperationListImpl(apiAuthentication, null));
+            return deferredResult;
+        }
+        if (apiAuthentication == null || apiAuthentication.getUserId() == null) {
+            throw new PowerAuthAuthenticationException();
+        }
+        final String userId = apiAuthentication.getUserId();
+        final Locale locale = LocaleContextHolder.getLocale();
+        return operationChangeNotificationService.waitForChange(userId, ifNoneMatch,
+                // The change probe only compares the version of pending operations, operations are not enriched
+                () -> callWithLocale(locale, () -> {
+                    final String version = operationListVersionService.computeVersion(getPendingOperations(userId, true), locale);
+                    return !operationListVersionService.isNotModified(version, ifNoneMatch);
+                }),
+                () -> callWithLocale(locale, () -> getOperationListImpl(apiAuthentication, ifNoneMatch)));
+    }
+
+    /**
+     * Call a task with the locale of the request, the task is executed either in the request thread or
+     * in a thread of the operation change notification service.
+     * @param locale Locale of the request.
+     * @param task Task to call.
+     * @param <T> Task result type.
+     * @return Task result.
+     * @throws Exception Thrown in case the task fails.
+     */
+    private <T> T callWithLocale(Locale locale, Callable<T> task) throws Exception {
+        final LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocale(locale);
+        try {
+            return task.call();
+        } finally {
+            LocaleContextHolder.setLocaleContext(previousLocaleContext);
+        }
+    }
+
+    /**
+     * List pending operations for Mobile Token authorization. The response contains an ETag header with version
+     * of the operation list. In case the version matches the If-None-Match header sent by the client, the operations
+     * are not enriched and the response with status code 304 Not Modified is returned.
+     * @param apiAuthentication API authentication.
+     * @param ifNoneMatch Version of operation list known to the client.
      * @return Response with list of pending operations.
      * @throws InvalidActivationException Thrown in case activation is not valid.
      * @throws PowerAuthAuthenticationException Thrown in case PowerAuth authentication fails.
      */
-    private ObjectResponse<OperationListResponse> getOperationListImpl(PowerAuthApiAuthentication apiAuthentication) throws InvalidActivationException, PowerAuthAuthenticationException {
+    private ResponseEntity<ObjectResponse<OperationListResponse>> getOperationListImpl(PowerAuthApiAuthentication apiAuthentication, String ifNoneMatch) throws InvalidActivationException, PowerAuthAuthenticationException {
         if (apiAuthentication != null && apiAuthentication.getUserId() != null) {
             String activationId = apiAuthentication.getActivationId();
             String userId = apiAuthentication.getUserId();
@@ -163,15 +247,22 @@ public class MobileAppApiController extends AuthMethodController<MobileTokenAuth
             }
 
             // Get the list of operations for given user
-            List<GetOperationDetailResponse> operationList;
+            String version;
+            PendingOperationList operationList;
             Map<String, GetOperationConfigDetailResponse> operationConfigs;
             try {
-                operationList = getOperationListForUser(userId, true);
-                operationConfigs = getOperationConfigs(operationList);
+                final List<GetOperationDetailResponse> pendingOperations = getPendingOperations(userId, true);
+                // Skip enrichment of operations in case the client already has current version of operation list
+                version = operationListVersionService.computeVersion(pendingOperations, LocaleContextHolder.getLocale());
+                if (operationListVersionService.isNotModified(version, ifNoneMatch)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+                }
+                operationList = enrichOperationList(userId, pendingOperations);
+                operationConfigs = getOperationConfigs(operationList.getOperations());
             } catch (AuthStepException e) {
                 logger.error("Could not retrieve operation list", e);
-                // Next step operation list failed, return empty operation list
-                return new ObjectResponse<>(new OperationListResponse());
+                // Next step operation list failed, return empty operation list marked as incomplete
+                return ResponseEntity.ok().header(OperationListResponse.INCOMPLETE_HEADER, Boolean.TRUE.toString()).body(new ObjectResponse<>(new OperationListResponse()));
             }
 
             // Prepare converter
@@ -179,13 +270,22 @@ public class MobileAppApiController extends AuthMethodController<MobileTokenAuth
 
             // Prepare converted result with operations
             OperationListResponse result = new OperationListResponse();
-            for (GetOperationDetailResponse operation: operationList) {
+            for (GetOperationDetailResponse operation: operationList.getOperations()) {
                 final GetOperationConfigDetailResponse operationConfig = operationConfigs.get(operation.getOperationName());
-                result.add(converter.fromOperationDetailResponse(operation, operationConfig.getMobileTokenMode()));
+                final Operation convertedOperation = converter.fromOperationDetailResponse(operation, operationConfig.getMobileTokenMode());
+                if (convertedOperation != null && operationList.isDegraded(operation.getOperationId())) {
+                    convertedOperation.setDegraded(true);
+                    // Degraded operation list must not be reused by the client
+                    version = null;
+                }
+                result.add(convertedOperation);
             }
 
             // Return response
-            return new ObjectResponse<>(result);
+            if (version == null) {
+                return ResponseEntity.ok(new ObjectResponse<>(result));
+            }
+            return ResponseEntity.ok().eTag(version).body(new ObjectResponse<>(result));
         } else {
             throw new PowerAuthAuthenticationException();
         }
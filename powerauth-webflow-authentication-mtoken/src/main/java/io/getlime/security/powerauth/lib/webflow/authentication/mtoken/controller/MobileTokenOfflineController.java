@@ -54,6 +54,7 @@ import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.model.req
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.model.response.QrCodeAuthenticationResponse;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.model.response.QrCodeInitResponse;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.service.PushMessageService;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.ActivationStatusCacheService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.AuthMethodQueryService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.PowerAuthOperationService;
 import org.slf4j.Logger;
@@ -92,6 +93,7 @@ public class MobileTokenOfflineController extends AuthMethodController<QrCodeAut
     private final WebFlowServicesConfiguration webFlowServicesConfiguration;
     private final PushMessageService pushMessageService;
     private final PowerAuthOperationService powerAuthOperationService;
+    private final ActivationStatusCacheService activationStatusCacheService;
     private final HttpSession httpSession;
 
     /**
@@ -101,15 +103,17 @@ public class MobileTokenOfflineController extends AuthMethodController<QrCodeAut
      * @param webFlowServicesConfiguration Web Flow configuration.
      * @param pushMessageService Push message service.
      * @param powerAuthOperationService PowerAuth operation service.
+     * @param activationStatusCacheService Activation status cache service.
      * @param httpSession HTTP session.
      */
     @Autowired
-    public MobileTokenOfflineController(PowerAuthClient powerAuthClient, AuthMethodQueryService authMethodQueryService, WebFlowServicesConfiguration webFlowServicesConfiguration, PushMessageService pushMessageService, PowerAuthOperationService powerAuthOperationService, HttpSession httpSession) {
+    public MobileTokenOfflineController(PowerAuthClient powerAuthClient, AuthMethodQueryService authMethodQueryService, WebFlowServicesConfiguration webFlowServicesConfiguration, PushMessageService pushMessageService, PowerAuthOperationService powerAuthOperationService, ActivationStatusCacheService activationStatusCacheService, HttpSession httpSession) {
         this.powerAuthClient = powerAuthClient;
         this.authMethodQueryService = authMethodQueryService;
         this.webFlowServicesConfiguration = webFlowServicesConfiguration;
         this.pushMessageService = pushMessageService;
         this.powerAuthOperationService = powerAuthOperationService;
+        this.activationStatusCacheService = activationStatusCacheService;
         this.httpSession = httpSession;
     }
 
@@ -176,6 +180,7 @@ public class MobileTokenOfflineController extends AuthMethodController<QrCodeAut
             if (response.getAuthResult() == AuthResult.FAILED || signatureResponse.getActivationStatus() != ActivationStatus.ACTIVE) {
                 if (signatureResponse.getActivationStatus() != ActivationStatus.ACTIVE) {
                     // Activation was blocked or removed, cancel the operation
+                    activationStatusCacheService.invalidate(request.getActivationId());
                     cancelAuthorization(operation.getOperationId(), operation.getUserId(), OperationCancelReason.AUTH_METHOD_NOT_AVAILABLE, null, false);
                 }
                 // FAILED result instead of CONTINUE or non-active activation means the authentication method is failed
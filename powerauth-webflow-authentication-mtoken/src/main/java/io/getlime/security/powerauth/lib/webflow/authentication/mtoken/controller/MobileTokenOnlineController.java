@@ -131,6 +131,8 @@ public class MobileTokenOnlineController extends AuthMethodController<MobileToke
             if (authMethod == AuthMethod.POWERAUTH_TOKEN) {
                 // User selected POWERAUTH_TOKEN in a non-SCA step, set mobile token as active
                 nextStepClient.updateMobileToken(operation.getOperationId(), true);
+                invalidateOperation(operation.getOperationId());
+                notifyOperationChanged(operation.getUserId());
             }
             logger.debug("Step initialization succeeded, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
             return initResponse;
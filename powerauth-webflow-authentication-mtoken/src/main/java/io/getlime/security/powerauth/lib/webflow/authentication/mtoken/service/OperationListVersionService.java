@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.mtoken.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service for computing version tags of pending operation lists for the mobile token. The version tag is derived
+ * from the pending operations as provided by Next Step and from the locale used for translation of form data, so
+ * it changes whenever the list of operations presented to the user could change.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class OperationListVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationListVersionService.class);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Service constructor.
+     */
+    public OperationListVersionService() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+    }
+
+    /**
+     * Compute version tag of pending operation list in the format of an HTTP entity tag.
+     * @param operations Pending operations as provided by Next Step.
+     * @param locale Locale used for translation of form data.
+     * @return Version tag or null in case version tag could not be computed.
+     */
+    public String computeVersion(List<GetOperationDetailResponse> operations, Locale locale) {
+        try {
+            final String json = locale.toLanguageTag() + ":" + objectMapper.writeValueAsString(operations);
+            return "\"" + DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8)) + "\"";
+        } catch (JsonProcessingException ex) {
+            logger.warn(ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Check whether version tag matches the value of the If-None-Match HTTP header.
+     * @param version Version tag.
+     * @param ifNoneMatch Value of the If-None-Match HTTP header.
+     * @return Whether the version tag matches.
+     */
+    public boolean isNotModified(String version, String ifNoneMatch) {
+        if (version == null || ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag: ifNoneMatch.split(",")) {
+            String trimmedTag = tag.trim();
+            if (trimmedTag.startsWith("W/")) {
+                trimmedTag = trimmedTag.substring(2);
+            }
+            if (trimmedTag.equals(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.mtoken.service;
+
+import io.getlime.core.rest.model.base.response.ObjectResponse;
+import io.getlime.core.rest.model.base.response.Response;
+import io.getlime.push.client.PushServerClient;
+import io.getlime.push.client.PushServerClientException;
+import io.getlime.push.model.entity.PushMessageSendResult;
+import io.getlime.push.model.entity.PushMessage;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service which dispatches push messages asynchronously using a pool of background threads. Push messages which
+ * could not be sent are retried with exponential backoff. Push messages which could not be sent after the maximum
+ * number of attempts are logged using the dead letter logger. Queue depth, push latency, retries, rejected push
+ * messages and dead letters are published as metrics.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class PushMessageDispatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushMessageDispatchService.class);
+    private static final Logger deadLetterLogger = LoggerFactory.getLogger(PushMessageDispatchService.class.getName() + ".deadLetter");
+
+    private final PushServerClient pushServerClient;
+    private final WebFlowServicesConfiguration configuration;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Timer latencyTimer;
+    private final Counter retryCounter;
+    private final Counter rejectedCounter;
+    private final Counter deadLetterCounter;
+
+    /**
+     * Service constructor.
+     * @param pushServerClient Push server client.
+     * @param configuration Web Flow configuration.
+     * @param meterRegistry Meter registry.
+     */
+    @Autowired
+    public PushMessageDispatchService(PushServerClient pushServerClient, WebFlowServicesConfiguration configuration, MeterRegistry meterRegistry) {
+        this.pushServerClient = pushServerClient;
+        this.configuration = configuration;
+        Gauge.builder("webflow.push.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Number of push messages waiting to be sent including scheduled retries")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("webflow.push.latency")
+                .description("Time from queueing of a push message until it was sent")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("webflow.push.retries")
+                .description("Number of scheduled retries of push messages")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("webflow.push.rejected")
+                .description("Number of push messages which were not queued because the queue was full")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("webflow.push.dead.letters")
+                .description("Number of push messages which were not sent after the maximum number of attempts")
+                .register(meterRegistry);
+        final AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, configuration.getPushDispatchThreads()), runnable -> {
+            final Thread thread = new Thread(runnable, "push-message-dispatch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setKeepAliveTime(60L, TimeUnit.SECONDS);
+        this.executor.allowCoreThreadTimeOut(true);
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Queue a push message for asynchronous dispatch.
+     * @param applicationId Application ID.
+     * @param message Push message.
+     * @param operationId Operation ID.
+     * @return Whether the push message was queued, false is returned when the queue is full.
+     */
+    public boolean dispatch(Long applicationId, PushMessage message, String operationId) {
+        if (queueDepth.incrementAndGet() > configuration.getPushDispatchQueueCapacity()) {
+            queueDepth.decrementAndGet();
+            rejectedCounter.increment();
+            logger.warn("Push message queue is full, push message was not queued, operation ID: {}", operationId);
+            return false;
+        }
+        final PushDispatch dispatch = new PushDispatch(applicationId, message, operationId);
+        try {
+            executor.execute(() -> send(dispatch));
+        } catch (RejectedExecutionException ex) {
+            queueDepth.decrementAndGet();
+            rejectedCounter.increment();
+            logger.warn("Push message was rejected, operation ID: {}", operationId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Send a push message and schedule a retry in case sending fails.
+     * @param dispatch Push message dispatch.
+     */
+    private void send(PushDispatch dispatch) {
+        dispatch.attempts++;
+        String error;
+        try {
+            final ObjectResponse<PushMessageSendResult> response = pushServerClient.sendPushMessage(dispatch.applicationId, dispatch.message);
+            if (response.getStatus().equals(Response.Status.OK)) {
+                final long latencyMs = System.currentTimeMillis() - dispatch.timestampQueued;
+                latencyTimer.record(latencyMs, TimeUnit.MILLISECONDS);
+                queueDepth.decrementAndGet();
+                logger.debug("Push message was sent, operation ID: {}, attempts: {}, latency: {} ms", dispatch.operationId, dispatch.attempts, latencyMs);
+                return;
+            }
+            error = "Push server response status: " + response.getStatus();
+        } catch (PushServerClientException ex) {
+            error = ex.getMessage();
+        } catch (RuntimeException ex) {
+            logger.warn(ex.getMessage(), ex);
+            error = ex.getMessage();
+        }
+        if (dispatch.attempts < configuration.getPushDispatchMaxAttempts()) {
+            final long backoffMs = configuration.getPushDispatchBackoffMs() << Math.min(dispatch.attempts - 1, 16);
+            logger.info("Sending push message failed, retrying in {} ms, operation ID: {}, attempt: {}, error: {}", backoffMs, dispatch.operationId, dispatch.attempts, error);
+            try {
+                executor.schedule(() -> send(dispatch), backoffMs, TimeUnit.MILLISECONDS);
+                retryCounter.increment();
+                return;
+            } catch (RejectedExecutionException ex) {
+                error = "Retry was rejected";
+            }
+        }
+        queueDepth.decrementAndGet();
+        deadLetterCounter.increment();
+        deadLetterLogger.warn("Push message was not sent, operation ID: {}, user ID: {}, activation ID: {}, application ID: {}, attempts: {}, error: {}",
+                dispatch.operationId, dispatch.message.getUserId(), dispatch.message.getActivationId(), dispatch.applicationId, dispatch.attempts, error);
+    }
+
+    /**
+     * Stop the dispatch executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        final int pendingCount = executor.shutdownNow().size();
+        if (pendingCount > 0) {
+            logger.warn("Push message dispatch was stopped, pending push messages: {}", pendingCount);
+        }
+    }
+
+    /**
+     * Push message queued for dispatch.
+     */
+    private static class PushDispatch {
+        private final Long applicationId;
+        private final PushMessage message;
+        private final String operationId;
+        private final long timestampQueued = System.currentTimeMillis();
+        private int attempts;
+
+        PushDispatch(Long applicationId, PushMessage message, String operationId) {
+            this.applicationId = applicationId;
+            this.message = message;
+            this.operationId = operationId;
+        }
+    }
+
+}
@@ -1,16 +1,10 @@
 package io.getlime.security.powerauth.lib.webflow.authentication.mtoken.service;
 
-import com.wultra.security.powerauth.client.PowerAuthClient;
 import com.wultra.security.powerauth.client.model.error.PowerAuthClientException;
 import com.wultra.security.powerauth.client.v3.ActivationStatus;
 import com.wultra.security.powerauth.client.v3.GetActivationStatusResponse;
-import io.getlime.core.rest.model.base.response.ObjectResponse;
-import io.getlime.core.rest.model.base.response.Response;
-import io.getlime.push.client.PushServerClient;
-import io.getlime.push.client.PushServerClientException;
 import io.getlime.push.model.entity.PushMessage;
 import io.getlime.push.model.entity.PushMessageBody;
-import io.getlime.push.model.entity.PushMessageSendResult;
 import io.getlime.security.powerauth.app.webflow.i18n.I18NService;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
 import io.getlime.security.powerauth.lib.nextstep.model.entity.OperationFormData;
@@ -20,6 +14,7 @@ import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDet
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.errorhandling.exception.ActivationNotActiveException;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.errorhandling.exception.ActivationNotConfiguredException;
 import io.getlime.security.powerauth.lib.webflow.authentication.mtoken.model.response.MobileTokenInitResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.ActivationStatusCacheService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.AuthMethodQueryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +27,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Service for sending push messages.
+ * Service for sending push messages. Activation of the user is resolved synchronously, push messages are sent
+ * asynchronously using {@link PushMessageDispatchService}.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
@@ -49,23 +45,23 @@ public class PushMessageService {
     private static final String PUSH_MESSAGE_OPERATION_NAME = "operationName";
     private static final String PUSH_MESSAGE_SOUND = "default";
 
-    private final PushServerClient pushServerClient;
+    private final PushMessageDispatchService pushMessageDispatchService;
     private final AuthMethodQueryService authMethodQueryService;
-    private final PowerAuthClient powerAuthClient;
+    private final ActivationStatusCacheService activationStatusCacheService;
     private final I18NService i18nService;
 
     /**
      * Service constructor.
-     * @param pushServerClient Push server client.
+     * @param pushMessageDispatchService Push message dispatch service.
      * @param authMethodQueryService Authentication method query service.
-     * @param powerAuthClient PowerAuth service client.
+     * @param activationStatusCacheService Activation status cache service.
      * @param i18nService I18n service.
      */
     @Autowired
-    public PushMessageService(PushServerClient pushServerClient, AuthMethodQueryService authMethodQueryService, PowerAuthClient powerAuthClient, I18NService i18nService) {
-        this.pushServerClient = pushServerClient;
+    public PushMessageService(PushMessageDispatchService pushMessageDispatchService, AuthMethodQueryService authMethodQueryService, ActivationStatusCacheService activationStatusCacheService, I18NService i18nService) {
+        this.pushMessageDispatchService = pushMessageDispatchService;
         this.authMethodQueryService = authMethodQueryService;
-        this.powerAuthClient = powerAuthClient;
+        this.activationStatusCacheService = activationStatusCacheService;
         this.i18nService = i18nService;
     }
 
@@ -97,19 +93,12 @@ public class PushMessageService {
             return initResponse;
         }
 
-        try {
-            final PushMessage message = createAuthStepInitPushMessage(operation, activationId, authMethod);
-            logger.info("Send init push message, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
-            final ObjectResponse<PushMessageSendResult> response = pushServerClient.sendPushMessage(applicationId, message);
-            if (response.getStatus().equals(Response.Status.OK)) {
-                initResponse.setResult(AuthStepResult.CONFIRMED);
-                logger.info("Init step result: CONFIRMED, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
-            } else {
-                initResponse.setResult(AuthStepResult.AUTH_FAILED);
-                initResponse.setMessage("pushMessage.fail");
-                logger.info("Init step result: AUTH_FAILED, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
-            }
-        } catch (PushServerClientException ex) {
+        final PushMessage message = createAuthStepInitPushMessage(operation, activationId, authMethod);
+        logger.info("Send init push message, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
+        if (pushMessageDispatchService.dispatch(applicationId, message, operation.getOperationId())) {
+            initResponse.setResult(AuthStepResult.CONFIRMED);
+            logger.info("Init step result: CONFIRMED, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
+        } else {
             initResponse.setResult(AuthStepResult.AUTH_FAILED);
             initResponse.setMessage("pushMessage.fail");
             logger.info("Init step result: AUTH_FAILED, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
@@ -129,9 +118,9 @@ public class PushMessageService {
             PushMessage message = createAuthStepFinishedPushMessage(operation, activationId, statusMessage, authMethod);
             Long applicationId = getApplicationId(activationId);
             logger.info("Send step finished push message, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
-            pushServerClient.sendPushMessage(applicationId, message);
-        } catch (PushServerClientException ex) {
-            logger.info("Sending step finish push message failed for operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
+            if (!pushMessageDispatchService.dispatch(applicationId, message, operation.getOperationId())) {
+                logger.info("Sending step finish push message failed for operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
+            }
         } catch (Exception ex) {
             // Exception which occurs when push message is sent is not critical, only log warning.
             logger.warn("Error occurred in Mobile Token API component", ex);
@@ -233,7 +222,7 @@ public class PushMessageService {
     private Long getApplicationId(String activationId) throws ActivationNotActiveException {
         GetActivationStatusResponse activationStatusResponse;
         try {
-            activationStatusResponse = powerAuthClient.getActivationStatus(activationId);
+            activationStatusResponse = activationStatusCacheService.getActivationStatus(activationId);
         } catch (PowerAuthClientException ex) {
             logger.warn(ex.getMessage(), ex);
             throw new ActivationNotActiveException(activationId);
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.mtoken.service;
+
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthResult;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for version tags of pending operation lists and their matching with the If-None-Match HTTP header.
+ */
+class OperationListVersionServiceTest {
+
+    private final OperationListVersionService operationListVersionService = new OperationListVersionService();
+
+    @Test
+    void versionMatchesForUnchangedOperations() {
+        final String version = operationListVersionService.computeVersion(createOperations(), Locale.ENGLISH);
+        final String currentVersion = operationListVersionService.computeVersion(createOperations(), Locale.ENGLISH);
+        assertNotNull(version);
+        assertEquals(version, currentVersion);
+        assertTrue(operationListVersionService.isNotModified(currentVersion, version));
+    }
+
+    @Test
+    void versionMismatchForChangedOperation() {
+        final String version = operationListVersionService.computeVersion(createOperations(), Locale.ENGLISH);
+        final List<GetOperationDetailResponse> operations = createOperations();
+        operations.get(1).setOperationData("A1*A200CZK*Q2*AT");
+        final String currentVersion = operationListVersionService.computeVersion(operations, Locale.ENGLISH);
+        assertNotEquals(version, currentVersion);
+        assertFalse(operationListVersionService.isNotModified(currentVersion, version));
+    }
+
+    @Test
+    void versionMismatchForFinishedOperation() {
+        final String version = operationListVersionService.computeVersion(createOperations(), Locale.ENGLISH);
+        final String currentVersion = operationListVersionService.computeVersion(createOperations().subList(0, 1), Locale.ENGLISH);
+        assertFalse(operationListVersionService.isNotModified(currentVersion, version));
+    }
+
+    @Test
+    void versionMismatchForChangedLocale() {
+        final String version = operationListVersionService.computeVersion(createOperations(), Locale.ENGLISH);
+        final String currentVersion = operationListVersionService.computeVersion(createOperations(), new Locale("cs"));
+        assertFalse(operationListVersionService.isNotModified(currentVersion, version));
+    }
+
+    @Test
+    void versionMatchesWeakAndMultipleTags() {
+        final String version = operationListVersionService.computeVersion(createOperations(), Locale.ENGLISH);
+        assertTrue(operationListVersionService.isNotModified(version, "W/" + version));
+        assertTrue(operationListVersionService.isNotModified(version, "\"outdated\", " + version));
+        assertFalse(operationListVersionService.isNotModified(version, "\"outdated\", W/\"other\""));
+    }
+
+    @Test
+    void versionNotMatchedWithoutTags() {
+        final String version = operationListVersionService.computeVersion(Collections.emptyList(), Locale.ENGLISH);
+        assertNotNull(version);
+        assertFalse(operationListVersionService.isNotModified(version, null));
+        assertFalse(operationListVersionService.isNotModified(null, version));
+    }
+
+    private List<GetOperationDetailResponse> createOperations() {
+        return Arrays.asList(createOperation("operation-1"), createOperation("operation-2"));
+    }
+
+    private GetOperationDetailResponse createOperation(String operationId) {
+        final GetOperationDetailResponse operation = new GetOperationDetailResponse();
+        operation.setOperationId(operationId);
+        operation.setOperationName("authorize_payment");
+        operation.setOperationData("A1*A100CZK*Q238400856/0300**D20190629*NUtility Bill Payment - 05/2019");
+        operation.setUserId("test_user_1");
+        operation.setResult(AuthResult.CONTINUE);
+        operation.setTimestampCreated(new Date(1600000000000L));
+        operation.setTimestampExpires(new Date(1600000300000L));
+        return operation;
+    }
+
+}
@@ -250,6 +250,7 @@ public class OperationReviewController extends AuthMethodController<OperationRev
             final GetOperationDetailResponse operation = getOperation();
             // update formData in Next Step server
             nextStepClient.updateOperationFormData(operation.getOperationId(), request.getFormData());
+            invalidateOperation(operation.getOperationId());
             // Send notification to Data Adapter if the bank account has changed.
             // In case there is no bank account choice, the notification is not performed.
             Map<String, String> userInput = request.getFormData().getUserInput();
@@ -294,6 +295,7 @@ public class OperationReviewController extends AuthMethodController<OperationRev
             final GetOperationDetailResponse operation = getOperation();
             // update chosenAuthMethod in Next Step server
             nextStepClient.updateChosenAuthMethod(operation.getOperationId(), request.getChosenAuthMethod());
+            invalidateOperation(operation.getOperationId());
         } catch (NextStepClientException ex) {
             logger.error(ex.getMessage(), ex);
             throw new AuthStepException("Chosen authentication method could not be saved", "error.communication");
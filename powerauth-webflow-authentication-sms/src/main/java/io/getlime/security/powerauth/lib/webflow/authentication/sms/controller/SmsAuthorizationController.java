@@ -43,6 +43,7 @@ import io.getlime.security.powerauth.lib.webflow.authentication.model.converter.
 import io.getlime.security.powerauth.lib.webflow.authentication.repository.CertificateVerificationRepository;
 import io.getlime.security.powerauth.lib.webflow.authentication.repository.model.entity.CertificateVerificationEntity;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.AfsIntegrationService;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.NextStepConfigurationCacheService;
 import io.getlime.security.powerauth.lib.webflow.authentication.sms.model.request.SmsAuthorizationRequest;
 import io.getlime.security.powerauth.lib.webflow.authentication.sms.model.response.InitSmsAuthorizationResponse;
 import io.getlime.security.powerauth.lib.webflow.authentication.sms.model.response.ResendSmsAuthorizationResponse;
@@ -81,6 +82,7 @@ public class SmsAuthorizationController extends AuthMethodController<SmsAuthoriz
     private final AfsIntegrationService afsIntegrationService;
     private final HttpSession httpSession;
     private final CertificateVerificationRepository certificateVerificationRepository;
+    private final NextStepConfigurationCacheService nextStepConfigurationCacheService;
 
     private final AuthInstrumentConverter authInstrumentConverter = new AuthInstrumentConverter();
 
@@ -91,14 +93,16 @@ public class SmsAuthorizationController extends AuthMethodController<SmsAuthoriz
      * @param afsIntegrationService Anti-fraud system integration service.
      * @param httpSession HTTP session.
      * @param certificateVerificationRepository Certificate verification repository.
+     * @param nextStepConfigurationCacheService Next Step configuration cache service.
      */
     @Autowired
-    public SmsAuthorizationController(NextStepClient nextStepClient, WebFlowServicesConfiguration configuration, AfsIntegrationService afsIntegrationService, HttpSession httpSession, CertificateVerificationRepository certificateVerificationRepository) {
+    public SmsAuthorizationController(NextStepClient nextStepClient, WebFlowServicesConfiguration configuration, AfsIntegrationService afsIntegrationService, HttpSession httpSession, CertificateVerificationRepository certificateVerificationRepository, NextStepConfigurationCacheService nextStepConfigurationCacheService) {
         this.nextStepClient = nextStepClient;
         this.configuration = configuration;
         this.afsIntegrationService = afsIntegrationService;
         this.httpSession = httpSession;
         this.certificateVerificationRepository = certificateVerificationRepository;
+        this.nextStepConfigurationCacheService = nextStepConfigurationCacheService;
     }
 
     /**
@@ -128,7 +132,7 @@ public class SmsAuthorizationController extends AuthMethodController<SmsAuthoriz
                 throw new AuthenticationFailedException("Authentication failed", "login.authenticationFailed");
             }
             final String otpId = getOtpIdFromHttpSession();
-            GetOrganizationDetailResponse organization = nextStepClient.getOrganizationDetail(operation.getOrganizationId()).getResponseObject();
+            GetOrganizationDetailResponse organization = nextStepConfigurationCacheService.getOrganizationDetail(operation.getOrganizationId());
             String otpName = organization.getDefaultOtpName();
             String credentialName = organization.getDefaultCredentialName();
             if (otpName == null) {
@@ -157,6 +161,7 @@ public class SmsAuthorizationController extends AuthMethodController<SmsAuthoriz
                 } else if (!authStepOptions.isPasswordRequired()) {
                     // Only SMS authorization is required, skip password verification
                     OtpAuthenticationResponse otpResponse = nextStepClient.authenticateWithOtp(otpId, operationId, authCode, true, authMethod).getResponseObject();
+                    invalidateOperation(operationId);
                     if (otpResponse.isOperationFailed()) {
                         logger.info("Step authentication failed (1FA) due to failed operation, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
                         throw new MaxAttemptsExceededException("Maximum number of authentication attempts exceeded");
@@ -203,6 +208,7 @@ public class SmsAuthorizationController extends AuthMethodController<SmsAuthoriz
 
                 String protectedPassword = passwordProtection.protect(request.getPassword());
                 CombinedAuthenticationResponse authResponse = nextStepClient.authenticateCombined(credentialName, userId, protectedPassword, otpId, operationId, authCode, true, authMethod).getResponseObject();
+                invalidateOperation(operationId);
                 if (authResponse.isOperationFailed()) {
                     logger.info("Step authentication failed (2FA) due to failed operation, operation ID: {}, authentication method: {}", operation.getOperationId(), authMethod);
                     throw new MaxAttemptsExceededException("Maximum number of authentication attempts exceeded");
@@ -631,7 +637,7 @@ public class SmsAuthorizationController extends AuthMethodController<SmsAuthoriz
             result.setErrorMessage("smsAuthorization.deliveryFailed");
             return result;
         }
-        GetOrganizationDetailResponse organization = nextStepClient.getOrganizationDetail(operation.getOrganizationId()).getResponseObject();
+        GetOrganizationDetailResponse organization = nextStepConfigurationCacheService.getOrganizationDetail(operation.getOrganizationId());
         String otpName = organization.getDefaultOtpName();
         String credentialName = organization.getDefaultCredentialName();
         if (otpName == null) {
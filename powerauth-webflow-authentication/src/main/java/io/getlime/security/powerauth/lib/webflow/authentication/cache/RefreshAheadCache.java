@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Cache with refresh ahead of expiration. Cached values older than the refresh time are returned while they are
+ * refreshed in background using a single thread. Cached values older than the expiration time are never returned,
+ * they are reloaded synchronously before the request is served. Values which fail to load are not cached. The cached
+ * values are shared and must not be modified.
+ *
+ * @param <V> Type of cached values.
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class RefreshAheadCache<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final String name;
+    private final LongSupplier currentTimeMillis;
+    private final Predicate<Exception> removalCondition;
+
+    private final Map<String, CacheEntry<V>> cache = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor;
+
+    /**
+     * Cache constructor.
+     * @param name Cache name used in log messages and in the name of the refresh thread.
+     * @param currentTimeMillis Source of current time in milliseconds.
+     * @param removalCondition Condition for exceptions thrown during background refresh which mean that the value
+     *                         no longer exists and it is removed from the cache. Cached values are kept until their
+     *                         expiration in case of other exceptions.
+     */
+    public RefreshAheadCache(String name, LongSupplier currentTimeMillis, Predicate<Exception> removalCondition) {
+        this.name = name;
+        this.currentTimeMillis = currentTimeMillis;
+        this.removalCondition = removalCondition;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, name + "-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get cached value or load the value using the loader.
+     * @param key Cache key.
+     * @param refreshAfterMs Age of cached value in milliseconds after which the value is refreshed in background.
+     * @param expireAfterMs Age of cached value in milliseconds after which the value is reloaded synchronously.
+     * @param loader Loader of the value.
+     * @param <E> Type of exception thrown by the loader.
+     * @return Cached or loaded value.
+     * @throws E Thrown when the value could not be loaded.
+     */
+    public <E extends Exception> V get(String key, long refreshAfterMs, long expireAfterMs, Loader<? extends V, E> loader) throws E {
+        final long now = currentTimeMillis.getAsLong();
+        final CacheEntry<V> entry = cache.get(key);
+        if (entry != null) {
+            final long age = now - entry.timestamp;
+            if (age < expireAfterMs) {
+                if (age >= refreshAfterMs) {
+                    // Cached value is returned while it is refreshed in background before it expires
+                    refreshInBackground(key, entry, loader);
+                }
+                return entry.value;
+            }
+        }
+        // Expired value is reloaded, so that it is never returned
+        try {
+            final V value = loader.load();
+            cache.put(key, new CacheEntry<>(value, now));
+            return value;
+        } catch (Exception ex) {
+            if (entry != null) {
+                cache.remove(key, entry);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Invalidate all cached values.
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    /**
+     * Invalidate cached value.
+     * @param key Cache key.
+     */
+    public void invalidate(String key) {
+        cache.remove(key);
+    }
+
+    /**
+     * Get age of cached values in milliseconds.
+     * @return Map of cache keys and age of cached values in milliseconds.
+     */
+    public Map<String, Long> getCachedValueAges() {
+        final long now = currentTimeMillis.getAsLong();
+        final Map<String, Long> ages = new TreeMap<>();
+        cache.forEach((key, entry) -> ages.put(key, now - entry.timestamp));
+        return ages;
+    }
+
+    /**
+     * Stop the background refresh of cached values.
+     */
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Refresh cached value in background unless the refresh is already in progress.
+     * @param key Cache key.
+     * @param entry Cache entry to refresh.
+     * @param loader Loader of the value.
+     */
+    private void refreshInBackground(String key, CacheEntry<V> entry, Loader<? extends V, ?> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                final long now = currentTimeMillis.getAsLong();
+                final V value = loader.load();
+                // The entry is not replaced in case the cache was invalidated in the meantime
+                cache.replace(key, entry, new CacheEntry<>(value, now));
+            } catch (Exception ex) {
+                if (removalCondition.test(ex)) {
+                    logger.info("Cached value no longer exists, cache: {}, key: {}", name, key);
+                    cache.remove(key, entry);
+                } else {
+                    logger.warn("Refresh of cached value failed, cache: {}, key: {}, error: {}", name, key, ex.getMessage());
+                    logger.debug(ex.getMessage(), ex);
+                }
+            } finally {
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Loader of a cached value.
+     * @param <V> Type of the value.
+     * @param <E> Type of exception thrown by the loader.
+     */
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+
+        /**
+         * Load the value.
+         * @return Loaded value.
+         * @throws E Thrown when the value could not be loaded.
+         */
+        V load() throws E;
+
+    }
+
+    /**
+     * Cached value with timestamp of its retrieval.
+     * @param <V> Type of the value.
+     */
+    private static final class CacheEntry<V> {
+
+        private final V value;
+        private final long timestamp;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private CacheEntry(V value, long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+
+    }
+
+}
@@ -148,6 +148,258 @@ public class WebFlowServicesConfiguration {
     @Value("${powerauth.webflow.afs.tm.cookies.sessionSid}")
     private String tmSessionSidCookie;
 
+    /**
+     * Time budget in milliseconds for obtaining a decision of anti-fraud system.
+     */
+    @Value("${powerauth.webflow.afs.timeoutMs:2000}")
+    private long afsTimeoutMs;
+
+    /**
+     * Whether the authentication step fails when decision of anti-fraud system is not available in time.
+     */
+    @Value("${powerauth.webflow.afs.failClosed:false}")
+    private boolean afsFailClosed;
+
+    /**
+     * Number of threads used for obtaining anti-fraud system decisions.
+     */
+    @Value("${powerauth.webflow.afs.threads:8}")
+    private int afsThreads;
+
+    /**
+     * Maximum number of anti-fraud system decisions waiting for execution.
+     */
+    @Value("${powerauth.webflow.afs.queueCapacity:1000}")
+    private int afsQueueCapacity;
+
+    /**
+     * Number of threads used for executing background anti-fraud system actions and recording of AFS actions.
+     */
+    @Value("${powerauth.webflow.afs.background.threads:4}")
+    private int afsBackgroundThreads;
+
+    /**
+     * Maximum number of background anti-fraud system tasks waiting for execution.
+     */
+    @Value("${powerauth.webflow.afs.background.queueCapacity:10000}")
+    private int afsBackgroundQueueCapacity;
+
+    /**
+     * Whether cache of Next Step operation and organization configuration is enabled.
+     */
+    @Value("${powerauth.webflow.nextstep.cache.enabled:true}")
+    private boolean nextStepCacheEnabled;
+
+    /**
+     * Time in seconds after which cached Next Step configuration is refreshed in background.
+     */
+    @Value("${powerauth.webflow.nextstep.cache.ttlSeconds:300}")
+    private long nextStepCacheTtlSeconds;
+
+    /**
+     * Time in seconds after TTL expiration during which stale Next Step configuration can be used while it is being refreshed.
+     */
+    @Value("${powerauth.webflow.nextstep.cache.maxStaleSeconds:3600}")
+    private long nextStepCacheMaxStaleSeconds;
+
+    /**
+     * Number of threads used for concurrent enrichment of pending operation lists.
+     */
+    @Value("${powerauth.webflow.operations.enrichment.threads:8}")
+    private int operationEnrichmentThreads;
+
+    /**
+     * Maximum number of queued operation enrichment tasks.
+     */
+    @Value("${powerauth.webflow.operations.enrichment.queueCapacity:1000}")
+    private int operationEnrichmentQueueCapacity;
+
+    /**
+     * Maximum number of operations mapped using a single Data Adapter request during enrichment of pending operation lists.
+     */
+    @Value("${powerauth.webflow.operations.enrichment.mappingBatchSize:10}")
+    private int operationEnrichmentMappingBatchSize;
+
+    /**
+     * Time limit in milliseconds for enrichment of a pending operation list.
+     */
+    @Value("${powerauth.webflow.operations.enrichment.timeoutMs:3000}")
+    private long operationEnrichmentTimeoutMs;
+
+    /**
+     * Time in milliseconds for which the mobile token operation list request waits for a change of operations.
+     */
+    @Value("${powerauth.webflow.mtoken.operationList.wait.timeoutMs:30000}")
+    private long operationListWaitTimeoutMs;
+
+    /**
+     * Maximum number of mobile token operation list requests waiting for a change of operations.
+     */
+    @Value("${powerauth.webflow.mtoken.operationList.wait.maxRequests:1000}")
+    private int operationListWaitMaxRequests;
+
+    /**
+     * Number of threads used for checking whether the operation list of a waiting mobile token request changed.
+     */
+    @Value("${powerauth.webflow.mtoken.operationList.wait.threads:4}")
+    private int operationListWaitThreads;
+
+    /**
+     * Number of threads used for loading the operation list of a waiting mobile token request after a change of operations.
+     */
+    @Value("${powerauth.webflow.mtoken.operationList.wait.loadThreads:4}")
+    private int operationListWaitLoadThreads;
+
+    /**
+     * Capacity of the queue of operation list loads of waiting mobile token requests.
+     */
+    @Value("${powerauth.webflow.mtoken.operationList.wait.loadQueueCapacity:100}")
+    private int operationListWaitLoadQueueCapacity;
+
+    /**
+     * Interval in milliseconds for re-checking operation list of a waiting mobile token request.
+     */
+    @Value("${powerauth.webflow.mtoken.operationList.wait.recheckIntervalMs:5000}")
+    private long operationListWaitRecheckIntervalMs;
+
+    /**
+     * Whether Web Socket messages are relayed using an external STOMP message broker.
+     */
+    @Value("${powerauth.webflow.websocket.broker.relay.enabled:false}")
+    private boolean webSocketBrokerRelayEnabled;
+
+    /**
+     * Host name of external STOMP message broker.
+     */
+    @Value("${powerauth.webflow.websocket.broker.relay.host:localhost}")
+    private String webSocketBrokerRelayHost;
+
+    /**
+     * Port of external STOMP message broker.
+     */
+    @Value("${powerauth.webflow.websocket.broker.relay.port:61613}")
+    private int webSocketBrokerRelayPort;
+
+    /**
+     * Login used for connecting to external STOMP message broker.
+     */
+    @Value("${powerauth.webflow.websocket.broker.relay.login:guest}")
+    private String webSocketBrokerRelayLogin;
+
+    /**
+     * Passcode used for connecting to external STOMP message broker.
+     */
+    @Value("${powerauth.webflow.websocket.broker.relay.passcode:guest}")
+    private String webSocketBrokerRelayPasscode;
+
+    /**
+     * Virtual host of external STOMP message broker.
+     */
+    @Value("${powerauth.webflow.websocket.broker.relay.virtualHost:}")
+    private String webSocketBrokerRelayVirtualHost;
+
+    /**
+     * Maximum number of operations with cached operation hash and Web Socket session registration.
+     */
+    @Value("${powerauth.webflow.operationSession.cache.maxEntries:10000}")
+    private int operationSessionCacheMaxEntries;
+
+    /**
+     * Whether expired operation to HTTP session mappings are removed.
+     */
+    @Value("${powerauth.webflow.operationSession.retention.enabled:true}")
+    private boolean operationSessionRetentionEnabled;
+
+    /**
+     * Number of hours for which mappings of finished operations are kept.
+     */
+    @Value("${powerauth.webflow.operationSession.retention.finishedHours:24}")
+    private int operationSessionRetentionFinishedHours;
+
+    /**
+     * Number of hours after which mappings of unfinished operations are considered stale and removed.
+     */
+    @Value("${powerauth.webflow.operationSession.retention.staleHours:72}")
+    private int operationSessionRetentionStaleHours;
+
+    /**
+     * Maximum number of operation to HTTP session mappings deleted in a single batch.
+     */
+    @Value("${powerauth.webflow.operationSession.retention.batchSize:1000}")
+    private int operationSessionRetentionBatchSize;
+
+    /**
+     * Whether audit records older than the retention period are removed.
+     */
+    @Value("${powerauth.webflow.audit.retention.enabled:true}")
+    private boolean auditRetentionEnabled;
+
+    /**
+     * Number of days for which audit records are kept.
+     */
+    @Value("${powerauth.webflow.audit.retention.days:365}")
+    private int auditRetentionDays;
+
+    /**
+     * Maximum number of audit records deleted in a single batch.
+     */
+    @Value("${powerauth.webflow.audit.retention.batchSize:1000}")
+    private int auditRetentionBatchSize;
+
+    /**
+     * Maximum duration of the audit retention lock in seconds.
+     */
+    @Value("${powerauth.webflow.audit.retention.lockSeconds:3600}")
+    private long auditRetentionLockSeconds;
+
+    /**
+     * Audit log table name.
+     */
+    @Value("${audit.db.table.log.name:audit_log}")
+    private String auditTableNameLog;
+
+    /**
+     * Audit parameter table name.
+     */
+    @Value("${audit.db.table.param.name:audit_param}")
+    private String auditTableNameParam;
+
+    /**
+     * Number of threads used for asynchronous dispatch of push messages.
+     */
+    @Value("${powerauth.webflow.push.dispatch.threads:4}")
+    private int pushDispatchThreads;
+
+    /**
+     * Maximum number of push messages waiting for dispatch, including push messages waiting for a retry.
+     */
+    @Value("${powerauth.webflow.push.dispatch.queueCapacity:10000}")
+    private int pushDispatchQueueCapacity;
+
+    /**
+     * Maximum number of attempts to send a push message.
+     */
+    @Value("${powerauth.webflow.push.dispatch.maxAttempts:3}")
+    private int pushDispatchMaxAttempts;
+
+    /**
+     * Delay in milliseconds before the first retry of sending a push message, the delay is doubled for each retry.
+     */
+    @Value("${powerauth.webflow.push.dispatch.backoffMs:1000}")
+    private long pushDispatchBackoffMs;
+
+    /**
+     * Time in milliseconds for which activation status retrieved from PowerAuth server is cached.
+     */
+    @Value("${powerauth.webflow.activation.cache.ttlMs:5000}")
+    private long activationStatusCacheTtlMs;
+
+    /**
+     * Maximum number of cached activation statuses.
+     */
+    @Value("${powerauth.webflow.activation.cache.maxEntries:10000}")
+    private int activationStatusCacheMaxEntries;
+
     @Autowired
     public WebFlowServicesConfiguration(SSLConfigurationService sslConfigurationService) {
         this.sslConfigurationService = sslConfigurationService;
@@ -330,4 +582,340 @@ public class WebFlowServicesConfiguration {
         return tmSessionSidCookie;
     }
 
+    /**
+     * Get time budget in milliseconds for obtaining a decision of anti-fraud system.
+     * @return Time budget for AFS decision in milliseconds.
+     */
+    public long getAfsTimeoutMs() {
+        return afsTimeoutMs;
+    }
+
+    /**
+     * Get whether the authentication step fails when decision of anti-fraud system is not available in time.
+     * @return Whether fail-closed policy is used for AFS decisions.
+     */
+    public boolean isAfsFailClosed() {
+        return afsFailClosed;
+    }
+
+    /**
+     * Get number of threads used for obtaining anti-fraud system decisions.
+     * @return Number of AFS decision threads.
+     */
+    public int getAfsThreads() {
+        return afsThreads;
+    }
+
+    /**
+     * Get maximum number of anti-fraud system decisions waiting for execution.
+     * @return AFS decision queue capacity.
+     */
+    public int getAfsQueueCapacity() {
+        return afsQueueCapacity;
+    }
+
+    /**
+     * Get number of threads used for executing background anti-fraud system actions and recording of AFS actions.
+     * @return Number of AFS background threads.
+     */
+    public int getAfsBackgroundThreads() {
+        return afsBackgroundThreads;
+    }
+
+    /**
+     * Get maximum number of background anti-fraud system tasks waiting for execution.
+     * @return AFS background queue capacity.
+     */
+    public int getAfsBackgroundQueueCapacity() {
+        return afsBackgroundQueueCapacity;
+    }
+
+    /**
+     * Get whether cache of Next Step operation and organization configuration is enabled.
+     * @return Whether cache of Next Step configuration is enabled.
+     */
+    public boolean isNextStepCacheEnabled() {
+        return nextStepCacheEnabled;
+    }
+
+    /**
+     * Get time in seconds after which cached Next Step configuration is refreshed in background.
+     * @return Time to live for cached Next Step configuration in seconds.
+     */
+    public long getNextStepCacheTtlSeconds() {
+        return nextStepCacheTtlSeconds;
+    }
+
+    /**
+     * Get time in seconds after TTL expiration during which stale Next Step configuration can be used while it is being refreshed.
+     * @return Maximum stale time for cached Next Step configuration in seconds.
+     */
+    public long getNextStepCacheMaxStaleSeconds() {
+        return nextStepCacheMaxStaleSeconds;
+    }
+
+    /**
+     * Get number of threads used for concurrent enrichment of pending operation lists.
+     * @return Number of operation enrichment threads.
+     */
+    public int getOperationEnrichmentThreads() {
+        return operationEnrichmentThreads;
+    }
+
+    /**
+     * Get maximum number of queued operation enrichment tasks.
+     * @return Operation enrichment queue capacity.
+     */
+    public int getOperationEnrichmentQueueCapacity() {
+        return operationEnrichmentQueueCapacity;
+    }
+
+    /**
+     * Get maximum number of operations mapped using a single Data Adapter request during enrichment of pending operation lists.
+     * @return Maximum number of operations in a single operation mapping request.
+     */
+    public int getOperationEnrichmentMappingBatchSize() {
+        return operationEnrichmentMappingBatchSize;
+    }
+
+    /**
+     * Get time limit in milliseconds for enrichment of a pending operation list.
+     * @return Operation enrichment time limit in milliseconds.
+     */
+    public long getOperationEnrichmentTimeoutMs() {
+        return operationEnrichmentTimeoutMs;
+    }
+
+    /**
+     * Get time in milliseconds for which the mobile token operation list request waits for a change of operations.
+     * @return Wait timeout in milliseconds.
+     */
+    public long getOperationListWaitTimeoutMs() {
+        return operationListWaitTimeoutMs;
+    }
+
+    /**
+     * Get maximum number of mobile token operation list requests waiting for a change of operations.
+     * @return Maximum number of waiting requests.
+     */
+    public int getOperationListWaitMaxRequests() {
+        return operationListWaitMaxRequests;
+    }
+
+    /**
+     * Get number of threads used for checking whether the operation list of a waiting mobile token request changed.
+     * @return Number of threads.
+     */
+    public int getOperationListWaitThreads() {
+        return operationListWaitThreads;
+    }
+
+    /**
+     * Get number of threads used for loading the operation list of a waiting mobile token request after a change of operations.
+     * @return Number of threads.
+     */
+    public int getOperationListWaitLoadThreads() {
+        return operationListWaitLoadThreads;
+    }
+
+    /**
+     * Get capacity of the queue of operation list loads of waiting mobile token requests.
+     * @return Queue capacity.
+     */
+    public int getOperationListWaitLoadQueueCapacity() {
+        return operationListWaitLoadQueueCapacity;
+    }
+
+    /**
+     * Get interval in milliseconds for re-checking operation list of a waiting mobile token request.
+     * @return Re-check interval in milliseconds.
+     */
+    public long getOperationListWaitRecheckIntervalMs() {
+        return operationListWaitRecheckIntervalMs;
+    }
+
+    /**
+     * Get whether Web Socket messages are relayed using an external STOMP message broker.
+     * @return Whether external STOMP message broker is used.
+     */
+    public boolean isWebSocketBrokerRelayEnabled() {
+        return webSocketBrokerRelayEnabled;
+    }
+
+    /**
+     * Get host name of external STOMP message broker.
+     * @return Host name of message broker.
+     */
+    public String getWebSocketBrokerRelayHost() {
+        return webSocketBrokerRelayHost;
+    }
+
+    /**
+     * Get port of external STOMP message broker.
+     * @return Port of message broker.
+     */
+    public int getWebSocketBrokerRelayPort() {
+        return webSocketBrokerRelayPort;
+    }
+
+    /**
+     * Get login used for connecting to external STOMP message broker.
+     * @return Login for message broker.
+     */
+    public String getWebSocketBrokerRelayLogin() {
+        return webSocketBrokerRelayLogin;
+    }
+
+    /**
+     * Get passcode used for connecting to external STOMP message broker.
+     * @return Passcode for message broker.
+     */
+    public String getWebSocketBrokerRelayPasscode() {
+        return webSocketBrokerRelayPasscode;
+    }
+
+    /**
+     * Get virtual host of external STOMP message broker.
+     * @return Virtual host of message broker.
+     */
+    public String getWebSocketBrokerRelayVirtualHost() {
+        return webSocketBrokerRelayVirtualHost;
+    }
+
+    /**
+     * Get maximum number of operations with cached operation hash and Web Socket session registration.
+     * @return Maximum number of cached operations.
+     */
+    public int getOperationSessionCacheMaxEntries() {
+        return operationSessionCacheMaxEntries;
+    }
+
+    /**
+     * Get whether expired operation to HTTP session mappings are removed.
+     * @return Whether retention of operation to HTTP session mappings is enabled.
+     */
+    public boolean isOperationSessionRetentionEnabled() {
+        return operationSessionRetentionEnabled;
+    }
+
+    /**
+     * Get number of hours for which mappings of finished operations are kept.
+     * @return Retention period of finished operations in hours.
+     */
+    public int getOperationSessionRetentionFinishedHours() {
+        return operationSessionRetentionFinishedHours;
+    }
+
+    /**
+     * Get number of hours after which mappings of unfinished operations are considered stale and removed.
+     * @return Retention period of unfinished operations in hours.
+     */
+    public int getOperationSessionRetentionStaleHours() {
+        return operationSessionRetentionStaleHours;
+    }
+
+    /**
+     * Get maximum number of operation to HTTP session mappings deleted in a single batch.
+     * @return Batch size.
+     */
+    public int getOperationSessionRetentionBatchSize() {
+        return operationSessionRetentionBatchSize;
+    }
+
+    /**
+     * Get whether expired audit records are removed.
+     * @return Whether audit retention is enabled.
+     */
+    public boolean isAuditRetentionEnabled() {
+        return auditRetentionEnabled;
+    }
+
+    /**
+     * Get number of days for which audit records are kept.
+     * @return Audit retention period in days.
+     */
+    public int getAuditRetentionDays() {
+        return auditRetentionDays;
+    }
+
+    /**
+     * Get maximum number of audit records deleted in a single batch.
+     * @return Batch size for deleting audit records.
+     */
+    public int getAuditRetentionBatchSize() {
+        return auditRetentionBatchSize;
+    }
+
+    /**
+     * Get maximum duration of the audit retention lock which prevents concurrent cleanup on multiple nodes.
+     * @return Audit retention lock duration in seconds.
+     */
+    public long getAuditRetentionLockSeconds() {
+        return auditRetentionLockSeconds;
+    }
+
+    /**
+     * Get audit log table name.
+     * @return Audit log table name.
+     */
+    public String getAuditTableNameLog() {
+        return auditTableNameLog;
+    }
+
+    /**
+     * Get audit parameter table name.
+     * @return Audit parameter table name.
+     */
+    public String getAuditTableNameParam() {
+        return auditTableNameParam;
+    }
+
+    /**
+     * Get number of threads used for asynchronous dispatch of push messages.
+     * @return Number of threads.
+     */
+    public int getPushDispatchThreads() {
+        return pushDispatchThreads;
+    }
+
+    /**
+     * Get maximum number of push messages waiting for dispatch, including push messages waiting for a retry.
+     * @return Push message queue capacity.
+     */
+    public int getPushDispatchQueueCapacity() {
+        return pushDispatchQueueCapacity;
+    }
+
+    /**
+     * Get maximum number of attempts to send a push message.
+     * @return Maximum number of attempts.
+     */
+    public int getPushDispatchMaxAttempts() {
+        return pushDispatchMaxAttempts;
+    }
+
+    /**
+     * Get delay in milliseconds before the first retry of sending a push message.
+     * @return Delay before the first retry in milliseconds.
+     */
+    public long getPushDispatchBackoffMs() {
+        return pushDispatchBackoffMs;
+    }
+
+    /**
+     * Get time in milliseconds for which activation status retrieved from PowerAuth server is cached.
+     * @return Activation status cache TTL in milliseconds.
+     */
+    public long getActivationStatusCacheTtlMs() {
+        return activationStatusCacheTtlMs;
+    }
+
+    /**
+     * Get maximum number of cached activation statuses.
+     * @return Maximum number of cached activation statuses.
+     */
+    public int getActivationStatusCacheMaxEntries() {
+        return activationStatusCacheMaxEntries;
+    }
+
 }
@@ -20,12 +20,8 @@ import io.getlime.core.rest.model.base.entity.Error;
 import io.getlime.core.rest.model.base.response.ObjectResponse;
 import io.getlime.security.powerauth.lib.dataadapter.client.DataAdapterClient;
 import io.getlime.security.powerauth.lib.dataadapter.client.DataAdapterClientErrorException;
-import io.getlime.security.powerauth.lib.dataadapter.model.converter.FormDataConverter;
-import io.getlime.security.powerauth.lib.dataadapter.model.entity.FormData;
-import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
 import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.OperationTerminationReason;
 import io.getlime.security.powerauth.lib.dataadapter.model.response.CreateImplicitLoginOperationResponse;
-import io.getlime.security.powerauth.lib.dataadapter.model.response.GetPAOperationMappingResponse;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
 import io.getlime.security.powerauth.lib.nextstep.model.entity.*;
@@ -38,6 +34,7 @@ import io.getlime.security.powerauth.lib.webflow.authentication.base.AuthStepReq
 import io.getlime.security.powerauth.lib.webflow.authentication.base.AuthStepResponse;
 import io.getlime.security.powerauth.lib.webflow.authentication.exception.*;
 import io.getlime.security.powerauth.lib.webflow.authentication.model.AuthOperationResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.model.PendingOperationList;
 import io.getlime.security.powerauth.lib.webflow.authentication.model.AuthResultDetail;
 import io.getlime.security.powerauth.lib.webflow.authentication.repository.model.entity.OperationSessionEntity;
 import io.getlime.security.powerauth.lib.webflow.authentication.security.UserOperationAuthentication;
@@ -101,7 +98,17 @@ public abstract class AuthMethodController<T extends AuthStepRequest, R extends
     @Autowired
     private PowerAuthOperationService powerAuthOperationService;
 
-    private final FormDataConverter formDataConverter = new FormDataConverter();
+    @Autowired
+    private NextStepConfigurationCacheService nextStepConfigurationCacheService;
+
+    @Autowired
+    private OperationDetailCacheService operationDetailCacheService;
+
+    @Autowired
+    private OperationListEnrichmentService operationListEnrichmentService;
+
+    @Autowired
+    private OperationChangeNotificationService operationChangeNotificationService;
 
     /**
      * Get operation detail.
@@ -168,8 +175,7 @@ public abstract class AuthMethodController<T extends AuthStepRequest, R extends
      */
     protected GetOperationDetailResponse getOperation(String operationId, boolean validateOperationState) throws AuthStepException {
         try {
-            final ObjectResponse<GetOperationDetailResponse> operationDetail = nextStepClient.getOperationDetail(operationId);
-            final GetOperationDetailResponse operation = operationDetail.getResponseObject();
+            final GetOperationDetailResponse operation = operationDetailCacheService.getOperationDetail(operationId);
             if (validateOperationState) {
                 validateOperationState(operation);
             }
@@ -182,6 +188,23 @@ public abstract class AuthMethodController<T extends AuthStepRequest, R extends
         }
     }
 
+    /**
+     * Invalidate operation detail memoized during current HTTP request. The method needs to be called after
+     * each update of the operation in Next Step so that the following calls of getOperation() return current data.
+     * @param operationId Operation ID.
+     */
+    protected void invalidateOperation(String operationId) {
+        operationDetailCacheService.invalidate(operationId);
+    }
+
+    /**
+     * Notify mobile token requests waiting for a change of pending operations of the user.
+     * @param userId User ID.
+     */
+    protected void notifyOperationChanged(String userId) {
+        operationChangeNotificationService.notifyOperationChanged(userId);
+    }
+
     /**
      * Check whether operation is expired. In case it is expired, thrown an OperationTimeoutException.
      * @param operation Operation.
@@ -210,8 +233,7 @@ public abstract class AuthMethodController<T extends AuthStepRequest, R extends
      */
     protected GetOperationConfigDetailResponse getOperationConfig(String operationName) throws AuthStepException {
         try {
-            final ObjectResponse<GetOperationConfigDetailResponse> operationConfigResponse = nextStepClient.getOperationConfigDetail(operationName);
-            return operationConfigResponse.getResponseObject();
+            return nextStepConfigurationCacheService.getOperationConfigDetail(operationName);
         } catch (NextStepClientException ex) {
             logger.error("Error occurred in Next Step server", ex);
             throw new CommunicationFailedException("Operation configuration is not available");
@@ -225,8 +247,7 @@ public abstract class AuthMethodController<T extends AuthStepRequest, R extends
      */
     protected GetOperationConfigListResponse getOperationConfigs() throws AuthStepException {
         try {
-            final ObjectResponse<GetOperationConfigListResponse> operationConfigsResponse = nextStepClient.getOperationConfigList();
-            return operationConfigsResponse.getResponseObject();
+            return nextStepConfigurationCacheService.getOperationConfigList();
         } catch (NextStepClientException ex) {
             logger.error("Error occurred in Next Step server", ex);
             throw new CommunicationFailedException("Operation configuration is not available");
@@ -255,31 +276,44 @@ public abstract class AuthMethodController<T extends AuthStepRequest, R extends
     }
 
     /**
-     * Get pending operations for given user.
+     * Get pending operations for given user as provided by Next Step, without operation mapping and translation of form data.
      * @param userId User ID.
      * @param mobileTokenOnly Whether pending operation list should be filtered for only next step with mobile token support.
      * @return List of operations for given user.
      * @throws AuthStepException Thrown in case communication with Next Step fails.
      */
-    protected List<GetOperationDetailResponse> getOperationListForUser(String userId, boolean mobileTokenOnly) throws AuthStepException {
+    protected List<GetOperationDetailResponse> getPendingOperations(String userId, boolean mobileTokenOnly) throws AuthStepException {
         try {
-            final ObjectResponse<List<GetOperationDetailResponse>> operations = nextStepClient.getPendingOperations(userId, mobileTokenOnly);
-            final List<GetOperationDetailResponse> responseObject = operations.getResponseObject();
-            for (GetOperationDetailResponse operation: responseObject) {
-                FormData formData = formDataConverter.fromOperationFormData(operation.getFormData());
-                ApplicationContext applicationContext = operation.getApplicationContext();
-                OperationContext operationContext = new OperationContext(operation.getOperationId(), operation.getOperationName(), operation.getOperationData(), operation.getExternalTransactionId(), formData, applicationContext);
-                GetPAOperationMappingResponse response = dataAdapterClient.getPAOperationMapping(userId, operation.getOrganizationId(), getAuthMethodName(operation), operationContext).getResponseObject();
-                operation.setOperationName(response.getOperationName());
-                operation.setOperationData(response.getOperationData());
-                operation.setFormData(formDataConverter.fromFormData(response.getFormData()));
-                // translate formData messages
-                messageTranslationService.translateFormData(operation.getFormData());
-            }
-            return responseObject;
+            return nextStepClient.getPendingOperations(userId, mobileTokenOnly).getResponseObject();
         } catch (NextStepClientException ex) {
             logger.error("Error occurred in Next Step server", ex);
             throw new CommunicationFailedException("Operations are not available");
+        }
+    }
+
+    /**
+     * Get pending operations for given user with PowerAuth operation mapping and translated form data.
+     * @param userId User ID.
+     * @param mobileTokenOnly Whether pending operation list should be filtered for only next step with mobile token support.
+     * @return List of operations for given user, operations which could not be enriched in time are included without information about degradation.
+     * @throws AuthStepException Thrown in case communication with Next Step or Data Adapter fails.
+     * @deprecated Use {@link #getPendingOperations(String, boolean)} and {@link #enrichOperationList(String, List)} instead.
+     */
+    @Deprecated
+    protected List<GetOperationDetailResponse> getOperationListForUser(String userId, boolean mobileTokenOnly) throws AuthStepException {
+        return enrichOperationList(userId, getPendingOperations(userId, mobileTokenOnly)).getOperations();
+    }
+
+    /**
+     * Enrich pending operations with PowerAuth operation mapping and translated form data.
+     * @param userId User ID.
+     * @param operations Pending operations obtained from Next Step.
+     * @return List of operations including information about operations which could not be enriched in time.
+     * @throws AuthStepException Thrown in case communication with Data Adapter fails.
+     */
+    protected PendingOperationList enrichOperationList(String userId, List<GetOperationDetailResponse> operations) throws AuthStepException {
+        try {
+            return operationListEnrichmentService.enrichOperations(userId, operations, this::getAuthMethodName);
         } catch (DataAdapterClientErrorException ex) {
             logger.error("Error occurred in Data Adapter server", ex);
             throw new CommunicationFailedException("Operation mapping is not available");
@@ -316,6 +350,8 @@ public abstract class AuthMethodController<T extends AuthStepRequest, R extends
         logger.info("Step authorization started, operation ID: {}, user ID: {}, authentication method: {}", operationId, userId, authMethod);
         ApplicationContext applicationContext = operation.getApplicationContext();
         ObjectResponse<UpdateOperationResponse> response = nextStepClient.updateOperation(operationId, userId, organizationId, authMethod, authInstruments, AuthStepResult.CONFIRMED, null, params, applicationContext);
+        invalidateOperation(operationId);
+        notifyOperationChanged(userId);
         AuthResult authResult = response.getResponseObject().getResult();
         if (authResult == AuthResult.DONE) {
             // notify AFS about logout
@@ -346,6 +382,8 @@ public abstract class AuthMethodController<T extends AuthStepRequest, R extends
         logger.info("Fail step started, operation ID: {}, user ID: {}, authentication method: {}", operationId, userId, authMethod);
         ApplicationContext applicationContext = operation.getApplicationContext();
         ObjectResponse<UpdateOperationResponse> response = nextStepClient.updateOperation(operationId, userId, operation.getOrganizationId(), authMethod, authInstruments, AuthStepResult.AUTH_FAILED, null, params, applicationContext);
+        invalidateOperation(operationId);
+        notifyOperationChanged(operation.getUserId());
         // notify Data Adapter in case operation is in FAILED state now
         AuthResult authResult = response.getResponseObject().getResult();
         // update operation result in operation to HTTP session mapping
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.model;
+
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * List of enriched pending operations together with information about operations which could not be enriched in time.
+ * Degraded operations contain either the original Next Step data in case the operation mapping was not obtained in time,
+ * or untranslated form data in case the form data was not translated in time.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class PendingOperationList {
+
+    private final List<GetOperationDetailResponse> operations = new ArrayList<>();
+    private final Set<String> degradedOperationIds = new HashSet<>();
+
+    /**
+     * Get pending operations.
+     * @return Pending operations.
+     */
+    public List<GetOperationDetailResponse> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Add enriched operation.
+     * @param operation Enriched operation.
+     */
+    public void addOperation(GetOperationDetailResponse operation) {
+        operations.add(operation);
+    }
+
+    /**
+     * Mark operation as degraded.
+     * @param operationId Operation ID.
+     */
+    public void addDegradedOperation(String operationId) {
+        degradedOperationIds.add(operationId);
+    }
+
+    /**
+     * Get whether operation could not be enriched in time.
+     * @param operationId Operation ID.
+     * @return Whether operation is degraded.
+     */
+    public boolean isDegraded(String operationId) {
+        return degradedOperationIds.contains(operationId);
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import com.wultra.security.powerauth.client.PowerAuthClient;
+import com.wultra.security.powerauth.client.model.error.PowerAuthClientException;
+import com.wultra.security.powerauth.client.v3.GetActivationStatusResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service which caches activation status retrieved from PowerAuth server for a short time, so that repeated checks
+ * of the mobile token activation during a single authentication step do not call PowerAuth server each time.
+ * Only the activation status check for availability of mobile token and push messages should use the cache,
+ * operations with activations are verified by PowerAuth server. The cached response objects are shared and must
+ * not be modified.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class ActivationStatusCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivationStatusCacheService.class);
+
+    private final PowerAuthClient powerAuthClient;
+    private final WebFlowServicesConfiguration configuration;
+
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Service constructor.
+     * @param powerAuthClient PowerAuth client.
+     * @param configuration Web Flow configuration.
+     */
+    public ActivationStatusCacheService(PowerAuthClient powerAuthClient, WebFlowServicesConfiguration configuration) {
+        this.powerAuthClient = powerAuthClient;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Get activation status, the cached status is returned in case it is not older than the configured TTL.
+     * @param activationId Activation ID.
+     * @return Activation status response.
+     * @throws PowerAuthClientException Thrown when communication with PowerAuth server fails.
+     */
+    public GetActivationStatusResponse getActivationStatus(String activationId) throws PowerAuthClientException {
+        final long ttlMs = configuration.getActivationStatusCacheTtlMs();
+        if (ttlMs <= 0) {
+            return powerAuthClient.getActivationStatus(activationId);
+        }
+        final long now = System.currentTimeMillis();
+        final CacheEntry entry = cache.get(activationId);
+        if (entry != null && now - entry.timestamp < ttlMs) {
+            return entry.response;
+        }
+        final GetActivationStatusResponse response = powerAuthClient.getActivationStatus(activationId);
+        if (cache.size() >= configuration.getActivationStatusCacheMaxEntries()) {
+            evictExpired(now, ttlMs);
+        }
+        cache.put(activationId, new CacheEntry(response, now));
+        return response;
+    }
+
+    /**
+     * Invalidate cached status of an activation, e.g. when the activation was found to be no longer active.
+     * @param activationId Activation ID.
+     */
+    public void invalidate(String activationId) {
+        if (activationId != null) {
+            cache.remove(activationId);
+        }
+    }
+
+    /**
+     * Remove expired cache entries, the whole cache is cleared in case all cache entries are valid.
+     * @param now Current timestamp.
+     * @param ttlMs Cache TTL in milliseconds.
+     */
+    private void evictExpired(long now, long ttlMs) {
+        cache.values().removeIf(entry -> now - entry.timestamp >= ttlMs);
+        if (cache.size() >= configuration.getActivationStatusCacheMaxEntries()) {
+            logger.debug("Activation status cache is full, clearing the cache, size: {}", cache.size());
+            cache.clear();
+        }
+    }
+
+    /**
+     * Cached activation status.
+     */
+    private static class CacheEntry {
+        private final GetActivationStatusResponse response;
+        private final long timestamp;
+
+        CacheEntry(GetActivationStatusResponse response, long timestamp) {
+            this.response = response;
+            this.timestamp = timestamp;
+        }
+    }
+
+}
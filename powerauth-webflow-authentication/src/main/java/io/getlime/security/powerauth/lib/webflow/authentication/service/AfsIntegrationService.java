@@ -37,6 +37,11 @@ import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthStepResu
 import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationConfigDetailResponse;
 import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
 import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import io.getlime.security.powerauth.lib.webflow.authentication.exception.CommunicationFailedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,15 +50,32 @@ import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import javax.annotation.PreDestroy;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Service for integration of anti-fraud system.
+ * Service for integration of anti-fraud system. Decisions of anti-fraud system are obtained within a configured
+ * time budget, the configured failure policy is applied when the decision is not available in time. AFS actions whose
+ * response has no impact on Web Flow and recording of AFS actions in Next Step are executed asynchronously. Decisions
+ * and background tasks use separate executors, so that a backlog of background tasks never delays a decision.
+ * Decision latency, timeouts, failures, fail-closed outcomes, queue depths and results of background tasks are
+ * published as metrics.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
@@ -62,13 +84,32 @@ public class AfsIntegrationService {
 
     private static final Logger logger = LoggerFactory.getLogger(AfsIntegrationService.class);
 
+    /**
+     * Number of locks which guard previous AFS actions of operations.
+     */
+    private static final int OPERATION_LOCK_COUNT = 64;
+
     private final WebFlowServicesConfiguration configuration;
     private final NextStepClient nextStepClient;
     private final DataAdapterClient dataAdapterClient;
     private final OperationSessionService operationSessionService;
     private final MessageTranslationService messageTranslationService;
+    private final NextStepConfigurationCacheService nextStepConfigurationCacheService;
+    private final OperationDetailCacheService operationDetailCacheService;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadPoolExecutor decisionExecutor;
+    private final ThreadPoolExecutor backgroundExecutor;
+    private final ConcurrentHashMap<String, PendingAfsActions> pendingActions = new ConcurrentHashMap<>();
+    private final Object[] operationLocks = new Object[OPERATION_LOCK_COUNT];
+
+    private final Timer decisionTimer;
+    private final Counter timeoutCounter;
+    private final Counter failureCounter;
+    private final Counter failedClosedCounter;
+    private final Counter backgroundCompletedCounter;
+    private final Counter backgroundFailedCounter;
+    private final Counter backgroundRejectedCounter;
 
     /**
      * Service constructor.
@@ -77,14 +118,73 @@ public class AfsIntegrationService {
      * @param dataAdapterClient Data Adapter client.
      * @param operationSessionService Operation session service.
      * @param messageTranslationService Message translation service.
+     * @param nextStepConfigurationCacheService Next Step configuration cache service.
+     * @param operationDetailCacheService Operation detail cache service.
+     * @param meterRegistry Meter registry.
      */
     @Autowired
-    public AfsIntegrationService(WebFlowServicesConfiguration configuration, NextStepClient nextStepClient, DataAdapterClient dataAdapterClient, OperationSessionService operationSessionService, MessageTranslationService messageTranslationService) {
+    public AfsIntegrationService(WebFlowServicesConfiguration configuration, NextStepClient nextStepClient, DataAdapterClient dataAdapterClient, OperationSessionService operationSessionService, MessageTranslationService messageTranslationService, NextStepConfigurationCacheService nextStepConfigurationCacheService, OperationDetailCacheService operationDetailCacheService, MeterRegistry meterRegistry) {
         this.configuration = configuration;
         this.nextStepClient = nextStepClient;
         this.dataAdapterClient = dataAdapterClient;
         this.operationSessionService = operationSessionService;
         this.messageTranslationService = messageTranslationService;
+        this.nextStepConfigurationCacheService = nextStepConfigurationCacheService;
+        this.operationDetailCacheService = operationDetailCacheService;
+        for (int i = 0; i < OPERATION_LOCK_COUNT; i++) {
+            operationLocks[i] = new Object();
+        }
+        this.decisionExecutor = createExecutor("afs-decision-", configuration.getAfsThreads(), configuration.getAfsQueueCapacity());
+        this.backgroundExecutor = createExecutor("afs-background-", configuration.getAfsBackgroundThreads(), configuration.getAfsBackgroundQueueCapacity());
+        Gauge.builder("webflow.afs.decision.queue.depth", decisionExecutor, executor -> executor.getQueue().size())
+                .description("Number of AFS decisions waiting for execution")
+                .register(meterRegistry);
+        Gauge.builder("webflow.afs.background.queue.depth", backgroundExecutor, executor -> executor.getQueue().size())
+                .description("Number of AFS background tasks waiting for execution")
+                .register(meterRegistry);
+        this.decisionTimer = Timer.builder("webflow.afs.decision.latency")
+                .description("Latency of AFS decisions obtained within the time budget")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("webflow.afs.decision.timeouts")
+                .description("Number of AFS decisions which were not available within the time budget")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("webflow.afs.decision.failures")
+                .description("Number of AFS decisions which failed or were rejected")
+                .register(meterRegistry);
+        this.failedClosedCounter = Counter.builder("webflow.afs.decision.failed.closed")
+                .description("Number of authentications rejected by the fail-closed policy")
+                .register(meterRegistry);
+        this.backgroundCompletedCounter = Counter.builder("webflow.afs.background.tasks")
+                .description("Number of AFS background tasks by result")
+                .tag("result", "completed")
+                .register(meterRegistry);
+        this.backgroundFailedCounter = Counter.builder("webflow.afs.background.tasks")
+                .description("Number of AFS background tasks by result")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.backgroundRejectedCounter = Counter.builder("webflow.afs.background.tasks")
+                .description("Number of AFS background tasks by result")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create executor for AFS tasks.
+     * @param threadNamePrefix Thread name prefix.
+     * @param threads Number of threads.
+     * @param queueCapacity Maximum number of tasks waiting for execution.
+     * @return Executor for AFS tasks.
+     */
+    private static ThreadPoolExecutor createExecutor(String threadNamePrefix, int threads, int queueCapacity) {
+        final int threadCount = Math.max(1, threads);
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+            final Thread thread = new Thread(runnable, threadNamePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
 
@@ -96,14 +196,20 @@ public class AfsIntegrationService {
      * @param username Username filled in by the user. Use null in case user is already authenticated.
      * @param afsAction AFS action to be executed.
      * @return Response from anti-fraud system.
+     * @throws CommunicationFailedException Thrown when the decision is not available and fail-closed policy is configured.
      */
-    public AfsResponse executeInitAction(String operationId, String username, AfsAction afsAction) {
-        return executeAfsAction(operationId, afsAction, Collections.emptyList(), null, username, null);
+    public AfsResponse executeInitAction(String operationId, String username, AfsAction afsAction) throws CommunicationFailedException {
+        PreparedAfsAction action = prepareAfsAction(operationId, afsAction, Collections.emptyList(), null, username, null);
+        if (action == null) {
+            // The default response is not applied
+            return new AfsResponse();
+        }
+        return executeDecision(action);
     }
 
     /**
      * Execute an anti-fraud system action. This method variant is used during step authentication.
-     * The response from AFS has no impact on Web Flow.
+     * The response from AFS has no impact on Web Flow, the action is executed asynchronously.
      *
      * @param operationId Operation ID.
      * @param afsAction AFS action to be executed.
@@ -112,115 +218,307 @@ public class AfsIntegrationService {
      * @param authStepResult Authentication step result.
      */
     public void executeAuthAction(String operationId, AfsAction afsAction, String username, List<AfsAuthInstrument> authInstruments, AuthStepResult authStepResult) {
-        executeAfsAction(operationId, afsAction, authInstruments, authStepResult, username, null);
+        PreparedAfsAction action = prepareAfsAction(operationId, afsAction, authInstruments, authStepResult, username, null);
+        if (action != null) {
+            submitInBackground(action, () -> executeAndRecordAfsAction(action));
+        }
     }
 
     /**
      * Execute an anti-fraud system action. This method variant is used during logout.
-     * The response from AFS has no impact on Web Flow.
+     * The response from AFS has no impact on Web Flow, the action is executed asynchronously.
      *
      * @param operationId Operation ID.
      * @param operationTerminationReason Reason why operation was terminated.
      */
     public void executeLogoutAction(String operationId, OperationTerminationReason operationTerminationReason) {
-        executeAfsAction(operationId, AfsAction.LOGOUT, Collections.emptyList(), null, null, operationTerminationReason);
+        PreparedAfsAction action = prepareAfsAction(operationId, AfsAction.LOGOUT, Collections.emptyList(), null, null, operationTerminationReason);
+        if (action != null) {
+            submitInBackground(action, () -> executeAndRecordAfsAction(action));
+        }
     }
 
     /**
-     * Execute a generic anti-fraud system action and return response.
+     * Prepare parameters of an anti-fraud system action. The parameters are prepared in the thread which handles
+     * the HTTP request, because request cookies and the operation detail cached in request scope are used.
      *
      * @param operationId Operation ID.
      * @param afsAction AFS action to be executed.
      * @param authInstruments Authentication instruments used in this step.
      * @param authStepResult Authentication step result.
+     * @param username Username filled in by the user.
      * @param operationTerminationReason Reason why operation was terminated.
+     * @return Prepared AFS action or null in case the AFS action should not be executed.
+     */
+    private PreparedAfsAction prepareAfsAction(String operationId, AfsAction afsAction, List<AfsAuthInstrument> authInstruments, AuthStepResult authStepResult, String username, OperationTerminationReason operationTerminationReason) {
+        if (!configuration.isAfsEnabled()) {
+            logger.debug("AFS integration is disabled");
+            return null;
+        }
+        logger.debug("AFS integration is enabled");
+        try {
+            // Retrieve operation together with previous AFS actions, so that an AFS action which is being recorded
+            // in Next Step is counted exactly once
+            final GetOperationDetailResponse operation;
+            final List<String> previousActions;
+            synchronized (getOperationLock(operationId)) {
+                operation = operationDetailCacheService.getOperationDetail(operationId);
+                previousActions = getPreviousAfsActions(operation);
+            }
+            messageTranslationService.translateFormData(operation.getFormData());
+            GetOperationConfigDetailResponse config = nextStepConfigurationCacheService.getOperationConfigDetail(operation.getOperationName());
+            if (!config.isAfsEnabled()) {
+                logger.debug("AFS integration is disabled for operation name: {}", operation.getOperationName());
+                return null;
+            }
+            logger.debug("AFS integration is enabled for operation name: {}", operation.getOperationName());
+            // Check that at least one previous AFS operation was triggered before executing LOGOUT action
+            if (afsAction == AfsAction.LOGOUT && !canExecuteLogout(previousActions)) {
+                logger.debug("AFS action for LOGOUT event is not executed because previous LOGIN_AUTH action is not available for operation: {}", operationId);
+                return null;
+            }
+            // Prepare all AFS request parameters
+            FormData formData = new FormDataConverter().fromOperationFormData(operation.getFormData());
+            ApplicationContext applicationContext = operation.getApplicationContext();
+            OperationContext operationContext = new OperationContext(operation.getOperationId(), operation.getOperationName(), operation.getOperationData(), operation.getExternalTransactionId(), formData, applicationContext);
+            AfsType afsType = configuration.getAfsType();
+            String clientIpAddress = operationSessionService.getOperationToSessionMapping(operation.getOperationId()).getClientIp();
+            int stepIndex = deriveStepIndex(previousActions, afsAction);
+            Map<String, Object> requestAfsExtras = prepareExtrasForAfs(operation);
+            AfsRequestParameters afsRequestParameters = new AfsRequestParameters(afsType, afsAction, clientIpAddress, stepIndex, username, authInstruments, authStepResult, operationTerminationReason);
+            return new PreparedAfsAction(operationId, operation.getUserId(), operation.getOrganizationId(), operationContext, afsRequestParameters, requestAfsExtras);
+        } catch (NextStepClientException ex) {
+            // AFS errors are not critical, Web Flow falls back to 2FA
+            logger.error("Error when obtaining operation configuration", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Obtain a decision of anti-fraud system within the configured time budget. The AFS action is recorded in Next Step
+     * asynchronously once the decision is available.
+     *
+     * @param action Prepared AFS action.
      * @return Response from anti-fraud system.
+     * @throws CommunicationFailedException Thrown when the decision is not available and fail-closed policy is configured.
      */
-    private AfsResponse executeAfsAction(String operationId, AfsAction afsAction, List<AfsAuthInstrument> authInstruments, AuthStepResult authStepResult, String username, OperationTerminationReason operationTerminationReason) {
-        if (configuration.isAfsEnabled()) {
-            logger.debug("AFS integration is enabled");
-            try {
-                // Retrieve operation
-                ObjectResponse<GetOperationDetailResponse> operationDetail = nextStepClient.getOperationDetail(operationId);
-                GetOperationDetailResponse operation = operationDetail.getResponseObject();
-                messageTranslationService.translateFormData(operation.getFormData());
-                ObjectResponse<GetOperationConfigDetailResponse> objectResponse = nextStepClient.getOperationConfigDetail(operation.getOperationName());
-                GetOperationConfigDetailResponse config = objectResponse.getResponseObject();
-                if (config.isAfsEnabled()) {
-                    logger.debug("AFS integration is enabled for operation name: {}", operation.getOperationName());
-                    // Check that at least one previous AFS operation was triggered before executing LOGOUT action
-                    if (afsAction == AfsAction.LOGOUT && !canExecuteLogout(operation)) {
-                        logger.debug("AFS action for LOGOUT event is not executed because previous LOGIN_AUTH action is not available for operation: {}", operationId);
-                        return new AfsResponse();
-                    }
-                    // Prepare all AFS request parameters
-                    String userId = operation.getUserId();
-                    String organizationId = operation.getOrganizationId();
-                    FormData formData = new FormDataConverter().fromOperationFormData(operation.getFormData());
-                    ApplicationContext applicationContext = operation.getApplicationContext();
-                    OperationContext operationContext = new OperationContext(operation.getOperationId(), operation.getOperationName(), operation.getOperationData(), operation.getExternalTransactionId(), formData, applicationContext);
-                    AfsType afsType = configuration.getAfsType();
-                    String clientIpAddress = operationSessionService.getOperationToSessionMapping(operation.getOperationId()).getClientIp();
-                    int stepIndex = deriveStepIndex(operation, afsAction);
-                    Map<String, Object> requestAfsExtras = prepareExtrasForAfs(operation);
-                    // AuthStepResult is null due to init action
-                    AfsRequestParameters afsRequestParameters = new AfsRequestParameters(afsType, afsAction, clientIpAddress, stepIndex, username, authInstruments, authStepResult, operationTerminationReason);
-                    logger.info("Executing AFS action: {}, user ID: {}, operation ID: {}", afsAction, operation.getUserId(), operation.getOperationId());
-                    ObjectResponse<AfsResponse> afsObjectResponse = dataAdapterClient.executeAfsAction(userId, organizationId, operationContext, afsRequestParameters, requestAfsExtras);
-                    AfsResponse response = afsObjectResponse.getResponseObject();
-                    // Save ASF request and response in Next Step
-                    String requestExtras = convertExtrasToString(requestAfsExtras);
-                    String responseExtras = convertExtrasToString(response.getExtras());
-                    nextStepClient.createAfsAction(operationId, afsAction.toString(), stepIndex, requestExtras, response.getAfsLabel(), response.isAfsResponseApplied(), responseExtras);
-                    logger.debug("AFS action succeeded: {}, user ID: {}, operation ID: {}", afsAction, operation.getUserId(), operation.getOperationId());
-                    return response;
-                } else {
-                    logger.debug("AFS integration is disabled for operation name: {}", operation.getOperationName());
-                }
+    private AfsResponse executeDecision(PreparedAfsAction action) throws CommunicationFailedException {
+        logger.info("Executing AFS action: {}, user ID: {}, operation ID: {}", action.getAfsAction(), action.userId, action.operationId);
+        final long timestampStarted = System.currentTimeMillis();
+        final Future<AfsResponse> future;
+        try {
+            future = decisionExecutor.submit(() -> callDataAdapter(action));
+        } catch (RejectedExecutionException ex) {
+            failureCounter.increment();
+            logger.warn("AFS action was rejected because the AFS decision queue is full: {}, operation ID: {}", action.getAfsAction(), action.operationId);
+            return handleMissingDecision();
+        }
+        try {
+            final AfsResponse response = future.get(configuration.getAfsTimeoutMs(), TimeUnit.MILLISECONDS);
+            final long latencyMs = System.currentTimeMillis() - timestampStarted;
+            decisionTimer.record(latencyMs, TimeUnit.MILLISECONDS);
+            submitInBackground(action, () -> recordAfsAction(action, response));
+            logger.debug("AFS action succeeded: {}, user ID: {}, operation ID: {}, latency: {} ms", action.getAfsAction(), action.userId, action.operationId, latencyMs);
+            return response;
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            timeoutCounter.increment();
+            logger.warn("AFS action timed out after {} ms: {}, operation ID: {}", configuration.getAfsTimeoutMs(), action.getAfsAction(), action.operationId);
+        } catch (ExecutionException ex) {
+            failureCounter.increment();
+            logger.error("Error when calling anti-fraud service", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            failureCounter.increment();
+            logger.warn("AFS action was interrupted: {}, operation ID: {}", action.getAfsAction(), action.operationId);
+        }
+        return handleMissingDecision();
+    }
 
-            // AFS errors are not critical, Web Flow falls back to 2FA
-            } catch (NextStepClientException ex) {
-                logger.error("Error when obtaining operation configuration", ex);
-            } catch (DataAdapterClientErrorException ex) {
-                logger.error("Error when calling anti-fraud service", ex);
-            }
-        } else {
-            logger.debug("AFS integration is disabled");
+    /**
+     * Apply the configured failure policy when decision of anti-fraud system is not available.
+     *
+     * @return Default response which is not applied in case the fail-open policy is configured.
+     * @throws CommunicationFailedException Thrown in case the fail-closed policy is configured.
+     */
+    private AfsResponse handleMissingDecision() throws CommunicationFailedException {
+        if (configuration.isAfsFailClosed()) {
+            failedClosedCounter.increment();
+            throw new CommunicationFailedException("Anti-fraud system decision is not available");
         }
-        // The default response is not applied
+        // The default response is not applied, Web Flow falls back to 2FA
         return new AfsResponse();
     }
 
     /**
-     * Determine whether LOGOUT AFS action is meaningful, a LOGIN_AUTH AFS action within same operation must be already present.
-     * @param operation Operation.
-     * @return Whether LOGOUT AFS action can be executed.
+     * Execute an AFS action whose response has no impact on Web Flow and record it in Next Step.
+     *
+     * @param action Prepared AFS action.
+     * @throws DataAdapterClientErrorException Thrown when calling anti-fraud service fails.
+     * @throws NextStepClientException Thrown when recording AFS action in Next Step fails.
+     */
+    private void executeAndRecordAfsAction(PreparedAfsAction action) throws DataAdapterClientErrorException, NextStepClientException {
+        logger.info("Executing AFS action: {}, user ID: {}, operation ID: {}", action.getAfsAction(), action.userId, action.operationId);
+        final AfsResponse response = callDataAdapter(action);
+        recordAfsAction(action, response);
+        logger.debug("AFS action succeeded: {}, user ID: {}, operation ID: {}", action.getAfsAction(), action.userId, action.operationId);
+    }
+
+    /**
+     * Call Data Adapter to execute the AFS action.
+     *
+     * @param action Prepared AFS action.
+     * @return Response from anti-fraud system.
+     * @throws DataAdapterClientErrorException Thrown when calling anti-fraud service fails.
+     */
+    private AfsResponse callDataAdapter(PreparedAfsAction action) throws DataAdapterClientErrorException {
+        ObjectResponse<AfsResponse> afsObjectResponse = dataAdapterClient.executeAfsAction(action.userId, action.organizationId, action.operationContext, action.parameters, action.extras);
+        return afsObjectResponse.getResponseObject();
+    }
+
+    /**
+     * Save AFS request and response in Next Step. The AFS action stops being pending atomically with recording it,
+     * previous AFS actions of the operation are not obtained in the meantime.
+     *
+     * @param action Prepared AFS action.
+     * @param response Response from anti-fraud system.
+     * @throws NextStepClientException Thrown when recording AFS action in Next Step fails.
+     */
+    private void recordAfsAction(PreparedAfsAction action, AfsResponse response) throws NextStepClientException {
+        String requestExtras = convertExtrasToString(action.extras);
+        String responseExtras = convertExtrasToString(response.getExtras());
+        synchronized (getOperationLock(action.operationId)) {
+            nextStepClient.createAfsAction(action.operationId, action.getAfsAction().toString(), action.parameters.getStepIndex(), requestExtras, response.getAfsLabel(), response.isAfsResponseApplied(), responseExtras);
+            removePendingAction(action);
+            // Force reload of operation detail including the recorded AFS action
+            operationDetailCacheService.invalidate(action.operationId);
+        }
+    }
+
+    /**
+     * Remove an AFS action from pending AFS actions of the operation. Removing an AFS action which is no longer
+     * pending has no effect.
+     *
+     * @param action Prepared AFS action.
+     */
+    private void removePendingAction(PreparedAfsAction action) {
+        pendingActions.computeIfPresent(action.operationId, (key, current) -> current.remove(action));
+    }
+
+    /**
+     * Get lock which guards previous AFS actions of an operation.
+     *
+     * @param operationId Operation ID.
+     * @return Lock of the operation.
+     */
+    private Object getOperationLock(String operationId) {
+        return operationLocks[Math.floorMod(operationId.hashCode(), OPERATION_LOCK_COUNT)];
+    }
+
+    /**
+     * Submit a background task for an AFS action. Background tasks of an operation are executed in the order
+     * of submission so that AFS actions are recorded in Next Step in the same order as they were triggered. The AFS
+     * action is tracked as pending until it is recorded or the task fails, so that step index and LOGOUT eligibility
+     * of following AFS actions are derived correctly before the action is recorded.
+     *
+     * @param action Prepared AFS action.
+     * @param task Background task.
+     */
+    private void submitInBackground(PreparedAfsAction action, BackgroundTask task) {
+        final String operationId = action.operationId;
+        final AfsAction afsAction = action.getAfsAction();
+        final PendingAfsActions pending = pendingActions.compute(operationId, (key, previous) -> {
+            final CompletableFuture<Void> previousTask = previous == null ? CompletableFuture.completedFuture(null) : previous.lastTask.exceptionally(ex -> null);
+            final List<PreparedAfsAction> actions = previous == null ? new ArrayList<>() : new ArrayList<>(previous.actions);
+            actions.add(action);
+            return new PendingAfsActions(actions, previousTask.thenRunAsync(() -> runInBackground(action, task), backgroundExecutor));
+        });
+        pending.lastTask.whenComplete((result, ex) -> {
+            if (ex != null) {
+                backgroundRejectedCounter.increment();
+                logger.warn("AFS action was rejected because the AFS background queue is full: {}, operation ID: {}", afsAction, operationId);
+            }
+            // AFS action which was not recorded is no longer pending
+            removePendingAction(action);
+        });
+        // Force reload of operation detail including AFS actions recorded in meantime
+        operationDetailCacheService.invalidate(operationId);
+    }
+
+    /**
+     * Run a background task for an AFS action.
+     *
+     * @param action Prepared AFS action.
+     * @param task Background task.
      */
-    private boolean canExecuteLogout(GetOperationDetailResponse operation) {
-        if (operation.getAfsActions().isEmpty()) {
-            return false;
+    private void runInBackground(PreparedAfsAction action, BackgroundTask task) {
+        try {
+            task.run();
+            backgroundCompletedCounter.increment();
+        } catch (DataAdapterClientErrorException ex) {
+            backgroundFailedCounter.increment();
+            logger.error("Error when calling anti-fraud service", ex);
+        } catch (NextStepClientException ex) {
+            backgroundFailedCounter.increment();
+            logger.error("Error when saving AFS action, operation ID: {}", action.operationId, ex);
+        } catch (RuntimeException ex) {
+            backgroundFailedCounter.increment();
+            logger.error(ex.getMessage(), ex);
         }
+    }
+
+    /**
+     * Get names of AFS actions which were already executed for an operation, including AFS actions which are pending
+     * in background.
+     *
+     * @param operation Operation.
+     * @return Names of previous AFS actions.
+     */
+    private List<String> getPreviousAfsActions(GetOperationDetailResponse operation) {
+        final List<String> actions = new ArrayList<>();
         for (AfsActionDetail detail: operation.getAfsActions()) {
-            if (AfsAction.LOGIN_AUTH.toString().equals(detail.getAction())) {
-                return true;
+            actions.add(detail.getAction());
+        }
+        final PendingAfsActions pending = pendingActions.get(operation.getOperationId());
+        if (pending != null) {
+            for (PreparedAfsAction action: pending.actions) {
+                actions.add(action.getAfsAction().toString());
             }
         }
-        return false;
+        return actions;
+    }
+
+    /**
+     * Stop the AFS executors.
+     */
+    @PreDestroy
+    public void shutdown() {
+        final int pendingCount = decisionExecutor.shutdownNow().size() + backgroundExecutor.shutdownNow().size();
+        if (pendingCount > 0) {
+            logger.warn("AFS executor was stopped, pending AFS actions: {}", pendingCount);
+        }
+    }
+
+    /**
+     * Determine whether LOGOUT AFS action is meaningful, a LOGIN_AUTH AFS action within same operation must be already present.
+     * @param previousActions Names of previous AFS actions.
+     * @return Whether LOGOUT AFS action can be executed.
+     */
+    private boolean canExecuteLogout(List<String> previousActions) {
+        return previousActions.contains(AfsAction.LOGIN_AUTH.toString());
     }
 
     /**
      * Derive step index for current AFS action.
-     * @param operation Operation.
+     * @param previousActions Names of previous AFS actions.
      * @param afsAction AFS action.
      * @return Step index of this AFS action.
      */
-    private int deriveStepIndex(GetOperationDetailResponse operation, AfsAction afsAction) {
+    private int deriveStepIndex(List<String> previousActions, AfsAction afsAction) {
         int stepIndex = 1;
-        if (operation.getAfsActions().isEmpty()) {
-            return stepIndex;
-        }
-        for (AfsActionDetail detail: operation.getAfsActions()) {
-            if (afsAction.toString().equals(detail.getAction())) {
+        for (String previousAction: previousActions) {
+            if (afsAction.toString().equals(previousAction)) {
                 stepIndex++;
             }
         }
@@ -283,4 +581,61 @@ public class AfsIntegrationService {
         }
     }
 
+    /**
+     * Background task for an AFS action.
+     */
+    @FunctionalInterface
+    private interface BackgroundTask {
+        void run() throws DataAdapterClientErrorException, NextStepClientException;
+    }
+
+    /**
+     * AFS action with parameters prepared for calling Data Adapter.
+     */
+    private static class PreparedAfsAction {
+        private final String operationId;
+        private final String userId;
+        private final String organizationId;
+        private final OperationContext operationContext;
+        private final AfsRequestParameters parameters;
+        private final Map<String, Object> extras;
+
+        PreparedAfsAction(String operationId, String userId, String organizationId, OperationContext operationContext, AfsRequestParameters parameters, Map<String, Object> extras) {
+            this.operationId = operationId;
+            this.userId = userId;
+            this.organizationId = organizationId;
+            this.operationContext = operationContext;
+            this.parameters = parameters;
+            this.extras = extras;
+        }
+
+        AfsAction getAfsAction() {
+            return parameters.getAfsAction();
+        }
+    }
+
+    /**
+     * AFS actions of an operation which are pending in background, together with the last submitted background task.
+     */
+    private static class PendingAfsActions {
+        private final List<PreparedAfsAction> actions;
+        private final CompletableFuture<Void> lastTask;
+
+        PendingAfsActions(List<PreparedAfsAction> actions, CompletableFuture<Void> lastTask) {
+            this.actions = Collections.unmodifiableList(actions);
+            this.lastTask = lastTask;
+        }
+
+        /**
+         * Remove a recorded or failed AFS action.
+         * @param action Recorded or failed AFS action.
+         * @return Remaining pending AFS actions or null in case no AFS action is pending.
+         */
+        PendingAfsActions remove(PreparedAfsAction action) {
+            final List<String> remaining = new ArrayList<>(actions);
+            remaining.remove(action);
+            return remaining.isEmpty() ? null : new PendingAfsActions(remaining, lastTask);
+        }
+    }
+
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This service handles retention of audit records written by Web Flow. The built-in cleanup of the audit library is
+ * not scheduled in Web Flow, audit records older than the configured retention period are deleted in small batches
+ * instead, so that audit tables shared with Next Step are not locked for a long time. The scheduled cleanup runs only
+ * on the Web Flow node which holds the audit retention lock.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class AuditRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditRetentionService.class);
+
+    private static final String LOCK_NAME = "audit-retention";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final WebFlowServicesConfiguration configuration;
+    private final SchedulerLockService schedulerLockService;
+
+    /**
+     * Service constructor.
+     * @param jdbcTemplate JDBC template.
+     * @param configuration Web Flow configuration.
+     * @param schedulerLockService Scheduler lock service.
+     */
+    @Autowired
+    public AuditRetentionService(JdbcTemplate jdbcTemplate, WebFlowServicesConfiguration configuration, SchedulerLockService schedulerLockService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.configuration = configuration;
+        this.schedulerLockService = schedulerLockService;
+    }
+
+    /**
+     * Remove expired audit records using the configured schedule.
+     */
+    @Scheduled(cron = "${powerauth.webflow.audit.retention.cron:0 0 3 * * *}")
+    public void scheduledCleanup() {
+        if (!configuration.isAuditRetentionEnabled()) {
+            return;
+        }
+        try {
+            if (!schedulerLockService.tryLock(LOCK_NAME, Duration.ofSeconds(configuration.getAuditRetentionLockSeconds()))) {
+                logger.debug("Audit retention cleanup is running on another node");
+                return;
+            }
+            try {
+                cleanup();
+            } finally {
+                schedulerLockService.unlock(LOCK_NAME);
+            }
+        } catch (DataAccessException ex) {
+            logger.error("Audit retention cleanup failed, error: {}", ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Delete audit records older than the configured retention period in batches, each batch is deleted using
+     * separate statements.
+     * @return Number of deleted audit records.
+     */
+    public int cleanup() {
+        final LocalDateTime cutoff = LocalDateTime.now().minusDays(configuration.getAuditRetentionDays());
+        final String tableNameAudit = configuration.getAuditTableNameLog();
+        final String tableNameParam = configuration.getAuditTableNameParam();
+        final int batchSize = Math.max(1, configuration.getAuditRetentionBatchSize());
+        final Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        final JdbcTemplate batchJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        batchJdbcTemplate.setMaxRows(batchSize);
+        int deletedCount = 0;
+        while (true) {
+            final List<String> auditLogIds = batchJdbcTemplate.queryForList("SELECT audit_log_id FROM " + tableNameAudit
+                    + " WHERE timestamp_created < ?", String.class, cutoffTimestamp);
+            if (auditLogIds.isEmpty()) {
+                break;
+            }
+            final MapSqlParameterSource parameters = new MapSqlParameterSource("auditLogIds", auditLogIds);
+            namedParameterJdbcTemplate.update("DELETE FROM " + tableNameParam + " WHERE audit_log_id IN (:auditLogIds)", parameters);
+            deletedCount += namedParameterJdbcTemplate.update("DELETE FROM " + tableNameAudit + " WHERE audit_log_id IN (:auditLogIds)", parameters);
+            if (auditLogIds.size() < batchSize) {
+                break;
+            }
+        }
+        logger.debug("Audit records older than {} were deleted, count: {}", cutoff, deletedCount);
+        return deletedCount;
+    }
+
+}
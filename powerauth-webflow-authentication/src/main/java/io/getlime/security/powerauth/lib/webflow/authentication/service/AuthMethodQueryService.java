@@ -15,10 +15,9 @@
  */
 package io.getlime.security.powerauth.lib.webflow.authentication.service;
 
-import com.wultra.security.powerauth.client.PowerAuthClient;
 import com.wultra.security.powerauth.client.model.error.PowerAuthClientException;
 import com.wultra.security.powerauth.client.v3.ActivationStatus;
-import com.wultra.security.powerauth.client.v3.GetActivationListForUserResponse;
+import com.wultra.security.powerauth.client.v3.GetActivationStatusResponse;
 import io.getlime.core.rest.model.base.response.ObjectResponse;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
@@ -47,17 +46,20 @@ public class AuthMethodQueryService {
     private static final Logger logger = LoggerFactory.getLogger(AuthMethodQueryService.class);
 
     private final NextStepClient nextStepClient;
-    private final PowerAuthClient powerAuthClient;
+    private final ActivationStatusCacheService activationStatusCacheService;
+    private final OperationDetailCacheService operationDetailCacheService;
 
     /**
      * Service constructor.
      * @param nextStepClient Next step client.
-     * @param powerAuthClient PowerAuth 2.0 client.
+     * @param activationStatusCacheService Activation status cache service.
+     * @param operationDetailCacheService Operation detail cache service.
      */
     @Autowired
-    public AuthMethodQueryService(NextStepClient nextStepClient, PowerAuthClient powerAuthClient) {
+    public AuthMethodQueryService(NextStepClient nextStepClient, ActivationStatusCacheService activationStatusCacheService, OperationDetailCacheService operationDetailCacheService) {
         this.nextStepClient = nextStepClient;
-        this.powerAuthClient = powerAuthClient;
+        this.activationStatusCacheService = activationStatusCacheService;
+        this.operationDetailCacheService = operationDetailCacheService;
     }
 
     /**
@@ -123,7 +125,7 @@ public class AuthMethodQueryService {
      * <ul>
      * <li>Non-SCA operations: POWERAUTH_TOKEN method is available as a next step for the operation.</li>
      * <li>SCA operations: Operation is among pending operations for mobile token.</li>
-     * <li>User has an ACTIVE activation in PowerAuth server and it matches configured activation ID in Next Step.</li>
+     * <li>Activation configured in Next Step is ACTIVE in PowerAuth server and it belongs to the user.</li>
      * </ul>
      *
      * @param userId User ID.
@@ -133,8 +135,7 @@ public class AuthMethodQueryService {
      */
     public boolean isMobileTokenAvailable(String userId, String operationId) throws NextStepClientException {
         // Non-SCA usage: check whether POWERAUTH_TOKEN method is available as next step for operation (used in operation review step)
-        ObjectResponse<GetOperationDetailResponse> objectResponseOperation = nextStepClient.getOperationDetail(operationId);
-        GetOperationDetailResponse operation = objectResponseOperation.getResponseObject();
+        GetOperationDetailResponse operation = operationDetailCacheService.getOperationDetail(operationId);
         boolean mobileTokenAvailableAsNextStep = false;
         for (AuthStep step: operation.getSteps()) {
             if (step.getAuthMethod() == AuthMethod.POWERAUTH_TOKEN) {
@@ -158,20 +159,18 @@ public class AuthMethodQueryService {
         // Retrieve activation ID configured for mobile token
         String configuredActivationId = getActivationIdForMobileTokenAuthMethod(userId);
 
-        // Check whether user has an ACTIVE activation and it matches configured activation
+        if (configuredActivationId == null || userId == null) {
+            return false;
+        }
+
+        // Check whether the configured activation is ACTIVE and it belongs to the user
         try {
-            List<GetActivationListForUserResponse.Activations> allActivations = powerAuthClient.getActivationListForUser(userId);
-            for (GetActivationListForUserResponse.Activations activation : allActivations) {
-                if (activation.getActivationStatus() == ActivationStatus.ACTIVE && activation.getActivationId().equals(configuredActivationId)) {
-                    // User has an active activation and it is the configured activation - mobile token is available
-                    return true;
-                }
-            }
+            final GetActivationStatusResponse activationStatus = activationStatusCacheService.getActivationStatus(configuredActivationId);
+            return activationStatus.getActivationStatus() == ActivationStatus.ACTIVE && userId.equals(activationStatus.getUserId());
         } catch (PowerAuthClientException ex) {
             logger.warn(ex.getMessage(), ex);
             return false;
         }
-        return false;
     }
 
 }
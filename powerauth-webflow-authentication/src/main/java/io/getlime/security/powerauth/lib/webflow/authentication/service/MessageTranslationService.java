@@ -26,11 +26,11 @@ import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.context.support.AbstractMessageSource;
 import org.springframework.stereotype.Service;
 
-import java.text.CharacterIterator;
-import java.text.StringCharacterIterator;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service which localizes and translates form data messages.
@@ -49,6 +49,13 @@ public class MessageTranslationService {
     private static final String MISSING_KEY_MESSAGE = "MISSING_LOCALIZATION_FOR_FIELD";
     private static final String MISSING_VALUE_MESSAGE = "MISSING_VALUE_FOR_FIELD";
 
+    // Limit for number of cached message templates, localized messages are bounded by resource bundles,
+    // the limit protects the cache against messages created for missing localization keys
+    private static final int MAX_CACHED_MESSAGE_TEMPLATES = 10000;
+
+    // Message templates parsed for the {id} notation, the cache key is the localized message
+    private final Map<String, MessageTemplate> messageTemplateCache = new ConcurrentHashMap<>();
+
     /**
      * Service constructor
      * @param i18NService I18N service.
@@ -218,8 +225,9 @@ public class MessageTranslationService {
     }
 
     /**
-     * Parse the message and resolve strings using the {id} notation.
-     * @param message Message to parse.
+     * Resolve strings in the message using the {id} notation. The message is parsed only once, parsed
+     * message templates are cached.
+     * @param message Message to translate.
      * @param valueMap Key-value map for translation.
      * @return Translated message.
      */
@@ -227,33 +235,94 @@ public class MessageTranslationService {
         if (message == null) {
             return null;
         }
-        CharacterIterator iterator = new StringCharacterIterator(message);
-        StringBuilder messageBuilder = new StringBuilder();
-        StringBuilder keyBuilder = new StringBuilder();
-        boolean betweenBrackets = false;
-        char c = iterator.first();
-        while (c != CharacterIterator.DONE) {
-            if (c == '{') {
-                betweenBrackets = true;
-                keyBuilder = new StringBuilder();
-            } else if (c == '}') {
-                String key = keyBuilder.toString();
-                String value = valueMap.get(key);
-                if (value == null) {
-                    value = MISSING_VALUE_MESSAGE+": "+key;
+        if (message.indexOf('{') == -1 && message.indexOf('}') == -1) {
+            // Message does not use the {id} notation
+            return message;
+        }
+        MessageTemplate template = messageTemplateCache.get(message);
+        if (template == null) {
+            template = MessageTemplate.parse(message);
+            if (messageTemplateCache.size() < MAX_CACHED_MESSAGE_TEMPLATES) {
+                messageTemplateCache.put(message, template);
+            }
+        }
+        return template.translate(valueMap);
+    }
+
+    /**
+     * Message parsed for the {id} notation into literal parts and keys. Literal parts and keys alternate,
+     * the template always starts and ends with a literal part.
+     */
+    private static final class MessageTemplate {
+
+        private final String[] literals;
+        private final String[] keys;
+        private final int literalsLength;
+
+        private MessageTemplate(String[] literals, String[] keys) {
+            this.literals = literals;
+            this.keys = keys;
+            int length = 0;
+            for (String literal: literals) {
+                length += literal.length();
+            }
+            this.literalsLength = length;
+        }
+
+        /**
+         * Parse the message for strings using the {id} notation.
+         * @param message Message to parse.
+         * @return Parsed message template.
+         */
+        static MessageTemplate parse(String message) {
+            final List<String> literals = new ArrayList<>();
+            final List<String> keys = new ArrayList<>();
+            final StringBuilder literalBuilder = new StringBuilder();
+            StringBuilder keyBuilder = new StringBuilder();
+            boolean betweenBrackets = false;
+            for (int i = 0; i < message.length(); i++) {
+                final char c = message.charAt(i);
+                if (c == '{') {
+                    betweenBrackets = true;
+                    keyBuilder = new StringBuilder();
+                } else if (c == '}') {
+                    // The key is kept after closing bracket, a repeated closing bracket resolves the same key
+                    literals.add(literalBuilder.toString());
+                    literalBuilder.setLength(0);
+                    keys.add(keyBuilder.toString());
+                    betweenBrackets = false;
+                } else {
+                    if (betweenBrackets) {
+                        keyBuilder.append(c);
+                    } else {
+                        literalBuilder.append(c);
+                    }
                 }
-                messageBuilder.append(value);
-                betweenBrackets = false;
-            } else {
-                if (betweenBrackets) {
-                    keyBuilder.append(c);
+            }
+            literals.add(literalBuilder.toString());
+            return new MessageTemplate(literals.toArray(new String[0]), keys.toArray(new String[0]));
+        }
+
+        /**
+         * Translate the message template using values for keys.
+         * @param valueMap Key-value map for translation.
+         * @return Translated message.
+         */
+        String translate(Map<String, String> valueMap) {
+            final StringBuilder messageBuilder = new StringBuilder(literalsLength + 16 * keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                messageBuilder.append(literals[i]);
+                final String value = valueMap.get(keys[i]);
+                if (value == null) {
+                    messageBuilder.append(MISSING_VALUE_MESSAGE).append(": ").append(keys[i]);
                 } else {
-                    messageBuilder.append(c);
+                    messageBuilder.append(value);
                 }
             }
-            c = iterator.next();
+            messageBuilder.append(literals[keys.length]);
+            return messageBuilder.toString();
         }
-        return messageBuilder.toString();
+
     }
-}
 
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationConfigDetailResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationConfigListResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOrganizationDetailResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOrganizationListResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.cache.RefreshAheadCache;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service which caches operation and organization configuration retrieved from Next Step. Cached values older
+ * than configured TTL are returned while they are refreshed in background. Cached values which are stale for
+ * a longer time than configured maximum stale time are loaded synchronously. The cached response objects are
+ * shared and must not be modified.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class NextStepConfigurationCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NextStepConfigurationCacheService.class);
+
+    private static final String OPERATION_CONFIG_LIST_KEY = "operationConfigList";
+    private static final String OPERATION_CONFIG_KEY_PREFIX = "operationConfig:";
+    private static final String ORGANIZATION_LIST_KEY = "organizationList";
+    private static final String ORGANIZATION_KEY_PREFIX = "organization:";
+
+    private final NextStepClient nextStepClient;
+    private final WebFlowServicesConfiguration configuration;
+
+    private final RefreshAheadCache<Object> cache;
+
+    /**
+     * Service constructor.
+     * @param nextStepClient Next Step client.
+     * @param configuration Web Flow configuration.
+     */
+    public NextStepConfigurationCacheService(NextStepClient nextStepClient, WebFlowServicesConfiguration configuration) {
+        this.nextStepClient = nextStepClient;
+        this.configuration = configuration;
+        // Stale values are kept when the refresh fails
+        this.cache = new RefreshAheadCache<>("nextstep-cache", System::currentTimeMillis, ex -> false);
+    }
+
+    /**
+     * Get operation configuration.
+     * @param operationName Operation name.
+     * @return Operation configuration.
+     * @throws NextStepClientException Thrown when communication with Next Step fails.
+     */
+    public GetOperationConfigDetailResponse getOperationConfigDetail(String operationName) throws NextStepClientException {
+        return get(OPERATION_CONFIG_KEY_PREFIX + operationName, () -> nextStepClient.getOperationConfigDetail(operationName).getResponseObject());
+    }
+
+    /**
+     * Get list of all operation configurations.
+     * @return List of operation configurations.
+     * @throws NextStepClientException Thrown when communication with Next Step fails.
+     */
+    public GetOperationConfigListResponse getOperationConfigList() throws NextStepClientException {
+        return get(OPERATION_CONFIG_LIST_KEY, () -> nextStepClient.getOperationConfigList().getResponseObject());
+    }
+
+    /**
+     * Get organization detail.
+     * @param organizationId Organization ID.
+     * @return Organization detail.
+     * @throws NextStepClientException Thrown when communication with Next Step fails.
+     */
+    public GetOrganizationDetailResponse getOrganizationDetail(String organizationId) throws NextStepClientException {
+        return get(ORGANIZATION_KEY_PREFIX + organizationId, () -> nextStepClient.getOrganizationDetail(organizationId).getResponseObject());
+    }
+
+    /**
+     * Get list of all organizations.
+     * @return List of organizations.
+     * @throws NextStepClientException Thrown when communication with Next Step fails.
+     */
+    public GetOrganizationListResponse getOrganizationList() throws NextStepClientException {
+        return get(ORGANIZATION_LIST_KEY, () -> nextStepClient.getOrganizationList().getResponseObject());
+    }
+
+    /**
+     * Invalidate all cached values.
+     */
+    public void invalidate() {
+        cache.invalidate();
+        logger.info("Cache of Next Step configuration was invalidated");
+    }
+
+    /**
+     * Get age of cached values in milliseconds.
+     * @return Map of cache keys and age of cached values in milliseconds.
+     */
+    public Map<String, Long> getCachedValueAges() {
+        return cache.getCachedValueAges();
+    }
+
+    /**
+     * Stop the background refresh of cached values.
+     */
+    @PreDestroy
+    public void shutdown() {
+        cache.shutdown();
+    }
+
+    /**
+     * Get cached value or load the value using the loader.
+     * @param key Cache key.
+     * @param loader Loader of the value.
+     * @param <T> Type of the value.
+     * @return Cached or loaded value.
+     * @throws NextStepClientException Thrown when communication with Next Step fails.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, RefreshAheadCache.Loader<T, NextStepClientException> loader) throws NextStepClientException {
+        if (!configuration.isNextStepCacheEnabled()) {
+            return loader.load();
+        }
+        final long ttl = TimeUnit.SECONDS.toMillis(configuration.getNextStepCacheTtlSeconds());
+        final long maxStale = TimeUnit.SECONDS.toMillis(configuration.getNextStepCacheMaxStaleSeconds());
+        // Stale value is returned while the value is refreshed in background
+        return (T) cache.get(key, ttl, ttl + maxStale, loader);
+    }
+
+}
@@ -48,6 +48,8 @@ public class OperationCancellationService {
     private final NextStepClient nextStepClient;
     private final AfsIntegrationService afsIntegrationService;
     private final PowerAuthOperationService powerAuthOperationService;
+    private final OperationDetailCacheService operationDetailCacheService;
+    private final OperationChangeNotificationService operationChangeNotificationService;
     private final OperationCancellationConverter operationCancellationConverter = new OperationCancellationConverter();
 
     /**
@@ -55,11 +57,15 @@ public class OperationCancellationService {
      * @param nextStepClient Next Step client.
      * @param afsIntegrationService AFS integration service.
      * @param powerAuthOperationService PowerAuth operation service.
+     * @param operationDetailCacheService Operation detail cache service.
+     * @param operationChangeNotificationService Operation change notification service.
      */
-    public OperationCancellationService(NextStepClient nextStepClient, AfsIntegrationService afsIntegrationService, PowerAuthOperationService powerAuthOperationService) {
+    public OperationCancellationService(NextStepClient nextStepClient, AfsIntegrationService afsIntegrationService, PowerAuthOperationService powerAuthOperationService, OperationDetailCacheService operationDetailCacheService, OperationChangeNotificationService operationChangeNotificationService) {
         this.nextStepClient = nextStepClient;
         this.afsIntegrationService = afsIntegrationService;
         this.powerAuthOperationService = powerAuthOperationService;
+        this.operationDetailCacheService = operationDetailCacheService;
+        this.operationChangeNotificationService = operationChangeNotificationService;
     }
 
     /**
@@ -71,8 +77,7 @@ public class OperationCancellationService {
      */
     public UpdateOperationResponse cancelOperation(String operationId, AuthMethod authMethod, OperationCancelReason cancelReason, boolean cancelPowerAuthOperation) throws CommunicationFailedException {
         try {
-            final ObjectResponse<GetOperationDetailResponse> operationResponse = nextStepClient.getOperationDetail(operationId);
-            final GetOperationDetailResponse operationDetail = operationResponse.getResponseObject();
+            final GetOperationDetailResponse operationDetail = operationDetailCacheService.getOperationDetail(operationId);
             return cancelOperation(operationDetail, authMethod, cancelReason, cancelPowerAuthOperation);
         } catch (NextStepClientException ex) {
             logger.error("Error occurred while canceling operation", ex);
@@ -112,6 +117,8 @@ public class OperationCancellationService {
                 }
                 final ApplicationContext applicationContext = operationDetail.getApplicationContext();
                 updateOperationResponse = nextStepClient.updateOperation(operationDetail.getOperationId(), operationDetail.getUserId(), operationDetail.getOrganizationId(), authMethod, Collections.emptyList(), AuthStepResult.CANCELED, cancelReason.toString(), null, applicationContext);
+                operationDetailCacheService.invalidate(operationDetail.getOperationId());
+                operationChangeNotificationService.notifyOperationChanged(operationDetail.getUserId());
                 return updateOperationResponse.getResponseObject();
             }
         } catch (NextStepClientException ex) {
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service which manages parked mobile token requests waiting for a change of pending operations of a user.
+ *
+ * The operation list of a parked request is checked again when Web Flow notifies about a change of operations
+ * of the user on this node, and periodically using the configured re-check interval. The periodic check detects
+ * operations which are created in Next Step by external systems and changes made on other Web Flow nodes.
+ * Each check uses a cheap change probe which only compares the version of pending operations, the operation list
+ * is loaded only after the probe detects a change. Checks, loads of the operation list and timeouts are executed
+ * using separate bounded executors, so that slow loads delay neither the checks nor the timeouts and the thread
+ * which changed the operation is not blocked. The number of parked requests is limited.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class OperationChangeNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationChangeNotificationService.class);
+
+    /**
+     * Time in milliseconds added to the container timeout, the request is completed by the scheduled timeout.
+     */
+    private static final long CONTAINER_TIMEOUT_GRACE_MS = 5000L;
+
+    private final WebFlowServicesConfiguration configuration;
+
+    private final Map<String, Set<Listener<?>>> listeners = new ConcurrentHashMap<>();
+    private final AtomicInteger listenerCount = new AtomicInteger();
+    private final ScheduledThreadPoolExecutor checkExecutor;
+    private final ThreadPoolExecutor loadExecutor;
+    private final ScheduledThreadPoolExecutor timeoutExecutor;
+
+    /**
+     * Service constructor.
+     * @param configuration Web Flow configuration.
+     */
+    public OperationChangeNotificationService(WebFlowServicesConfiguration configuration) {
+        this.configuration = configuration;
+        this.checkExecutor = new ScheduledThreadPoolExecutor(Math.max(1, configuration.getOperationListWaitThreads()),
+                createThreadFactory("operation-change-check-"));
+        this.checkExecutor.setRemoveOnCancelPolicy(true);
+        final int loadThreads = Math.max(1, configuration.getOperationListWaitLoadThreads());
+        this.loadExecutor = new ThreadPoolExecutor(loadThreads, loadThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, configuration.getOperationListWaitLoadQueueCapacity())),
+                createThreadFactory("operation-change-load-"));
+        this.timeoutExecutor = new ScheduledThreadPoolExecutor(1, createThreadFactory("operation-change-timeout-"));
+        this.timeoutExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Wait for a change of the operation list of the user. The change probe is called immediately, after
+     * a notification about a change of operations of the user and periodically. Once the change probe detects
+     * a change, the operation list is loaded and the request is completed unless the loaded response is
+     * 304 Not Modified. In case the operation list does not change before the configured timeout elapses,
+     * the request is completed with status code 304 Not Modified. When the maximum number of waiting requests
+     * is reached or the operation list cannot be loaded due to overload, the request is completed with status
+     * code 503 Service Unavailable.
+     * @param userId User ID.
+     * @param version Version of operation list known to the client.
+     * @param changeProbe Cheap check whether the version of the operation list differs from the version known to the client.
+     * @param loader Loader of the operation list response, returns status code 304 Not Modified when the version did not change.
+     * @param <T> Response body type.
+     * @return Deferred response with the operation list.
+     */
+    public <T> DeferredResult<ResponseEntity<T>> waitForChange(String userId, String version, Callable<Boolean> changeProbe, Callable<ResponseEntity<T>> loader) {
+        final long timeoutMs = configuration.getOperationListWaitTimeoutMs();
+        final DeferredResult<ResponseEntity<T>> deferredResult = new DeferredResult<>(timeoutMs + CONTAINER_TIMEOUT_GRACE_MS);
+        final Listener<T> listener = new Listener<>(userId, version, changeProbe, loader, deferredResult);
+        if (!addListener(listener)) {
+            logger.warn("Maximum number of waiting operation list requests was reached, user ID: {}", userId);
+            deferredResult.setResult(serviceUnavailable());
+            return deferredResult;
+        }
+        deferredResult.onTimeout(listener::completeNotModified);
+        deferredResult.onError(error -> removeListener(listener));
+        deferredResult.onCompletion(() -> removeListener(listener));
+        try {
+            listener.timeoutFuture = timeoutExecutor.schedule(listener::completeNotModified, timeoutMs, TimeUnit.MILLISECONDS);
+            final long recheckIntervalMs = configuration.getOperationListWaitRecheckIntervalMs();
+            if (recheckIntervalMs > 0) {
+                listener.recheckFuture = checkExecutor.scheduleWithFixedDelay(listener::check, recheckIntervalMs, recheckIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException ex) {
+            // The service is shutting down
+            removeListener(listener);
+            deferredResult.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            return deferredResult;
+        }
+        if (!listener.active.get()) {
+            // The listener was completed before the tasks were scheduled
+            listener.cancelTasks();
+        }
+        // The listener is registered before the operation list is checked, so that no change is missed,
+        // a changed operation list is loaded directly in the request thread
+        listener.check(true);
+        return deferredResult;
+    }
+
+    /**
+     * Notify listeners about a change of pending operations of the user.
+     * @param userId User ID.
+     */
+    public void notifyOperationChanged(String userId) {
+        if (userId == null) {
+            return;
+        }
+        final Set<Listener<?>> userListeners = listeners.get(userId);
+        if (userListeners == null) {
+            return;
+        }
+        logger.debug("Notifying listeners about change of operations, user ID: {}, listener count: {}", userId, userListeners.size());
+        for (Listener<?> listener: userListeners) {
+            try {
+                checkExecutor.execute(listener::check);
+            } catch (RejectedExecutionException ex) {
+                logger.warn("Notification about change of operations was rejected, user ID: {}", userId);
+            }
+        }
+    }
+
+    /**
+     * Get number of registered listeners.
+     * @return Number of registered listeners.
+     */
+    public int getListenerCount() {
+        return listenerCount.get();
+    }
+
+    /**
+     * Stop the notification executors.
+     */
+    @PreDestroy
+    public void shutdown() {
+        checkExecutor.shutdownNow();
+        loadExecutor.shutdownNow();
+        timeoutExecutor.shutdownNow();
+    }
+
+    /**
+     * Create a factory of daemon threads.
+     * @param namePrefix Thread name prefix.
+     * @return Thread factory.
+     */
+    private static ThreadFactory createThreadFactory(String namePrefix) {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Create response for a request which cannot be served due to overload.
+     * @param <T> Response body type.
+     * @return Response with status code 503 Service Unavailable.
+     */
+    private <T> ResponseEntity<T> serviceUnavailable() {
+        final long retryAfterSeconds = Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(configuration.getOperationListWaitTimeoutMs()));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds)).build();
+    }
+
+    /**
+     * Register a listener in case the maximum number of listeners is not reached.
+     * @param listener Listener to register.
+     * @return Whether the listener was registered.
+     */
+    private boolean addListener(Listener<?> listener) {
+        if (listenerCount.incrementAndGet() > configuration.getOperationListWaitMaxRequests()) {
+            listenerCount.decrementAndGet();
+            return false;
+        }
+        listener.active.set(true);
+        listeners.compute(listener.userId, (key, userListeners) -> {
+            final Set<Listener<?>> result = userListeners == null ? ConcurrentHashMap.newKeySet() : userListeners;
+            result.add(listener);
+            return result;
+        });
+        return true;
+    }
+
+    /**
+     * Remove a listener and cancel its scheduled tasks in case it is still registered.
+     * @param listener Listener to remove.
+     */
+    private void removeListener(Listener<?> listener) {
+        if (!listener.active.compareAndSet(true, false)) {
+            return;
+        }
+        listeners.computeIfPresent(listener.userId, (key, userListeners) -> {
+            userListeners.remove(listener);
+            return userListeners.isEmpty() ? null : userListeners;
+        });
+        listenerCount.decrementAndGet();
+        listener.cancelTasks();
+    }
+
+    /**
+     * Listener of a parked request waiting for a change of the operation list.
+     * @param <T> Response body type.
+     */
+    private final class Listener<T> {
+
+        private final String userId;
+        private final String version;
+        private final Callable<Boolean> changeProbe;
+        private final Callable<ResponseEntity<T>> loader;
+        private final DeferredResult<ResponseEntity<T>> deferredResult;
+
+        private final AtomicBoolean active = new AtomicBoolean();
+        private final AtomicBoolean checkRequested = new AtomicBoolean();
+        private final AtomicBoolean checkRunning = new AtomicBoolean();
+        private final AtomicBoolean loadRunning = new AtomicBoolean();
+
+        private volatile Future<?> timeoutFuture;
+        private volatile Future<?> recheckFuture;
+
+        private Listener(String userId, String version, Callable<Boolean> changeProbe, Callable<ResponseEntity<T>> loader, DeferredResult<ResponseEntity<T>> deferredResult) {
+            this.userId = userId;
+            this.version = version;
+            this.changeProbe = changeProbe;
+            this.loader = loader;
+            this.deferredResult = deferredResult;
+        }
+
+        /**
+         * Check whether the operation list changed using the change probe and start loading the operation list
+         * using the load executor in case of a change.
+         */
+        private void check() {
+            check(false);
+        }
+
+        /**
+         * Check whether the operation list changed using the change probe and load the operation list in case
+         * of a change. Concurrent checks of the same listener are merged, a check requested while another check
+         * or load is running is executed afterwards.
+         * @param loadInCallerThread Whether the operation list is loaded in the calling thread instead of the load executor.
+         */
+        private void check(boolean loadInCallerThread) {
+            checkRequested.set(true);
+            boolean loadInline = false;
+            while (checkRequested.get() && active.get() && !loadRunning.get() && checkRunning.compareAndSet(false, true)) {
+                try {
+                    while (active.get() && checkRequested.getAndSet(false)) {
+                        if (Boolean.TRUE.equals(changeProbe.call())) {
+                            if (loadInCallerThread) {
+                                loadRunning.set(true);
+                                loadInline = true;
+                            } else {
+                                startLoad();
+                            }
+                            break;
+                        }
+                    }
+                } catch (Exception ex) {
+                    fail(ex);
+                } finally {
+                    checkRunning.set(false);
+                }
+            }
+            if (loadInline) {
+                load();
+            }
+        }
+
+        /**
+         * Start loading the operation list using the load executor.
+         */
+        private void startLoad() {
+            loadRunning.set(true);
+            try {
+                loadExecutor.execute(this::load);
+            } catch (RejectedExecutionException ex) {
+                loadRunning.set(false);
+                logger.warn("Loading of operation list was rejected, user ID: {}", userId);
+                removeListener(this);
+                deferredResult.setResult(serviceUnavailable());
+            }
+        }
+
+        /**
+         * Load the operation list and complete the request in case the operation list changed.
+         */
+        private void load() {
+            try {
+                if (!active.get()) {
+                    return;
+                }
+                final ResponseEntity<T> response = loader.call();
+                if (response.getStatusCode() != HttpStatus.NOT_MODIFIED) {
+                    removeListener(this);
+                    deferredResult.setResult(response);
+                    return;
+                }
+            } catch (Exception ex) {
+                fail(ex);
+                return;
+            } finally {
+                loadRunning.set(false);
+            }
+            if (checkRequested.get()) {
+                // Checks requested while the operation list was loaded are executed by the check executor
+                try {
+                    checkExecutor.execute(this::check);
+                } catch (RejectedExecutionException ex) {
+                    logger.debug("Operation list check was rejected, user ID: {}", userId);
+                }
+            }
+        }
+
+        /**
+         * Complete the request with an error.
+         * @param ex Error which occurred while checking or loading the operation list.
+         */
+        private void fail(Exception ex) {
+            logger.debug("Operation list check failed, user ID: {}, error: {}", userId, ex.getMessage());
+            removeListener(this);
+            deferredResult.setErrorResult(ex);
+        }
+
+        /**
+         * Complete the request with status code 304 Not Modified.
+         */
+        private void completeNotModified() {
+            removeListener(this);
+            deferredResult.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build());
+        }
+
+        /**
+         * Cancel the scheduled timeout and periodic check.
+         */
+        private void cancelTasks() {
+            final Future<?> timeout = timeoutFuture;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            final Future<?> recheck = recheckFuture;
+            if (recheck != null) {
+                recheck.cancel(false);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Service which memoizes operation details obtained from Next Step for the lifetime of a single HTTP request.
+ * Memoized operations are stored as request attributes, so they are discarded together with the request. Each
+ * caller receives its own copy of the operation because callers modify the operation detail (e.g. filter steps
+ * or translate form data). Operation details are not memoized outside of HTTP request processing.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class OperationDetailCacheService {
+
+    private static final String OPERATION_DETAIL_CACHE_ATTRIBUTE = OperationDetailCacheService.class.getName() + ".OPERATIONS";
+
+    private final NextStepClient nextStepClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Service constructor.
+     * @param nextStepClient Next Step client.
+     */
+    public OperationDetailCacheService(NextStepClient nextStepClient) {
+        this.nextStepClient = nextStepClient;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * Get operation detail, the operation is obtained from Next Step only once during processing of an HTTP request.
+     * @param operationId Operation ID.
+     * @return Operation detail.
+     * @throws NextStepClientException Thrown when Next Step request fails.
+     */
+    public GetOperationDetailResponse getOperationDetail(String operationId) throws NextStepClientException {
+        final Map<String, GetOperationDetailResponse> operations = getRequestCache();
+        if (operations == null) {
+            return nextStepClient.getOperationDetail(operationId).getResponseObject();
+        }
+        GetOperationDetailResponse operation = operations.get(operationId);
+        if (operation == null) {
+            operation = nextStepClient.getOperationDetail(operationId).getResponseObject();
+            operations.put(operationId, operation);
+        }
+        return objectMapper.convertValue(operation, GetOperationDetailResponse.class);
+    }
+
+    /**
+     * Invalidate memoized operation detail, the method should be called after each update of the operation.
+     * @param operationId Operation ID.
+     */
+    public void invalidate(String operationId) {
+        final Map<String, GetOperationDetailResponse> operations = getRequestCache();
+        if (operations != null) {
+            operations.remove(operationId);
+        }
+    }
+
+    /**
+     * Get map of memoized operations for current HTTP request.
+     * @return Map of memoized operations or null in case no HTTP request is being processed.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, GetOperationDetailResponse> getRequestCache() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Map<String, GetOperationDetailResponse> operations = (Map<String, GetOperationDetailResponse>) requestAttributes.getAttribute(OPERATION_DETAIL_CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (operations == null) {
+            operations = new HashMap<>();
+            requestAttributes.setAttribute(OPERATION_DETAIL_CACHE_ATTRIBUTE, operations, RequestAttributes.SCOPE_REQUEST);
+        }
+        return operations;
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.lib.dataadapter.client.DataAdapterClient;
+import io.getlime.security.powerauth.lib.dataadapter.client.DataAdapterClientErrorException;
+import io.getlime.security.powerauth.lib.dataadapter.model.converter.FormDataConverter;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.FormData;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.OperationContext;
+import io.getlime.security.powerauth.lib.dataadapter.model.request.GetPAOperationMappingRequest;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.GetPAOperationMappingResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.ApplicationContext;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.OperationFormData;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthMethod;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import io.getlime.security.powerauth.lib.webflow.authentication.model.PendingOperationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Service which enriches pending operation lists with PowerAuth operation mapping and translated form data.
+ * Operation mappings are obtained concurrently in batches of the configured size and the form data of each operation
+ * is translated concurrently, all tasks are executed using a bounded executor. Enrichment of the whole list is limited
+ * by a configured time limit. Operations whose operation mapping is not obtained in time are returned with the original
+ * Next Step data and operations whose form data is not translated in time are returned with untranslated form data
+ * from the operation mapping, both are marked as degraded.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class OperationListEnrichmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationListEnrichmentService.class);
+
+    private final DataAdapterClient dataAdapterClient;
+    private final MessageTranslationService messageTranslationService;
+    private final WebFlowServicesConfiguration configuration;
+
+    private final FormDataConverter formDataConverter = new FormDataConverter();
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Service constructor.
+     * @param dataAdapterClient Data Adapter client.
+     * @param messageTranslationService Message translation service.
+     * @param configuration Web Flow configuration.
+     */
+    public OperationListEnrichmentService(DataAdapterClient dataAdapterClient, MessageTranslationService messageTranslationService, WebFlowServicesConfiguration configuration) {
+        this.dataAdapterClient = dataAdapterClient;
+        this.messageTranslationService = messageTranslationService;
+        this.configuration = configuration;
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final int threads = configuration.getOperationEnrichmentThreads();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(configuration.getOperationEnrichmentQueueCapacity()),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "operation-enrichment-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Enrich pending operations with PowerAuth operation mapping and translated form data.
+     * @param userId User ID.
+     * @param operations Pending operations.
+     * @param authMethodResolver Resolver of authentication method used for operation mapping.
+     * @return Enriched pending operation list.
+     * @throws DataAdapterClientErrorException Thrown when communication with Data Adapter fails.
+     */
+    public PendingOperationList enrichOperations(String userId, List<GetOperationDetailResponse> operations, Function<GetOperationDetailResponse, AuthMethod> authMethodResolver) throws DataAdapterClientErrorException {
+        final PendingOperationList result = new PendingOperationList();
+        if (operations.isEmpty()) {
+            return result;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(configuration.getOperationEnrichmentTimeoutMs());
+        final Locale locale = LocaleContextHolder.getLocale();
+
+        // Prepare operation mapping requests for all operations
+        final List<GetPAOperationMappingRequest> mappingRequests = new ArrayList<>();
+        for (GetOperationDetailResponse operation: operations) {
+            FormData formData = formDataConverter.fromOperationFormData(operation.getFormData());
+            ApplicationContext applicationContext = operation.getApplicationContext();
+            OperationContext operationContext = new OperationContext(operation.getOperationId(), operation.getOperationName(), operation.getOperationData(), operation.getExternalTransactionId(), formData, applicationContext);
+            mappingRequests.add(new GetPAOperationMappingRequest(userId, operation.getOrganizationId(), authMethodResolver.apply(operation), operationContext));
+        }
+        // Obtain operation mappings concurrently using Data Adapter requests with a limited number of operations
+        final int batchSize = Math.max(1, configuration.getOperationEnrichmentMappingBatchSize());
+        final List<Future<List<GetPAOperationMappingResponse>>> mappingFutures = new ArrayList<>();
+        for (int from = 0; from < mappingRequests.size(); from += batchSize) {
+            final List<GetPAOperationMappingRequest> batch = mappingRequests.subList(from, Math.min(from + batchSize, mappingRequests.size()));
+            mappingFutures.add(submit(() -> dataAdapterClient.getPAOperationMappingList(batch).getResponseObject().getMappings()));
+        }
+
+        // Convert and translate form data of each mapped operation concurrently
+        final GetPAOperationMappingResponse[] mappings = new GetPAOperationMappingResponse[operations.size()];
+        final List<Future<OperationFormData>> formDataFutures = new ArrayList<>(Collections.nCopies(operations.size(), null));
+        for (int batchIndex = 0; batchIndex < mappingFutures.size(); batchIndex++) {
+            final int from = batchIndex * batchSize;
+            try {
+                final List<GetPAOperationMappingResponse> batchMappings = await(mappingFutures.get(batchIndex), deadline);
+                for (int i = 0; i < batchMappings.size(); i++) {
+                    final GetPAOperationMappingResponse mapping = batchMappings.get(i);
+                    mappings[from + i] = mapping;
+                    formDataFutures.set(from + i, submit(() -> translateFormData(mapping.getFormData(), locale)));
+                }
+            } catch (TimeoutException ex) {
+                logger.warn("Operation mapping was not obtained within time limit, user ID: {}, operation count: {}", userId,
+                        Math.min(batchSize, operations.size() - from));
+            }
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            final GetOperationDetailResponse operation = operations.get(i);
+            final GetPAOperationMappingResponse mapping = mappings[i];
+            if (mapping == null) {
+                // Operation is returned with the original Next Step data
+                result.addDegradedOperation(operation.getOperationId());
+                result.addOperation(operation);
+                continue;
+            }
+            operation.setOperationName(mapping.getOperationName());
+            operation.setOperationData(mapping.getOperationData());
+            try {
+                operation.setFormData(await(formDataFutures.get(i), deadline));
+            } catch (TimeoutException ex) {
+                logger.warn("Form data was not translated within time limit, operation ID: {}", operation.getOperationId());
+                operation.setFormData(formDataConverter.fromFormData(mapping.getFormData()));
+                result.addDegradedOperation(operation.getOperationId());
+            }
+            result.addOperation(operation);
+        }
+        return result;
+    }
+
+    /**
+     * Convert form data from operation mapping and translate the form data messages using given locale.
+     * @param formData Form data from operation mapping.
+     * @param locale Locale used for translation.
+     * @return Translated operation form data.
+     */
+    private OperationFormData translateFormData(FormData formData, Locale locale) {
+        LocaleContextHolder.setLocale(locale);
+        try {
+            final OperationFormData operationFormData = formDataConverter.fromFormData(formData);
+            messageTranslationService.translateFormData(operationFormData);
+            return operationFormData;
+        } finally {
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    /**
+     * Submit a task to the enrichment executor. A rejected task is represented by a future which never completes,
+     * so that it is handled in the same way as a task which did not complete in time.
+     * @param task Task to submit.
+     * @param <T> Result type.
+     * @return Future representing the task.
+     */
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            logger.warn("Operation enrichment task was rejected, queue size: {}", executor.getQueue().size());
+            return new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Wait for result of the task until the deadline. The task is canceled in case it does not complete in time.
+     * @param future Future representing the task.
+     * @param deadline Deadline in nanoseconds as provided by {@link System#nanoTime()}.
+     * @param <T> Result type.
+     * @return Result of the task.
+     * @throws TimeoutException Thrown when the task does not complete in time.
+     * @throws DataAdapterClientErrorException Thrown when communication with Data Adapter fails.
+     */
+    private <T> T await(Future<T> future, long deadline) throws TimeoutException, DataAdapterClientErrorException {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new TimeoutException("Operation enrichment was interrupted");
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof DataAdapterClientErrorException) {
+                throw (DataAdapterClientErrorException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Stop the enrichment executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
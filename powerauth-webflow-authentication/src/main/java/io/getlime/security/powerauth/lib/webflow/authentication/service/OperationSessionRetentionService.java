@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This service handles retention of operation to HTTP session mappings. Mappings of finished operations and stale
+ * mappings of operations which were never finished are deleted in small batches, so that the table is not locked
+ * for a long time. Each batch is deleted by operation IDs with the retention condition repeated, so the cleanup
+ * can run concurrently on multiple Web Flow nodes. Mappings without the creation timestamp created by previous
+ * versions of Web Flow are not deleted, the timestamp is set using the database migration for Web Flow 1.1.0.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class OperationSessionRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationSessionRetentionService.class);
+
+    private static final String CONDITION_FINISHED = "result <> 'CONTINUE' AND timestamp_created < :cutoff";
+    private static final String CONDITION_STALE = "result = 'CONTINUE' AND timestamp_created < :cutoff";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final WebFlowServicesConfiguration configuration;
+
+    /**
+     * Service constructor.
+     * @param jdbcTemplate JDBC template.
+     * @param configuration Web Flow configuration.
+     */
+    @Autowired
+    public OperationSessionRetentionService(JdbcTemplate jdbcTemplate, WebFlowServicesConfiguration configuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.configuration = configuration;
+    }
+
+    /**
+     * Remove expired operation to HTTP session mappings using the configured schedule.
+     */
+    @Scheduled(cron = "${powerauth.webflow.operationSession.retention.cron:0 */15 * * * *}")
+    public void scheduledCleanup() {
+        if (!configuration.isOperationSessionRetentionEnabled()) {
+            return;
+        }
+        try {
+            cleanup();
+        } catch (DataAccessException ex) {
+            logger.error("Operation session retention cleanup failed, error: {}", ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Remove mappings of finished operations and stale mappings of unfinished operations older than the configured
+     * retention periods.
+     * @return Number of deleted operation to HTTP session mappings.
+     */
+    public int cleanup() {
+        final LocalDateTime now = LocalDateTime.now();
+        final int finishedCount = deleteInBatches(CONDITION_FINISHED, now.minusHours(configuration.getOperationSessionRetentionFinishedHours()));
+        final int staleCount = deleteInBatches(CONDITION_STALE, now.minusHours(configuration.getOperationSessionRetentionStaleHours()));
+        if (finishedCount > 0 || staleCount > 0) {
+            logger.info("Expired operation sessions were deleted, finished operations: {}, stale operations: {}", finishedCount, staleCount);
+        }
+        return finishedCount + staleCount;
+    }
+
+    /**
+     * Delete operation to HTTP session mappings matching the condition in batches, each batch is deleted using
+     * a separate statement.
+     * @param condition Condition for deleted mappings.
+     * @param cutoff Cutoff timestamp.
+     * @return Number of deleted mappings.
+     */
+    private int deleteInBatches(String condition, LocalDateTime cutoff) {
+        final int batchSize = Math.max(1, configuration.getOperationSessionRetentionBatchSize());
+        final NamedParameterJdbcTemplate batchJdbcTemplate = new NamedParameterJdbcTemplate(createBatchJdbcTemplate(batchSize));
+        final MapSqlParameterSource parameters = new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff));
+        int deletedCount = 0;
+        while (true) {
+            final List<String> operationIds = batchJdbcTemplate.queryForList("SELECT operation_id FROM wf_operation_session WHERE "
+                    + condition, parameters, String.class);
+            if (operationIds.isEmpty()) {
+                break;
+            }
+            final MapSqlParameterSource deleteParameters = new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("operationIds", operationIds);
+            deletedCount += namedParameterJdbcTemplate.update("DELETE FROM wf_operation_session WHERE operation_id IN (:operationIds) AND "
+                    + condition, deleteParameters);
+            if (operationIds.size() < batchSize) {
+                break;
+            }
+        }
+        return deletedCount;
+    }
+
+    /**
+     * Create JDBC template which limits the number of rows returned by queries.
+     * @param batchSize Maximum number of rows.
+     * @return JDBC template.
+     */
+    private JdbcTemplate createBatchJdbcTemplate(int batchSize) {
+        final JdbcTemplate batchJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        batchJdbcTemplate.setMaxRows(batchSize);
+        return batchJdbcTemplate;
+    }
+
+}
@@ -16,6 +16,7 @@
 package io.getlime.security.powerauth.lib.webflow.authentication.service;
 
 import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthResult;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
 import io.getlime.security.powerauth.lib.webflow.authentication.repository.OperationSessionRepository;
 import io.getlime.security.powerauth.lib.webflow.authentication.repository.model.entity.OperationSessionEntity;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,10 +26,19 @@ import javax.xml.bind.DatatypeConverter;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service that handles mapping of operations to sessions and operation identification.
+ * <p>
+ * Operation hashes and Web Socket session registrations are cached in a bounded in-memory cache. Only registrations
+ * with a Web Socket session ID are cached, because the Web Socket session ID, operation hash and client IP address
+ * of an operation do not change once the Web Socket session is registered. The cached values are thus valid on all
+ * Web Flow nodes. Cached values are evicted when the operation is complete.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
@@ -37,13 +47,43 @@ public class OperationSessionService {
 
     private final OperationSessionRepository operationSessionRepository;
 
+    /**
+     * Operation hashes by operation ID.
+     */
+    private final Map<String, String> operationHashes;
+
+    /**
+     * Web Socket session registrations by operation ID, the map and the indexes are guarded by the service instance.
+     */
+    private final Map<String, WebSocketRegistration> webSocketRegistrations;
+    private final Map<String, String> operationIdsByHash = new HashMap<>();
+    private final Map<String, String> operationIdsByWebSocketSessionId = new HashMap<>();
+
     /**
      * Service constructor.
      * @param operationSessionRepository Operation session repository.
+     * @param configuration Web Flow configuration.
      */
     @Autowired
-    public OperationSessionService(OperationSessionRepository operationSessionRepository) {
+    public OperationSessionService(OperationSessionRepository operationSessionRepository, WebFlowServicesConfiguration configuration) {
         this.operationSessionRepository = operationSessionRepository;
+        final int maxEntries = configuration.getOperationSessionCacheMaxEntries();
+        this.operationHashes = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.webSocketRegistrations = new LinkedHashMap<String, WebSocketRegistration>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, WebSocketRegistration> eldest) {
+                if (size() > maxEntries) {
+                    removeIndexes(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
     }
 
     /**
@@ -86,6 +126,9 @@ public class OperationSessionService {
             operationSessionEntity.setResult(result);
             operationSessionRepository.save(operationSessionEntity);
         }
+        if (result != AuthResult.CONTINUE) {
+            evictOperation(operationId);
+        }
     }
 
     /**
@@ -99,12 +142,13 @@ public class OperationSessionService {
         for (OperationSessionEntity previousOperation : previousOperations) {
             previousOperation.setResult(AuthResult.FAILED);
             operationSessionRepository.save(previousOperation);
+            evictOperation(previousOperation.getOperationId());
         }
         return previousOperations;
     }
 
     /**
-     * Generate hash for given operationId.
+     * Generate hash for given operationId. The hash is computed once per operation.
      * @param operationId Operation ID.
      * @return SHA-512 hash of operation ID.
      */
@@ -112,8 +156,14 @@ public class OperationSessionService {
         if (operationId == null) {
             return null;
         }
+        final String cachedHash = operationHashes.get(operationId);
+        if (cachedHash != null) {
+            return cachedHash;
+        }
         try {
-            return DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-512").digest(operationId.getBytes(StandardCharsets.UTF_8)));
+            final String operationHash = DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-512").digest(operationId.getBytes(StandardCharsets.UTF_8)));
+            operationHashes.put(operationId, operationHash);
+            return operationHash;
         } catch (NoSuchAlgorithmException e) {
             return null;
         }
@@ -125,8 +175,13 @@ public class OperationSessionService {
      * @return Web Socket Session ID or null if session was not found.
      */
     public String lookupWebSocketSessionIdByOperationHash(String operationHash) {
+        final WebSocketRegistration registration = getCachedRegistrationByHash(operationHash);
+        if (registration != null) {
+            return registration.webSocketSessionId;
+        }
         OperationSessionEntity operationSessionEntity = operationSessionRepository.findByOperationHash(operationHash);
         if (operationSessionEntity != null) {
+            cacheRegistration(operationSessionEntity);
             return operationSessionEntity.getWebSocketSessionId();
         }
         return null;
@@ -138,8 +193,13 @@ public class OperationSessionService {
      * @return Operation ID or null if session was not found.
      */
     public String lookupOperationIdByWebSocketSessionId(String webSocketSessionId) {
+        final WebSocketRegistration registration = getCachedRegistrationByWebSocketSessionId(webSocketSessionId);
+        if (registration != null) {
+            return registration.operationId;
+        }
         OperationSessionEntity operationSessionEntity = operationSessionRepository.findByWebSocketSessionId(webSocketSessionId);
         if (operationSessionEntity != null) {
+            cacheRegistration(operationSessionEntity);
             return operationSessionEntity.getOperationId();
         }
         return null;
@@ -153,6 +213,10 @@ public class OperationSessionService {
      * @return Whether Web Socket session ID was successfully registered for the operation.
      */
     public boolean registerWebSocketSession(String operationHash, String webSocketSessionId, String clientIpAddress) {
+        if (getCachedRegistrationByHash(operationHash) != null) {
+            // Registration failed because Web Socket session has been already registered
+            return false;
+        }
         OperationSessionEntity operationSessionEntity = operationSessionRepository.findByOperationHash(operationHash);
         if (operationSessionEntity == null) {
             // Registration failed because operation was not found
@@ -167,8 +231,82 @@ public class OperationSessionService {
         operationSessionEntity.setWebSocketSessionId(webSocketSessionId);
         operationSessionEntity.setClientIp(clientIpAddress);
         operationSessionRepository.save(operationSessionEntity);
+        cacheRegistration(operationSessionEntity);
         // Registration succeeded
         return true;
     }
 
+    /**
+     * Get cached Web Socket session registration by operation hash.
+     * @param operationHash Operation hash.
+     * @return Cached registration or null if registration is not cached.
+     */
+    private synchronized WebSocketRegistration getCachedRegistrationByHash(String operationHash) {
+        final String operationId = operationIdsByHash.get(operationHash);
+        return operationId == null ? null : webSocketRegistrations.get(operationId);
+    }
+
+    /**
+     * Get cached Web Socket session registration by Web Socket session ID.
+     * @param webSocketSessionId Web Socket session ID.
+     * @return Cached registration or null if registration is not cached.
+     */
+    private synchronized WebSocketRegistration getCachedRegistrationByWebSocketSessionId(String webSocketSessionId) {
+        final String operationId = operationIdsByWebSocketSessionId.get(webSocketSessionId);
+        return operationId == null ? null : webSocketRegistrations.get(operationId);
+    }
+
+    /**
+     * Cache Web Socket session registration of an active operation with a registered Web Socket session.
+     * @param entity Operation to session mapping entity.
+     */
+    private synchronized void cacheRegistration(OperationSessionEntity entity) {
+        if (entity.getWebSocketSessionId() == null || entity.getOperationHash() == null || entity.getResult() != AuthResult.CONTINUE) {
+            return;
+        }
+        final WebSocketRegistration registration = new WebSocketRegistration(entity.getOperationId(), entity.getOperationHash(), entity.getWebSocketSessionId());
+        final WebSocketRegistration previous = webSocketRegistrations.put(registration.operationId, registration);
+        if (previous != null) {
+            removeIndexes(previous);
+        }
+        operationIdsByHash.put(registration.operationHash, registration.operationId);
+        operationIdsByWebSocketSessionId.put(registration.webSocketSessionId, registration.operationId);
+    }
+
+    /**
+     * Evict cached values of a complete operation.
+     * @param operationId Operation ID.
+     */
+    private synchronized void evictOperation(String operationId) {
+        operationHashes.remove(operationId);
+        final WebSocketRegistration registration = webSocketRegistrations.remove(operationId);
+        if (registration != null) {
+            removeIndexes(registration);
+        }
+    }
+
+    /**
+     * Remove indexes of cached Web Socket session registration.
+     * @param registration Web Socket session registration.
+     */
+    private void removeIndexes(WebSocketRegistration registration) {
+        operationIdsByHash.remove(registration.operationHash);
+        operationIdsByWebSocketSessionId.remove(registration.webSocketSessionId);
+    }
+
+    /**
+     * Web Socket session registration of an operation.
+     */
+    private static class WebSocketRegistration {
+        private final String operationId;
+        private final String operationHash;
+        private final String webSocketSessionId;
+
+        WebSocketRegistration(String operationId, String operationHash, String webSocketSessionId) {
+            this.operationId = operationId;
+            this.operationHash = operationHash;
+            this.webSocketSessionId = webSocketSessionId;
+        }
+    }
+
 }
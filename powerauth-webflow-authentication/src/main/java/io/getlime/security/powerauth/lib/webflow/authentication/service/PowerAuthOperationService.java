@@ -55,6 +55,9 @@ public class PowerAuthOperationService {
     private final PowerAuthClient powerAuthClient;
     private final NextStepClient nextStepClient;
     private final AuthMethodResolutionService authMethodResolutionService;
+    private final OperationDetailCacheService operationDetailCacheService;
+    private final OperationChangeNotificationService operationChangeNotificationService;
+    private final ActivationStatusCacheService activationStatusCacheService;
 
     /**
      * Service constructor.
@@ -62,13 +65,19 @@ public class PowerAuthOperationService {
      * @param powerAuthClient PowerAuth client.
      * @param nextStepClient Next Step client.
      * @param authMethodResolutionService Authentication method resolution service.
+     * @param operationDetailCacheService Operation detail cache service.
+     * @param operationChangeNotificationService Operation change notification service.
+     * @param activationStatusCacheService Activation status cache service.
      */
     @Autowired
-    public PowerAuthOperationService(WebFlowServicesConfiguration configuration, PowerAuthClient powerAuthClient, NextStepClient nextStepClient, AuthMethodResolutionService authMethodResolutionService) {
+    public PowerAuthOperationService(WebFlowServicesConfiguration configuration, PowerAuthClient powerAuthClient, NextStepClient nextStepClient, AuthMethodResolutionService authMethodResolutionService, OperationDetailCacheService operationDetailCacheService, OperationChangeNotificationService operationChangeNotificationService, ActivationStatusCacheService activationStatusCacheService) {
         this.configuration = configuration;
         this.powerAuthClient = powerAuthClient;
         this.nextStepClient = nextStepClient;
         this.authMethodResolutionService = authMethodResolutionService;
+        this.operationDetailCacheService = operationDetailCacheService;
+        this.operationChangeNotificationService = operationChangeNotificationService;
+        this.activationStatusCacheService = activationStatusCacheService;
     }
 
     /**
@@ -99,6 +108,7 @@ public class PowerAuthOperationService {
             boolean approvalFailed = false;
             GetActivationStatusResponse status = powerAuthClient.getActivationStatus(activationId);
             if (status.getActivationStatus() != ActivationStatus.ACTIVE) {
+                activationStatusCacheService.invalidate(activationId);
                 approvalFailed = true;
             }
 
@@ -196,6 +206,7 @@ public class PowerAuthOperationService {
             boolean rejectFailed = false;
             GetActivationStatusResponse status = powerAuthClient.getActivationStatus(activationId);
             if (status.getActivationStatus() != ActivationStatus.ACTIVE) {
+                activationStatusCacheService.invalidate(activationId);
                 rejectFailed = true;
             }
 
@@ -318,6 +329,8 @@ public class PowerAuthOperationService {
             nextStepClient.updateOperation(operation.getOperationId(), operation.getUserId(),
                     operation.getOrganizationId(), getAuthMethod(operation), Collections.singletonList(AuthInstrument.POWERAUTH_TOKEN),
                     AuthStepResult.AUTH_METHOD_FAILED, null, null, operation.getApplicationContext());
+            operationDetailCacheService.invalidate(operation.getOperationId());
+            operationChangeNotificationService.notifyOperationChanged(operation.getUserId());
         } catch (NextStepClientException ex) {
             logger.warn(ex.getMessage(), ex);
         }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * This service handles locks of scheduled jobs which should run only on a single Web Flow node at a time. Locks are
+ * stored in table wf_scheduler_lock, a lock is acquired by the node which updates the lock record after the previous
+ * lock expired. A lock expires after the given duration even when the node holding the lock is terminated.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Service
+public class SchedulerLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLockService.class);
+
+    private static final String UPDATE_LOCK = "UPDATE wf_scheduler_lock SET lock_until = ?, timestamp_locked = ?, locked_by = ? WHERE lock_name = ? AND lock_until <= ?";
+    private static final String INSERT_LOCK = "INSERT INTO wf_scheduler_lock (lock_name, lock_until, timestamp_locked, locked_by) VALUES (?, ?, ?, ?)";
+    private static final String RELEASE_LOCK = "UPDATE wf_scheduler_lock SET lock_until = ? WHERE lock_name = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Identification of this node, the node name is complemented with a random identifier to distinguish nodes
+     * running with the same process ID on the same host name.
+     */
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID();
+
+    /**
+     * Service constructor.
+     * @param jdbcTemplate JDBC template.
+     */
+    @Autowired
+    public SchedulerLockService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Try to acquire a lock.
+     * @param lockName Lock name.
+     * @param lockDuration Maximum duration of the lock, the lock expires after this duration in case it is not released.
+     * @return Whether the lock was acquired.
+     */
+    public boolean tryLock(String lockName, Duration lockDuration) {
+        final LocalDateTime now = LocalDateTime.now();
+        final Timestamp timestampNow = Timestamp.valueOf(now);
+        final Timestamp lockUntil = Timestamp.valueOf(now.plus(lockDuration));
+        if (jdbcTemplate.update(UPDATE_LOCK, lockUntil, timestampNow, nodeId, lockName, timestampNow) == 1) {
+            return true;
+        }
+        try {
+            // Lock record is created by the first node which acquires the lock
+            jdbcTemplate.update(INSERT_LOCK, lockName, lockUntil, timestampNow, nodeId);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            logger.debug("Lock is held by another node, lock name: {}", lockName);
+            return false;
+        }
+    }
+
+    /**
+     * Release a lock acquired by this node.
+     * @param lockName Lock name.
+     */
+    public void unlock(String lockName) {
+        jdbcTemplate.update(RELEASE_LOCK, Timestamp.valueOf(LocalDateTime.now()), lockName, nodeId);
+    }
+
+}
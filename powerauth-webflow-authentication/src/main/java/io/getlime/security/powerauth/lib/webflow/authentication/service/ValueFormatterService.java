@@ -35,17 +35,28 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
- * Service used for formatting form field attributes.
+ * Service used for formatting form field attributes. Formatters are cached per locale and pattern. Number formats
+ * are not thread-safe, so the cached number formats are used as prototypes which are cloned for each use. Amount
+ * formats keep internal formatting state and cannot be cloned, so access to a cached amount format is synchronized.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
 @Service
 public class ValueFormatterService {
 
+    private static final Pattern DATE_PATTERN = Pattern.compile("[0-9]{4}-[0-9]{2}-[0-9]{2}");
+
     private final I18NService i18NService;
 
+    private final Map<Locale, DateTimeFormatter> dateFormatters = new ConcurrentHashMap<>();
+    private final Map<Locale, NumberFormat> numberFormats = new ConcurrentHashMap<>();
+    private final Map<Locale, Map<String, MonetaryAmountFormat>> amountFormats = new ConcurrentHashMap<>();
+
     /**
      * Constructor.
      * @param i18NService I18N service.
@@ -174,19 +185,19 @@ public class ValueFormatterService {
         } catch (NoSuchMessageException ex) {
             // pattern is not specified - use default pattern
         }
-        final MonetaryAmountFormat format;
         String localizedCurrencyName = amountAttribute.getCurrency();
         try {
             localizedCurrencyName = messageSource.getMessage("currency." + amountAttribute.getCurrency() + ".name", null, locale);
         } catch (NoSuchMessageException ex) {
             // currency is not localized - display it as it was sent in the operation
         }
-        format = MonetaryFormats.getAmountFormat(
-                AmountFormatQueryBuilder.of(locale)
-                        .set("pattern", pattern)
-                        .build());
+        final MonetaryAmountFormat format = getAmountFormat(locale, pattern);
+        final String formattedAmount;
+        synchronized (format) {
+            formattedAmount = format.format(amount);
+        }
         // append localized currency name
-        amountAttribute.addFormattedValue("amount", format.format(amount));
+        amountAttribute.addFormattedValue("amount", formattedAmount);
         amountAttribute.addFormattedValue("currency", localizedCurrencyName);
     }
 
@@ -211,7 +222,7 @@ public class ValueFormatterService {
         if (number==null) {
             return "";
         }
-        NumberFormat numberFormat = NumberFormat.getNumberInstance(locale);
+        final NumberFormat numberFormat = (NumberFormat) numberFormats.computeIfAbsent(locale, NumberFormat::getNumberInstance).clone();
         return numberFormat.format(number.doubleValue());
     }
 
@@ -225,17 +236,33 @@ public class ValueFormatterService {
         if (date == null) {
             return "";
         }
-        if (date.matches("[0-9]{4}-[0-9]{2}-[0-9]{2}")) {
+        if (DATE_PATTERN.matcher(date).matches()) {
             // supported date format for localization
             int year = Integer.parseInt(date.substring(0, 4));
             int month = Integer.parseInt(date.substring(5, 7));
             int day = Integer.parseInt(date.substring(8, 10));
             LocalDate localDate = LocalDate.of(year, month, day);
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(locale);
+            final DateTimeFormatter dateFormatter = dateFormatters.computeIfAbsent(locale, l -> DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(l));
             return localDate.format(dateFormatter);
         }
         // in case format is not supported, keep date as is, this is not an error
         return date;
     }
 
+    /**
+     * Get amount format for given locale and pattern. The amount format is shared, the caller must synchronize
+     * access to the amount format.
+     * @param locale Used locale.
+     * @param pattern Amount pattern.
+     * @return Amount format.
+     */
+    private MonetaryAmountFormat getAmountFormat(Locale locale, String pattern) {
+        return amountFormats
+                .computeIfAbsent(locale, l -> new ConcurrentHashMap<>())
+                .computeIfAbsent(pattern, p -> MonetaryFormats.getAmountFormat(
+                        AmountFormatQueryBuilder.of(locale)
+                                .set("pattern", p)
+                                .build()));
+    }
+
 }
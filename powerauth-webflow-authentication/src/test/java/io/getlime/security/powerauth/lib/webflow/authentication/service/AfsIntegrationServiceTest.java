@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.core.rest.model.base.response.ObjectResponse;
+import io.getlime.security.powerauth.lib.dataadapter.client.DataAdapterClient;
+import io.getlime.security.powerauth.lib.dataadapter.client.DataAdapterClientErrorException;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.AfsAction;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.AfsAuthInstrument;
+import io.getlime.security.powerauth.lib.dataadapter.model.enumeration.AfsType;
+import io.getlime.security.powerauth.lib.dataadapter.model.request.AfsRequestParameters;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.AfsResponse;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.AfsActionDetail;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthResult;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthStepResult;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationConfigDetailResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import io.getlime.security.powerauth.lib.webflow.authentication.exception.CommunicationFailedException;
+import io.getlime.security.powerauth.lib.webflow.authentication.repository.model.entity.OperationSessionEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for obtaining anti-fraud system decisions within the time budget and for the failure policies.
+ */
+class AfsIntegrationServiceTest {
+
+    private static final String OPERATION_ID = "operation-1";
+    private static final String OPERATION_NAME = "login";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<AfsActionDetail> recordedActions = new CopyOnWriteArrayList<>();
+
+    private WebFlowServicesConfiguration configuration;
+    private NextStepClient nextStepClient;
+    private DataAdapterClient dataAdapterClient;
+    private SimpleMeterRegistry meterRegistry;
+    private AfsIntegrationService afsIntegrationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        configuration = mock(WebFlowServicesConfiguration.class);
+        when(configuration.isAfsEnabled()).thenReturn(true);
+        when(configuration.getAfsType()).thenReturn(AfsType.THREAT_MARK);
+        when(configuration.getAfsTimeoutMs()).thenReturn(200L);
+        when(configuration.getAfsThreads()).thenReturn(1);
+        when(configuration.getAfsQueueCapacity()).thenReturn(10);
+        when(configuration.getAfsBackgroundThreads()).thenReturn(1);
+        when(configuration.getAfsBackgroundQueueCapacity()).thenReturn(10);
+
+        final OperationDetailCacheService operationDetailCacheService = mock(OperationDetailCacheService.class);
+        when(operationDetailCacheService.getOperationDetail(OPERATION_ID)).thenAnswer(invocation -> createOperation());
+        final NextStepConfigurationCacheService nextStepConfigurationCacheService = mock(NextStepConfigurationCacheService.class);
+        final GetOperationConfigDetailResponse operationConfig = new GetOperationConfigDetailResponse();
+        operationConfig.setOperationName(OPERATION_NAME);
+        operationConfig.setAfsEnabled(true);
+        when(nextStepConfigurationCacheService.getOperationConfigDetail(OPERATION_NAME)).thenReturn(operationConfig);
+        final OperationSessionService operationSessionService = mock(OperationSessionService.class);
+        when(operationSessionService.getOperationToSessionMapping(OPERATION_ID)).thenReturn(new OperationSessionEntity(OPERATION_ID, "session-1", AuthResult.CONTINUE));
+
+        nextStepClient = mock(NextStepClient.class);
+        doAnswer(invocation -> {
+            final AfsActionDetail recordedAction = new AfsActionDetail();
+            recordedAction.setAction(invocation.getArgument(1));
+            recordedAction.setStepIndex(invocation.getArgument(2));
+            recordedActions.add(recordedAction);
+            return null;
+        }).when(nextStepClient).createAfsAction(any(), any(), anyInt(), any(), any(), anyBoolean(), any());
+        dataAdapterClient = mock(DataAdapterClient.class);
+        when(dataAdapterClient.executeAfsAction(any(), any(), any(), any(), any())).thenReturn(new ObjectResponse<>(createAfsResponse()));
+        meterRegistry = new SimpleMeterRegistry();
+        afsIntegrationService = new AfsIntegrationService(configuration, nextStepClient, dataAdapterClient, operationSessionService,
+                mock(MessageTranslationService.class), nextStepConfigurationCacheService, operationDetailCacheService, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        afsIntegrationService.shutdown();
+    }
+
+    @Test
+    void decisionWithinBudget() throws Exception {
+        final AfsResponse response = afsIntegrationService.executeInitAction(OPERATION_ID, "test_user_1", AfsAction.LOGIN_INIT);
+        assertTrue(response.isAfsResponseApplied());
+        assertEquals("afs-label", response.getAfsLabel());
+        // The decision is recorded in Next Step in background
+        verify(nextStepClient, timeout(5000)).createAfsAction(eq(OPERATION_ID), eq("LOGIN_INIT"), eq(1), any(), eq("afs-label"), eq(true), any());
+        assertEquals(1L, meterRegistry.get("webflow.afs.decision.latency").timer().count());
+    }
+
+    @Test
+    void budgetExpiredFailOpen() throws Exception {
+        blockDataAdapter(AfsAction.LOGIN_INIT);
+        final AfsResponse response = afsIntegrationService.executeInitAction(OPERATION_ID, "test_user_1", AfsAction.LOGIN_INIT);
+        // Default response is not applied, Web Flow falls back to 2FA
+        assertFalse(response.isAfsResponseApplied());
+        assertEquals(1.0, counterValue("webflow.afs.decision.timeouts"));
+        assertEquals(0.0, counterValue("webflow.afs.decision.failed.closed"));
+        verify(nextStepClient, never()).createAfsAction(any(), any(), anyInt(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void budgetExpiredFailClosed() throws Exception {
+        when(configuration.isAfsFailClosed()).thenReturn(true);
+        blockDataAdapter(AfsAction.LOGIN_INIT);
+        assertThrows(CommunicationFailedException.class, () -> afsIntegrationService.executeInitAction(OPERATION_ID, "test_user_1", AfsAction.LOGIN_INIT));
+        assertEquals(1.0, counterValue("webflow.afs.decision.timeouts"));
+        assertEquals(1.0, counterValue("webflow.afs.decision.failed.closed"));
+    }
+
+    @Test
+    void dataAdapterErrorFailOpen() throws Exception {
+        when(dataAdapterClient.executeAfsAction(any(), any(), any(), any(), any())).thenThrow(new DataAdapterClientErrorException());
+        final AfsResponse response = afsIntegrationService.executeInitAction(OPERATION_ID, "test_user_1", AfsAction.LOGIN_INIT);
+        assertFalse(response.isAfsResponseApplied());
+        assertEquals(1.0, counterValue("webflow.afs.decision.failures"));
+    }
+
+    @Test
+    void dataAdapterErrorFailClosed() throws Exception {
+        when(configuration.isAfsFailClosed()).thenReturn(true);
+        when(dataAdapterClient.executeAfsAction(any(), any(), any(), any(), any())).thenThrow(new DataAdapterClientErrorException());
+        assertThrows(CommunicationFailedException.class, () -> afsIntegrationService.executeInitAction(OPERATION_ID, "test_user_1", AfsAction.LOGIN_INIT));
+        assertEquals(1.0, counterValue("webflow.afs.decision.failed.closed"));
+    }
+
+    @Test
+    void decisionNotDelayedByBackgroundActions() throws Exception {
+        blockDataAdapter(AfsAction.LOGIN_AUTH);
+        // The only background thread is blocked and further background actions wait in the queue, the decision uses
+        // its own thread
+        for (int i = 0; i < 5; i++) {
+            afsIntegrationService.executeAuthAction(OPERATION_ID, AfsAction.LOGIN_AUTH, "test_user_1",
+                    Collections.singletonList(AfsAuthInstrument.CREDENTIAL), AuthStepResult.CONFIRMED);
+        }
+        final AfsResponse response = afsIntegrationService.executeInitAction(OPERATION_ID, "test_user_1", AfsAction.APPROVAL_INIT);
+        assertTrue(response.isAfsResponseApplied());
+        assertEquals(0.0, counterValue("webflow.afs.decision.timeouts"));
+    }
+
+    @Test
+    void recordedActionCountedOnce() throws Exception {
+        afsIntegrationService.executeInitAction(OPERATION_ID, "test_user_1", AfsAction.LOGIN_INIT);
+        verify(nextStepClient, timeout(5000)).createAfsAction(eq(OPERATION_ID), eq("LOGIN_INIT"), eq(1), any(), any(), anyBoolean(), any());
+        // The recorded AFS action is no longer pending, it is counted only using the operation detail
+        afsIntegrationService.executeInitAction(OPERATION_ID, "test_user_1", AfsAction.LOGIN_INIT);
+        verify(nextStepClient, timeout(5000)).createAfsAction(eq(OPERATION_ID), eq("LOGIN_INIT"), eq(2), any(), any(), anyBoolean(), any());
+        verify(nextStepClient, never()).createAfsAction(eq(OPERATION_ID), eq("LOGIN_INIT"), eq(3), any(), any(), anyBoolean(), any());
+    }
+
+    /**
+     * Block calls of Data Adapter for given AFS action until the test completes.
+     * @param blockedAction Blocked AFS action.
+     */
+    private void blockDataAdapter(AfsAction blockedAction) throws DataAdapterClientErrorException {
+        when(dataAdapterClient.executeAfsAction(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            if (invocation.<AfsRequestParameters>getArgument(3).getAfsAction() == blockedAction) {
+                release.await();
+            }
+            return new ObjectResponse<>(createAfsResponse());
+        });
+    }
+
+    private double counterValue(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private GetOperationDetailResponse createOperation() {
+        final GetOperationDetailResponse operation = new GetOperationDetailResponse();
+        operation.setOperationId(OPERATION_ID);
+        operation.setOperationName(OPERATION_NAME);
+        operation.setUserId("test_user_1");
+        operation.setResult(AuthResult.CONTINUE);
+        operation.getAfsActions().addAll(recordedActions);
+        return operation;
+    }
+
+    private AfsResponse createAfsResponse() {
+        return new AfsResponse(true, "afs-label", null, Collections.emptyMap());
+    }
+
+}
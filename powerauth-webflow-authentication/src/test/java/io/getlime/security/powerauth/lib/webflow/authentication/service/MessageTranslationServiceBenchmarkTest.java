@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.app.webflow.i18n.I18NService;
+import io.getlime.security.powerauth.app.webflow.i18n.ReloadableResourceBundleMessageSourceWithListing;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.OperationFormData;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.attribute.OperationFormFieldAttributeFormatted;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.ValueFormatType;
+import io.getlime.security.powerauth.lib.nextstep.model.exception.InvalidOperationDataException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Micro-benchmark for translation of operation form data with 50 attributes. The benchmark is executed only
+ * using the benchmark Maven profile, translation results are verified in the regular test suite.
+ */
+class MessageTranslationServiceBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageTranslationServiceBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final int MEASURED_ITERATIONS = 10000;
+
+    private static MessageTranslationService messageTranslationService;
+
+    @BeforeAll
+    static void setUp() {
+        final ReloadableResourceBundleMessageSourceWithListing messageSource = new ReloadableResourceBundleMessageSourceWithListing();
+        messageSource.setBasename("classpath:benchmark/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        final I18NService i18NService = new I18NService();
+        ReflectionTestUtils.setField(i18NService, "messageSource", messageSource);
+        messageTranslationService = new MessageTranslationService(i18NService, new ValueFormatterService(i18NService));
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void translateFormData() throws InvalidOperationDataException {
+        final OperationFormData formData = createFormData();
+        messageTranslationService.translateFormData(formData);
+        assertEquals(50, formData.getParameters().size());
+        assertEquals("Payment approval", formData.getTitle().getMessage());
+        assertEquals("Hello, please confirm payment of 100.00 CZK to account CZ6508000000192000145399.", formData.getGreeting().getMessage());
+        assertEquals("Payment of 100.00 CZK to account CZ6508000000192000145399 with note Test note on 2021-06-01", formData.getSummary().getMessage());
+        assertEquals("Text attribute 1 with value {operation.text1}", formData.getAttributeById("operation.text1").getLabel());
+        assertEquals("100.00", formattedValue(formData, "operation.amount", "amount"));
+        assertEquals("CZK", formattedValue(formData, "operation.amount", "currency"));
+        assertEquals("1,234,567.89", formattedValue(formData, "operation.number1", "value"));
+        assertEquals("Jun 1, 2021", formattedValue(formData, "operation.date1", "value"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void translateFormDataBenchmark() throws InvalidOperationDataException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            messageTranslationService.translateFormData(createFormData());
+        }
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            messageTranslationService.translateFormData(createFormData());
+        }
+        final long elapsedTime = System.nanoTime() - startTime;
+        logger.info("Translation of form data with 50 attributes: {} us per operation", elapsedTime / MEASURED_ITERATIONS / 1000);
+    }
+
+    private String formattedValue(OperationFormData formData, String id, String key) {
+        return ((OperationFormFieldAttributeFormatted) formData.getAttributeById(id)).getFormattedValues().get(key);
+    }
+
+    private OperationFormData createFormData() throws InvalidOperationDataException {
+        final OperationFormData formData = new OperationFormData();
+        formData.addTitle("operation.title");
+        formData.addGreeting("operation.greeting");
+        formData.addSummary("operation.summary");
+        formData.addAmount("operation.amount", new BigDecimal("100.00"), "operation.currency", "CZK");
+        formData.addKeyValue("operation.account", "CZ6508000000192000145399");
+        formData.addNote("operation.note", "Test note");
+        for (int i = 1; i <= 24; i++) {
+            formData.addKeyValue("operation.text" + i, "Value " + i);
+        }
+        for (int i = 1; i <= 10; i++) {
+            formData.addKeyValue("operation.number" + i, "1234567.89", ValueFormatType.NUMBER);
+        }
+        for (int i = 1; i <= 10; i++) {
+            formData.addKeyValue("operation.date" + i, "2021-06-" + String.format("%02d", i), ValueFormatType.DATE);
+        }
+        for (int i = 1; i <= 3; i++) {
+            formData.addNote("operation.note" + i, "Note " + i);
+        }
+        return formData;
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.core.rest.model.base.entity.Error;
+import io.getlime.core.rest.model.base.response.ObjectResponse;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationConfigDetailResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for cache of Next Step operation and organization configuration.
+ */
+class NextStepConfigurationCacheServiceTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+    private static final String OPERATION_NAME = "login";
+
+    private NextStepClient nextStepClient;
+    private WebFlowServicesConfiguration configuration;
+    private NextStepConfigurationCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        nextStepClient = mock(NextStepClient.class);
+        configuration = mock(WebFlowServicesConfiguration.class);
+        when(configuration.isNextStepCacheEnabled()).thenReturn(true);
+        cacheService = new NextStepConfigurationCacheService(nextStepClient, configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheService.shutdown();
+    }
+
+    @Test
+    void cachedValueWithinTtl() throws NextStepClientException {
+        configureCache(300, 3600);
+        final ObjectResponse<GetOperationConfigDetailResponse> response1 = operationConfig();
+        when(nextStepClient.getOperationConfigDetail(OPERATION_NAME)).thenReturn(response1, operationConfig());
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        verify(nextStepClient, times(1)).getOperationConfigDetail(OPERATION_NAME);
+    }
+
+    @Test
+    void expiredValueLoadedSynchronously() throws NextStepClientException {
+        // Value is expired immediately and it must not be used after TTL and maximum stale time pass
+        configureCache(0, 0);
+        final ObjectResponse<GetOperationConfigDetailResponse> response1 = operationConfig();
+        final ObjectResponse<GetOperationConfigDetailResponse> response2 = operationConfig();
+        when(nextStepClient.getOperationConfigDetail(OPERATION_NAME)).thenReturn(response1, response2);
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        assertSame(response2.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        verify(nextStepClient, times(2)).getOperationConfigDetail(OPERATION_NAME);
+    }
+
+    @Test
+    void staleValueServedDuringRefresh() throws Exception {
+        configureCache(0, 3600);
+        final ObjectResponse<GetOperationConfigDetailResponse> response1 = operationConfig();
+        final ObjectResponse<GetOperationConfigDetailResponse> response2 = operationConfig();
+        final CountDownLatch refreshStarted = new CountDownLatch(1);
+        final CountDownLatch refreshAllowed = new CountDownLatch(1);
+        when(nextStepClient.getOperationConfigDetail(OPERATION_NAME)).thenReturn(response1).thenAnswer(invocation -> {
+            refreshStarted.countDown();
+            assertTrue(refreshAllowed.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            return response2;
+        }).thenReturn(response2);
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        // Stale value is returned while the refresh is in progress, only a single refresh is started
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        assertTrue(refreshStarted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        verify(nextStepClient, times(2)).getOperationConfigDetail(OPERATION_NAME);
+        refreshAllowed.countDown();
+        awaitRefresh();
+        assertSame(response2.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+    }
+
+    @Test
+    void staleValueServedWhenRefreshFails() throws Exception {
+        configureCache(0, 3600);
+        final ObjectResponse<GetOperationConfigDetailResponse> response1 = operationConfig();
+        final ObjectResponse<GetOperationConfigDetailResponse> response2 = operationConfig();
+        when(nextStepClient.getOperationConfigDetail(OPERATION_NAME))
+                .thenReturn(response1)
+                .thenThrow(new NextStepClientException(new Error("ERROR_GENERIC", "Next Step is not available")))
+                .thenReturn(response2);
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        awaitRefresh();
+        // Failed refresh keeps the stale value and the refresh is retried during the next request
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        awaitRefresh();
+        assertSame(response2.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        verify(nextStepClient, atLeast(3)).getOperationConfigDetail(OPERATION_NAME);
+    }
+
+    @Test
+    void invalidation() throws NextStepClientException {
+        configureCache(300, 3600);
+        final ObjectResponse<GetOperationConfigDetailResponse> response1 = operationConfig();
+        final ObjectResponse<GetOperationConfigDetailResponse> response2 = operationConfig();
+        when(nextStepClient.getOperationConfigDetail(OPERATION_NAME)).thenReturn(response1, response2);
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        assertEquals(1, cacheService.getCachedValueAges().size());
+        cacheService.invalidate();
+        assertTrue(cacheService.getCachedValueAges().isEmpty());
+        assertSame(response2.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+    }
+
+    @Test
+    void invalidationDuringRefresh() throws Exception {
+        configureCache(0, 3600);
+        final ObjectResponse<GetOperationConfigDetailResponse> response1 = operationConfig();
+        final ObjectResponse<GetOperationConfigDetailResponse> response2 = operationConfig();
+        final ObjectResponse<GetOperationConfigDetailResponse> response3 = operationConfig();
+        final CountDownLatch refreshAllowed = new CountDownLatch(1);
+        when(nextStepClient.getOperationConfigDetail(OPERATION_NAME)).thenReturn(response1).thenAnswer(invocation -> {
+            assertTrue(refreshAllowed.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            return response2;
+        }).thenReturn(response3);
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        cacheService.invalidate();
+        refreshAllowed.countDown();
+        awaitRefresh();
+        // Value refreshed before the invalidation must not be stored in the cache
+        assertTrue(cacheService.getCachedValueAges().isEmpty());
+        assertSame(response3.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+    }
+
+    @Test
+    void cacheDisabled() throws NextStepClientException {
+        when(configuration.isNextStepCacheEnabled()).thenReturn(false);
+        final ObjectResponse<GetOperationConfigDetailResponse> response1 = operationConfig();
+        final ObjectResponse<GetOperationConfigDetailResponse> response2 = operationConfig();
+        when(nextStepClient.getOperationConfigDetail(OPERATION_NAME)).thenReturn(response1, response2);
+        assertSame(response1.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        assertSame(response2.getResponseObject(), cacheService.getOperationConfigDetail(OPERATION_NAME));
+        assertTrue(cacheService.getCachedValueAges().isEmpty());
+    }
+
+    private void configureCache(long ttlSeconds, long maxStaleSeconds) {
+        when(configuration.getNextStepCacheTtlSeconds()).thenReturn(ttlSeconds);
+        when(configuration.getNextStepCacheMaxStaleSeconds()).thenReturn(maxStaleSeconds);
+    }
+
+    private ObjectResponse<GetOperationConfigDetailResponse> operationConfig() {
+        final GetOperationConfigDetailResponse operationConfig = new GetOperationConfigDetailResponse();
+        operationConfig.setOperationName(OPERATION_NAME);
+        return new ObjectResponse<>(operationConfig);
+    }
+
+    /**
+     * Wait until background refresh tasks submitted so far are finished, the refresh executor uses a single thread.
+     */
+    private void awaitRefresh() throws Exception {
+        final ExecutorService refreshExecutor = (ExecutorService) ReflectionTestUtils.getField(ReflectionTestUtils.getField(cacheService, "cache"), "refreshExecutor");
+        assertNotNull(refreshExecutor);
+        refreshExecutor.submit(() -> { }).get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for mobile token operation list requests waiting for a change of operations.
+ */
+class OperationChangeNotificationServiceTest {
+
+    private static final String USER_ID = "test_user_1";
+    private static final String VERSION = "\"version1\"";
+    private static final String CHANGED_BODY = "changed";
+
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final AtomicInteger probeCount = new AtomicInteger();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private WebFlowServicesConfiguration configuration;
+    private OperationChangeNotificationService operationChangeNotificationService;
+
+    @BeforeEach
+    void setUp() {
+        configuration = mock(WebFlowServicesConfiguration.class);
+        when(configuration.getOperationListWaitThreads()).thenReturn(2);
+        when(configuration.getOperationListWaitLoadThreads()).thenReturn(2);
+        when(configuration.getOperationListWaitLoadQueueCapacity()).thenReturn(10);
+        when(configuration.getOperationListWaitMaxRequests()).thenReturn(2);
+        when(configuration.getOperationListWaitTimeoutMs()).thenReturn(10000L);
+        // Periodic re-check is disabled unless a test enables it
+        when(configuration.getOperationListWaitRecheckIntervalMs()).thenReturn(0L);
+        operationChangeNotificationService = new OperationChangeNotificationService(configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        operationChangeNotificationService.shutdown();
+    }
+
+    @Test
+    void testChangedOperationListReturnedImmediately() {
+        changed.set(true);
+        final DeferredResult<ResponseEntity<String>> result = waitForChange();
+        assertTrue(result.hasResult());
+        assertEquals(CHANGED_BODY, getResponse(result).getBody());
+        assertEquals(0, operationChangeNotificationService.getListenerCount());
+    }
+
+    @Test
+    void testNotificationCompletesRequest() throws InterruptedException {
+        final DeferredResult<ResponseEntity<String>> result = waitForChange();
+        assertFalse(result.hasResult());
+        assertEquals(1, operationChangeNotificationService.getListenerCount());
+
+        // Notification about other user does not complete the request
+        operationChangeNotificationService.notifyOperationChanged("test_user_2");
+        changed.set(true);
+        Thread.sleep(200);
+        assertFalse(result.hasResult());
+
+        operationChangeNotificationService.notifyOperationChanged(USER_ID);
+        awaitResult(result);
+        assertEquals(HttpStatus.OK, getResponse(result).getStatusCode());
+        assertEquals(CHANGED_BODY, getResponse(result).getBody());
+        assertEquals(0, operationChangeNotificationService.getListenerCount());
+    }
+
+    @Test
+    void testUnchangedOperationListKeepsRequestWaiting() throws InterruptedException {
+        final DeferredResult<ResponseEntity<String>> result = waitForChange();
+        operationChangeNotificationService.notifyOperationChanged(USER_ID);
+        Thread.sleep(200);
+        assertFalse(result.hasResult());
+        assertEquals(2, probeCount.get());
+        assertEquals(0, loadCount.get());
+        assertEquals(1, operationChangeNotificationService.getListenerCount());
+    }
+
+    @Test
+    void testRecheckUsesChangeProbeOnly() throws InterruptedException {
+        when(configuration.getOperationListWaitRecheckIntervalMs()).thenReturn(20L);
+        final DeferredResult<ResponseEntity<String>> result = waitForChange();
+        Thread.sleep(200);
+        assertFalse(result.hasResult());
+        assertTrue(probeCount.get() > 2);
+        // The operation list is not loaded until the change probe detects a change
+        assertEquals(0, loadCount.get());
+
+        changed.set(true);
+        awaitResult(result);
+        assertEquals(CHANGED_BODY, getResponse(result).getBody());
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    void testRecheckDetectsChangeWithoutNotification() throws InterruptedException {
+        when(configuration.getOperationListWaitRecheckIntervalMs()).thenReturn(50L);
+        final DeferredResult<ResponseEntity<String>> result = waitForChange();
+        assertFalse(result.hasResult());
+
+        // Change made outside of this Web Flow node, no notification is sent
+        changed.set(true);
+        awaitResult(result);
+        assertEquals(CHANGED_BODY, getResponse(result).getBody());
+        assertEquals(0, operationChangeNotificationService.getListenerCount());
+
+        // Periodic re-check is canceled after the request is completed
+        final int probeCountAfterCompletion = probeCount.get();
+        Thread.sleep(200);
+        assertEquals(probeCountAfterCompletion, probeCount.get());
+    }
+
+    @Test
+    void testTimeoutReturnsNotModified() throws InterruptedException {
+        when(configuration.getOperationListWaitTimeoutMs()).thenReturn(100L);
+        when(configuration.getOperationListWaitRecheckIntervalMs()).thenReturn(20L);
+        final DeferredResult<ResponseEntity<String>> result = waitForChange();
+        awaitResult(result);
+        final ResponseEntity<String> response = getResponse(result);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(VERSION, response.getHeaders().getETag());
+        assertEquals(0, operationChangeNotificationService.getListenerCount());
+
+        // Periodic re-check is canceled after the timeout
+        final int probeCountAfterTimeout = probeCount.get();
+        Thread.sleep(200);
+        assertEquals(probeCountAfterTimeout, probeCount.get());
+        assertEquals(0, loadCount.get());
+    }
+
+    @Test
+    void testMaximumNumberOfWaitingRequests() {
+        final DeferredResult<ResponseEntity<String>> result1 = waitForChange();
+        final DeferredResult<ResponseEntity<String>> result2 = waitForChange();
+        assertFalse(result1.hasResult());
+        assertFalse(result2.hasResult());
+        assertEquals(2, operationChangeNotificationService.getListenerCount());
+
+        final DeferredResult<ResponseEntity<String>> result3 = waitForChange();
+        assertTrue(result3.hasResult());
+        final ResponseEntity<String> response = getResponse(result3);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("10", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(2, operationChangeNotificationService.getListenerCount());
+        // The rejected request does not check the operation list
+        assertEquals(2, probeCount.get());
+        assertEquals(0, loadCount.get());
+    }
+
+    @Test
+    void testCompletedRequestReleasesLimit() throws InterruptedException {
+        final DeferredResult<ResponseEntity<String>> result1 = waitForChange();
+        final DeferredResult<ResponseEntity<String>> result2 = waitForChange();
+        changed.set(true);
+        operationChangeNotificationService.notifyOperationChanged(USER_ID);
+        awaitResult(result1);
+        awaitResult(result2);
+        assertEquals(0, operationChangeNotificationService.getListenerCount());
+
+        changed.set(false);
+        final DeferredResult<ResponseEntity<String>> result3 = waitForChange();
+        assertFalse(result3.hasResult());
+        assertEquals(1, operationChangeNotificationService.getListenerCount());
+    }
+
+    @Test
+    void testRejectedLoadReturnsServiceUnavailable() throws InterruptedException {
+        when(configuration.getOperationListWaitMaxRequests()).thenReturn(3);
+        when(configuration.getOperationListWaitLoadThreads()).thenReturn(1);
+        when(configuration.getOperationListWaitLoadQueueCapacity()).thenReturn(1);
+        operationChangeNotificationService.shutdown();
+        operationChangeNotificationService = new OperationChangeNotificationService(configuration);
+        final CountDownLatch loadLatch = new CountDownLatch(1);
+        final Callable<ResponseEntity<String>> loader = () -> {
+            loadLatch.await();
+            return ResponseEntity.ok(CHANGED_BODY);
+        };
+        final List<DeferredResult<ResponseEntity<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(operationChangeNotificationService.waitForChange(USER_ID, VERSION, changed::get, loader));
+        }
+        changed.set(true);
+        operationChangeNotificationService.notifyOperationChanged(USER_ID);
+
+        // One load is running and one load is queued, the load of the last request is rejected
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (results.stream().noneMatch(DeferredResult::hasResult) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        final List<DeferredResult<ResponseEntity<String>>> rejected = results.stream().filter(DeferredResult::hasResult).collect(Collectors.toList());
+        assertEquals(1, rejected.size());
+        final ResponseEntity<String> response = getResponse(rejected.get(0));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("10", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        loadLatch.countDown();
+        for (DeferredResult<ResponseEntity<String>> result: results) {
+            awaitResult(result);
+        }
+        assertEquals(2, results.stream().filter(result -> getResponse(result).getStatusCode() == HttpStatus.OK).count());
+        assertEquals(0, operationChangeNotificationService.getListenerCount());
+    }
+
+    @Test
+    void testLoaderErrorCompletesRequest() {
+        final IllegalStateException error = new IllegalStateException("Next Step is not available");
+        final Callable<ResponseEntity<String>> loader = () -> {
+            throw error;
+        };
+        final DeferredResult<ResponseEntity<String>> result = operationChangeNotificationService.waitForChange(USER_ID, VERSION, () -> true, loader);
+        assertTrue(result.hasResult());
+        assertSame(error, result.getResult());
+        assertEquals(0, operationChangeNotificationService.getListenerCount());
+    }
+
+    @Test
+    void testChangeProbeErrorCompletesRequest() {
+        final IllegalStateException error = new IllegalStateException("Next Step is not available");
+        final Callable<Boolean> changeProbe = () -> {
+            throw error;
+        };
+        final DeferredResult<ResponseEntity<String>> result = operationChangeNotificationService.waitForChange(USER_ID, VERSION, changeProbe,
+                () -> ResponseEntity.ok(CHANGED_BODY));
+        assertTrue(result.hasResult());
+        assertSame(error, result.getResult());
+        assertEquals(0, operationChangeNotificationService.getListenerCount());
+    }
+
+    private DeferredResult<ResponseEntity<String>> waitForChange() {
+        return operationChangeNotificationService.waitForChange(USER_ID, VERSION, () -> {
+            probeCount.incrementAndGet();
+            return changed.get();
+        }, () -> {
+            loadCount.incrementAndGet();
+            if (changed.get()) {
+                return ResponseEntity.ok(CHANGED_BODY);
+            }
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(VERSION).build();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResponseEntity<String> getResponse(DeferredResult<ResponseEntity<String>> result) {
+        return (ResponseEntity<String>) result.getResult();
+    }
+
+    private void awaitResult(DeferredResult<?> result) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(result.hasResult());
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.core.rest.model.base.response.ObjectResponse;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
+import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.AuthStep;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.OperationFormData;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthMethod;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthResult;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.OperationCancelReason;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.response.UpdateOperationResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.exception.CommunicationFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for memoization of operation details during processing of an HTTP request.
+ */
+class OperationDetailCacheServiceTest {
+
+    private static final String OPERATION_ID = "operation-1";
+
+    private NextStepClient nextStepClient;
+    private OperationDetailCacheService operationDetailCacheService;
+
+    @BeforeEach
+    void setUp() throws NextStepClientException {
+        nextStepClient = mock(NextStepClient.class);
+        when(nextStepClient.getOperationDetail(OPERATION_ID)).thenAnswer(invocation -> new ObjectResponse<>(createOperation(AuthResult.CONTINUE)));
+        operationDetailCacheService = new OperationDetailCacheService(nextStepClient);
+        startRequest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void operationMemoizedDuringRequest() throws NextStepClientException {
+        final GetOperationDetailResponse operation1 = operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        final GetOperationDetailResponse operation2 = operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        assertEquals(OPERATION_ID, operation1.getOperationId());
+        assertEquals(OPERATION_ID, operation2.getOperationId());
+        verify(nextStepClient, times(1)).getOperationDetail(OPERATION_ID);
+        // Memoized operations are discarded together with the request
+        startRequest();
+        operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        verify(nextStepClient, times(2)).getOperationDetail(OPERATION_ID);
+    }
+
+    @Test
+    void operationNotMemoizedOutsideOfRequest() throws NextStepClientException {
+        RequestContextHolder.resetRequestAttributes();
+        operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        verify(nextStepClient, times(2)).getOperationDetail(OPERATION_ID);
+    }
+
+    @Test
+    void callersReceiveIndependentCopies() throws NextStepClientException {
+        final GetOperationDetailResponse operation1 = operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        final GetOperationDetailResponse operation2 = operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        assertNotSame(operation1, operation2);
+        assertNotSame(operation1.getFormData(), operation2.getFormData());
+        // Modification of one copy, e.g. filtering of steps or translation of form data, does not affect other callers
+        operation1.getSteps().clear();
+        operation1.getFormData().getTitle().setMessage("Translated title");
+        operation1.setUserId("modified");
+        final GetOperationDetailResponse operation3 = operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        assertEquals(1, operation3.getSteps().size());
+        assertEquals(AuthMethod.USERNAME_PASSWORD_AUTH, operation3.getSteps().get(0).getAuthMethod());
+        assertEquals("operation.title", operation3.getFormData().getTitle().getId());
+        assertNotEquals("Translated title", operation3.getFormData().getTitle().getMessage());
+        assertEquals("user-1", operation3.getUserId());
+        assertEquals(1, operation2.getSteps().size());
+        verify(nextStepClient, times(1)).getOperationDetail(OPERATION_ID);
+    }
+
+    @Test
+    void invalidatedOperationReloaded() throws NextStepClientException {
+        operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        operationDetailCacheService.invalidate(OPERATION_ID);
+        operationDetailCacheService.getOperationDetail(OPERATION_ID);
+        verify(nextStepClient, times(2)).getOperationDetail(OPERATION_ID);
+    }
+
+    @Test
+    void operationReloadedAfterCancel() throws NextStepClientException, CommunicationFailedException {
+        when(nextStepClient.getOperationDetail(OPERATION_ID)).thenReturn(
+                new ObjectResponse<>(createOperation(AuthResult.CONTINUE)),
+                new ObjectResponse<>(createOperation(AuthResult.FAILED)));
+        when(nextStepClient.updateOperation(eq(OPERATION_ID), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new ObjectResponse<>(new UpdateOperationResponse()));
+        final OperationCancellationService operationCancellationService = new OperationCancellationService(nextStepClient,
+                mock(AfsIntegrationService.class), mock(PowerAuthOperationService.class), operationDetailCacheService,
+                mock(OperationChangeNotificationService.class));
+        assertEquals(AuthResult.CONTINUE, operationDetailCacheService.getOperationDetail(OPERATION_ID).getResult());
+        assertNotNull(operationCancellationService.cancelOperation(OPERATION_ID, AuthMethod.USERNAME_PASSWORD_AUTH, OperationCancelReason.UNKNOWN, false));
+        // Operation updated in Next Step is not served from the request memo
+        assertEquals(AuthResult.FAILED, operationDetailCacheService.getOperationDetail(OPERATION_ID).getResult());
+        verify(nextStepClient, times(2)).getOperationDetail(OPERATION_ID);
+    }
+
+    private void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private GetOperationDetailResponse createOperation(AuthResult result) {
+        final GetOperationDetailResponse operation = new GetOperationDetailResponse();
+        operation.setOperationId(OPERATION_ID);
+        operation.setOperationName("authorize_payment");
+        operation.setUserId("user-1");
+        operation.setResult(result);
+        operation.setTimestampCreated(new Date());
+        operation.setTimestampExpires(new Date(System.currentTimeMillis() + 300_000));
+        final AuthStep authStep = new AuthStep();
+        authStep.setAuthMethod(AuthMethod.USERNAME_PASSWORD_AUTH);
+        operation.getSteps().add(authStep);
+        final OperationFormData formData = new OperationFormData();
+        formData.addTitle("operation.title");
+        formData.addKeyValue("operation.account", "CZ6508000000192000145399");
+        operation.setFormData(formData);
+        return operation;
+    }
+
+}
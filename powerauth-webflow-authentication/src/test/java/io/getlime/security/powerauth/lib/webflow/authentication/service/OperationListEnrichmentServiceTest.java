@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.core.rest.model.base.response.ObjectResponse;
+import io.getlime.security.powerauth.lib.dataadapter.client.DataAdapterClient;
+import io.getlime.security.powerauth.lib.dataadapter.client.DataAdapterClientErrorException;
+import io.getlime.security.powerauth.lib.dataadapter.model.entity.FormData;
+import io.getlime.security.powerauth.lib.dataadapter.model.request.GetPAOperationMappingRequest;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.GetPAOperationMappingListResponse;
+import io.getlime.security.powerauth.lib.dataadapter.model.response.GetPAOperationMappingResponse;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.OperationFormData;
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthMethod;
+import io.getlime.security.powerauth.lib.nextstep.model.response.GetOperationDetailResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import io.getlime.security.powerauth.lib.webflow.authentication.model.PendingOperationList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for enrichment of pending operation lists within the configured time limit.
+ */
+class OperationListEnrichmentServiceTest {
+
+    private static final String USER_ID = "test_user_1";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private DataAdapterClient dataAdapterClient;
+    private MessageTranslationService messageTranslationService;
+    private OperationListEnrichmentService operationListEnrichmentService;
+
+    @BeforeEach
+    void setUp() throws DataAdapterClientErrorException {
+        final WebFlowServicesConfiguration configuration = mock(WebFlowServicesConfiguration.class);
+        when(configuration.getOperationEnrichmentThreads()).thenReturn(4);
+        when(configuration.getOperationEnrichmentQueueCapacity()).thenReturn(100);
+        when(configuration.getOperationEnrichmentTimeoutMs()).thenReturn(200L);
+        when(configuration.getOperationEnrichmentMappingBatchSize()).thenReturn(1);
+        dataAdapterClient = mock(DataAdapterClient.class);
+        when(dataAdapterClient.getPAOperationMappingList(anyList())).thenAnswer(invocation -> {
+            final List<GetPAOperationMappingResponse> mappings = new ArrayList<>();
+            for (GetPAOperationMappingRequest request : invocation.<List<GetPAOperationMappingRequest>>getArgument(0)) {
+                mappings.add(createMapping(operationIndex(request)));
+            }
+            return new ObjectResponse<>(new GetPAOperationMappingListResponse(mappings));
+        });
+        messageTranslationService = mock(MessageTranslationService.class);
+        doAnswer(invocation -> {
+            invocation.<OperationFormData>getArgument(0).getTitle().setMessage("Translated title");
+            return null;
+        }).when(messageTranslationService).translateFormData(any());
+        operationListEnrichmentService = new OperationListEnrichmentService(dataAdapterClient, messageTranslationService, configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        operationListEnrichmentService.shutdown();
+    }
+
+    @Test
+    void operationsEnriched() throws DataAdapterClientErrorException {
+        final PendingOperationList result = enrich();
+        assertEquals(2, result.getOperations().size());
+        for (int i = 0; i < 2; i++) {
+            final GetOperationDetailResponse operation = result.getOperations().get(i);
+            assertEquals("mapped_operation_" + i, operation.getOperationName());
+            assertEquals("mapped_data_" + i, operation.getOperationData());
+            assertEquals("Translated title", operation.getFormData().getTitle().getMessage());
+            assertFalse(result.isDegraded(operation.getOperationId()));
+        }
+    }
+
+    @Test
+    void unmappedOperationsDegradedOnTimeout() throws DataAdapterClientErrorException {
+        when(dataAdapterClient.getPAOperationMappingList(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        final PendingOperationList result = enrich();
+        assertEquals(2, result.getOperations().size());
+        for (int i = 0; i < 2; i++) {
+            // Operation is returned with original Next Step data
+            final GetOperationDetailResponse operation = result.getOperations().get(i);
+            assertEquals("nextstep_operation_" + i, operation.getOperationName());
+            assertEquals("nextstep_data_" + i, operation.getOperationData());
+            assertTrue(result.isDegraded(operation.getOperationId()));
+        }
+    }
+
+    @Test
+    void slowMappingBatchDegradesOnlyItsOperations() throws DataAdapterClientErrorException {
+        when(dataAdapterClient.getPAOperationMappingList(anyList())).thenAnswer(invocation -> {
+            final GetPAOperationMappingRequest request = invocation.<List<GetPAOperationMappingRequest>>getArgument(0).get(0);
+            if (operationIndex(request) == 0) {
+                release.await();
+            }
+            return new ObjectResponse<>(new GetPAOperationMappingListResponse(Collections.singletonList(createMapping(operationIndex(request)))));
+        });
+        final PendingOperationList result = enrich();
+        assertEquals(2, result.getOperations().size());
+        final GetOperationDetailResponse slowOperation = result.getOperations().get(0);
+        assertEquals("nextstep_operation_0", slowOperation.getOperationName());
+        assertTrue(result.isDegraded(slowOperation.getOperationId()));
+        // Mapping of the other operation is obtained concurrently with the slow mapping
+        final GetOperationDetailResponse mappedOperation = result.getOperations().get(1);
+        assertEquals("mapped_operation_1", mappedOperation.getOperationName());
+        assertEquals("Translated title", mappedOperation.getFormData().getTitle().getMessage());
+        assertFalse(result.isDegraded(mappedOperation.getOperationId()));
+    }
+
+    @Test
+    void untranslatedOperationsDegradedOnTimeout() throws DataAdapterClientErrorException {
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(messageTranslationService).translateFormData(any());
+        final PendingOperationList result = enrich();
+        assertEquals(2, result.getOperations().size());
+        for (int i = 0; i < 2; i++) {
+            final GetOperationDetailResponse operation = result.getOperations().get(i);
+            // Operation mapping is used, only the form data is not translated
+            assertEquals("mapped_operation_" + i, operation.getOperationName());
+            assertEquals("mapped_data_" + i, operation.getOperationData());
+            assertEquals("mapped.title." + i, operation.getFormData().getTitle().getId());
+            assertNull(operation.getFormData().getTitle().getMessage());
+            assertTrue(result.isDegraded(operation.getOperationId()));
+        }
+    }
+
+    @Test
+    void dataAdapterErrorPropagated() throws DataAdapterClientErrorException {
+        when(dataAdapterClient.getPAOperationMappingList(anyList())).thenThrow(new DataAdapterClientErrorException());
+        assertThrows(DataAdapterClientErrorException.class, this::enrich);
+    }
+
+    @Test
+    void emptyOperationList() throws DataAdapterClientErrorException {
+        final PendingOperationList result = operationListEnrichmentService.enrichOperations(USER_ID, new ArrayList<>(), operation -> AuthMethod.POWERAUTH_TOKEN);
+        assertTrue(result.getOperations().isEmpty());
+        verifyNoInteractions(dataAdapterClient);
+    }
+
+    private PendingOperationList enrich() throws DataAdapterClientErrorException {
+        final List<GetOperationDetailResponse> operations = Arrays.asList(createOperation(0), createOperation(1));
+        return operationListEnrichmentService.enrichOperations(USER_ID, operations, operation -> AuthMethod.POWERAUTH_TOKEN);
+    }
+
+    private GetOperationDetailResponse createOperation(int index) {
+        final GetOperationDetailResponse operation = new GetOperationDetailResponse();
+        operation.setOperationId("operation-" + index);
+        operation.setOperationName("nextstep_operation_" + index);
+        operation.setOperationData("nextstep_data_" + index);
+        operation.setUserId(USER_ID);
+        return operation;
+    }
+
+    private int operationIndex(GetPAOperationMappingRequest request) {
+        return Integer.parseInt(request.getOperationContext().getId().substring("operation-".length()));
+    }
+
+    private GetPAOperationMappingResponse createMapping(int index) {
+        final GetPAOperationMappingResponse mapping = new GetPAOperationMappingResponse();
+        mapping.setOperationName("mapped_operation_" + index);
+        mapping.setOperationData("mapped_data_" + index);
+        final FormData formData = new FormData();
+        formData.addTitle("mapped.title." + index);
+        formData.addGreeting("mapped.greeting." + index);
+        formData.addSummary("mapped.summary." + index);
+        mapping.setFormData(formData);
+        return mapping;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for retention of operation to HTTP session mappings.
+ */
+class OperationSessionRetentionServiceTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OperationSessionRetentionService operationSessionRetentionService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE wf_operation_session (operation_id VARCHAR(256) PRIMARY KEY NOT NULL, http_session_id VARCHAR(256) NOT NULL, "
+                + "result VARCHAR(32) NOT NULL, timestamp_created TIMESTAMP)");
+        jdbcTemplate.execute("CREATE INDEX wf_operation_session_result ON wf_operation_session (result, timestamp_created)");
+        final WebFlowServicesConfiguration configuration = mock(WebFlowServicesConfiguration.class);
+        when(configuration.getOperationSessionRetentionFinishedHours()).thenReturn(24);
+        when(configuration.getOperationSessionRetentionStaleHours()).thenReturn(72);
+        when(configuration.getOperationSessionRetentionBatchSize()).thenReturn(2);
+        operationSessionRetentionService = new OperationSessionRetentionService(jdbcTemplate, configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void finishedOperationsDeletedInBatches() {
+        for (int i = 0; i < 5; i++) {
+            insertSession("finished-expired-" + i, "DONE", 25);
+        }
+        insertSession("failed-expired", "FAILED", 30);
+        insertSession("finished-recent", "DONE", 23);
+        // Six expired mappings are deleted in batches of two mappings
+        assertEquals(6, operationSessionRetentionService.cleanup());
+        assertRemaining("finished-recent");
+    }
+
+    @Test
+    void staleOperationsDeleted() {
+        insertSession("continue-stale", "CONTINUE", 73);
+        insertSession("continue-active", "CONTINUE", 25);
+        assertEquals(1, operationSessionRetentionService.cleanup());
+        assertRemaining("continue-active");
+    }
+
+    @Test
+    void missingTimestampNotChanged() {
+        insertSession("finished-no-timestamp", "DONE", null);
+        insertSession("continue-no-timestamp", "CONTINUE", null);
+        // Mappings without the timestamp are neither deleted nor updated, the timestamp is set by the database migration
+        assertEquals(0, operationSessionRetentionService.cleanup());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wf_operation_session WHERE timestamp_created IS NULL", Integer.class));
+    }
+
+    @Test
+    void emptyTable() {
+        assertEquals(0, operationSessionRetentionService.cleanup());
+    }
+
+    private void insertSession(String operationId, String result, Integer ageHours) {
+        final Timestamp timestampCreated = ageHours == null ? null : Timestamp.valueOf(LocalDateTime.now().minusHours(ageHours));
+        jdbcTemplate.update("INSERT INTO wf_operation_session (operation_id, http_session_id, result, timestamp_created) VALUES (?, ?, ?, ?)",
+                operationId, "session-" + operationId, result, timestampCreated);
+    }
+
+    private void assertRemaining(String operationId) {
+        assertEquals(operationId, jdbcTemplate.queryForObject("SELECT operation_id FROM wf_operation_session", String.class));
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.lib.webflow.authentication.service;
+
+import io.getlime.security.powerauth.app.webflow.i18n.I18NService;
+import io.getlime.security.powerauth.app.webflow.i18n.ReloadableResourceBundleMessageSourceWithListing;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.attribute.OperationAmountFieldAttribute;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.attribute.OperationFormFieldAttributeFormatted;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.attribute.OperationKeyValueFieldAttribute;
+import io.getlime.security.powerauth.lib.nextstep.model.entity.enumeration.ValueFormatType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryFormats;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests which verify that cached formatters produce the same output as formatters created for each value.
+ */
+class ValueFormatterServiceTest {
+
+    private static final List<Locale> LOCALES = Arrays.asList(Locale.ENGLISH, Locale.US, new Locale("cs", "CZ"),
+            Locale.GERMANY, Locale.FRANCE, new Locale("de", "CH"), Locale.JAPAN, new Locale("ar", "EG"), new Locale("hi", "IN"));
+
+    private static final List<String> AMOUNTS = Arrays.asList("0", "0.5", "100.00", "1234567.891", "-42.42", "99999999999.99");
+    private static final List<String> CURRENCIES = Arrays.asList("CZK", "EUR", "USD", "JPY");
+    private static final List<String> NUMBERS = Arrays.asList("0", "1", "-3.14159", "1234567.89", "0.000123", "98765432109876.5");
+    private static final List<String> DATES = Arrays.asList("2021-06-01", "1999-12-31", "2024-02-29", "06/01/2021");
+
+    private static I18NService i18NService;
+    private static ValueFormatterService valueFormatterService;
+
+    @BeforeAll
+    static void setUp() {
+        final ReloadableResourceBundleMessageSourceWithListing messageSource = new ReloadableResourceBundleMessageSourceWithListing();
+        messageSource.setBasename("classpath:benchmark/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        i18NService = new I18NService();
+        ReflectionTestUtils.setField(i18NService, "messageSource", messageSource);
+        valueFormatterService = new ValueFormatterService(i18NService);
+    }
+
+    @Test
+    void testAmountFormatting() {
+        for (Locale locale: LOCALES) {
+            for (String currency: CURRENCIES) {
+                for (String amount: AMOUNTS) {
+                    final OperationAmountFieldAttribute attribute = createAmount(amount, currency);
+                    valueFormatterService.addFormattedValue(attribute, locale);
+                    assertBytesEqual(formatAmountLegacy(new BigDecimal(amount), currency, locale), attribute.getFormattedValues().get("amount"));
+                    assertEquals(currency, attribute.getFormattedValues().get("currency"));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testNumberFormatting() {
+        for (Locale locale: LOCALES) {
+            for (String number: NUMBERS) {
+                final OperationKeyValueFieldAttribute attribute = createKeyValue(number, ValueFormatType.NUMBER);
+                valueFormatterService.addFormattedValue(attribute, locale);
+                assertBytesEqual(formatNumberLegacy(new BigDecimal(number), locale), attribute.getFormattedValues().get("value"));
+            }
+        }
+    }
+
+    @Test
+    void testDateFormatting() {
+        for (Locale locale: LOCALES) {
+            for (String date: DATES) {
+                final OperationKeyValueFieldAttribute attribute = createKeyValue(date, ValueFormatType.DATE);
+                valueFormatterService.addFormattedValue(attribute, locale);
+                assertBytesEqual(formatDateLegacy(date, locale), attribute.getFormattedValues().get("value"));
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentFormatting() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        final Locale locale = LOCALES.get(j % LOCALES.size());
+                        final String amount = AMOUNTS.get(j % AMOUNTS.size());
+                        final OperationAmountFieldAttribute amountAttribute = createAmount(amount, "EUR");
+                        valueFormatterService.addFormattedValue(amountAttribute, locale);
+                        assertEquals(formatAmountLegacy(new BigDecimal(amount), "EUR", locale), amountAttribute.getFormattedValues().get("amount"));
+                        final String number = NUMBERS.get(j % NUMBERS.size());
+                        final OperationKeyValueFieldAttribute numberAttribute = createKeyValue(number, ValueFormatType.NUMBER);
+                        valueFormatterService.addFormattedValue(numberAttribute, locale);
+                        assertEquals(formatNumberLegacy(new BigDecimal(number), locale), numberAttribute.getFormattedValues().get("value"));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future: futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private OperationAmountFieldAttribute createAmount(String amount, String currency) {
+        return new OperationAmountFieldAttribute("operation.amount", "Amount", new BigDecimal(amount), currency, "operation.currency", null);
+    }
+
+    private OperationKeyValueFieldAttribute createKeyValue(String value, ValueFormatType valueFormatType) {
+        return new OperationKeyValueFieldAttribute("operation.value", "Value", value, valueFormatType, null);
+    }
+
+    private void assertBytesEqual(String expected, String actual) {
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8), "Expected: " + expected + ", actual: " + actual);
+    }
+
+    /**
+     * Amount formatting as implemented before formatters were cached.
+     */
+    private String formatAmountLegacy(BigDecimal value, String currency, Locale locale) {
+        final MonetaryAmount amount = Monetary.getDefaultAmountFactory().setCurrency(Monetary.getCurrency(currency)).setNumber(value).create();
+        final AbstractMessageSource messageSource = i18NService.getMessageSource();
+        final String pattern = messageSource.getMessage("currency.pattern", null, locale);
+        return MonetaryFormats.getAmountFormat(AmountFormatQueryBuilder.of(locale).set("pattern", pattern).build()).format(amount);
+    }
+
+    /**
+     * Number formatting as implemented before formatters were cached.
+     */
+    private String formatNumberLegacy(BigDecimal number, Locale locale) {
+        return NumberFormat.getNumberInstance(locale).format(number.doubleValue());
+    }
+
+    /**
+     * Date formatting as implemented before formatters were cached.
+     */
+    private String formatDateLegacy(String date, Locale locale) {
+        if (date.matches("[0-9]{4}-[0-9]{2}-[0-9]{2}")) {
+            final LocalDate localDate = LocalDate.of(Integer.parseInt(date.substring(0, 4)), Integer.parseInt(date.substring(5, 7)), Integer.parseInt(date.substring(8, 10)));
+            return localDate.format(DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(locale));
+        }
+        return date;
+    }
+
+}
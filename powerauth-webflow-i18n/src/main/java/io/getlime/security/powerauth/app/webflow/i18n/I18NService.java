@@ -19,12 +19,17 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.support.AbstractMessageSource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 import javax.annotation.Resource;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service which converts resource bundle messages for given locale to JSON and provides access to the MessageSource.
+ * The JSON representation is cached per locale and it is regenerated only when the resource bundle is modified.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
@@ -33,6 +38,8 @@ public class I18NService {
 
     private ObjectMapper objectMapper;
 
+    private final Map<Locale, LocalizedMessages> messagesCache = new ConcurrentHashMap<>();
+
     @Resource
     private ReloadableResourceBundleMessageSourceWithListing messageSource;
 
@@ -50,8 +57,49 @@ public class I18NService {
      * @return JSON representation of messages.
      */
     public String generateMessages(Locale locale) {
+        final LocalizedMessages messages = getMessages(locale);
+        if (messages == null) {
+            return null;
+        }
+        return messages.getJson();
+    }
+
+    /**
+     * Get all messages for given locale serialized to JSON together with their ETag. The cached messages are
+     * returned unless the resource bundle for given locale was modified.
+     *
+     * @param locale Requested locale.
+     * @return Localized messages or null in case messages could not be serialized.
+     */
+    public LocalizedMessages getMessages(Locale locale) {
+        final LocalizedMessages messages = messagesCache.get(locale);
+        if (messages != null && messages.getBundleVersion() == messageSource.getBundleVersion(locale)) {
+            return messages;
+        }
+        return reloadMessages(locale);
+    }
+
+    /**
+     * Reload messages for given locale after the resource bundle was modified.
+     *
+     * @param locale Requested locale.
+     * @return Localized messages or null in case messages could not be serialized.
+     */
+    private synchronized LocalizedMessages reloadMessages(Locale locale) {
+        final LocalizedMessages cachedMessages = messagesCache.get(locale);
+        if (cachedMessages != null && cachedMessages.getBundleVersion() == messageSource.getBundleVersion(locale)) {
+            // Messages were reloaded by another thread
+            return cachedMessages;
+        }
+        // Merged properties are cached by the message source, cache needs to be cleared to pick up the modified files
+        messageSource.clearCache();
+        final long bundleVersion = messageSource.getBundleVersion(locale);
         try {
-            return objectMapper.writeValueAsString(messageSource.getAllProperties(locale));
+            final String json = objectMapper.writeValueAsString(messageSource.getAllProperties(locale));
+            final String etag = DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8));
+            final LocalizedMessages messages = new LocalizedMessages(json, etag, bundleVersion);
+            messagesCache.put(locale, messages);
+            return messages;
         } catch (JsonProcessingException e) {
             return null;
         }
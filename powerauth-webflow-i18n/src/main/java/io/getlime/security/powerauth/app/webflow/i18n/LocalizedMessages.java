@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.i18n;
+
+/**
+ * Messages for a single locale serialized to JSON together with the ETag of the serialized messages.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class LocalizedMessages {
+
+    private final String json;
+    private final String etag;
+    private final long bundleVersion;
+
+    /**
+     * Localized messages constructor.
+     * @param json JSON representation of messages.
+     * @param etag ETag of JSON representation of messages.
+     * @param bundleVersion Version of resource bundle used for generating the messages.
+     */
+    public LocalizedMessages(String json, String etag, long bundleVersion) {
+        this.json = json;
+        this.etag = etag;
+        this.bundleVersion = bundleVersion;
+    }
+
+    /**
+     * Get JSON representation of messages.
+     * @return JSON representation of messages.
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * Get ETag of JSON representation of messages, the value is derived from the content and can be used for versioning.
+     * @return ETag of JSON representation of messages.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Get version of resource bundle used for generating the messages.
+     * @return Version of resource bundle.
+     */
+    long getBundleVersion() {
+        return bundleVersion;
+    }
+
+}
@@ -21,16 +21,38 @@ import java.util.Locale;
 import java.util.Properties;
 
 /**
- * Custom ResourceBundleMessageSource which is both reloadable and supports listing. Cache is disabled to allow
- * immediate reload of messages.
+ * Custom ResourceBundleMessageSource which is both reloadable and supports listing. Merged properties are cached
+ * per locale, the bundle version allows detection of modified resource bundle files. The resource bundle files
+ * are checked for modifications based on configured cache seconds.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
 public class ReloadableResourceBundleMessageSourceWithListing extends ReloadableResourceBundleMessageSource {
 
+    /**
+     * Get all properties for given locale, including properties from fallback resource bundle files.
+     * @param locale Requested locale.
+     * @return All properties for given locale.
+     */
     Properties getAllProperties(Locale locale) {
-        clearCacheIncludingAncestors();
         PropertiesHolder propertiesHolder = getMergedProperties(locale);
         return propertiesHolder.getProperties();
     }
+
+    /**
+     * Get version of resource bundle for given locale. The version changes when any resource bundle file used
+     * for given locale is modified and reloaded.
+     * @param locale Requested locale.
+     * @return Version of resource bundle.
+     */
+    long getBundleVersion(Locale locale) {
+        long version = 1;
+        for (String basename : getBasenameSet()) {
+            for (String filename : calculateAllFilenames(basename, locale)) {
+                version = 31 * version + getProperties(filename).getFileTimestamp();
+            }
+        }
+        return version;
+    }
+
 }
@@ -27,9 +27,12 @@ import io.getlime.security.powerauth.lib.webflow.resource.model.UserResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
 import org.springframework.security.oauth2.common.exceptions.UnauthorizedUserException;
 import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationDetails;
 import org.springframework.security.oauth2.provider.token.AuthorizationServerTokenServices;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -82,7 +85,7 @@ public class UserProfileController {
         // Try to fetch user details from the service
         try {
             // Get additional information stored with the token
-            Map<String, Object> additionalInfo = tokenServices.getAccessToken(authentication).getAdditionalInformation();
+            Map<String, Object> additionalInfo = getAccessToken(authentication).getAdditionalInformation();
             String language = (String) additionalInfo.get(LANGUAGE);
             Boolean sca = (Boolean) additionalInfo.get(SCA);
             String organizationId = (String) additionalInfo.get(ORGANIZATION_ID);
@@ -135,7 +138,7 @@ public class UserProfileController {
         try {
             final String usedId = authentication.getUserAuthentication().getName();
             // Get additional information stored with the token
-            final Map<String, Object> additionalInfo = tokenServices.getAccessToken(authentication).getAdditionalInformation();
+            final Map<String, Object> additionalInfo = getAccessToken(authentication).getAdditionalInformation();
             final String organizationId = (String) additionalInfo.get(ORGANIZATION_ID);
             logger.info("Fetching user details for user with ID: {}, organization ID: {}", usedId, organizationId);
             final ObjectResponse<UserDetailResponse> userDetail = client.fetchUserDetail(usedId, organizationId);
@@ -154,6 +157,24 @@ public class UserProfileController {
         }
     }
 
+    /**
+     * Get access token used for the current request. The token is read by its value, which does not require
+     * a lookup by authentication and works with all token stores, including self-contained JWT tokens.
+     *
+     * @param authentication Original authentication of the currently logged user.
+     * @return Access token.
+     */
+    private OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        if (authentication.getDetails() instanceof OAuth2AuthenticationDetails && tokenServices instanceof ResourceServerTokenServices) {
+            final String tokenValue = ((OAuth2AuthenticationDetails) authentication.getDetails()).getTokenValue();
+            final OAuth2AccessToken accessToken = ((ResourceServerTokenServices) tokenServices).readAccessToken(tokenValue);
+            if (accessToken != null) {
+                return accessToken;
+            }
+        }
+        return tokenServices.getAccessToken(authentication);
+    }
+
     /**
      * Create dummy user for case when user does not exist or user account is not active.
      * @return Dummy user response.
@@ -19,6 +19,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -29,7 +30,9 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  */
 @SpringBootApplication
 @EnableJpaRepositories("io.getlime.security.powerauth.lib.webflow.authentication.repository")
-@ComponentScan(basePackages = {"io.getlime.security.*", "com.wultra.core.audit.base"})
+@ComponentScan(basePackages = {"io.getlime.security.*", "com.wultra.core.audit.base"},
+        // Audit writer and audit are configured in AuditWriterConfiguration without the built-in audit cleanup
+        excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.wultra\\.core\\.audit\\.base\\.(AuditFactory|database\\..*)"))
 @EntityScan("io.getlime.security.*")
 @EnableScheduling
 public class PowerAuthWebFlowApplication {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.configuration;
+
+import com.wultra.core.audit.base.AuditFactory;
+import com.wultra.core.audit.base.configuration.AuditConfiguration;
+import com.wultra.core.audit.base.database.DatabaseAudit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Configuration of the database audit writer. The audit writer of the audit library is not registered as a bean,
+ * so that its built-in cleanup which deletes all expired audit records using a single statement is never scheduled.
+ * Audit records are queued by {@link BufferedAuditWriter} and written using the same schedule as in the audit library,
+ * the queue size, write lag and number of dropped audit records are published as metrics. Expired audit records are
+ * removed by {@link io.getlime.security.powerauth.lib.webflow.authentication.service.AuditRetentionService}.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Configuration
+public class AuditWriterConfiguration {
+
+    private final BufferedAuditWriter auditWriter;
+
+    /**
+     * Configuration constructor.
+     * @param auditConfiguration Audit configuration.
+     * @param jdbcTemplate JDBC template.
+     * @param overflowPolicy Policy applied when the audit queue is full.
+     */
+    @Autowired
+    public AuditWriterConfiguration(AuditConfiguration auditConfiguration, JdbcTemplate jdbcTemplate,
+                                    @Value("${powerauth.webflow.audit.queue.overflowPolicy:BLOCK}") BufferedAuditWriter.OverflowPolicy overflowPolicy) {
+        this.auditWriter = new BufferedAuditWriter(auditConfiguration, jdbcTemplate, overflowPolicy);
+    }
+
+    /**
+     * Get database audit writer.
+     * @return Database audit writer.
+     */
+    public BufferedAuditWriter getAuditWriter() {
+        return auditWriter;
+    }
+
+    /**
+     * Prepare database audit.
+     * @param auditConfiguration Audit configuration.
+     * @return Database audit.
+     */
+    @Bean
+    public DatabaseAudit databaseAudit(AuditConfiguration auditConfiguration) {
+        return new DatabaseAudit(auditWriter, auditConfiguration);
+    }
+
+    /**
+     * Prepare audit factory.
+     * @param auditConfiguration Audit configuration.
+     * @param databaseAudit Database audit.
+     * @return Audit factory.
+     */
+    @Bean
+    public AuditFactory auditFactory(AuditConfiguration auditConfiguration, DatabaseAudit databaseAudit) {
+        return new AuditFactory(auditConfiguration, databaseAudit);
+    }
+
+    /**
+     * Write queued audit records to the database.
+     */
+    @Scheduled(fixedDelayString = "${audit.flush.delay.fixed:1000}", initialDelayString = "${powerauth.audit.flush.delay.initial:1000}")
+    public void scheduledFlush() {
+        auditWriter.flush();
+    }
+
+    /**
+     * Write queued audit records before the application is stopped.
+     */
+    @PreDestroy
+    public void destroy() {
+        auditWriter.flush();
+    }
+
+}
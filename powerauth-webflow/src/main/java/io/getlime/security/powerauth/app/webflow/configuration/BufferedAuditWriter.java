@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.configuration;
+
+import com.wultra.core.audit.base.configuration.AuditConfiguration;
+import com.wultra.core.audit.base.database.DatabaseAuditWriter;
+import com.wultra.core.audit.base.model.AuditLevel;
+import com.wultra.core.audit.base.model.AuditRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Database audit writer with a bounded queue of audit records owned by the application. Audit records are queued
+ * in the calling thread and written to the database in JDBC batches by the audit library during a flush. The queue
+ * is exposed for audit metrics and the behavior of a full queue is configured using the overflow policy.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class BufferedAuditWriter extends DatabaseAuditWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BufferedAuditWriter.class);
+
+    /**
+     * Package of the audit library, frames of the audit library are skipped when resolving the calling class.
+     */
+    private static final String AUDIT_LIBRARY_PACKAGE = "com.wultra.core.audit.base";
+
+    /**
+     * Policy applied when the audit queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The calling thread writes the queued audit records to the database, audit records are never dropped.
+         */
+        BLOCK,
+
+        /**
+         * Audit records with the DEBUG or TRACE level are dropped, the calling thread writes the queued audit records
+         * to the database only when the queue is full of audit records with a higher level.
+         */
+        DROP_DEBUG
+
+    }
+
+    private final BlockingQueue<AuditRecord> queue;
+    private final int transferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Object flushLock = new Object();
+
+    /**
+     * Audit writer constructor.
+     * @param auditConfiguration Audit configuration.
+     * @param jdbcTemplate JDBC template.
+     * @param overflowPolicy Policy applied when the audit queue is full.
+     */
+    public BufferedAuditWriter(AuditConfiguration auditConfiguration, JdbcTemplate jdbcTemplate, OverflowPolicy overflowPolicy) {
+        super(auditConfiguration, jdbcTemplate);
+        this.queue = new LinkedBlockingDeque<>(auditConfiguration.getEventQueueSize());
+        this.transferSize = auditConfiguration.getEventQueueSize();
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Queue an audit record. The calling class and thread are resolved in the calling thread.
+     * @param auditRecord Audit record.
+     */
+    @Override
+    public void write(AuditRecord auditRecord) {
+        auditRecord.setCallingClass(resolveCallingClass());
+        auditRecord.setThreadName(Thread.currentThread().getName());
+        if (queue.offer(auditRecord)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_DEBUG) {
+            if (isDebugRecord(auditRecord)) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            if (removeDebugRecord() && queue.offer(auditRecord)) {
+                return;
+            }
+        }
+        // The queue is full, the calling thread writes the queued audit records
+        try {
+            while (!queue.offer(auditRecord)) {
+                flush();
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Audit record could not be queued, error: {}", ex.getMessage());
+            logger.debug(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Write queued audit records to the database. Audit records are passed to the audit library in parts which fit
+     * into the queue of the audit library, so that the audit library never writes records from the calling thread.
+     * The calling class and thread resolved in {@link #write(AuditRecord)} are kept.
+     */
+    @Override
+    public void flush() {
+        synchronized (flushLock) {
+            final List<AuditRecord> auditRecords = new ArrayList<>(Math.min(transferSize, queue.size()));
+            while (queue.drainTo(auditRecords, transferSize) > 0) {
+                for (AuditRecord auditRecord : auditRecords) {
+                    final Class<?> callingClass = auditRecord.getCallingClass();
+                    final String threadName = auditRecord.getThreadName();
+                    super.write(auditRecord);
+                    auditRecord.setCallingClass(callingClass);
+                    auditRecord.setThreadName(threadName);
+                }
+                auditRecords.clear();
+                super.flush();
+            }
+        }
+    }
+
+    /**
+     * Get number of audit records waiting to be written to the database.
+     * @return Number of queued audit records.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Get age of the oldest audit record waiting to be written to the database.
+     * @return Age of the oldest queued audit record in seconds, zero when the queue is empty.
+     */
+    public double getWriteLagSeconds() {
+        final AuditRecord oldestRecord = queue.peek();
+        if (oldestRecord == null || oldestRecord.getTimestamp() == null) {
+            return 0;
+        }
+        return Math.max(0, System.currentTimeMillis() - oldestRecord.getTimestamp().getTime()) / 1000.0;
+    }
+
+    /**
+     * Get number of audit records dropped due to a full queue.
+     * @return Number of dropped audit records.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Remove the oldest queued audit record with the DEBUG or TRACE level.
+     * @return Whether an audit record was removed.
+     */
+    private boolean removeDebugRecord() {
+        final Iterator<AuditRecord> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (isDebugRecord(iterator.next())) {
+                iterator.remove();
+                droppedCount.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get whether the audit record has the DEBUG or TRACE level.
+     * @param auditRecord Audit record.
+     * @return Whether the audit record has the DEBUG or TRACE level.
+     */
+    private static boolean isDebugRecord(AuditRecord auditRecord) {
+        return auditRecord.getLevel() == AuditLevel.DEBUG || auditRecord.getLevel() == AuditLevel.TRACE;
+    }
+
+    /**
+     * Resolve the class which created the audit record, classes of the audit library and this writer are skipped.
+     * @return Calling class.
+     */
+    private static Class<?> resolveCallingClass() {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(declaringClass -> declaringClass != BufferedAuditWriter.class
+                        && !declaringClass.getName().startsWith(AUDIT_LIBRARY_PACKAGE))
+                .findFirst()
+                .orElse(BufferedAuditWriter.class));
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.getlime.security.powerauth.app.webflow.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Spring Security configuration of actuator endpoints for inspection and invalidation of Web Flow caches.
+ * The endpoints require HTTP basic authentication of the configured cache administrator. In case no password
+ * is configured, all requests to the endpoints are rejected. Other actuator endpoints are not affected.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Configuration
+@Order(90)
+public class CacheEndpointSecurityConfiguration extends WebSecurityConfigurerAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheEndpointSecurityConfiguration.class);
+
+    private static final String CACHE_ADMIN_ROLE = "CACHE_ADMIN";
+
+    @Value("${powerauth.webflow.actuator.cache.username:cache-admin}")
+    private String username;
+
+    @Value("${powerauth.webflow.actuator.cache.password:}")
+    private String password;
+
+    /**
+     * Configure HTTP basic authentication for the cache actuator endpoints.
+     * @param http HTTP security.
+     * @throws Exception Thrown when configuration fails.
+     */
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+        http
+                .requestMatchers()
+                .antMatchers("/actuator/nextStepCache", "/actuator/nextStepCache/**", "/actuator/oauthClientCache", "/actuator/oauthClientCache/**")
+                .and()
+                .authorizeRequests().anyRequest().hasRole(CACHE_ADMIN_ROLE)
+                .and().httpBasic()
+                .and().csrf().disable()
+                .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+    }
+
+    /**
+     * Configure the cache administrator user.
+     * @param auth Authentication manager builder.
+     * @throws Exception Thrown when configuration fails.
+     */
+    @Override
+    protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+        if (password == null || password.isEmpty()) {
+            logger.info("Password for cache actuator endpoints is not configured, access to the endpoints is disabled");
+            // Authentication manager without any user rejects all requests
+            auth.inMemoryAuthentication();
+            return;
+        }
+        final PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        auth.inMemoryAuthentication()
+                .passwordEncoder(passwordEncoder)
+                .withUser(username)
+                .password(passwordEncoder.encode(password))
+                .roles(CACHE_ADMIN_ROLE);
+    }
+
+}
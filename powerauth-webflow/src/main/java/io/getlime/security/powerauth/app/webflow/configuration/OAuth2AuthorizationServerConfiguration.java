@@ -16,8 +16,12 @@
 
 package io.getlime.security.powerauth.app.webflow.configuration;
 
+import io.getlime.security.powerauth.app.webflow.oauth.CachingClientDetailsService;
+import io.getlime.security.powerauth.app.webflow.oauth.CachingTokenStore;
+import io.getlime.security.powerauth.app.webflow.oauth.TokenStoreType;
 import io.getlime.security.powerauth.app.webflow.oauth.WebFlowTokenEnhancer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -40,10 +44,15 @@ import org.springframework.security.oauth2.provider.endpoint.DefaultRedirectReso
 import org.springframework.security.oauth2.provider.token.AuthorizationServerTokenServices;
 import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
 import org.springframework.security.oauth2.provider.token.TokenEnhancer;
+import org.springframework.security.oauth2.provider.token.TokenEnhancerChain;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 import org.springframework.security.oauth2.provider.token.store.JdbcTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
 
 import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration class for OAuth 2.0 Authorization Service.
@@ -56,6 +65,26 @@ public class OAuth2AuthorizationServerConfiguration extends AuthorizationServerC
 
     private DataSource dataSource;
 
+    @Value("${powerauth.webflow.oauth2.tokenStore.type:JDBC}")
+    private TokenStoreType tokenStoreType;
+
+    @Value("${powerauth.webflow.oauth2.tokenStore.cache.ttlMs:30000}")
+    private long tokenCacheTtlMs;
+
+    @Value("${powerauth.webflow.oauth2.tokenStore.cache.maxEntries:10000}")
+    private int tokenCacheMaxEntries;
+
+    @Value("${powerauth.webflow.oauth2.tokenStore.jwt.signingKey:}")
+    private String jwtSigningKey;
+
+    @Value("${powerauth.webflow.oauth2.clientDetails.cache.enabled:true}")
+    private boolean clientDetailsCacheEnabled;
+
+    @Value("${powerauth.webflow.oauth2.clientDetails.cache.refreshSeconds:300}")
+    private long clientDetailsCacheRefreshSeconds;
+
+    private JwtAccessTokenConverter jwtAccessTokenConverter;
+
     /**
      * Configuration class constructor.
      * @param dataSource Data source.
@@ -66,13 +95,18 @@ public class OAuth2AuthorizationServerConfiguration extends AuthorizationServerC
     }
 
     /**
-     * Client details service which stores client data in JDBC data source.
+     * Client details service which stores client data in JDBC data source, client details are cached in memory
+     * unless the cache is disabled.
      * @return Client details service.
      */
     @Bean("jdbcClientsDetailService")
     public ClientDetailsService clientDetailsService() {
         // client data is stored in JDBC data source (table oauth_client_details)
-        return new JdbcClientDetailsService(dataSource);
+        JdbcClientDetailsService jdbcClientDetailsService = new JdbcClientDetailsService(dataSource);
+        if (clientDetailsCacheEnabled) {
+            return new CachingClientDetailsService(jdbcClientDetailsService, TimeUnit.SECONDS.toMillis(clientDetailsCacheRefreshSeconds));
+        }
+        return jdbcClientDetailsService;
     }
 
     /**
@@ -86,24 +120,64 @@ public class OAuth2AuthorizationServerConfiguration extends AuthorizationServerC
     }
 
     /**
-     * Token store which stores tokens in JDBC data source.
+     * Token store which stores tokens in JDBC data source, optionally with cached token lookups, or which uses
+     * self-contained signed JWT tokens.
      * @return Token store.
      */
     @Bean
     public TokenStore tokenStore() {
-        // tokens are stored in JDBC data source (tables oauth_access_token and oauth_refresh_token)
-        return new JdbcTokenStore(dataSource);
+        switch (tokenStoreType) {
+            case CACHED_JDBC:
+                // tokens are stored in JDBC data source, token lookups are cached in memory
+                return new CachingTokenStore(new JdbcTokenStore(dataSource), tokenCacheTtlMs, tokenCacheMaxEntries);
+
+            case JWT:
+                // tokens are not stored, signature of tokens is verified instead
+                return new JwtTokenStore(jwtAccessTokenConverter());
+
+            default:
+                // tokens are stored in JDBC data source (tables oauth_access_token and oauth_refresh_token)
+                return new JdbcTokenStore(dataSource);
+        }
     }
 
     /**
-     * Custom Web Flow token enhancer.
+     * Custom Web Flow token enhancer, the enhanced tokens are converted to signed JWT tokens in case JWT token
+     * store is used.
      * @return Token enhancer.
      */
     @Bean
     public TokenEnhancer tokenEnhancer() {
+        if (tokenStoreType == TokenStoreType.JWT) {
+            TokenEnhancerChain tokenEnhancerChain = new TokenEnhancerChain();
+            tokenEnhancerChain.setTokenEnhancers(Arrays.asList(new WebFlowTokenEnhancer(), jwtAccessTokenConverter()));
+            return tokenEnhancerChain;
+        }
         return new WebFlowTokenEnhancer();
     }
 
+    /**
+     * Converter of access tokens to JWT tokens signed using the configured HMAC key. The key needs to be shared
+     * by all Web Flow nodes.
+     * @return JWT access token converter.
+     */
+    private synchronized JwtAccessTokenConverter jwtAccessTokenConverter() {
+        if (jwtAccessTokenConverter == null) {
+            if (jwtSigningKey == null || jwtSigningKey.isEmpty()) {
+                throw new IllegalStateException("Property powerauth.webflow.oauth2.tokenStore.jwt.signingKey is required for JWT token store");
+            }
+            JwtAccessTokenConverter converter = new JwtAccessTokenConverter();
+            converter.setSigningKey(jwtSigningKey);
+            try {
+                converter.afterPropertiesSet();
+            } catch (Exception ex) {
+                throw new IllegalStateException("Invalid JWT signing key", ex);
+            }
+            jwtAccessTokenConverter = converter;
+        }
+        return jwtAccessTokenConverter;
+    }
+
     /**
      * Initializes token services.
      * @return Initialized token services.
@@ -50,6 +50,12 @@ public class WebFlowServerConfiguration {
     @Value("${powerauth.webflow.page.ext-resources.location}")
     private String resourcesLocation;
 
+    /**
+     * Interval in seconds for checking modifications of localization resource bundles.
+     */
+    @Value("${powerauth.webflow.page.messages.cacheSeconds:5}")
+    private int messagesCacheSeconds;
+
     /**
      * Dynamic page title.
      */
@@ -143,6 +149,15 @@ public class WebFlowServerConfiguration {
         return resourcesLocation;
     }
 
+    /**
+     * Get interval in seconds for checking modifications of localization resource bundles.
+     *
+     * @return Interval in seconds, negative value disables reloading of localization resource bundles.
+     */
+    public int getMessagesCacheSeconds() {
+        return messagesCacheSeconds;
+    }
+
     /**
      * Get dynamic page title.
      *
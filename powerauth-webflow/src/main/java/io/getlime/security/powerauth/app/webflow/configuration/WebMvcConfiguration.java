@@ -119,7 +119,8 @@ public class WebMvcConfiguration implements WebMvcConfigurer {
 
     /**
      * MessageSource provides access to internationalized messages. Custom implementation of MessageSource is used
-     * to allow reloading of messages and listing all message properties.
+     * to allow reloading of messages and listing all message properties. Modified message files are reloaded
+     * after the configured cache interval.
      *
      * @return Message source
      */
@@ -128,6 +129,7 @@ public class WebMvcConfiguration implements WebMvcConfigurer {
         ReloadableResourceBundleMessageSourceWithListing messageSource = new ReloadableResourceBundleMessageSourceWithListing();
         messageSource.setBasename(configuration.getResourcesLocation() + "messages");
         messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setCacheSeconds(configuration.getMessagesCacheSeconds());
         return messageSource;
     }
 
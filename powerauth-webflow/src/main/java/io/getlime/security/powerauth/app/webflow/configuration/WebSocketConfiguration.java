@@ -18,14 +18,23 @@ package io.getlime.security.powerauth.app.webflow.configuration;
 import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
 import io.getlime.security.powerauth.lib.webflow.authentication.interceptor.WebSocketHandshakeInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 /**
- * Configuration of WebSockets with a simple message broker.
+ * Configuration of WebSockets with a simple message broker or with a relay to an external STOMP message broker
+ * which delivers messages to clients connected to any Web Flow node.
  *
  * @author Roman Strobl, roman.strobl@wultra.com
  */
@@ -58,7 +67,46 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker(MESSAGE_PREFIX);
+        if (configuration.isWebSocketBrokerRelayEnabled()) {
+            final StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay(MESSAGE_PREFIX)
+                    .setRelayHost(configuration.getWebSocketBrokerRelayHost())
+                    .setRelayPort(configuration.getWebSocketBrokerRelayPort())
+                    .setClientLogin(configuration.getWebSocketBrokerRelayLogin())
+                    .setClientPasscode(configuration.getWebSocketBrokerRelayPasscode())
+                    .setSystemLogin(configuration.getWebSocketBrokerRelayLogin())
+                    .setSystemPasscode(configuration.getWebSocketBrokerRelayPasscode());
+            final String virtualHost = configuration.getWebSocketBrokerRelayVirtualHost();
+            if (virtualHost != null && !virtualHost.isEmpty()) {
+                relay.setVirtualHost(virtualHost);
+            }
+            registry.configureBrokerChannel().interceptors(new RelaySystemSessionInterceptor());
+        } else {
+            registry.enableSimpleBroker(MESSAGE_PREFIX);
+        }
         registry.setApplicationDestinationPrefixes("/app");
     }
+
+    /**
+     * Interceptor which removes the Web Socket session ID from messages with resolved user destinations. The broker
+     * relay sends messages with a session ID using the TCP connection of the session, which exists only on the node
+     * where the Web Socket client is connected. Messages without a session ID are sent using the shared system
+     * connection, so that the message broker can deliver them to the client connected to any node.
+     */
+    private static class RelaySystemSessionInterceptor implements ChannelInterceptor {
+
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            final MessageHeaders headers = message.getHeaders();
+            final String destination = SimpMessageHeaderAccessor.getDestination(headers);
+            if (SimpMessageType.MESSAGE.equals(SimpMessageHeaderAccessor.getMessageType(headers))
+                    && SimpMessageHeaderAccessor.getSessionId(headers) != null
+                    && destination != null && destination.startsWith(MESSAGE_PREFIX)) {
+                final SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(message);
+                headerAccessor.removeHeader(SimpMessageHeaderAccessor.SESSION_ID_HEADER);
+                return MessageBuilder.createMessage(message.getPayload(), headerAccessor.getMessageHeaders());
+            }
+            return message;
+        }
+
+    }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package io.getlime.security.powerauth.app.webflow.controller;
 import io.getlime.core.rest.model.base.response.ObjectResponse;
 import io.getlime.security.powerauth.app.webflow.configuration.WebFlowServerConfiguration;
 import io.getlime.security.powerauth.app.webflow.i18n.I18NService;
+import io.getlime.security.powerauth.app.webflow.i18n.LocalizedMessages;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClient;
 import io.getlime.security.powerauth.lib.nextstep.client.NextStepClientException;
 import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthMethod;
@@ -30,6 +31,7 @@ import io.getlime.security.powerauth.lib.webflow.authentication.repository.AfsCo
 import io.getlime.security.powerauth.lib.webflow.authentication.repository.model.entity.AfsConfigEntity;
 import io.getlime.security.powerauth.lib.webflow.authentication.security.UserOperationAuthentication;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.AuthenticationManagementService;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.NextStepConfigurationCacheService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.OperationCancellationService;
 import io.getlime.security.powerauth.lib.webflow.authentication.service.OperationSessionService;
 import org.slf4j.Logger;
@@ -73,6 +75,7 @@ public class HomeController {
     private final HttpSession httpSession;
     private final ClientDetailsService clientDetailsService;
     private final OperationCancellationService operationCancellationService;
+    private final NextStepConfigurationCacheService nextStepConfigurationCacheService;
 
     /**
      * Initialization of the HomeController with application configuration.
@@ -85,9 +88,10 @@ public class HomeController {
      * @param httpSession HTTP session.
      * @param clientDetailsService Client details service for accessing OAuth 2.0 client data.
      * @param operationCancellationService Service used for canceling operations.
+     * @param nextStepConfigurationCacheService Service used for caching Next Step configuration.
      */
     @Autowired
-    public HomeController(AuthenticationManagementService authenticationManagementService, WebFlowServerConfiguration webFlowConfig, I18NService i18nService, OperationSessionService operationSessionService, NextStepClient nextStepClient, AfsConfigRepository afsConfigRepository, HttpSession httpSession, ClientDetailsService clientDetailsService, OperationCancellationService operationCancellationService) {
+    public HomeController(AuthenticationManagementService authenticationManagementService, WebFlowServerConfiguration webFlowConfig, I18NService i18nService, OperationSessionService operationSessionService, NextStepClient nextStepClient, AfsConfigRepository afsConfigRepository, HttpSession httpSession, ClientDetailsService clientDetailsService, OperationCancellationService operationCancellationService, NextStepConfigurationCacheService nextStepConfigurationCacheService) {
         this.webFlowConfig = webFlowConfig;
         this.authenticationManagementService = authenticationManagementService;
         this.i18nService = i18nService;
@@ -97,6 +101,7 @@ public class HomeController {
         this.httpSession = httpSession;
         this.clientDetailsService = clientDetailsService;
         this.operationCancellationService = operationCancellationService;
+        this.nextStepConfigurationCacheService = nextStepConfigurationCacheService;
     }
 
     /**
@@ -150,8 +155,7 @@ public class HomeController {
                 // AFS is enabled only for non-default operations which are deprecated
                 if (webFlowConfig.isAfsEnabled()) {
                     String operationName = objectResponse.getResponseObject().getOperationName();
-                    ObjectResponse<GetOperationConfigDetailResponse> objectResponseConfig = nextStepClient.getOperationConfigDetail(operationName);
-                    GetOperationConfigDetailResponse config = objectResponseConfig.getResponseObject();
+                    GetOperationConfigDetailResponse config = nextStepConfigurationCacheService.getOperationConfigDetail(operationName);
                     if (config.isAfsEnabled()) {
                         if (config.getAfsConfigId() != null) {
                             Optional<AfsConfigEntity> afsConfig = afsConfigRepository.findById(config.getAfsConfigId());
@@ -184,9 +188,9 @@ public class HomeController {
         model.put("consentPanelLimitCharacters", webFlowConfig.getConsentPanelLimitCharacters());
         model.put("stylesheet", webFlowConfig.getCustomStyleSheetUrl());
         model.put("lang", LocaleContextHolder.getLocale().getLanguage());
-        // JSON objects with i18n messages are inserted into the model to provide localization for the frontend
-        model.put("i18n_CS", i18nService.generateMessages(new Locale("cs")));
-        model.put("i18n_EN", i18nService.generateMessages(Locale.ENGLISH));
+        // Versions of i18n messages are inserted into the model, the frontend loads the messages from cacheable scripts
+        model.put("i18n_CS_version", getMessagesVersion(new Locale("cs")));
+        model.put("i18n_EN_version", getMessagesVersion(Locale.ENGLISH));
         model.put("operationHash", operationSessionService.generateOperationHash(operationId));
         model.put("showAndroidSecurityWarning", webFlowConfig.getShowAndroidSecurityWarning());
         model.put("usernameMaxLength", webFlowConfig.getUsernameMaxLength());
@@ -363,6 +367,19 @@ public class HomeController {
         return "oauth/error";
     }
 
+    /**
+     * Get version of i18n messages for given locale.
+     * @param locale Locale.
+     * @return Version of i18n messages.
+     */
+    private String getMessagesVersion(Locale locale) {
+        final LocalizedMessages messages = i18nService.getMessages(locale);
+        if (messages == null) {
+            return "";
+        }
+        return messages.getEtag();
+    }
+
     /**
      * Clean HTTP session variables in case previous operation was interrupted
      * or failed with a fatal error.
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.controller;
+
+import io.getlime.security.powerauth.app.webflow.i18n.I18NService;
+import io.getlime.security.powerauth.app.webflow.i18n.LocalizedMessages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller which publishes localization messages for the frontend as cacheable scripts. The URL of the script
+ * contains the ETag of messages as a version, so the script can be cached by the browser until the messages change.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Controller
+@RequestMapping("i18n")
+public class I18NController {
+
+    private static final Logger logger = LoggerFactory.getLogger(I18NController.class);
+
+    private static final String CONTENT_TYPE_JAVASCRIPT = "application/javascript;charset=UTF-8";
+
+    private final I18NService i18nService;
+
+    /**
+     * Controller constructor.
+     * @param i18nService I18n service.
+     */
+    @Autowired
+    public I18NController(I18NService i18nService) {
+        this.i18nService = i18nService;
+    }
+
+    /**
+     * Get script with localization messages for given language. The script defines variable I18N_EN or I18N_CS
+     * used by the frontend.
+     * @param language Language, supported values are en and cs.
+     * @param request HTTP servlet request.
+     * @param response HTTP servlet response.
+     * @throws IOException Thrown when response could not be written.
+     */
+    @RequestMapping(value = "{language}.js", method = RequestMethod.GET)
+    public void getMessages(@PathVariable("language") String language, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        final Locale locale = resolveLocale(language);
+        if (locale == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        final LocalizedMessages messages = i18nService.getMessages(locale);
+        if (messages == null) {
+            logger.error("Localization messages could not be generated for language: {}", language);
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+        // Script URL is versioned using the ETag, the browser revalidates the script only after the cache expires
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(messages.getEtag())) {
+            return;
+        }
+        final String script = "var I18N_" + language.toUpperCase(Locale.ROOT) + " = {locale: '" + language + "', messages: "
+                + escapeLineSeparators(messages.getJson()) + "};";
+        final byte[] body = script.getBytes(StandardCharsets.UTF_8);
+        response.setContentType(CONTENT_TYPE_JAVASCRIPT);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Resolve locale for a language supported by the frontend.
+     * @param language Language.
+     * @return Locale or null in case language is not supported.
+     */
+    private Locale resolveLocale(String language) {
+        switch (language) {
+            case "en":
+                return Locale.ENGLISH;
+            case "cs":
+                return new Locale("cs");
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Escape line separator characters which are valid in JSON strings but not in JavaScript string literals.
+     * @param json JSON representation of messages.
+     * @return Escaped JSON representation of messages.
+     */
+    private String escapeLineSeparators(String json) {
+        return json.replace("\u2028", "\\u2028").replace("\u2029", "\\u2029");
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.endpoint;
+
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.NextStepConfigurationCacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for inspection and invalidation of cached Next Step configuration.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Component
+@Endpoint(id = "nextStepCache")
+public class NextStepCacheEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(NextStepCacheEndpoint.class);
+
+    private final NextStepConfigurationCacheService nextStepConfigurationCacheService;
+    private final WebFlowServicesConfiguration configuration;
+
+    /**
+     * Endpoint constructor.
+     * @param nextStepConfigurationCacheService Next Step configuration cache service.
+     * @param configuration Web Flow services configuration.
+     */
+    public NextStepCacheEndpoint(NextStepConfigurationCacheService nextStepConfigurationCacheService, WebFlowServicesConfiguration configuration) {
+        this.nextStepConfigurationCacheService = nextStepConfigurationCacheService;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Get cache status including age of cached values in milliseconds.
+     * @return Cache status.
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        final Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", configuration.isNextStepCacheEnabled());
+        status.put("ttlSeconds", configuration.getNextStepCacheTtlSeconds());
+        status.put("maxStaleSeconds", configuration.getNextStepCacheMaxStaleSeconds());
+        status.put("entries", nextStepConfigurationCacheService.getCachedValueAges());
+        return status;
+    }
+
+    /**
+     * Invalidate all cached Next Step configuration.
+     */
+    @DeleteOperation
+    public void invalidate() {
+        logger.info("Invalidating Next Step configuration cache");
+        nextStepConfigurationCacheService.invalidate();
+    }
+
+}
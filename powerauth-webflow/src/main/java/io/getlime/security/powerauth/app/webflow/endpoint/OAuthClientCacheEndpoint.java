@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.endpoint;
+
+import io.getlime.security.powerauth.app.webflow.oauth.CachingClientDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.security.oauth2.provider.ClientDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for inspection and invalidation of cached OAuth 2.0 client details. Over HTTP, the endpoint
+ * requires HTTP basic authentication of the cache administrator configured in CacheEndpointSecurityConfiguration.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+@Component
+@Endpoint(id = "oauthClientCache")
+public class OAuthClientCacheEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(OAuthClientCacheEndpoint.class);
+
+    private final ClientDetailsService clientDetailsService;
+
+    /**
+     * Endpoint constructor.
+     * @param clientDetailsService Client details service.
+     */
+    public OAuthClientCacheEndpoint(@Qualifier("jdbcClientsDetailService") ClientDetailsService clientDetailsService) {
+        this.clientDetailsService = clientDetailsService;
+    }
+
+    /**
+     * Get cache status including age of cached client details in milliseconds.
+     * @return Cache status.
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        final Map<String, Object> status = new LinkedHashMap<>();
+        final boolean enabled = clientDetailsService instanceof CachingClientDetailsService;
+        status.put("enabled", enabled);
+        if (enabled) {
+            final CachingClientDetailsService cachingClientDetailsService = (CachingClientDetailsService) clientDetailsService;
+            status.put("refreshIntervalMs", cachingClientDetailsService.getRefreshIntervalMs());
+            status.put("entries", cachingClientDetailsService.getCachedValueAges());
+        }
+        return status;
+    }
+
+    /**
+     * Invalidate all cached client details.
+     */
+    @DeleteOperation
+    public void invalidate() {
+        if (clientDetailsService instanceof CachingClientDetailsService) {
+            logger.info("Invalidating OAuth 2.0 client details cache");
+            ((CachingClientDetailsService) clientDetailsService).invalidate();
+        }
+    }
+
+    /**
+     * Invalidate cached details of a client.
+     * @param clientId Client ID.
+     */
+    @DeleteOperation
+    public void invalidateClient(@Selector String clientId) {
+        if (clientDetailsService instanceof CachingClientDetailsService) {
+            ((CachingClientDetailsService) clientDetailsService).invalidate(clientId);
+        }
+    }
+
+}
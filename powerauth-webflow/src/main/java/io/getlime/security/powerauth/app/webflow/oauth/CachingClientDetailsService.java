@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.oauth;
+
+import io.getlime.security.powerauth.lib.webflow.authentication.cache.RefreshAheadCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.oauth2.provider.ClientDetails;
+import org.springframework.security.oauth2.provider.ClientDetailsService;
+import org.springframework.security.oauth2.provider.ClientRegistrationException;
+import org.springframework.security.oauth2.provider.NoSuchClientException;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Client details service which caches OAuth 2.0 client details loaded by the delegate client details service.
+ * Cached client details older than half of the refresh interval are returned while they are refreshed in background.
+ * Cached client details older than the refresh interval are expired and they are reloaded before the request is served,
+ * so that a deleted client or a changed client secret is never accepted after the refresh interval. Clients which are
+ * not found are not cached. The cached client details are shared and must not be modified.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class CachingClientDetailsService implements ClientDetailsService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingClientDetailsService.class);
+
+    private final ClientDetailsService delegate;
+    private final long refreshIntervalMs;
+
+    private final RefreshAheadCache<ClientDetails> cache;
+
+    /**
+     * Client details service constructor.
+     * @param delegate Client details service used for loading client details.
+     * @param refreshIntervalMs Time in milliseconds after which cached client details are refreshed.
+     */
+    public CachingClientDetailsService(ClientDetailsService delegate, long refreshIntervalMs) {
+        this(delegate, refreshIntervalMs, System::currentTimeMillis);
+    }
+
+    /**
+     * Client details service constructor with a custom time source.
+     * @param delegate Client details service used for loading client details.
+     * @param refreshIntervalMs Time in milliseconds after which cached client details are refreshed.
+     * @param currentTimeMillis Source of current time in milliseconds.
+     */
+    CachingClientDetailsService(ClientDetailsService delegate, long refreshIntervalMs, LongSupplier currentTimeMillis) {
+        this.delegate = delegate;
+        this.refreshIntervalMs = refreshIntervalMs;
+        // Removed clients are evicted by the background refresh
+        this.cache = new RefreshAheadCache<>("oauth-client-cache", currentTimeMillis, ex -> ex instanceof NoSuchClientException);
+    }
+
+    @Override
+    public ClientDetails loadClientByClientId(String clientId) throws ClientRegistrationException {
+        return cache.get(clientId, refreshIntervalMs / 2, refreshIntervalMs, () -> delegate.loadClientByClientId(clientId));
+    }
+
+    /**
+     * Invalidate cached details of all clients.
+     */
+    public void invalidate() {
+        cache.invalidate();
+        logger.info("Cache of OAuth 2.0 client details was invalidated");
+    }
+
+    /**
+     * Invalidate cached details of a client.
+     * @param clientId Client ID.
+     */
+    public void invalidate(String clientId) {
+        cache.invalidate(clientId);
+        logger.info("Cached OAuth 2.0 client details were invalidated, client ID: {}", clientId);
+    }
+
+    /**
+     * Get age of cached client details in milliseconds.
+     * @return Map of client IDs and age of cached client details in milliseconds.
+     */
+    public Map<String, Long> getCachedValueAges() {
+        return cache.getCachedValueAges();
+    }
+
+    /**
+     * Get time in milliseconds after which cached client details are refreshed.
+     * @return Refresh interval in milliseconds.
+     */
+    public long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    /**
+     * Stop the background refresh of cached client details.
+     */
+    @Override
+    public void destroy() {
+        cache.shutdown();
+    }
+
+}
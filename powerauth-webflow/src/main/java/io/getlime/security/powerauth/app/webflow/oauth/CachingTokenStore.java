@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.oauth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token store which serves access token lookups by token value from an in-memory cache with read-through to
+ * the delegate token store. Stored tokens are written through to the delegate token store and cached, so that
+ * validation of a newly issued token does not require a database lookup. Tokens removed on another node may
+ * be accepted on this node until the cached entry expires, the cache TTL should be kept short. Cached access tokens
+ * are indexed by refresh token value, so that only the access token issued for a refresh token is evicted when
+ * the access token is removed during token refresh.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public class CachingTokenStore implements TokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingTokenStore.class);
+
+    private final TokenStore delegate;
+    private final long ttlMs;
+    private final int maxEntries;
+
+    private final Map<String, CacheEntry<OAuth2AccessToken>> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry<OAuth2Authentication>> authentications = new ConcurrentHashMap<>();
+    private final Map<String, String> refreshTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Token store constructor.
+     * @param delegate Token store used for persistence of tokens.
+     * @param ttlMs Time in milliseconds for which token lookups are cached.
+     * @param maxEntries Maximum number of cached tokens.
+     */
+    public CachingTokenStore(TokenStore delegate, long ttlMs, int maxEntries) {
+        this.delegate = delegate;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        final long now = System.currentTimeMillis();
+        final CacheEntry<OAuth2Authentication> entry = authentications.get(token);
+        if (entry != null && now - entry.timestamp < ttlMs) {
+            return copyAuthentication(entry.value);
+        }
+        final OAuth2Authentication authentication = delegate.readAuthentication(token);
+        if (authentication != null) {
+            put(authentications, token, copyAuthentication(authentication), now);
+        }
+        return authentication;
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        delegate.storeAccessToken(token, authentication);
+        final long now = System.currentTimeMillis();
+        put(accessTokens, token.getValue(), new DefaultOAuth2AccessToken(token), now);
+        put(authentications, token.getValue(), copyAuthentication(authentication), now);
+        indexRefreshToken(token);
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        final long now = System.currentTimeMillis();
+        final CacheEntry<OAuth2AccessToken> entry = accessTokens.get(tokenValue);
+        if (entry != null && now - entry.timestamp < ttlMs) {
+            return new DefaultOAuth2AccessToken(entry.value);
+        }
+        final OAuth2AccessToken accessToken = delegate.readAccessToken(tokenValue);
+        if (accessToken != null) {
+            put(accessTokens, tokenValue, new DefaultOAuth2AccessToken(accessToken), now);
+            indexRefreshToken(accessToken);
+        }
+        return accessToken;
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        accessTokens.remove(token.getValue());
+        authentications.remove(token.getValue());
+        if (token.getRefreshToken() != null) {
+            refreshTokens.remove(token.getRefreshToken().getValue(), token.getValue());
+        }
+        delegate.removeAccessToken(token);
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        delegate.storeRefreshToken(refreshToken, authentication);
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        return delegate.readRefreshToken(tokenValue);
+    }
+
+    @Override
+    public OAuth2Authentication readAuthenticationForRefreshToken(OAuth2RefreshToken token) {
+        return delegate.readAuthenticationForRefreshToken(token);
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        delegate.removeRefreshToken(token);
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        final String tokenValue = refreshTokens.remove(refreshToken.getValue());
+        if (tokenValue != null) {
+            accessTokens.remove(tokenValue);
+            authentications.remove(tokenValue);
+        }
+        delegate.removeAccessTokenUsingRefreshToken(refreshToken);
+    }
+
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        return delegate.getAccessToken(authentication);
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return delegate.findTokensByClientIdAndUserName(clientId, userName);
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return delegate.findTokensByClientId(clientId);
+    }
+
+    /**
+     * Put a value into the cache, expired entries are evicted first in case the cache is full.
+     * @param cache Cache.
+     * @param tokenValue Token value.
+     * @param value Cached value.
+     * @param now Current timestamp.
+     * @param <T> Type of cached value.
+     */
+    private <T> void put(Map<String, CacheEntry<T>> cache, String tokenValue, T value, long now) {
+        if (cache.size() >= maxEntries) {
+            evictExpired(cache, now);
+        }
+        cache.put(tokenValue, new CacheEntry<>(value, now));
+    }
+
+    /**
+     * Index cached access token by value of its refresh token. Index entries of access tokens which are no longer
+     * cached are removed in case the index is full.
+     * @param token Cached access token.
+     */
+    private void indexRefreshToken(OAuth2AccessToken token) {
+        if (token.getRefreshToken() == null) {
+            return;
+        }
+        if (refreshTokens.size() >= maxEntries) {
+            refreshTokens.values().removeIf(tokenValue -> !accessTokens.containsKey(tokenValue));
+        }
+        refreshTokens.put(token.getRefreshToken().getValue(), token.getValue());
+    }
+
+    /**
+     * Remove expired cache entries, the whole cache is cleared in case all cache entries are valid.
+     * @param cache Cache.
+     * @param now Current timestamp.
+     * @param <T> Type of cached value.
+     */
+    private <T> void evictExpired(Map<String, CacheEntry<T>> cache, long now) {
+        cache.values().removeIf(entry -> now - entry.timestamp >= ttlMs);
+        if (cache.size() >= maxEntries) {
+            logger.debug("Token cache is full, clearing the cache, size: {}", cache.size());
+            cache.clear();
+        }
+    }
+
+    /**
+     * Create a copy of cached authentication, the authentication details are set for each request by the caller.
+     * @param authentication Cached authentication.
+     * @return Copy of the authentication.
+     */
+    private OAuth2Authentication copyAuthentication(OAuth2Authentication authentication) {
+        return new OAuth2Authentication(authentication.getOAuth2Request(), authentication.getUserAuthentication());
+    }
+
+    /**
+     * Cached token lookup.
+     * @param <T> Type of cached value.
+     */
+    private static class CacheEntry<T> {
+        private final T value;
+        private final long timestamp;
+
+        CacheEntry(T value, long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+    }
+
+}
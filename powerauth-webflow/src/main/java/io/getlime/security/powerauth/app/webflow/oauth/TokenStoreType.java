@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.oauth;
+
+/**
+ * Type of token store used by the OAuth 2.0 authorization server.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+public enum TokenStoreType {
+
+    /**
+     * Tokens are stored in JDBC data source and read from the database on each token validation.
+     */
+    JDBC,
+
+    /**
+     * Tokens are stored in JDBC data source, token lookups are served from an in-memory cache.
+     */
+    CACHED_JDBC,
+
+    /**
+     * Self-contained signed JWT tokens which are validated without a database lookup.
+     */
+    JWT
+
+}
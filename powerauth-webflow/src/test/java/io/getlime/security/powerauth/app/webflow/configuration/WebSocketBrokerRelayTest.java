@@ -0,0 +1,420 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.configuration;
+
+import io.getlime.security.powerauth.lib.nextstep.model.enumeration.AuthResult;
+import io.getlime.security.powerauth.lib.webflow.authentication.configuration.WebFlowServicesConfiguration;
+import io.getlime.security.powerauth.lib.webflow.authentication.model.response.WebSocketAuthorizationResponse;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.OperationSessionService;
+import io.getlime.security.powerauth.lib.webflow.authentication.service.WebSocketMessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.BrokerAvailabilityEvent;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for delivery of Web Socket messages between two Web Flow nodes using STOMP broker relay.
+ * The external message broker is replaced by a minimal STOMP broker running in the test.
+ *
+ * @author Roman Strobl, roman.strobl@wultra.com
+ */
+class WebSocketBrokerRelayTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private StompBroker broker;
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private WebSocketStompClient stompClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = new StompBroker();
+        nodeA = startNode(broker.getPort());
+        nodeB = startNode(broker.getPort());
+        stompClient = new WebSocketStompClient(new SockJsClient(Collections.singletonList(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (stompClient != null) {
+            stompClient.stop();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (broker != null) {
+            broker.close();
+        }
+    }
+
+    @Test
+    void testAuthorizationMessageDeliveredToOtherNode() throws Exception {
+        final StompSession session = stompClient.connect("ws://127.0.0.1:" + getPort(nodeB) + "/websocket", new StompSessionHandlerAdapter() {})
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        final BlockingQueue<WebSocketAuthorizationResponse> received = new LinkedBlockingQueue<>();
+        session.subscribe("/user/topic/authorization", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return WebSocketAuthorizationResponse.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((WebSocketAuthorizationResponse) payload);
+            }
+        });
+        final String webSocketSessionId = nodeB.getBean(NodeEvents.class).subscribedSessionIds.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(webSocketSessionId);
+        assertTrue(broker.awaitSubscription("/topic/authorization-user" + webSocketSessionId, TIMEOUT_SECONDS));
+
+        // The Web Socket session mapping is shared by nodes in the database, the mapping is mocked in the test
+        final OperationSessionService operationSessionService = nodeA.getBean(OperationSessionService.class);
+        when(operationSessionService.generateOperationHash("operation-1")).thenReturn("hash-1");
+        when(operationSessionService.lookupWebSocketSessionIdByOperationHash("hash-1")).thenReturn(webSocketSessionId);
+        nodeA.getBean(WebSocketMessageService.class).notifyAuthorizationComplete("operation-1", AuthResult.CONTINUE);
+
+        final WebSocketAuthorizationResponse response = received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(response);
+        assertEquals("hash-1", response.getWebSocketId());
+        assertEquals(AuthResult.CONTINUE, response.getAuthResult());
+        session.disconnect();
+    }
+
+    /**
+     * Start a Web Flow node with Web Socket configuration connected to the STOMP broker.
+     * @param brokerPort Port of STOMP broker.
+     * @return Application context of the node.
+     * @throws InterruptedException Thrown when the thread is interrupted.
+     */
+    private ConfigurableApplicationContext startNode(int brokerPort) throws InterruptedException {
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(NodeConfiguration.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0", "--test.broker.port=" + brokerPort);
+        assertTrue(context.getBean(NodeEvents.class).brokerAvailable.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return context;
+    }
+
+    private int getPort(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Configuration of a Web Flow node with Web Sockets only.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import(WebSocketConfiguration.class)
+    static class NodeConfiguration {
+
+        @Bean
+        public WebFlowServicesConfiguration webFlowServicesConfiguration(Environment environment) {
+            final WebFlowServicesConfiguration configuration = mock(WebFlowServicesConfiguration.class);
+            when(configuration.isWebSocketBrokerRelayEnabled()).thenReturn(true);
+            when(configuration.getWebSocketBrokerRelayHost()).thenReturn("127.0.0.1");
+            when(configuration.getWebSocketBrokerRelayPort()).thenReturn(environment.getRequiredProperty("test.broker.port", Integer.class));
+            when(configuration.getWebSocketBrokerRelayLogin()).thenReturn("guest");
+            when(configuration.getWebSocketBrokerRelayPasscode()).thenReturn("guest");
+            when(configuration.getWebSocketBrokerRelayVirtualHost()).thenReturn("");
+            return configuration;
+        }
+
+        @Bean
+        public OperationSessionService operationSessionService() {
+            return mock(OperationSessionService.class);
+        }
+
+        @Bean
+        public WebSocketMessageService webSocketMessageService(SimpMessagingTemplate websocket, OperationSessionService operationSessionService) {
+            return new WebSocketMessageService(websocket, operationSessionService);
+        }
+
+        @Bean
+        public NodeEvents nodeEvents() {
+            return new NodeEvents();
+        }
+
+    }
+
+    /**
+     * Events received by a Web Flow node.
+     */
+    static class NodeEvents {
+
+        private final CountDownLatch brokerAvailable = new CountDownLatch(1);
+        private final BlockingQueue<String> subscribedSessionIds = new LinkedBlockingQueue<>();
+
+        @EventListener
+        public void onBrokerAvailability(BrokerAvailabilityEvent event) {
+            if (event.isBrokerAvailable()) {
+                brokerAvailable.countDown();
+            }
+        }
+
+        @EventListener
+        public void onSubscribe(SessionSubscribeEvent event) {
+            final Object sessionId = event.getMessage().getHeaders().get("simpSessionId");
+            if (sessionId != null) {
+                subscribedSessionIds.add(sessionId.toString());
+            }
+        }
+
+    }
+
+    /**
+     * Minimal STOMP broker which supports subscriptions and delivery of sent messages to subscribers.
+     */
+    private static class StompBroker implements Closeable {
+
+        private final ServerSocket serverSocket;
+        private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        private final AtomicLong messageCounter = new AtomicLong();
+
+        StompBroker() throws IOException {
+            serverSocket = new ServerSocket(0);
+            final Thread acceptThread = new Thread(this::acceptConnections, "stomp-broker");
+            acceptThread.setDaemon(true);
+            acceptThread.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        boolean awaitSubscription(String destination, long timeoutSeconds) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+            while (System.currentTimeMillis() < deadline) {
+                if (subscriptions.stream().anyMatch(s -> s.destination.equals(destination))) {
+                    return true;
+                }
+                Thread.sleep(50);
+            }
+            return false;
+        }
+
+        private void acceptConnections() {
+            try {
+                while (!serverSocket.isClosed()) {
+                    final Socket socket = serverSocket.accept();
+                    sockets.add(socket);
+                    final Thread connectionThread = new Thread(() -> handleConnection(socket), "stomp-broker-connection");
+                    connectionThread.setDaemon(true);
+                    connectionThread.start();
+                }
+            } catch (IOException ex) {
+                // Broker was closed
+            }
+        }
+
+        private void handleConnection(Socket socket) {
+            try {
+                final Connection connection = new Connection(socket.getOutputStream());
+                final InputStream in = new BufferedInputStream(socket.getInputStream());
+                Frame frame;
+                while ((frame = readFrame(in)) != null) {
+                    switch (frame.command) {
+                        case "CONNECT":
+                        case "STOMP":
+                            connection.write("CONNECTED", mapOf("version", "1.2", "heart-beat", "0,0"), new byte[0]);
+                            break;
+                        case "SUBSCRIBE":
+                            subscriptions.add(new Subscription(connection, frame.headers.get("id"), frame.headers.get("destination")));
+                            break;
+                        case "UNSUBSCRIBE":
+                            final String subscriptionId = frame.headers.get("id");
+                            subscriptions.removeIf(s -> s.connection == connection && s.id.equals(subscriptionId));
+                            break;
+                        case "SEND":
+                            deliver(frame);
+                            break;
+                        case "DISCONNECT":
+                            if (frame.headers.containsKey("receipt")) {
+                                connection.write("RECEIPT", mapOf("receipt-id", frame.headers.get("receipt")), new byte[0]);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                subscriptions.removeIf(s -> s.connection == connection);
+            } catch (IOException ex) {
+                // Connection was closed
+            }
+        }
+
+        private void deliver(Frame frame) throws IOException {
+            final String destination = frame.headers.get("destination");
+            for (Subscription subscription : subscriptions) {
+                if (subscription.destination.equals(destination)) {
+                    final Map<String, String> headers = mapOf("destination", destination, "subscription", subscription.id,
+                            "message-id", String.valueOf(messageCounter.incrementAndGet()));
+                    if (frame.headers.containsKey("content-type")) {
+                        headers.put("content-type", frame.headers.get("content-type"));
+                    }
+                    subscription.connection.write("MESSAGE", headers, frame.body);
+                }
+            }
+        }
+
+        private Frame readFrame(InputStream in) throws IOException {
+            String command;
+            do {
+                command = readLine(in);
+                if (command == null) {
+                    return null;
+                }
+            } while (command.isEmpty());
+            final Map<String, String> headers = new HashMap<>();
+            String line;
+            while ((line = readLine(in)) != null && !line.isEmpty()) {
+                final int index = line.indexOf(':');
+                headers.putIfAbsent(line.substring(0, index), line.substring(index + 1));
+            }
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            if (headers.containsKey("content-length")) {
+                final int length = Integer.parseInt(headers.get("content-length"));
+                for (int i = 0; i < length; i++) {
+                    body.write(in.read());
+                }
+                in.read();
+            } else {
+                int b;
+                while ((b = in.read()) > 0) {
+                    body.write(b);
+                }
+            }
+            return new Frame(command, headers, body.toByteArray());
+        }
+
+        private String readLine(InputStream in) throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b == -1) {
+                    return null;
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.UTF_8.name());
+        }
+
+        private static Map<String, String> mapOf(String... keyValues) {
+            final Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < keyValues.length; i += 2) {
+                map.put(keyValues[i], keyValues[i + 1]);
+            }
+            return map;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+
+        private static class Frame {
+            private final String command;
+            private final Map<String, String> headers;
+            private final byte[] body;
+
+            Frame(String command, Map<String, String> headers, byte[] body) {
+                this.command = command;
+                this.headers = headers;
+                this.body = body;
+            }
+        }
+
+        private static class Subscription {
+            private final Connection connection;
+            private final String id;
+            private final String destination;
+
+            Subscription(Connection connection, String id, String destination) {
+                this.connection = connection;
+                this.id = id;
+                this.destination = destination;
+            }
+        }
+
+        private static class Connection {
+            private final OutputStream out;
+
+            Connection(OutputStream out) {
+                this.out = out;
+            }
+
+            synchronized void write(String command, Map<String, String> headers, byte[] body) throws IOException {
+                final StringBuilder frame = new StringBuilder(command).append('\n');
+                headers.forEach((name, value) -> frame.append(name).append(':').append(value).append('\n'));
+                frame.append("content-length:").append(body.length).append("\n\n");
+                out.write(frame.toString().getBytes(StandardCharsets.UTF_8));
+                out.write(body);
+                out.write(0);
+                out.flush();
+            }
+        }
+
+    }
+
+}
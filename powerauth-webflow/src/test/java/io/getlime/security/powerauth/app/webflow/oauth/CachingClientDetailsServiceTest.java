@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.oauth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.provider.ClientDetails;
+import org.springframework.security.oauth2.provider.ClientDetailsService;
+import org.springframework.security.oauth2.provider.NoSuchClientException;
+import org.springframework.security.oauth2.provider.client.BaseClientDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for caching, background refresh and expiration of OAuth 2.0 client details.
+ */
+class CachingClientDetailsServiceTest {
+
+    private static final String CLIENT_ID = "democlient";
+
+    private final ClientDetailsService delegate = mock(ClientDetailsService.class);
+    private final AtomicLong now = new AtomicLong(1000000L);
+    private CachingClientDetailsService clientDetailsService;
+
+    @AfterEach
+    void tearDown() {
+        clientDetailsService.destroy();
+    }
+
+    @Test
+    void clientDetailsCached() {
+        createService(300000L);
+        when(delegate.loadClientByClientId(CLIENT_ID)).thenReturn(createClientDetails("secret-1"));
+        assertEquals("secret-1", clientDetailsService.loadClientByClientId(CLIENT_ID).getClientSecret());
+        assertEquals("secret-1", clientDetailsService.loadClientByClientId(CLIENT_ID).getClientSecret());
+        verify(delegate, times(1)).loadClientByClientId(CLIENT_ID);
+        assertTrue(clientDetailsService.getCachedValueAges().containsKey(CLIENT_ID));
+    }
+
+    @Test
+    void unknownClientNotCached() {
+        createService(300000L);
+        when(delegate.loadClientByClientId("unknown")).thenThrow(new NoSuchClientException("Client not found"));
+        assertThrows(NoSuchClientException.class, () -> clientDetailsService.loadClientByClientId("unknown"));
+        assertThrows(NoSuchClientException.class, () -> clientDetailsService.loadClientByClientId("unknown"));
+        verify(delegate, times(2)).loadClientByClientId("unknown");
+        assertTrue(clientDetailsService.getCachedValueAges().isEmpty());
+    }
+
+    @Test
+    void clientDetailsRefreshedInBackgroundBeforeExpiration() throws Exception {
+        createService(1000L);
+        when(delegate.loadClientByClientId(CLIENT_ID)).thenReturn(createClientDetails("secret-1"), createClientDetails("secret-2"));
+        assertEquals("secret-1", clientDetailsService.loadClientByClientId(CLIENT_ID).getClientSecret());
+        now.addAndGet(500L);
+        // The request which triggers the refresh before expiration is served using the cached client details
+        assertEquals("secret-1", clientDetailsService.loadClientByClientId(CLIENT_ID).getClientSecret());
+        awaitRefresh();
+        assertEquals("secret-2", clientDetailsService.loadClientByClientId(CLIENT_ID).getClientSecret());
+        verify(delegate, times(2)).loadClientByClientId(CLIENT_ID);
+    }
+
+    @Test
+    void expiredClientDetailsReloaded() {
+        createService(1000L);
+        when(delegate.loadClientByClientId(CLIENT_ID)).thenReturn(createClientDetails("secret-1"), createClientDetails("secret-2"));
+        clientDetailsService.loadClientByClientId(CLIENT_ID);
+        now.addAndGet(1000L);
+        // Expired client details are never served, the changed client secret is applied immediately
+        assertEquals("secret-2", clientDetailsService.loadClientByClientId(CLIENT_ID).getClientSecret());
+        assertEquals(0L, clientDetailsService.getCachedValueAges().get(CLIENT_ID));
+    }
+
+    @Test
+    void removedClientEvicted() {
+        createService(1000L);
+        when(delegate.loadClientByClientId(CLIENT_ID)).thenReturn(createClientDetails("secret-1")).thenThrow(new NoSuchClientException("Client not found"));
+        clientDetailsService.loadClientByClientId(CLIENT_ID);
+        now.addAndGet(1000L);
+        assertThrows(NoSuchClientException.class, () -> clientDetailsService.loadClientByClientId(CLIENT_ID));
+        assertTrue(clientDetailsService.getCachedValueAges().isEmpty());
+    }
+
+    @Test
+    void removedClientEvictedByBackgroundRefresh() throws Exception {
+        createService(1000L);
+        when(delegate.loadClientByClientId(CLIENT_ID)).thenReturn(createClientDetails("secret-1")).thenThrow(new NoSuchClientException("Client not found"));
+        clientDetailsService.loadClientByClientId(CLIENT_ID);
+        now.addAndGet(500L);
+        clientDetailsService.loadClientByClientId(CLIENT_ID);
+        awaitRefresh();
+        assertTrue(clientDetailsService.getCachedValueAges().isEmpty());
+        assertThrows(NoSuchClientException.class, () -> clientDetailsService.loadClientByClientId(CLIENT_ID));
+    }
+
+    @Test
+    void failedRefreshKeepsCachedClientDetailsUntilExpiration() throws Exception {
+        createService(1000L);
+        when(delegate.loadClientByClientId(CLIENT_ID)).thenReturn(createClientDetails("secret-1")).thenThrow(new IllegalStateException("Database is not available"));
+        clientDetailsService.loadClientByClientId(CLIENT_ID);
+        now.addAndGet(500L);
+        clientDetailsService.loadClientByClientId(CLIENT_ID);
+        awaitRefresh();
+        assertEquals("secret-1", clientDetailsService.loadClientByClientId(CLIENT_ID).getClientSecret());
+        now.addAndGet(500L);
+        // Expired client details are not served when the reload fails
+        assertThrows(IllegalStateException.class, () -> clientDetailsService.loadClientByClientId(CLIENT_ID));
+    }
+
+    @Test
+    void cacheInvalidated() {
+        createService(300000L);
+        when(delegate.loadClientByClientId(CLIENT_ID)).thenReturn(createClientDetails("secret-1"), createClientDetails("secret-2"));
+        clientDetailsService.loadClientByClientId(CLIENT_ID);
+        clientDetailsService.invalidate(CLIENT_ID);
+        assertEquals("secret-2", clientDetailsService.loadClientByClientId(CLIENT_ID).getClientSecret());
+        clientDetailsService.invalidate();
+        assertTrue(clientDetailsService.getCachedValueAges().isEmpty());
+        verify(delegate, times(2)).loadClientByClientId(CLIENT_ID);
+    }
+
+    private void createService(long refreshIntervalMs) {
+        clientDetailsService = new CachingClientDetailsService(delegate, refreshIntervalMs, now::get);
+    }
+
+    /**
+     * Wait until background refresh tasks submitted so far complete, the refresh executor uses a single thread.
+     */
+    private void awaitRefresh() throws Exception {
+        final ExecutorService refreshExecutor = (ExecutorService) ReflectionTestUtils.getField(ReflectionTestUtils.getField(clientDetailsService, "cache"), "refreshExecutor");
+        assertNotNull(refreshExecutor);
+        refreshExecutor.submit(() -> { }).get();
+    }
+
+    private ClientDetails createClientDetails(String clientSecret) {
+        final BaseClientDetails clientDetails = new BaseClientDetails(CLIENT_ID, null, "profile", "authorization_code,refresh_token", null);
+        clientDetails.setClientSecret(clientSecret);
+        return clientDetails;
+    }
+
+}
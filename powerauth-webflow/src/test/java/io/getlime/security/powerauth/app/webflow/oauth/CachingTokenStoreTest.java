@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.oauth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for caching of access token lookups and eviction of cached access tokens.
+ */
+class CachingTokenStoreTest {
+
+    private InMemoryTokenStore delegate;
+    private CachingTokenStore tokenStore;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new InMemoryTokenStore());
+        tokenStore = new CachingTokenStore(delegate, 30000L, 100);
+    }
+
+    @Test
+    void storedTokenServedFromCache() {
+        storeAccessToken("access-1", "refresh-1", "client-1");
+        assertEquals("access-1", tokenStore.readAccessToken("access-1").getValue());
+        assertEquals("client-1", tokenStore.readAuthentication("access-1").getOAuth2Request().getClientId());
+        verify(delegate, never()).readAccessToken("access-1");
+        verify(delegate, never()).readAuthentication("access-1");
+    }
+
+    @Test
+    void tokenReadThroughDelegate() {
+        delegate.storeAccessToken(createAccessToken("access-1", "refresh-1"), createAuthentication("client-1"));
+        assertEquals("access-1", tokenStore.readAccessToken("access-1").getValue());
+        assertEquals("access-1", tokenStore.readAccessToken("access-1").getValue());
+        verify(delegate, times(1)).readAccessToken("access-1");
+        assertNull(tokenStore.readAccessToken("unknown"));
+    }
+
+    @Test
+    void removeAccessTokenUsingRefreshTokenEvictsOnlyRelatedToken() {
+        storeAccessToken("access-1", "refresh-1", "client-1");
+        storeAccessToken("access-2", "refresh-2", "client-2");
+        tokenStore.removeAccessTokenUsingRefreshToken(new DefaultOAuth2RefreshToken("refresh-1"));
+        assertNull(tokenStore.readAccessToken("access-1"));
+        assertNull(tokenStore.readAuthentication("access-1"));
+        verify(delegate).readAccessToken("access-1");
+        // Access token issued for another refresh token remains cached
+        assertEquals("access-2", tokenStore.readAccessToken("access-2").getValue());
+        assertEquals("client-2", tokenStore.readAuthentication("access-2").getOAuth2Request().getClientId());
+        verify(delegate, never()).readAccessToken("access-2");
+        verify(delegate, never()).readAuthentication("access-2");
+    }
+
+    @Test
+    void removeAccessTokenUsingRefreshTokenEvictsTokenReadThroughDelegate() {
+        delegate.storeAccessToken(createAccessToken("access-1", "refresh-1"), createAuthentication("client-1"));
+        assertNotNull(tokenStore.readAccessToken("access-1"));
+        tokenStore.removeAccessTokenUsingRefreshToken(new DefaultOAuth2RefreshToken("refresh-1"));
+        assertNull(tokenStore.readAccessToken("access-1"));
+    }
+
+    @Test
+    void removeAccessTokenEvictsToken() {
+        final OAuth2AccessToken accessToken = storeAccessToken("access-1", "refresh-1", "client-1");
+        tokenStore.removeAccessToken(accessToken);
+        assertNull(tokenStore.readAccessToken("access-1"));
+        assertNull(tokenStore.readAuthentication("access-1"));
+    }
+
+    private OAuth2AccessToken storeAccessToken(String tokenValue, String refreshTokenValue, String clientId) {
+        final OAuth2AccessToken accessToken = createAccessToken(tokenValue, refreshTokenValue);
+        tokenStore.storeAccessToken(accessToken, createAuthentication(clientId));
+        return accessToken;
+    }
+
+    private OAuth2AccessToken createAccessToken(String tokenValue, String refreshTokenValue) {
+        final DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(tokenValue);
+        accessToken.setRefreshToken(new DefaultOAuth2RefreshToken(refreshTokenValue));
+        return accessToken;
+    }
+
+    private OAuth2Authentication createAuthentication(String clientId) {
+        final OAuth2Request request = new OAuth2Request(Collections.emptyMap(), clientId, Collections.emptyList(), true,
+                Collections.singleton("profile"), Collections.emptySet(), "http://localhost:8080/", Collections.singleton("code"), Collections.emptyMap());
+        return new OAuth2Authentication(request, null);
+    }
+
+}
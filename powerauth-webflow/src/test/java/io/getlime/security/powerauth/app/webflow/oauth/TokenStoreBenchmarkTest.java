@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Wultra s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.getlime.security.powerauth.app.webflow.oauth;
+
+import ch.qos.logback.classic.Level;
+import io.getlime.security.powerauth.app.webflow.configuration.OAuth2AuthorizationServerConfiguration;
+import io.getlime.security.powerauth.lib.webflow.authentication.security.UserOperationAuthentication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Micro-benchmark for validation of OAuth 2.0 access tokens using each token store type. The benchmark is executed
+ * only with the benchmark Maven profile.
+ */
+@Tag("benchmark")
+class TokenStoreBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenStoreBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final int MEASURED_ITERATIONS = 10000;
+
+    private static EmbeddedDatabase dataSource;
+
+    @BeforeAll
+    static void setUp() {
+        // Debug logging of JDBC statements would dominate the measured time
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("org.springframework")).setLevel(Level.INFO);
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        new JdbcTemplate(dataSource).execute("CREATE TABLE oauth_access_token (authentication_id VARCHAR(256) PRIMARY KEY, token_id VARCHAR(256), "
+                + "token BLOB, user_name VARCHAR(256), client_id VARCHAR(256), authentication BLOB, refresh_token VARCHAR(256))");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TokenStoreType.class)
+    void validateToken(TokenStoreType tokenStoreType) {
+        final OAuth2AuthorizationServerConfiguration configuration = new OAuth2AuthorizationServerConfiguration(dataSource);
+        ReflectionTestUtils.setField(configuration, "tokenStoreType", tokenStoreType);
+        ReflectionTestUtils.setField(configuration, "tokenCacheTtlMs", 30000L);
+        ReflectionTestUtils.setField(configuration, "tokenCacheMaxEntries", 10000);
+        ReflectionTestUtils.setField(configuration, "jwtSigningKey", "benchmark-signing-key-benchmark-signing-key");
+        final DefaultTokenServices tokenServices = new DefaultTokenServices();
+        tokenServices.setTokenStore(configuration.tokenStore());
+        tokenServices.setTokenEnhancer(configuration.tokenEnhancer());
+
+        final String tokenValue = tokenServices.createAccessToken(createAuthentication(tokenStoreType)).getValue();
+        validate(tokenServices, tokenValue, tokenStoreType);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            validate(tokenServices, tokenValue, tokenStoreType);
+        }
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            validate(tokenServices, tokenValue, tokenStoreType);
+        }
+        final long elapsedTime = System.nanoTime() - startTime;
+        logger.info("Validation of access token using {} token store: {} validations per second", tokenStoreType, MEASURED_ITERATIONS * 1_000_000_000L / elapsedTime);
+    }
+
+    private void validate(DefaultTokenServices tokenServices, String tokenValue, TokenStoreType tokenStoreType) {
+        final OAuth2Authentication authentication = tokenServices.loadAuthentication(tokenValue);
+        final OAuth2AccessToken accessToken = tokenServices.readAccessToken(tokenValue);
+        assertEquals("user-" + tokenStoreType, authentication.getUserAuthentication().getName());
+        assertEquals("democlient", authentication.getOAuth2Request().getClientId());
+        assertEquals("cs", accessToken.getAdditionalInformation().get("language"));
+        assertEquals(true, accessToken.getAdditionalInformation().get("sca"));
+    }
+
+    private OAuth2Authentication createAuthentication(TokenStoreType tokenStoreType) {
+        final UserOperationAuthentication userAuthentication = new UserOperationAuthentication("operation-" + tokenStoreType, "user-" + tokenStoreType, "RETAIL");
+        userAuthentication.setLanguage("cs");
+        userAuthentication.setStrongAuthentication(true);
+        userAuthentication.setAuthenticated(true);
+        final OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "democlient", Collections.emptyList(), true,
+                Collections.singleton("profile"), Collections.emptySet(), "http://localhost:8080/", Collections.singleton("code"), Collections.emptyMap());
+        return new OAuth2Authentication(request, userAuthentication);
+    }
+
+}